@@ -0,0 +1,46 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli;
+
+import io.github.totalschema.engine.api.ChangeEngineFactory;
+
+/**
+ * Abstract base class for the commands creating change engines. The factory of the engines can be
+ * replaced when the command line is executed by {@link Main#run(String[], ChangeEngineFactory)},
+ * e.g. by the daemon to provide warm engines.
+ */
+public abstract class ChangeEngineFactoryAwareCliCommand extends SecretManagerServiceCliCommand {
+
+    private ChangeEngineFactory changeEngineFactory;
+
+    void setChangeEngineFactory(ChangeEngineFactory changeEngineFactory) {
+        this.changeEngineFactory = changeEngineFactory;
+    }
+
+    /**
+     * Returns the factory to create the change engines of the command with.
+     *
+     * @return the factory set for the command line, or {@link ChangeEngineFactory#getInstance()}
+     */
+    protected final ChangeEngineFactory getChangeEngineFactory() {
+        return changeEngineFactory != null
+                ? changeEngineFactory
+                : ChangeEngineFactory.getInstance();
+    }
+}
@@ -24,14 +24,14 @@ import io.github.totalschema.engine.api.ChangeEngineFactory;
 import io.github.totalschema.spi.config.ConfigurationSupplier;
 import io.github.totalschema.spi.secrets.SecretsManager;
 
-public abstract class CommonCliCommandBase extends SecretManagerServiceCliCommand {
+public abstract class CommonCliCommandBase extends ChangeEngineFactoryAwareCliCommand {
 
     @Override
     protected final void run(SecretsManager secretsManager) {
 
         ConfigurationSupplier configurationSupplier = FileSystemYamlFileConfiguration::create;
 
-        ChangeEngineFactory changeEngineFactory = ChangeEngineFactory.getInstance();
+        ChangeEngineFactory changeEngineFactory = getChangeEngineFactory();
 
         try (ChangeEngine changeEngine =
                 getChangeEngine(configurationSupplier, changeEngineFactory, secretsManager)) {
@@ -19,14 +19,17 @@
 package io.github.totalschema.cli;
 
 import io.github.totalschema.cli.command.ApplyCliCommand;
+import io.github.totalschema.cli.command.ApplyEnvironmentsCliCommand;
 import io.github.totalschema.cli.command.RevertCliCommand;
 import io.github.totalschema.cli.command.ValidateCliCommand;
 import io.github.totalschema.cli.command.VersionCliCommand;
+import io.github.totalschema.cli.daemon.DaemonSubCommands;
 import io.github.totalschema.cli.environment.EnvironmentsSubCommands;
 import io.github.totalschema.cli.secret.SecretsSubCommands;
 import io.github.totalschema.cli.show.ShowSubCommands;
 import io.github.totalschema.cli.state.StateSubCommands;
 import io.github.totalschema.cli.variables.VariablesSubCommands;
+import io.github.totalschema.engine.api.ChangeEngineFactory;
 import java.util.concurrent.Callable;
 import picocli.CommandLine;
 
@@ -34,6 +37,7 @@ import picocli.CommandLine;
         name = "totalschema",
         subcommands = {
             ApplyCliCommand.class,
+            ApplyEnvironmentsCliCommand.class,
             RevertCliCommand.class,
             ShowSubCommands.class,
             EnvironmentsSubCommands.class,
@@ -41,6 +45,7 @@ import picocli.CommandLine;
             StateSubCommands.class,
             SecretsSubCommands.class,
             ValidateCliCommand.class,
+            DaemonSubCommands.class,
             VersionCliCommand.class
         },
         mixinStandardHelpOptions = true,
@@ -56,6 +61,34 @@ public class Main implements Callable<Integer> {
         return new CommandLine(new Main()).execute(args);
     }
 
+    /**
+     * Executes the command line with the change engines of the commands obtained from the given
+     * factory instead of {@link ChangeEngineFactory#getInstance()}. Used by the daemon to serve
+     * commands with warm change engines.
+     *
+     * @param args the command line arguments
+     * @param changeEngineFactory the factory to obtain change engines from
+     * @return the exit code of the command
+     */
+    public static int run(String[] args, ChangeEngineFactory changeEngineFactory) {
+        CommandLine.IFactory defaultFactory = CommandLine.defaultFactory();
+
+        CommandLine.IFactory factory =
+                new CommandLine.IFactory() {
+                    @Override
+                    public <K> K create(Class<K> cls) throws Exception {
+                        K command = defaultFactory.create(cls);
+                        if (command instanceof ChangeEngineFactoryAwareCliCommand) {
+                            ((ChangeEngineFactoryAwareCliCommand) command)
+                                    .setChangeEngineFactory(changeEngineFactory);
+                        }
+                        return command;
+                    }
+                };
+
+        return new CommandLine(new Main(), factory).execute(args);
+    }
+
     @Override
     public final Integer call() {
         CommandLine.usage(this, System.out);
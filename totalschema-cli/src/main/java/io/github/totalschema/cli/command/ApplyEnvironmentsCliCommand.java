@@ -0,0 +1,102 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.command;
+
+import io.github.totalschema.cli.ChangeEngineFactoryAwareCliCommand;
+import io.github.totalschema.cli.ChangeFileSelectorMixin;
+import io.github.totalschema.config.FileSystemYamlFileConfiguration;
+import io.github.totalschema.engine.api.MultiEnvironmentApply;
+import io.github.totalschema.engine.api.MultiEnvironmentApplyReport;
+import io.github.totalschema.spi.secrets.SecretsManager;
+import java.util.List;
+import java.util.stream.Collectors;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+        name = "apply-environments",
+        mixinStandardHelpOptions = true,
+        description =
+                "applies pending changes to several environments concurrently, e.g. -e 'TENANT*'")
+public class ApplyEnvironmentsCliCommand extends ChangeEngineFactoryAwareCliCommand {
+
+    @CommandLine.Option(
+            names = {"-e", "--environment"},
+            required = true,
+            split = ",",
+            description =
+                    "The names or glob patterns (* and ?) of the environments; repeatable or"
+                            + " comma-separated")
+    private List<String> environments;
+
+    @CommandLine.Option(
+            names = "--parallelism",
+            defaultValue = "4",
+            description = "The maximum number of environments processed concurrently (default: 4)")
+    private int parallelism;
+
+    @CommandLine.Mixin
+    private ChangeFileSelectorMixin selectorMixin = new ChangeFileSelectorMixin();
+
+    @Override
+    protected void run(SecretsManager secretsManager) {
+
+        MultiEnvironmentApplyReport report;
+        try {
+            report =
+                    MultiEnvironmentApply.builder()
+                            .configurationSupplier(FileSystemYamlFileConfiguration::create)
+                            .secretsManager(secretsManager)
+                            .changeEngineFactory(getChangeEngineFactory())
+                            .environments(environments)
+                            .selector(selectorMixin.buildSelector())
+                            .parallelism(parallelism)
+                            .build()
+                            .execute();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        for (MultiEnvironmentApplyReport.EnvironmentResult result : report.getResults()) {
+            System.out.format(
+                    "%-20s %-7s %8.1fs%s%n",
+                    result.getEnvironment(),
+                    result.isSuccessful() ? "SUCCESS" : "FAILED",
+                    result.getDuration().toMillis() / 1000.0,
+                    result.getFailure().map(failure -> "  " + failure.getMessage()).orElse(""));
+        }
+
+        List<String> failedEnvironments =
+                report.getFailures().stream()
+                        .map(MultiEnvironmentApplyReport.EnvironmentResult::getEnvironment)
+                        .collect(Collectors.toList());
+
+        System.out.format(
+                "%s environment(s): %s succeeded, %s failed%n",
+                report.getResults().size(),
+                report.getResults().size() - failedEnvironments.size(),
+                failedEnvironments.size());
+
+        if (!failedEnvironments.isEmpty()) {
+            throw new IllegalStateException(
+                    "Applying changes failed for environment(s): " + failedEnvironments);
+        }
+    }
+}
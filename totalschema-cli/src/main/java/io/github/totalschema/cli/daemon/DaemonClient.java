@@ -0,0 +1,150 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/** Sends requests to the daemon of a workspace, relaying the output of the commands it executes. */
+final class DaemonClient {
+
+    private final Path workspaceDirectory;
+    private final PrintStream out;
+    private final PrintStream err;
+
+    DaemonClient(Path workspaceDirectory) {
+        this(workspaceDirectory, System.out, System.err);
+    }
+
+    DaemonClient(Path workspaceDirectory, PrintStream out, PrintStream err) {
+        this.workspaceDirectory = workspaceDirectory;
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Executes a command in the daemon.
+     *
+     * @param args the command line arguments of the command, e.g. {@code apply -e DEV}
+     * @return the exit code of the command
+     * @throws IOException if no daemon is running for the workspace or the connection fails
+     */
+    int execute(List<String> args) throws IOException {
+        return send(DaemonProtocol.REQUEST_EXECUTE, args);
+    }
+
+    /**
+     * Requests the daemon to stop once the command it is executing, if any, has completed.
+     *
+     * @return the exit code of the request
+     * @throws IOException if no daemon is running for the workspace or the connection fails
+     */
+    int stop() throws IOException {
+        return send(DaemonProtocol.REQUEST_STOP, List.of());
+    }
+
+    /**
+     * Returns whether a daemon is running for the workspace, i.e. a daemon file exists and its port
+     * accepts connections.
+     */
+    boolean isDaemonRunning() throws IOException {
+        Optional<DaemonInfo> daemonInfo = DaemonInfo.read(workspaceDirectory);
+        if (daemonInfo.isEmpty()) {
+            return false;
+        }
+
+        try (Socket ignored = connect(daemonInfo.get())) {
+            return true;
+        } catch (ConnectException e) {
+            return false;
+        }
+    }
+
+    private int send(byte requestType, List<String> args) throws IOException {
+        DaemonInfo daemonInfo =
+                DaemonInfo.read(workspaceDirectory)
+                        .orElseThrow(
+                                () ->
+                                        new IOException(
+                                                "No daemon is running for workspace "
+                                                        + workspaceDirectory
+                                                        + ", start one with 'daemon start'"));
+
+        Socket socket;
+        try {
+            socket = connect(daemonInfo);
+        } catch (ConnectException e) {
+            throw new IOException(
+                    "The daemon of workspace "
+                            + workspaceDirectory
+                            + " (pid "
+                            + daemonInfo.getPid()
+                            + ") is not reachable; remove "
+                            + DaemonInfo.FILE_NAME
+                            + " if it is no longer running",
+                    e);
+        }
+
+        try (socket) {
+            DataOutputStream request =
+                    new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeInt(DaemonProtocol.VERSION);
+            request.writeUTF(daemonInfo.getToken());
+            request.writeByte(requestType);
+            request.writeInt(args.size());
+            for (String arg : args) {
+                request.writeUTF(arg);
+            }
+            request.flush();
+
+            return relay(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+        }
+    }
+
+    private int relay(DataInputStream frames) throws IOException {
+        while (true) {
+            byte frameType = frames.readByte();
+            if (frameType == DaemonProtocol.FRAME_EXIT) {
+                out.flush();
+                err.flush();
+                return frames.readInt();
+            }
+
+            byte[] chunk = new byte[frames.readInt()];
+            frames.readFully(chunk);
+
+            PrintStream target = frameType == DaemonProtocol.FRAME_STDERR ? err : out;
+            target.write(chunk, 0, chunk.length);
+        }
+    }
+
+    private static Socket connect(DaemonInfo daemonInfo) throws IOException {
+        return new Socket(InetAddress.getLoopbackAddress(), daemonInfo.getPort());
+    }
+}
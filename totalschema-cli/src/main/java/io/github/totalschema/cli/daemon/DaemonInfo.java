@@ -0,0 +1,156 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import io.github.totalschema.util.HexUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * The address and access token of a running daemon, published in the {@value #FILE_NAME} file of
+ * its workspace so that clients of the same workspace can find it. The file is readable by its
+ * owner only where the file system supports POSIX permissions, as the token grants the right to
+ * execute commands in the daemon.
+ */
+final class DaemonInfo {
+
+    static final String FILE_NAME = ".totalschema-daemon";
+
+    private static final String PORT = "port";
+    private static final String TOKEN = "token";
+    private static final String PID = "pid";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int port;
+    private final String token;
+    private final long pid;
+
+    private DaemonInfo(int port, String token, long pid) {
+        this.port = port;
+        this.token = token;
+        this.pid = pid;
+    }
+
+    static DaemonInfo create(int port) {
+        byte[] token = new byte[32];
+        RANDOM.nextBytes(token);
+
+        return new DaemonInfo(port, HexUtil.encodeToString(token), ProcessHandle.current().pid());
+    }
+
+    /**
+     * Returns the workspace directory of the commands, i.e. the directory of the {@code
+     * totalschema.workspace.directory} system property or the current directory.
+     *
+     * @return the absolute path of the workspace directory
+     */
+    static Path getWorkspaceDirectory() {
+        String workspaceDirectory = System.getProperty("totalschema.workspace.directory");
+        return Paths.get(workspaceDirectory != null ? workspaceDirectory : "").toAbsolutePath();
+    }
+
+    static Optional<DaemonInfo> read(Path workspaceDirectory) throws IOException {
+        Path file = workspaceDirectory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        }
+
+        try {
+            return Optional.of(
+                    new DaemonInfo(
+                            Integer.parseInt(properties.getProperty(PORT)),
+                            properties.getProperty(TOKEN),
+                            Long.parseLong(properties.getProperty(PID))));
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid daemon file: " + file, e);
+        }
+    }
+
+    void write(Path workspaceDirectory) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(PORT, Integer.toString(port));
+        properties.setProperty(TOKEN, token);
+        properties.setProperty(PID, Long.toString(pid));
+
+        Path file = workspaceDirectory.resolve(FILE_NAME);
+        Path temporaryFile = workspaceDirectory.resolve(FILE_NAME + "." + pid);
+
+        Files.deleteIfExists(temporaryFile);
+        createOwnerOnlyFile(workspaceDirectory, temporaryFile);
+        try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+            properties.store(outputStream, "totalschema daemon");
+        }
+
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Deletes the daemon file of the workspace if it still describes this daemon, i.e. has not been
+     * replaced by another daemon in the meantime.
+     */
+    void delete(Path workspaceDirectory) throws IOException {
+        Optional<DaemonInfo> current = read(workspaceDirectory);
+        if (current.isPresent() && current.get().token.equals(token)) {
+            Files.deleteIfExists(workspaceDirectory.resolve(FILE_NAME));
+        }
+    }
+
+    private static void createOwnerOnlyFile(Path directory, Path file) throws IOException {
+        try {
+            if (Files.getFileStore(directory).supportsFileAttributeView("posix")) {
+                Files.createFile(
+                        file,
+                        PosixFilePermissions.asFileAttribute(
+                                PosixFilePermissions.fromString("rw-------")));
+            } else {
+                Files.createFile(file);
+            }
+        } catch (FileAlreadyExistsException e) {
+            throw new IOException("Daemon file is being written concurrently: " + file, e);
+        }
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    long getPid() {
+        return pid;
+    }
+}
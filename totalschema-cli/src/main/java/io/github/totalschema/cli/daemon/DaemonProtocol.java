@@ -0,0 +1,92 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The protocol spoken between the daemon client and the daemon over a loopback connection.
+ *
+ * <p>A client sends one request per connection: the protocol version, the access token of the
+ * daemon, the request type and the command line arguments. The daemon answers with a sequence of
+ * frames, each starting with a frame type byte: standard output and standard error frames carry a
+ * length-prefixed chunk of the output of the command, and the final exit frame carries its exit
+ * code.
+ */
+final class DaemonProtocol {
+
+    static final int VERSION = 1;
+
+    static final byte REQUEST_EXECUTE = 1;
+    static final byte REQUEST_STOP = 2;
+
+    static final byte FRAME_STDOUT = 1;
+    static final byte FRAME_STDERR = 2;
+    static final byte FRAME_EXIT = 3;
+
+    /** The maximum number of command line arguments of a request. */
+    static final int MAX_ARGUMENT_COUNT = 256;
+
+    /** The maximum total length, in encoded bytes, of the command line arguments of a request. */
+    static final int MAX_ARGUMENTS_LENGTH = 256 * 1024;
+
+    private DaemonProtocol() {
+        throw new AssertionError("static utility class, no instances allowed");
+    }
+
+    /** Writes everything written to it as frames of the given type. */
+    static final class FrameOutputStream extends OutputStream {
+
+        private final DataOutputStream frames;
+        private final byte frameType;
+
+        FrameOutputStream(DataOutputStream frames, byte frameType) {
+            this.frames = frames;
+            this.frameType = frameType;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (frames) {
+                frames.writeByte(frameType);
+                frames.writeInt(len);
+                frames.write(b, off, len);
+                frames.flush();
+            }
+        }
+    }
+
+    static void writeExit(DataOutputStream frames, int exitCode) throws IOException {
+        synchronized (frames) {
+            frames.writeByte(FRAME_EXIT);
+            frames.writeInt(exitCode);
+            frames.flush();
+        }
+    }
+}
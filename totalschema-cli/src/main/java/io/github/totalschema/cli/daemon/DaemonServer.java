@@ -0,0 +1,318 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import io.github.totalschema.ProjectConventions;
+import io.github.totalschema.cli.Main;
+import io.github.totalschema.engine.api.ChangeEngineFactory;
+import io.github.totalschema.spi.secrets.SecretsManager;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves the commands of the clients of a workspace with warm change engines.
+ *
+ * <p>The daemon listens on a loopback port published, together with a random access token, in the
+ * {@value DaemonInfo#FILE_NAME} file of the workspace. Requests are served one at a time: the
+ * standard output and error of the JVM are redirected to the client while a command executes. The
+ * change engines are kept per environment by a {@link WarmChangeEngineFactory} and closed when the
+ * configuration file of the workspace changes. Change files are discovered by every command, so
+ * adding or editing them needs no restart.
+ */
+final class DaemonServer implements Closeable {
+
+    private static final class DefaultValues {
+        private DefaultValues() {
+            throw new AssertionError("static constant class, no instances allowed");
+        }
+
+        private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(DaemonServer.class);
+
+    private final Path workspaceDirectory;
+    private final Path configurationFile;
+    private final WarmChangeEngineFactory changeEngineFactory;
+    private final ServerSocket serverSocket;
+    private final DaemonInfo daemonInfo;
+    private final int requestTimeoutMillis;
+
+    private String configurationFingerprint;
+    private boolean stopped;
+    private boolean closed;
+
+    /**
+     * Creates a daemon for the given workspace listening on the loopback interface.
+     *
+     * @param workspaceDirectory the workspace directory of the commands
+     * @param secretsManager the secrets manager of the change engines
+     * @param port the port to listen on, {@code 0} for any free port
+     * @param idleTimeout the time without requests after which the daemon stops; {@link
+     *     Duration#ZERO} to never stop
+     * @throws IOException if the port cannot be opened
+     */
+    DaemonServer(
+            Path workspaceDirectory, SecretsManager secretsManager, int port, Duration idleTimeout)
+            throws IOException {
+
+        this(workspaceDirectory, secretsManager, port, idleTimeout, DefaultValues.REQUEST_TIMEOUT);
+    }
+
+    /**
+     * @param requestTimeout the time a client may take to send its request once connected
+     */
+    DaemonServer(
+            Path workspaceDirectory,
+            SecretsManager secretsManager,
+            int port,
+            Duration idleTimeout,
+            Duration requestTimeout)
+            throws IOException {
+
+        this.requestTimeoutMillis = Math.toIntExact(requestTimeout.toMillis());
+        this.workspaceDirectory = workspaceDirectory;
+        this.configurationFile = workspaceDirectory.resolve(ProjectConventions.YML_CONFIG_FILE);
+        this.changeEngineFactory =
+                new WarmChangeEngineFactory(ChangeEngineFactory.getInstance(), secretsManager);
+
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.serverSocket.setSoTimeout(Math.toIntExact(idleTimeout.toMillis()));
+
+        this.daemonInfo = DaemonInfo.create(serverSocket.getLocalPort());
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Publishes the daemon in the workspace and serves requests until a stop request is received,
+     * the idle timeout elapses or the daemon is closed.
+     *
+     * @throws IOException if the daemon file cannot be written
+     */
+    void serve() throws IOException {
+        configurationFingerprint = getConfigurationFingerprint();
+        daemonInfo.write(workspaceDirectory);
+
+        logger.info(
+                "Daemon listening on {}:{} for workspace {}",
+                serverSocket.getInetAddress().getHostAddress(),
+                serverSocket.getLocalPort(),
+                workspaceDirectory);
+
+        try {
+            while (!stopped) {
+                Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (SocketTimeoutException e) {
+                    logger.info("No request received within the idle timeout, stopping daemon");
+                    stopped = true;
+                    continue;
+                } catch (SocketException e) {
+                    if (serverSocket.isClosed()) {
+                        stopped = true;
+                    } else {
+                        logger.warn("Failed to accept connection: {}", e.getMessage());
+                    }
+                    continue;
+                }
+
+                try (socket) {
+                    // bounds the time a client may keep the daemon waiting for its request
+                    socket.setSoTimeout(requestTimeoutMillis);
+                    handle(socket);
+                } catch (EOFException e) {
+                    logger.debug("Connection closed without a complete request");
+                } catch (SocketTimeoutException e) {
+                    logger.warn(
+                            "No complete request received within {} ms, closing connection",
+                            requestTimeoutMillis);
+                } catch (IOException e) {
+                    logger.warn("Failed to serve request: {}", e.getMessage());
+                } catch (RuntimeException e) {
+                    logger.error("Failed to serve request", e);
+                }
+            }
+        } finally {
+            close();
+        }
+
+        logger.info("Daemon stopped");
+    }
+
+    private void handle(Socket socket) throws IOException {
+        DataInputStream request =
+                new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream frames =
+                new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        int version = request.readInt();
+        if (version != DaemonProtocol.VERSION) {
+            reject(frames, "Unsupported daemon protocol version: " + version);
+            return;
+        }
+
+        String token = request.readUTF();
+        if (!MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8),
+                daemonInfo.getToken().getBytes(StandardCharsets.UTF_8))) {
+            reject(frames, "Invalid daemon token");
+            return;
+        }
+
+        byte requestType = request.readByte();
+
+        int argumentCount = request.readInt();
+        if (argumentCount < 0 || argumentCount > DaemonProtocol.MAX_ARGUMENT_COUNT) {
+            reject(frames, "Invalid number of arguments: " + argumentCount);
+            return;
+        }
+
+        String[] args = new String[argumentCount];
+        int remainingLength = DaemonProtocol.MAX_ARGUMENTS_LENGTH;
+        for (int i = 0; i < args.length; i++) {
+            // peek at the length prefix of the argument before reading it
+            request.mark(2);
+            int length = request.readUnsignedShort();
+            request.reset();
+
+            remainingLength -= length;
+            if (remainingLength < 0) {
+                reject(
+                        frames,
+                        "Arguments exceed " + DaemonProtocol.MAX_ARGUMENTS_LENGTH + " bytes");
+                return;
+            }
+            args[i] = request.readUTF();
+        }
+
+        if (requestType == DaemonProtocol.REQUEST_STOP) {
+            logger.info("Stop requested");
+            stopped = true;
+            DaemonProtocol.writeExit(frames, 0);
+
+        } else if (requestType == DaemonProtocol.REQUEST_EXECUTE) {
+            DaemonProtocol.writeExit(frames, execute(args, frames));
+
+        } else {
+            reject(frames, "Unsupported daemon request: " + requestType);
+        }
+    }
+
+    private int execute(String[] args, DataOutputStream frames) throws IOException {
+        if (args.length > 0 && "daemon".equals(args[0])) {
+            writeError(frames, "Daemon commands cannot be executed by the daemon");
+            return 2;
+        }
+
+        invalidateIfConfigurationChanged();
+
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+
+        try (PrintStream out = toClient(frames, DaemonProtocol.FRAME_STDOUT);
+                PrintStream err = toClient(frames, DaemonProtocol.FRAME_STDERR)) {
+
+            System.setOut(out);
+            System.setErr(err);
+
+            return Main.run(args, changeEngineFactory);
+
+        } finally {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+    }
+
+    private void invalidateIfConfigurationChanged() throws IOException {
+        String fingerprint = getConfigurationFingerprint();
+        if (!fingerprint.equals(configurationFingerprint)) {
+            if (changeEngineFactory.size() > 0) {
+                logger.info("{} has changed, closing warm change engines", configurationFile);
+                changeEngineFactory.invalidate();
+            }
+            configurationFingerprint = fingerprint;
+        }
+    }
+
+    private String getConfigurationFingerprint() throws IOException {
+        if (!Files.exists(configurationFile)) {
+            return "";
+        }
+        return Files.getLastModifiedTime(configurationFile).toMillis()
+                + ":"
+                + Files.size(configurationFile);
+    }
+
+    private static PrintStream toClient(DataOutputStream frames, byte frameType) {
+        return new PrintStream(
+                new DaemonProtocol.FrameOutputStream(frames, frameType),
+                true,
+                StandardCharsets.UTF_8);
+    }
+
+    private static void reject(DataOutputStream frames, String message) throws IOException {
+        logger.warn("Rejecting request: {}", message);
+        writeError(frames, message);
+        DaemonProtocol.writeExit(frames, 1);
+    }
+
+    private static void writeError(DataOutputStream frames, String message) throws IOException {
+        byte[] bytes = (message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        new DaemonProtocol.FrameOutputStream(frames, DaemonProtocol.FRAME_STDERR)
+                .write(bytes, 0, bytes.length);
+    }
+
+    /** Stops serving, closes the change engines and removes the daemon file of the workspace. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            serverSocket.close();
+            changeEngineFactory.close();
+        } finally {
+            daemonInfo.delete(workspaceDirectory);
+        }
+    }
+}
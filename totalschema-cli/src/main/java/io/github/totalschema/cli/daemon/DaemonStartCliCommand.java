@@ -0,0 +1,90 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import io.github.totalschema.cli.SecretManagerServiceCliCommand;
+import io.github.totalschema.spi.secrets.SecretsManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+        name = "start",
+        mixinStandardHelpOptions = true,
+        description =
+                "starts a daemon for the workspace in the foreground, serving the commands sent"
+                        + " with 'daemon exec' until 'daemon stop'")
+public class DaemonStartCliCommand extends SecretManagerServiceCliCommand {
+
+    private static final Logger logger = LoggerFactory.getLogger(DaemonStartCliCommand.class);
+
+    @CommandLine.Option(
+            names = {"--port"},
+            defaultValue = "0",
+            description = "The loopback port to listen on (default: any free port)")
+    private int port;
+
+    @CommandLine.Option(
+            names = {"--idleTimeout"},
+            defaultValue = "0",
+            description =
+                    "The minutes without commands after which the daemon stops (default: never)")
+    private long idleTimeoutMinutes;
+
+    @Override
+    protected void run(SecretsManager secretsManager) {
+
+        Path workspaceDirectory = DaemonInfo.getWorkspaceDirectory();
+
+        try {
+            if (new DaemonClient(workspaceDirectory).isDaemonRunning()) {
+                throw new IllegalStateException(
+                        "A daemon is already running for workspace " + workspaceDirectory);
+            }
+
+            DaemonServer daemonServer =
+                    new DaemonServer(
+                            workspaceDirectory,
+                            secretsManager,
+                            port,
+                            Duration.ofMinutes(idleTimeoutMinutes));
+
+            Runtime.getRuntime()
+                    .addShutdownHook(
+                            new Thread(
+                                    () -> {
+                                        try {
+                                            daemonServer.close();
+                                        } catch (IOException e) {
+                                            logger.warn("Failed to close daemon", e);
+                                        }
+                                    },
+                                    "totalschema-daemon-shutdown"));
+
+            daemonServer.serve();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
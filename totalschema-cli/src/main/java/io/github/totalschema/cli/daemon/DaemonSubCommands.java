@@ -0,0 +1,32 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import io.github.totalschema.cli.CliSubCommandContainer;
+import picocli.CommandLine;
+
+@CommandLine.Command(
+        name = "daemon",
+        description = "keeps change engines warm between commands of a workspace",
+        subcommands = {
+            DaemonStartCliCommand.class,
+            DaemonExecCliCommand.class,
+            DaemonStopCliCommand.class,
+        })
+public class DaemonSubCommands extends CliSubCommandContainer {}
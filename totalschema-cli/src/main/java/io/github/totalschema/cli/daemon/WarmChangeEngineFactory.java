@@ -0,0 +1,152 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import io.github.totalschema.engine.api.ChangeEngine;
+import io.github.totalschema.engine.api.ChangeEngineFactory;
+import io.github.totalschema.engine.api.ChangeManager;
+import io.github.totalschema.engine.api.EnvironmentManager;
+import io.github.totalschema.engine.api.StateManager;
+import io.github.totalschema.engine.api.ValidationManager;
+import io.github.totalschema.engine.core.event.EventDispatcher;
+import io.github.totalschema.spi.config.ConfigurationSupplier;
+import io.github.totalschema.spi.secrets.SecretsManager;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ChangeEngineFactory} keeping the change engines it creates open, one per environment, so
+ * that subsequent commands reuse their connection pools, connectors and caches.
+ *
+ * <p>The engines are created with the {@link SecretsManager} of the daemon; the ones passed by the
+ * commands are ignored. The engines handed out cannot be closed by the commands: they are closed by
+ * {@link #invalidate()}, e.g. when the configuration changes, and when the factory is closed.
+ */
+final class WarmChangeEngineFactory implements ChangeEngineFactory, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmChangeEngineFactory.class);
+
+    /** The key of the engine created without an environment. */
+    private static final String NO_ENVIRONMENT = "";
+
+    private final ChangeEngineFactory delegate;
+    private final SecretsManager secretsManager;
+
+    private final Map<String, ChangeEngine> changeEngines = new HashMap<>();
+
+    WarmChangeEngineFactory(ChangeEngineFactory delegate, SecretsManager secretsManager) {
+        this.delegate = delegate;
+        this.secretsManager = secretsManager;
+    }
+
+    @Override
+    public ChangeEngine getChangeEngine(
+            ConfigurationSupplier configurationSupplier, SecretsManager secretsManager) {
+
+        return getChangeEngine(configurationSupplier, secretsManager, null);
+    }
+
+    @Override
+    public synchronized ChangeEngine getChangeEngine(
+            ConfigurationSupplier configurationSupplier,
+            SecretsManager secretsManager,
+            String environmentName) {
+
+        String key = environmentName != null ? environmentName : NO_ENVIRONMENT;
+
+        ChangeEngine changeEngine = changeEngines.get(key);
+        if (changeEngine == null) {
+            changeEngine =
+                    delegate.getChangeEngine(
+                            configurationSupplier, this.secretsManager, environmentName);
+            changeEngines.put(key, changeEngine);
+        } else {
+            logger.debug("Reusing warm change engine of environment '{}'", key);
+        }
+
+        return new NonClosingChangeEngine(changeEngine);
+    }
+
+    /** Closes all engines, so that the next commands create new ones. */
+    synchronized void invalidate() {
+        List<ChangeEngine> closing = new ArrayList<>(changeEngines.values());
+        changeEngines.clear();
+
+        for (ChangeEngine changeEngine : closing) {
+            try {
+                changeEngine.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close change engine", e);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return changeEngines.size();
+    }
+
+    @Override
+    public void close() {
+        invalidate();
+    }
+
+    private static final class NonClosingChangeEngine implements ChangeEngine {
+
+        private final ChangeEngine changeEngine;
+
+        private NonClosingChangeEngine(ChangeEngine changeEngine) {
+            this.changeEngine = changeEngine;
+        }
+
+        @Override
+        public EnvironmentManager getEnvironmentManager() {
+            return changeEngine.getEnvironmentManager();
+        }
+
+        @Override
+        public ChangeManager getChangeManager() {
+            return changeEngine.getChangeManager();
+        }
+
+        @Override
+        public StateManager getStateManager() {
+            return changeEngine.getStateManager();
+        }
+
+        @Override
+        public ValidationManager getValidationManager() {
+            return changeEngine.getValidationManager();
+        }
+
+        @Override
+        public EventDispatcher getEventDispatcher() {
+            return changeEngine.getEventDispatcher();
+        }
+
+        @Override
+        public void close() {
+            // kept open for the next commands, closed by the factory
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.cli.daemon;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.spi.secrets.SecretManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DaemonServerTest {
+
+    private Path workspaceDirectory;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workspaceDirectory = Files.createTempDirectory("totalschema-daemon");
+        writeConfiguration("DEV", "QA");
+
+        System.setProperty("totalschema.workspace.directory", workspaceDirectory.toString());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        System.clearProperty("totalschema.workspace.directory");
+        FileUtils.deleteDirectory(workspaceDirectory.toFile());
+    }
+
+    @Test
+    public void testExecutesCommandsWithWarmEnginesUntilStopped() throws Exception {
+        DaemonServer daemonServer =
+                new DaemonServer(
+                        workspaceDirectory,
+                        SecretManagerFactory.getInstance().getSecretsManager(null, null),
+                        0,
+                        Duration.ZERO);
+
+        Thread serverThread =
+                new Thread(
+                        () -> {
+                            try {
+                                daemonServer.serve();
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        serverThread.start();
+
+        try {
+            DaemonClient client = awaitDaemon();
+
+            assertEquals(client.execute(List.of("environments", "list")), 0, errors());
+            assertEquals(output(), Set.of("DEV", "QA"));
+
+            assertEquals(client.execute(List.of("environments", "list")), 0, errors());
+            assertEquals(output(), Set.of("DEV", "QA"));
+
+            writeConfiguration("DEV", "QA", "PROD");
+
+            assertEquals(client.execute(List.of("environments", "list")), 0, errors());
+            assertEquals(output(), Set.of("DEV", "QA", "PROD"));
+
+            assertEquals(client.execute(List.of("daemon", "stop")), 2);
+            assertTrue(errors().contains("daemon"));
+
+            assertEquals(client.stop(), 0);
+            serverThread.join(TimeUnit.SECONDS.toMillis(30));
+
+            assertFalse(serverThread.isAlive());
+            assertFalse(Files.exists(workspaceDirectory.resolve(DaemonInfo.FILE_NAME)));
+        } finally {
+            daemonServer.close();
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidTokenAndKeepsServing() throws Exception {
+        try (DaemonServer daemonServer = startDaemon(Duration.ofSeconds(30))) {
+            DaemonClient client = awaitDaemon();
+
+            String response = sendRawRequest(daemonServer, "not-the-token", 0);
+            assertTrue(response.contains("Invalid daemon token"), response);
+            assertTrue(response.endsWith("exit=1"), response);
+
+            assertEquals(client.execute(List.of("environments", "list")), 0, errors());
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidArgumentCountAndKeepsServing() throws Exception {
+        try (DaemonServer daemonServer = startDaemon(Duration.ofSeconds(30))) {
+            DaemonClient client = awaitDaemon();
+            String token = DaemonInfo.read(workspaceDirectory).orElseThrow().getToken();
+
+            String response = sendRawRequest(daemonServer, token, -1);
+            assertTrue(response.contains("Invalid number of arguments: -1"), response);
+            assertTrue(response.endsWith("exit=1"), response);
+
+            response = sendRawRequest(daemonServer, token, Integer.MAX_VALUE);
+            assertTrue(response.contains("Invalid number of arguments"), response);
+
+            assertEquals(client.execute(List.of("environments", "list")), 0, errors());
+        }
+    }
+
+    @Test
+    public void testIdleClientDoesNotBlockDaemon() throws Exception {
+        try (DaemonServer daemonServer = startDaemon(Duration.ofMillis(200))) {
+            DaemonClient client = awaitDaemon();
+
+            try (Socket idleClient =
+                    new Socket(InetAddress.getLoopbackAddress(), daemonServer.getPort())) {
+
+                assertEquals(client.execute(List.of("environments", "list")), 0, errors());
+                assertEquals(output(), Set.of("DEV", "QA"));
+
+                // the daemon has closed the connection of the idle client
+                idleClient.setSoTimeout((int) TimeUnit.SECONDS.toMillis(30));
+                assertEquals(idleClient.getInputStream().read(), -1);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsRequestWithoutDaemon() {
+        DaemonClient client =
+                new DaemonClient(workspaceDirectory, new PrintStream(out), new PrintStream(err));
+
+        expectThrows(IOException.class, () -> client.execute(List.of("environments")));
+    }
+
+    private DaemonServer startDaemon(Duration requestTimeout) throws Exception {
+        DaemonServer daemonServer =
+                new DaemonServer(
+                        workspaceDirectory,
+                        SecretManagerFactory.getInstance().getSecretsManager(null, null),
+                        0,
+                        Duration.ZERO,
+                        requestTimeout);
+
+        Thread serverThread =
+                new Thread(
+                        () -> {
+                            try {
+                                daemonServer.serve();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        return daemonServer;
+    }
+
+    /** Sends a request with the given token and argument count, returns the frames received. */
+    private String sendRawRequest(DaemonServer daemonServer, String token, int argumentCount)
+            throws Exception {
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemonServer.getPort())) {
+            socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(30));
+
+            DataOutputStream request = new DataOutputStream(socket.getOutputStream());
+            request.writeInt(DaemonProtocol.VERSION);
+            request.writeUTF(token);
+            request.writeByte(DaemonProtocol.REQUEST_EXECUTE);
+            request.writeInt(argumentCount);
+            request.flush();
+
+            DataInputStream frames = new DataInputStream(socket.getInputStream());
+            StringBuilder response = new StringBuilder();
+            while (true) {
+                byte frameType = frames.readByte();
+                if (frameType == DaemonProtocol.FRAME_EXIT) {
+                    return response.append("exit=").append(frames.readInt()).toString();
+                }
+                byte[] chunk = new byte[frames.readInt()];
+                frames.readFully(chunk);
+                response.append(new String(chunk, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private DaemonClient awaitDaemon() throws Exception {
+        DaemonClient client =
+                new DaemonClient(
+                        workspaceDirectory,
+                        new PrintStream(out, true, StandardCharsets.UTF_8),
+                        new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!client.isDaemonRunning()) {
+            assertTrue(System.nanoTime() < deadline, "daemon did not start");
+            Thread.sleep(10);
+        }
+        return client;
+    }
+
+    private String errors() {
+        return new String(err.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /** Returns the lines printed by the commands so far, without the log messages. */
+    private Set<String> output() {
+        String output = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        out.reset();
+
+        return Stream.of(output.split("\\R"))
+                .filter(line -> !line.startsWith("["))
+                .collect(Collectors.toSet());
+    }
+
+    private void writeConfiguration(String... environments) throws Exception {
+        StringBuilder configuration = new StringBuilder();
+        configuration.append("stateRepository:\n");
+        configuration.append("  type: database\n");
+        configuration.append("  database:\n");
+        configuration.append("    jdbc:\n");
+        configuration.append("      url: jdbc:h2:mem:daemon;DB_CLOSE_DELAY=-1\n");
+        configuration.append("environments:\n");
+        for (String environment : environments) {
+            configuration.append("  ").append(environment).append(":\n");
+            configuration.append("    variables:\n");
+            configuration.append("      name: ").append(environment).append('\n');
+        }
+
+        Path configurationFile = workspaceDirectory.resolve("totalschema.yml");
+        Files.writeString(configurationFile, configuration);
+        // make the change visible on file systems with a coarse modification time
+        Files.setLastModifiedTime(
+                configurationFile,
+                FileTime.fromMillis(System.currentTimeMillis() + 1000L * environments.length));
+    }
+}
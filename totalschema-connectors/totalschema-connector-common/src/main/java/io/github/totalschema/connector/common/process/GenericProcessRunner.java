@@ -18,6 +18,7 @@
 
 package io.github.totalschema.connector.common.process;
 
+import io.github.totalschema.jfr.ProcessSpawnEvent;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -108,7 +109,7 @@ public class GenericProcessRunner implements ProcessRunner {
 
         Process process;
         try {
-            process = pb.start();
+            process = ProcessSpawnEvent.start(pb, connectorName);
         } catch (IOException e) {
             throw new RuntimeException("Failed to start process: " + command, e);
         }
@@ -0,0 +1,263 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.common.process;
+
+import io.github.totalschema.jfr.ProcessSpawnEvent;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-running interpreter process that executes requests sent over its standard input, shared by
+ * the connectors keeping a worker interpreter between scripts.
+ *
+ * <p><b>Protocol:</b> every request is a single line written to the interpreter. The interpreter
+ * output is relayed line by line to the output consumer until a line containing the sentinel — a
+ * random token generated per worker — followed by a colon and the exit status of the request.
+ * Output preceding the sentinel on the same line, i.e. a last line the request did not terminate,
+ * is relayed as well.
+ *
+ * <p><b>Failures:</b> if the interpreter terminates or its streams fail, if no exit status is
+ * received within the response timeout, or if the calling thread is interrupted while a request is
+ * running, the interpreter is terminated and the next request starts a new one. The output is read
+ * by a dedicated thread, so that waiting for the exit status neither blocks indefinitely nor
+ * ignores interruption.
+ *
+ * <p>The interpreter is started lazily on first use and terminated by {@link #close()}. Requests
+ * are serialized.
+ */
+public final class WorkerProcess implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerProcess.class);
+
+    private static final long TERMINATION_TIMEOUT_SECONDS = 5;
+
+    private final String name;
+    private final Function<String, ProcessBuilder> processBuilderFactory;
+    private final Consumer<String> outputConsumer;
+    private final Duration responseTimeout;
+    private final String sentinel;
+
+    /** Guarded by {@code this}; {@code null} while no interpreter is running. */
+    private Process process;
+
+    private Writer input;
+
+    /** The output lines of the current interpreter; empty once its output has ended. */
+    private BlockingQueue<Optional<String>> output;
+
+    /**
+     * Creates a worker; no process is started until the first request.
+     *
+     * @param name the connector name; used for logging and to name the output reader thread
+     * @param processBuilderFactory creates the builder of the interpreter process from the
+     *     sentinel; standard error should be redirected to standard output
+     * @param outputConsumer receives the output of the interpreter, line by line
+     * @param responseTimeout the maximum time a request may take; {@link Duration#ZERO} for no
+     *     limit
+     */
+    public WorkerProcess(
+            String name,
+            Function<String, ProcessBuilder> processBuilderFactory,
+            Consumer<String> outputConsumer,
+            Duration responseTimeout) {
+        this.name = Objects.requireNonNull(name, "name is null");
+        this.processBuilderFactory =
+                Objects.requireNonNull(processBuilderFactory, "processBuilderFactory is null");
+        this.outputConsumer = Objects.requireNonNull(outputConsumer, "outputConsumer is null");
+        this.responseTimeout = Objects.requireNonNull(responseTimeout, "responseTimeout is null");
+        if (responseTimeout.isNegative()) {
+            throw new IllegalArgumentException("responseTimeout is negative: " + responseTimeout);
+        }
+        this.sentinel = "__totalschema_" + UUID.randomUUID().toString().replace("-", "") + "__";
+    }
+
+    /**
+     * @return the random token the interpreter prints, followed by a colon and the exit status,
+     *     when a request completes
+     */
+    public String getSentinel() {
+        return sentinel;
+    }
+
+    /**
+     * Starts the interpreter if necessary, sends it a request and waits for its exit status.
+     *
+     * @param request the request; a single line
+     * @return the exit status reported by the interpreter
+     * @throws IOException if the interpreter cannot be started, terminates or does not respond
+     *     within the response timeout; the interpreter is terminated in this case
+     * @throws InterruptedException if the current thread is interrupted; the interpreter is
+     *     terminated in this case, as the request may still be running
+     */
+    public synchronized int send(String request) throws IOException, InterruptedException {
+        boolean completed = false;
+        try {
+            ensureStarted();
+
+            input.write(request);
+            input.write('\n');
+            input.flush();
+
+            int exitStatus = awaitExitStatus();
+            completed = true;
+            return exitStatus;
+
+        } finally {
+            if (!completed) {
+                // the request may still be running; a clean state requires a new interpreter
+                terminate(true);
+            }
+        }
+    }
+
+    private int awaitExitStatus() throws IOException, InterruptedException {
+        String marker = sentinel + ":";
+        long deadline = System.nanoTime() + responseTimeout.toNanos();
+
+        while (true) {
+            Optional<String> next;
+            if (responseTimeout.isZero()) {
+                next = output.take();
+            } else {
+                next = output.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    throw new IOException(
+                            "interpreter did not respond within "
+                                    + responseTimeout.toSeconds()
+                                    + "s");
+                }
+            }
+
+            if (next.isEmpty()) {
+                throw new IOException("interpreter terminated unexpectedly");
+            }
+
+            String line = next.get();
+            int index = line.indexOf(marker);
+            if (index < 0) {
+                outputConsumer.accept(line);
+            } else {
+                if (index > 0) {
+                    // the last line of output of the request was not terminated
+                    outputConsumer.accept(line.substring(0, index));
+                }
+                return Integer.parseInt(line.substring(index + marker.length()).trim());
+            }
+        }
+    }
+
+    private void ensureStarted() throws IOException {
+        if (process != null && process.isAlive()) {
+            return;
+        }
+        terminate(false);
+
+        Process started = ProcessSpawnEvent.start(processBuilderFactory.apply(sentinel), name);
+        BlockingQueue<Optional<String>> lines = new LinkedBlockingQueue<>();
+
+        Thread reader = new Thread(() -> readOutput(started, lines), "totalschema-worker-" + name);
+        reader.setDaemon(true);
+        reader.start();
+
+        process = started;
+        output = lines;
+        input = new OutputStreamWriter(started.getOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    private void readOutput(Process readProcess, BlockingQueue<Optional<String>> lines) {
+        try (BufferedReader reader =
+                new BufferedReader(
+                        new InputStreamReader(
+                                readProcess.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(Optional.of(line));
+            }
+        } catch (IOException e) {
+            log.debug("Error reading output of worker '{}'", name, e);
+        } finally {
+            lines.add(Optional.empty());
+        }
+    }
+
+    private void terminate(boolean forcibly) {
+        if (process == null) {
+            return;
+        }
+
+        Process terminated = process;
+        process = null;
+        output = null;
+        input = null;
+
+        if (forcibly) {
+            destroy(terminated);
+            return;
+        }
+
+        try {
+            // closing standard input ends an idle interpreter gracefully
+            terminated.getOutputStream().close();
+        } catch (IOException e) {
+            log.debug("Error closing input of worker '{}'", name, e);
+        }
+
+        try {
+            if (!terminated.waitFor(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                destroy(terminated);
+            }
+        } catch (InterruptedException e) {
+            destroy(terminated);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void destroy(Process process) {
+        // a request still running may have started processes holding the output open
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /** Terminates the interpreter, if running. */
+    @Override
+    public synchronized void close() {
+        terminate(false);
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerProcess{" + "name='" + name + '\'' + '}';
+    }
+}
@@ -24,8 +24,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 
@@ -36,18 +34,18 @@ import java.util.function.Consumer;
  */
 public abstract class AbstractTerminalSession<C> implements TerminalSession<C> {
 
-    /** Shared executor service for reading terminal output streams. */
-    protected static final ExecutorService executorService = Executors.newCachedThreadPool();
-
     /**
      * Submits a task to read from an input stream and consume the output.
      *
+     * <p>The task starts at once on the shared {@link TerminalReaderExecutor}.
+     *
      * @param inputStream the input stream to read from
      * @param consumer the consumer for each line of output
      * @return a Future representing the reader task
      */
     protected Future<?> submitReaderTask(InputStream inputStream, Consumer<String> consumer) {
-        return executorService.submit(new StreamReaderTask(inputStream, consumer));
+        return TerminalReaderExecutor.getInstance()
+                .submit(new StreamReaderTask(inputStream, consumer));
     }
 
     private static final class StreamReaderTask implements Runnable {
@@ -18,6 +18,7 @@
 
 package io.github.totalschema.engine.internal.shell;
 
+import io.github.totalschema.jfr.ProcessSpawnEvent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -122,7 +123,7 @@ public abstract class ExternalProcessTerminalSession extends AbstractTerminalSes
             builder.environment().putAll(environmentVariables);
         }
 
-        Process startedProcess = builder.start();
+        Process startedProcess = ProcessSpawnEvent.start(builder, null);
 
         return new AutoCloseableProcess(startedProcess);
     }
@@ -0,0 +1,143 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.shell;
+
+import java.io.Closeable;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor running the tasks that read the output streams of terminal sessions.
+ *
+ * <p>A reader blocks until its stream ends, so every task gets a thread at once: a queued reader
+ * would never start while the readers ahead of it wait for their sessions, and the session would
+ * hang. Threads are reused by later tasks and released after {@value
+ * DefaultValues#KEEP_ALIVE_SECONDS} seconds of idleness. The executor does not limit the number of
+ * threads: there is one per running reader, i.e. one or two per command being executed, so it is
+ * the number of concurrently executed commands (e.g. the SSH {@code channels.maxConcurrent}) that
+ * limits it. On JDK 21 and later the readers run on virtual threads, otherwise on daemon platform
+ * threads; either way they are named {@code totalschema-terminal-reader-N}.
+ *
+ * <p>The executor is shared by all sessions of the JVM. {@link #close()} shuts it down gracefully
+ * (running readers complete); it is recreated on the next submission, so that a change engine
+ * closing it does not affect engines created later.
+ *
+ * @see TerminalReaderExecutorComponentFactory
+ */
+public final class TerminalReaderExecutor implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TerminalReaderExecutor.class);
+
+    private static final class DefaultValues {
+        private static final long KEEP_ALIVE_SECONDS = 60;
+        private static final String THREAD_NAME_PREFIX = "totalschema-terminal-reader-";
+    }
+
+    private static final TerminalReaderExecutor INSTANCE = new TerminalReaderExecutor();
+
+    private ThreadPoolExecutor executor;
+
+    static TerminalReaderExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    private TerminalReaderExecutor() {}
+
+    /**
+     * Submits a reader task.
+     *
+     * @param task the task to run
+     * @return a Future representing the task
+     */
+    synchronized Future<?> submit(Runnable task) {
+        if (executor == null) {
+            executor = createExecutor();
+        }
+        return executor.submit(task);
+    }
+
+    /** Shuts the executor down once the submitted readers have completed. */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            log.debug("Shutting down terminal reader executor");
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadFactory threadFactory = virtualThreadFactory();
+        if (threadFactory == null) {
+            threadFactory = new PlatformThreadFactory();
+        }
+
+        return new ThreadPoolExecutor(
+                0,
+                Integer.MAX_VALUE,
+                DefaultValues.KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * Returns a factory of virtual threads, or {@code null} if the runtime does not support them.
+     * The API is looked up reflectively, as the project targets Java 11.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder =
+                    builderType
+                            .getMethod("name", String.class, long.class)
+                            .invoke(builder, DefaultValues.THREAD_NAME_PREFIX, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Virtual threads are not available, using platform threads", e);
+            return null;
+        }
+    }
+
+    private static final class PlatformThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread =
+                    new Thread(
+                            runnable,
+                            DefaultValues.THREAD_NAME_PREFIX + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
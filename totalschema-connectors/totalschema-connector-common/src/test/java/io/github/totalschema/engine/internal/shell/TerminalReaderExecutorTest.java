@@ -0,0 +1,91 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.shell;
+
+import static org.testng.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class TerminalReaderExecutorTest {
+
+    private static final int READERS = 100;
+
+    private final TerminalReaderExecutor executor = TerminalReaderExecutor.getInstance();
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    public void testAllBlockedReadersRunConcurrently() throws Exception {
+        CountDownLatch started = new CountDownLatch(READERS);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < READERS; i++) {
+                futures.add(executor.submit(() -> awaitRelease(started, release)));
+            }
+
+            assertTrue(
+                    started.await(10, TimeUnit.SECONDS),
+                    "readers not started: " + started.getCount());
+        } finally {
+            release.countDown();
+        }
+
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testExecutorIsUsableAfterClose() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> running = executor.submit(() -> awaitRelease(started, release));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.close();
+
+        // readers submitted before closing complete, readers submitted afterwards run
+        Future<?> next = executor.submit(() -> {});
+        next.get(10, TimeUnit.SECONDS);
+
+        release.countDown();
+        running.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void awaitRelease(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
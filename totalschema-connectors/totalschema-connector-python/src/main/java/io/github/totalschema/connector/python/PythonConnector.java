@@ -24,12 +24,14 @@ import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.model.ChangeFile;
 import io.github.totalschema.os.OperatingSystemInfo;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -63,6 +65,15 @@ import org.slf4j.LoggerFactory;
  * <p>Standard output and standard error of the Python process are logged line-by-line at {@code
  * INFO} level. A non-zero exit code is treated as a deployment failure.
  *
+ * <p>When {@code worker.enabled: true} is set, scripts are not run by a new interpreter each, but
+ * by a single long-running {@link PythonWorker} kept for the lifetime of the connector. Every
+ * script still runs in a fresh {@code __main__} namespace with its own working directory, but
+ * modules imported by earlier scripts (e.g. {@code pandas}) stay loaded. The worker is restarted if
+ * a script terminates the interpreter.
+ *
+ * <p>When the SDK is enabled, the {@code totalschema} package is generated once, on first use, and
+ * removed when the connector is closed.
+ *
  * <p>Example configuration:
  *
  * <pre>{@code
@@ -73,6 +84,9 @@ import org.slf4j.LoggerFactory;
  *     workingDirectory: /path/to/scripts  # optional
  *     initCommands: pip install -r requirements.txt, pip install pandas  # optional, comma-separated; run once before first script
  *     copyToTempDir: true                # optional, default: false; copy script to a temp dir before execution
+ *     worker:
+ *       enabled: true                  # optional, default: false; run all scripts in one long-running interpreter
+ *       timeoutSeconds: 600            # optional, default: 0 (no limit); the interpreter is killed when a script exceeds it
  *     modulesDirectory: scripts/lib      # optional; path prepended to PYTHONPATH so scripts can import local modules
  *     initFiles:                         # optional, files written to the working dir before initCommands run
  *       requirements.txt: |
@@ -88,7 +102,7 @@ import org.slf4j.LoggerFactory;
  *       PYTHONPATH: /opt/mylibs
  * }</pre>
  */
-public final class PythonConnector extends Connector {
+public final class PythonConnector extends Connector implements Closeable {
 
     /** Connector type identifier used in {@code totalschema.yml} ({@code type: python}). */
     public static final String CONNECTOR_TYPE = "python";
@@ -112,10 +126,19 @@ public final class PythonConnector extends Connector {
     private final Map<String, String>
             initFiles; // nullable — absent when not configured; filename → content
     private final boolean copyToTempDir;
+    private final boolean workerEnabled;
+    private final Duration workerTimeout;
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     private final PythonProcessRunner processRunner;
+    private final Map<String, String> environmentVariables; // nullable — absent when not configured
     private final TotalSchemaSdkGenerator sdkGenerator; // null when SDK is disabled
 
+    /** Guarded by {@code this}; generated on first use when the SDK is enabled. */
+    private Path sdkDirectory;
+
+    /** Guarded by {@code this}; started on first use when the worker is enabled. */
+    private PythonWorker worker;
+
     /**
      * Creates a {@code PythonConnector} using the default {@link DefaultPythonProcessRunner}.
      *
@@ -123,11 +146,15 @@ public final class PythonConnector extends Connector {
      * @param configuration the connector-specific configuration block
      */
     public PythonConnector(String name, Configuration configuration) {
-        this(name, configuration, buildProcessRunner(name, configuration));
+        this(
+                name,
+                configuration,
+                new DefaultPythonProcessRunner(
+                        name, buildEnvironmentVariables(name, configuration)));
     }
 
     /**
-     * Builds the {@link DefaultPythonProcessRunner} for the public constructor.
+     * Builds the environment variables of the Python processes.
      *
      * <p>Merges {@code environmentVariables} from config with the optional {@code modulesDirectory}
      * value. When {@code modulesDirectory} is set its absolute path is prepended to any {@code
@@ -137,9 +164,9 @@ public final class PythonConnector extends Connector {
      *
      * @param name connector name, used for log messages
      * @param configuration connector-specific configuration block
-     * @return a fully configured runner
+     * @return the environment variables, or {@code null} if none are configured
      */
-    private static DefaultPythonProcessRunner buildProcessRunner(
+    private static Map<String, String> buildEnvironmentVariables(
             String name, Configuration configuration) {
         final Map<String, String> envVars =
                 new LinkedHashMap<>(
@@ -162,7 +189,7 @@ public final class PythonConnector extends Connector {
                     pythonPath);
         }
 
-        return new DefaultPythonProcessRunner(name, envVars.isEmpty() ? null : envVars);
+        return envVars.isEmpty() ? null : envVars;
     }
 
     /**
@@ -191,7 +218,11 @@ public final class PythonConnector extends Connector {
                         .map(Collections::unmodifiableMap)
                         .orElse(null);
         this.copyToTempDir = configuration.getBoolean("copyToTempDir").orElse(false);
+        this.workerEnabled = configuration.getBoolean("worker.enabled").orElse(false);
+        this.workerTimeout =
+                Duration.ofSeconds(configuration.getLong("worker.timeoutSeconds").orElse(0L));
         this.processRunner = Objects.requireNonNull(processRunner, "processRunner is null");
+        this.environmentVariables = buildEnvironmentVariables(name, configuration);
         final Configuration sdkConfig = configuration.getPrefixNamespace("sdk");
         final boolean sdkEnabled = sdkConfig.getBoolean("enabled").orElse(false);
         if (sdkEnabled) {
@@ -269,37 +300,86 @@ public final class PythonConnector extends Connector {
     }
 
     /**
-     * Invokes the Python executable with {@code scriptFile} as the sole argument, using {@code
-     * workingDir} as the process working directory.
+     * Runs {@code scriptFile} with {@code workingDir} as the working directory: in the worker
+     * interpreter when enabled, otherwise by invoking the Python executable with {@code scriptFile}
+     * as the sole argument.
      *
-     * <p>When the TotalSchema SDK is enabled, a dedicated temporary directory is created, the
-     * {@code totalschema} package is generated inside it, and the directory is prepended to {@code
-     * PYTHONPATH} for this invocation only. The temporary directory is unconditionally deleted
-     * after the script finishes, keeping the working directory and the changes tree clean.
+     * <p>When the TotalSchema SDK is enabled, the directory holding the generated {@code
+     * totalschema} package is prepended to {@code PYTHONPATH}.
      *
      * @param scriptFile absolute path to the script to execute
      * @param workingDir working directory for the Python process
      */
     private void runScript(Path scriptFile, Path workingDir) throws InterruptedException {
-        Path sdkTempDir = null;
-        if (sdkGenerator != null) {
-            sdkTempDir = sdkGenerator.generate();
-            log.debug("[{}] TotalSchema SDK generated in temp dir: {}", name, sdkTempDir);
-        }
-        try {
+        if (workerEnabled) {
+            getWorker().run(scriptFile, workingDir);
+        } else {
+            Path sdkDir = getSdkDirectory();
             final Map<String, String> extraEnv;
-            if (sdkTempDir != null) {
-                extraEnv = Map.of(PYTHONPATH_VARIABLE_NAME, sdkTempDir.toString());
+            if (sdkDir != null) {
+                extraEnv = Map.of(PYTHONPATH_VARIABLE_NAME, sdkDir.toString());
             } else {
                 extraEnv = Collections.emptyMap();
             }
             log.info("[{}] Executing Python script: {}", name, scriptFile);
             processRunner.run(List.of(executable, scriptFile.toString()), workingDir, extraEnv);
-        } finally {
-            if (sdkTempDir != null) {
-                log.debug("[{}] Cleaning up TotalSchema SDK temp dir: {}", name, sdkTempDir);
-                sdkGenerator.cleanup(sdkTempDir);
+        }
+    }
+
+    /**
+     * Returns the directory of the generated TotalSchema SDK package, generating it on first use.
+     *
+     * @return the directory to prepend to {@code PYTHONPATH}, or {@code null} if the SDK is
+     *     disabled
+     */
+    private synchronized Path getSdkDirectory() {
+        if (sdkGenerator != null && sdkDirectory == null) {
+            sdkDirectory = sdkGenerator.generate();
+            log.debug("[{}] TotalSchema SDK generated in temp dir: {}", name, sdkDirectory);
+        }
+        return sdkDirectory;
+    }
+
+    /**
+     * Returns the worker interpreter, creating it on first use. Its environment is that of the
+     * per-script processes, including the SDK directory prepended to {@code PYTHONPATH}.
+     */
+    private synchronized PythonWorker getWorker() {
+        if (worker == null) {
+            Map<String, String> workerEnvironment =
+                    environmentVariables != null
+                            ? new LinkedHashMap<>(environmentVariables)
+                            : new LinkedHashMap<>();
+
+            Path sdkDir = getSdkDirectory();
+            if (sdkDir != null) {
+                String existing =
+                        workerEnvironment.containsKey(PYTHONPATH_VARIABLE_NAME)
+                                ? workerEnvironment.get(PYTHONPATH_VARIABLE_NAME)
+                                : System.getenv(PYTHONPATH_VARIABLE_NAME);
+                workerEnvironment.put(
+                        PYTHONPATH_VARIABLE_NAME,
+                        existing != null
+                                ? sdkDir + File.pathSeparator + existing
+                                : sdkDir.toString());
             }
+
+            worker = new PythonWorker(name, executable, workerEnvironment, workerTimeout);
+        }
+        return worker;
+    }
+
+    /** Terminates the worker interpreter and removes the generated SDK package, if any. */
+    @Override
+    public synchronized void close() {
+        if (worker != null) {
+            worker.close();
+            worker = null;
+        }
+        if (sdkDirectory != null) {
+            log.debug("[{}] Cleaning up TotalSchema SDK temp dir: {}", name, sdkDirectory);
+            sdkGenerator.cleanup(sdkDirectory);
+            sdkDirectory = null;
         }
     }
 
@@ -436,6 +516,8 @@ public final class PythonConnector extends Connector {
                 + initFiles
                 + ", copyToTempDir="
                 + copyToTempDir
+                + ", workerEnabled="
+                + workerEnabled
                 + ", initialized="
                 + initialized
                 + ", processRunner="
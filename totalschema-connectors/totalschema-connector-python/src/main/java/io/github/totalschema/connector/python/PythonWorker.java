@@ -0,0 +1,201 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.python;
+
+import io.github.totalschema.connector.common.process.WorkerProcess;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-running Python interpreter that executes scripts without paying the interpreter start-up and
+ * import cost for each of them.
+ *
+ * <p>The interpreter runs a small host program ({@code worker_host.py}) that reads one request per
+ * line from its standard input, runs the requested script via {@code runpy} in a fresh {@code
+ * __main__} namespace, with the requested working directory, and answers with the exit status of
+ * the script as described in {@link WorkerProcess}. Modules imported by a script stay loaded, so
+ * subsequent scripts importing them do not pay the import cost again. Scripts read standard input
+ * from the null device.
+ *
+ * <p>A non-zero exit status, including an uncaught exception, fails the execution but keeps the
+ * worker running. If the interpreter terminates or its streams fail while a script is running, or
+ * the script does not complete within the timeout, the execution fails and the process is
+ * discarded; the next execution starts a new interpreter.
+ *
+ * <p>The interpreter is started lazily on first use and terminated by {@link #close()}. Executions
+ * are serialized.
+ */
+final class PythonWorker implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(PythonWorker.class);
+
+    private static final String HOST_PROGRAM_RESOURCE = "worker_host.py";
+
+    private final String connectorName;
+    private final String executable;
+    private final Map<String, String> environmentVariables;
+    private final WorkerProcess workerProcess;
+
+    /**
+     * Creates a worker; no process is started until the first execution.
+     *
+     * @param connectorName the connector name used to prefix log messages
+     * @param executable the Python executable
+     * @param environmentVariables the environment variables overlaid on the inherited environment
+     *     of the interpreter, or {@code null} if it should be inherited unchanged
+     * @param timeout the maximum time a script may run; {@link Duration#ZERO} for no limit
+     */
+    PythonWorker(
+            String connectorName,
+            String executable,
+            Map<String, String> environmentVariables,
+            Duration timeout) {
+        this.connectorName = Objects.requireNonNull(connectorName, "connectorName is null");
+        this.executable = Objects.requireNonNull(executable, "executable is null");
+        this.environmentVariables =
+                environmentVariables != null ? Map.copyOf(environmentVariables) : null;
+        this.workerProcess =
+                new WorkerProcess(
+                        connectorName,
+                        this::getProcessBuilder,
+                        line -> log.info("[{}] {}", this.connectorName, line),
+                        timeout);
+    }
+
+    /**
+     * Runs a script in the worker interpreter.
+     *
+     * @param scriptFile absolute path of the script to execute
+     * @param workingDirectory the working directory of the script
+     * @throws InterruptedException if the current thread is interrupted; the interpreter is
+     *     discarded in this case
+     * @throws RuntimeException if the script exits with a non-zero status, or if the interpreter
+     *     fails
+     */
+    void run(Path scriptFile, Path workingDirectory) throws InterruptedException {
+        log.info("[{}] Executing in Python worker: {}", connectorName, scriptFile);
+
+        String request =
+                encode(scriptFile.toAbsolutePath().toString())
+                        + " "
+                        + encode(workingDirectory.toAbsolutePath().toString());
+
+        int exitStatus = send(request);
+        if (exitStatus != 0) {
+            throw new RuntimeException(
+                    "["
+                            + connectorName
+                            + "] Python script exited with status "
+                            + exitStatus
+                            + ": "
+                            + scriptFile);
+        }
+    }
+
+    /**
+     * Starts the interpreter if necessary and verifies that it responds.
+     *
+     * @throws InterruptedException if the current thread is interrupted
+     * @throws RuntimeException if the interpreter cannot be started or does not respond
+     */
+    void checkReady() throws InterruptedException {
+        send("");
+    }
+
+    private int send(String request) throws InterruptedException {
+        try {
+            return workerProcess.send(request);
+
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException(
+                    "["
+                            + connectorName
+                            + "] Python worker failed, it will be restarted: "
+                            + e.getMessage(),
+                    e);
+        }
+    }
+
+    private ProcessBuilder getProcessBuilder(String sentinel) {
+        List<String> command = List.of(executable, "-u", "-c", bootstrapProgram(), sentinel);
+        log.info("[{}] Starting Python worker: {}", connectorName, executable);
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        builder.environment().put("PYTHONIOENCODING", "utf-8");
+        if (environmentVariables != null) {
+            builder.environment().putAll(environmentVariables);
+        }
+        return builder;
+    }
+
+    /**
+     * Returns a single-line program that executes the host program; passing the host program itself
+     * would require multi-line arguments, which are not portable across platforms.
+     */
+    private static String bootstrapProgram() {
+        return "import base64;exec(base64.b64decode('"
+                + Base64.getEncoder().encodeToString(readHostProgram())
+                + "').decode('utf-8'))";
+    }
+
+    private static byte[] readHostProgram() {
+        try (InputStream in = PythonWorker.class.getResourceAsStream(HOST_PROGRAM_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Resource not found: " + HOST_PROGRAM_RESOURCE);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + HOST_PROGRAM_RESOURCE, e);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Terminates the interpreter, if running. */
+    @Override
+    public void close() {
+        workerProcess.close();
+    }
+
+    @Override
+    public String toString() {
+        return "PythonWorker{"
+                + "connectorName='"
+                + connectorName
+                + '\''
+                + ", executable='"
+                + executable
+                + '\''
+                + '}';
+    }
+}
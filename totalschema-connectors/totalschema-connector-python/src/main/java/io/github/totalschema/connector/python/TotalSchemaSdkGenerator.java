@@ -40,8 +40,8 @@ import org.slf4j.LoggerFactory;
  * foo = Variable.get("foo")
  * }</pre>
  *
- * <p>The generated package is an implementation detail: it is always removed after the script
- * finishes via {@link #cleanup(Path)}, even if the script fails. The package is written to a
+ * <p>The generated package is an implementation detail: it is generated once per connector and
+ * removed via {@link #cleanup(Path)} when the connector is closed. The package is written to a
  * dedicated temporary directory (not the script's working directory) whose path is injected into
  * {@code PYTHONPATH} by the caller, keeping the working directory clean. Variable values are
  * base64-encoded inside the generated source file so that any content (multiline strings, quotes,
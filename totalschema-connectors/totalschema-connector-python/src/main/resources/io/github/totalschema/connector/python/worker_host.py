@@ -0,0 +1,57 @@
+# Host program of the TotalSchema Python worker — see PythonWorker.java.
+#
+# Reads one request per line from standard input: the base64-encoded script path and working
+# directory, separated by a space. Each script is run by runpy in a fresh __main__ namespace;
+# modules imported by scripts stay loaded for subsequent scripts. After each request a line
+# consisting of the sentinel passed as the first argument, a colon and the exit status is
+# written to standard output. An empty request only produces the status line.
+import base64
+import os
+import runpy
+import sys
+import traceback
+
+sentinel = sys.argv[1]
+channel = sys.stdin
+sys.stdin = open(os.devnull)
+
+base_path = [entry for entry in sys.path if entry != ""]
+base_cwd = os.getcwd()
+
+
+def decode(value):
+    return base64.b64decode(value).decode("utf-8")
+
+
+def run(script, cwd):
+    try:
+        os.chdir(cwd)
+        sys.path[:] = [os.path.dirname(script)] + base_path
+        sys.argv = [script]
+        runpy.run_path(script, run_name="__main__")
+        return 0
+    except SystemExit as e:
+        if e.code is None:
+            return 0
+        if isinstance(e.code, int):
+            return e.code
+        print(e.code, file=sys.stderr)
+        return 1
+    except BaseException:
+        traceback.print_exc()
+        return 1
+    finally:
+        os.chdir(base_cwd)
+        sys.path[:] = base_path
+        sys.argv = [""]
+
+
+for request in channel:
+    request = request.strip()
+    status = 0
+    if request:
+        script, cwd = (decode(part) for part in request.split(" "))
+        status = run(script, cwd)
+    sys.stderr.flush()
+    sys.stdout.write(sentinel + ":" + str(status) + "\n")
+    sys.stdout.flush()
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.testng.annotations.AfterMethod;
@@ -178,6 +179,37 @@ public class PythonConnectorTest {
         assertEquals(capturedWorkDir.getValues().get(0), overrideDir);
     }
 
+    // -------------------------------------------------------------------------
+    // SDK
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testSdkIsGeneratedOnceAndRemovedOnClose() throws Exception {
+        Configuration config =
+                Configuration.builder()
+                        .set("sdk.enabled", true)
+                        .set("sdk.variables.foo", "bar")
+                        .build();
+
+        Capture<Map<String, String>> capturedEnv = newCapture(CaptureType.ALL);
+        mockRunner.run(anyObject(), anyObject(Path.class), capture(capturedEnv));
+        expectLastCall().times(2);
+        replay(mockRunner);
+
+        PythonConnector connector = connector(config);
+        connector.execute(applyFile(), context);
+        connector.execute(applyFile(), context);
+
+        verify(mockRunner);
+        Path sdkDir = Path.of(capturedEnv.getValues().get(0).get("PYTHONPATH"));
+        assertEquals(capturedEnv.getValues().get(1).get("PYTHONPATH"), sdkDir.toString());
+        assertTrue(Files.exists(sdkDir.resolve("totalschema").resolve("sdk.py")));
+
+        connector.close();
+
+        assertFalse(Files.exists(sdkDir), "SDK directory must be removed on close");
+    }
+
     // -------------------------------------------------------------------------
     // Null guard
     // -------------------------------------------------------------------------
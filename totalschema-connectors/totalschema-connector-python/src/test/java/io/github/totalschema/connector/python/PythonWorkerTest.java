@@ -0,0 +1,238 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.python;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.engine.core.command.api.CommandContext;
+import io.github.totalschema.model.ApplyFile;
+import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.model.ChangeType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link PythonWorker} against a real {@code python3} interpreter; skipped when none is
+ * available on the {@code PATH}.
+ */
+public class PythonWorkerTest {
+
+    private static final String EXECUTABLE = "python3";
+
+    private Path directory;
+    private PythonWorker worker;
+
+    @BeforeClass
+    public void checkPythonAvailable() throws InterruptedException {
+        try {
+            Process process = new ProcessBuilder(EXECUTABLE, "--version").start();
+            if (process.waitFor() != 0) {
+                throw new SkipException(EXECUTABLE + " is not available");
+            }
+        } catch (IOException e) {
+            throw new SkipException(EXECUTABLE + " is not available", e);
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("python-worker-test-");
+        worker = new PythonWorker("worker-test", EXECUTABLE, null, Duration.ZERO);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        if (worker != null) {
+            worker.close();
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    public void testScriptsRunInTheSameInterpreter() throws Exception {
+        Path pids = directory.resolve("pids.txt");
+        Path script =
+                script(
+                        "pid.py",
+                        "import os\nopen('pids.txt', 'a').write(str(os.getpid()) + '\\n')\n");
+
+        worker.run(script, directory);
+        worker.run(script, directory);
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.size(), 2);
+        assertEquals(lines.get(0), lines.get(1));
+    }
+
+    @Test
+    public void testEachScriptRunsInAFreshNamespace() throws Exception {
+        Path result = directory.resolve("result.txt");
+        Path first = script("first.py", "leaked = 'yes'\n");
+        Path second =
+                script(
+                        "second.py",
+                        "open('result.txt', 'w').write(str('leaked' in globals()) + ' ' + __name__)\n");
+
+        worker.run(first, directory);
+        worker.run(second, directory);
+
+        assertEquals(Files.readString(result), "False __main__");
+    }
+
+    @Test
+    public void testWorkingDirectoryAndScriptDirectoryImportsAreApplied() throws Exception {
+        Path scripts = Files.createDirectory(directory.resolve("scripts"));
+        Path work = Files.createDirectory(directory.resolve("work"));
+        Files.writeString(scripts.resolve("helper.py"), "VALUE = 'imported'\n");
+        Path script =
+                Files.writeString(
+                        scripts.resolve("main.py"),
+                        "import helper\nopen('out.txt', 'w').write(helper.VALUE)\n");
+
+        worker.run(script, work);
+
+        assertEquals(Files.readString(work.resolve("out.txt")), "imported");
+    }
+
+    @Test
+    public void testFailingScriptKeepsWorker() throws Exception {
+        Path pids = directory.resolve("pids.txt");
+        String recordPid = "import os\nopen('pids.txt', 'a').write(str(os.getpid()) + '\\n')\n";
+        Path raising = script("raising.py", recordPid + "raise ValueError('boom')\n");
+        Path exiting = script("exiting.py", recordPid + "import sys\nsys.exit(3)\n");
+        Path passing = script("passing.py", recordPid);
+
+        RuntimeException raised =
+                expectThrows(RuntimeException.class, () -> worker.run(raising, directory));
+        assertTrue(raised.getMessage().contains("status 1"), raised.getMessage());
+
+        RuntimeException exited =
+                expectThrows(RuntimeException.class, () -> worker.run(exiting, directory));
+        assertTrue(exited.getMessage().contains("status 3"), exited.getMessage());
+
+        worker.run(passing, directory);
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.size(), 3);
+        assertEquals(lines.get(0), lines.get(2));
+    }
+
+    @Test
+    public void testWorkerIsRestartedAfterInterpreterTerminated() throws Exception {
+        Path pids = directory.resolve("pids.txt");
+        String recordPid = "import os\nopen('pids.txt', 'a').write(str(os.getpid()) + '\\n')\n";
+        Path killing = script("kill.py", recordPid + "os._exit(9)\n");
+        Path passing = script("passing.py", recordPid);
+
+        RuntimeException ex =
+                expectThrows(RuntimeException.class, () -> worker.run(killing, directory));
+        assertTrue(ex.getMessage().contains("restarted"), ex.getMessage());
+
+        worker.run(passing, directory);
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.size(), 2);
+        assertNotEquals(lines.get(0), lines.get(1));
+    }
+
+    @Test
+    public void testWorkerIsRestartedAfterTimeout() throws Exception {
+        worker.close();
+        worker = new PythonWorker("worker-test", EXECUTABLE, null, Duration.ofSeconds(1));
+
+        Path pids = directory.resolve("pids.txt");
+        String recordPid = "import os\nopen('pids.txt', 'a').write(str(os.getpid()) + '\\n')\n";
+        Path sleeping = script("sleep.py", recordPid + "import time\ntime.sleep(60)\n");
+        Path passing = script("passing.py", recordPid);
+
+        long start = System.nanoTime();
+        RuntimeException ex =
+                expectThrows(RuntimeException.class, () -> worker.run(sleeping, directory));
+        assertTrue(ex.getMessage().contains("did not respond within 1s"), ex.getMessage());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).getSeconds() < 30);
+
+        worker.run(passing, directory);
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.size(), 2);
+        assertNotEquals(lines.get(0), lines.get(1));
+    }
+
+    @Test
+    public void testScriptDoesNotConsumeWorkerInput() throws Exception {
+        Path script =
+                script(
+                        "stdin.py",
+                        "import sys\nassert sys.stdin.read() == ''\nprint('no newline', end='')\n");
+
+        worker.run(script, directory);
+        worker.checkReady();
+    }
+
+    @Test
+    public void testConnectorWorkerExposesSdkVariables() throws Exception {
+        Configuration config =
+                Configuration.builder()
+                        .set("executable", EXECUTABLE)
+                        .set("worker.enabled", true)
+                        .set("sdk.enabled", true)
+                        .set("sdk.variables.foo", "bar")
+                        .build();
+        Path script =
+                script(
+                        "sdk.py",
+                        "from totalschema.sdk import Variable\n"
+                                + "open('sdk.txt', 'a').write(Variable.get('foo') + '\\n')\n");
+
+        PythonConnector connector = new PythonConnector("sdk-test", config);
+        try {
+            connector.execute(applyFile(script), new CommandContext());
+            connector.execute(applyFile(script), new CommandContext());
+        } finally {
+            connector.close();
+        }
+
+        assertEquals(Files.readAllLines(directory.resolve("sdk.txt")), List.of("bar", "bar"));
+    }
+
+    private Path script(String fileName, String content) throws IOException {
+        return Files.writeString(directory.resolve(fileName), content);
+    }
+
+    private static ApplyFile applyFile(Path script) {
+        ChangeFile.Id id =
+                new ChangeFile.Id("", "0001", "sdk", null, ChangeType.APPLY, "sdk-test", "py");
+        return new ApplyFile(script.getParent(), script, id);
+    }
+}
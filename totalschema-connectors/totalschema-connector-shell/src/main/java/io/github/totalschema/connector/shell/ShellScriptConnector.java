@@ -25,10 +25,13 @@ import io.github.totalschema.connector.shell.spi.ShellScriptRunnerFactory;
 import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.model.ChangeFile;
+import java.io.Closeable;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -40,8 +43,14 @@ import java.util.stream.Collectors;
  * PowerShell, {@code cmd.exe}, {@code sh}, or any custom implementation — based on the file
  * extension and the connector configuration.
  *
- * <p>No runner is held between executions, so this connector carries no long-lived resources and
- * does not need to be closed itself.
+ * <p>No runner is held between executions, so this connector carries no long-lived resources.
+ *
+ * <p><b>Persistent workers:</b> with {@code worker.enabled: true}, the runner obtained for a file
+ * extension is kept and reused for all further scripts with that extension, including the readiness
+ * check. The default factory then returns runners that execute every script in one long-lived
+ * interpreter process, see {@link
+ * io.github.totalschema.connector.shell.impl.DefaultShellScriptRunnerFactory}. The runners are
+ * closed when the connector is closed.
  *
  * <p>The connector type string is {@value #CONNECTOR_TYPE}. Declare it in {@code totalschema.yml}
  * like:
@@ -67,7 +76,7 @@ import java.util.stream.Collectors;
  * @see ShellScriptRunnerFactory
  * @see io.github.totalschema.connector.shell.impl.DefaultShellScriptRunnerFactory
  */
-final class ShellScriptConnector extends Connector {
+final class ShellScriptConnector extends Connector implements Closeable {
 
     /** Connector type identifier used in {@code totalschema.yml} ({@code type: shell}). */
     static final String CONNECTOR_TYPE = "shell";
@@ -75,6 +84,10 @@ final class ShellScriptConnector extends Connector {
     private final String name;
     private final Configuration configuration;
     private final ShellScriptRunnerFactory runnerFactory;
+    private final boolean workerEnabled;
+
+    /** Runners kept for reuse when {@code worker.enabled} is set, keyed by file extension. */
+    private final ConcurrentHashMap<String, ShellScriptRunner> workers = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new {@code ShellScriptConnector} using the default {@link
@@ -109,6 +122,7 @@ final class ShellScriptConnector extends Connector {
         this.name = name;
         this.configuration = configuration;
         this.runnerFactory = runnerFactory;
+        this.workerEnabled = configuration.getBoolean("worker.enabled").orElse(false);
     }
 
     /**
@@ -133,9 +147,13 @@ final class ShellScriptConnector extends Connector {
                         .collect(Collectors.toList());
 
         for (String extension : distinctExtensions) {
-            try (ShellScriptRunner runner =
-                    runnerFactory.getRunner(name, configuration, extension)) {
-                runner.checkReady();
+            if (workerEnabled) {
+                getWorker(extension).checkReady();
+            } else {
+                try (ShellScriptRunner runner =
+                        runnerFactory.getRunner(name, configuration, extension)) {
+                    runner.checkReady();
+                }
             }
         }
     }
@@ -162,8 +180,43 @@ final class ShellScriptConnector extends Connector {
         Path absolutePath = file.toAbsolutePath();
         Objects.requireNonNull(absolutePath, "absolutePath is null");
 
-        try (ShellScriptRunner runner = runnerFactory.getRunner(name, configuration, extension)) {
-            runner.execute(Collections.singletonList(absolutePath.toString()));
+        List<String> command = Collections.singletonList(absolutePath.toString());
+
+        if (workerEnabled) {
+            getWorker(extension).execute(command);
+        } else {
+            try (ShellScriptRunner runner =
+                    runnerFactory.getRunner(name, configuration, extension)) {
+                runner.execute(command);
+            }
+        }
+    }
+
+    private ShellScriptRunner getWorker(String extension) {
+        return workers.computeIfAbsent(
+                extension.toLowerCase(Locale.ROOT),
+                key -> runnerFactory.getRunner(name, configuration, key));
+    }
+
+    /** Closes the runners kept for reuse, if any. */
+    @Override
+    public void close() {
+        RuntimeException failure = null;
+        for (ShellScriptRunner worker : workers.values()) {
+            try {
+                worker.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        workers.clear();
+
+        if (failure != null) {
+            throw failure;
         }
     }
 
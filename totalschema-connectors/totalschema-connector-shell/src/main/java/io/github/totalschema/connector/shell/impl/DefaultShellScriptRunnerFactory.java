@@ -21,6 +21,7 @@ package io.github.totalschema.connector.shell.impl;
 import io.github.totalschema.config.Configuration;
 import io.github.totalschema.connector.shell.spi.ShellScriptRunner;
 import io.github.totalschema.connector.shell.spi.ShellScriptRunnerFactory;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -52,6 +53,16 @@ import org.slf4j.LoggerFactory;
  *       file argument, so no execute-bit is required on the script).
  * </ol>
  *
+ * <h2>Persistent workers</h2>
+ *
+ * <p>When {@code worker.enabled} is {@code true} in the connector configuration, a {@link
+ * PersistentShellScriptRunner} is returned instead for the {@code sh} and PowerShell interpreters,
+ * which runs all scripts in one long-lived interpreter process. Callers are expected to keep such a
+ * runner for the lifetime of the connector. {@code worker.timeoutSeconds} limits the time a script
+ * may run in the worker (default: no limit); the worker is terminated when it is exceeded. {@code
+ * cmd.exe} and user-configured {@code start.command} interpreters do not support this mode and
+ * always use a process per script.
+ *
  * <p>This is the built-in fallback used when no custom {@link ShellScriptRunnerFactory} is
  * registered via Java {@link java.util.ServiceLoader}.
  */
@@ -101,12 +112,15 @@ public class DefaultShellScriptRunnerFactory implements ShellScriptRunnerFactory
      *   <li>a {@link ShScriptRunner} on Unix / macOS for all other extensions
      * </ul>
      *
+     * <p>With {@code worker.enabled}, the {@code sh} and PowerShell runners above are replaced by a
+     * {@link PersistentShellScriptRunner} for the same interpreter.
+     *
      * @param name the connector name; forwarded to the runner for logging
      * @param configuration the connector configuration; may contain {@code start.command}
      * @param fileExtension the extension of the script file (e.g. {@code "sh"}, {@code "ps1"},
      *     {@code "cmd"}); case-insensitive; drives interpreter selection when {@code start.command}
      *     is absent
-     * @return a new {@link GenericShellScriptRunner} instance; never {@code null}
+     * @return a new {@link ShellScriptRunner} instance; never {@code null}
      * @throws IllegalStateException if a {@code ps1} extension is requested on a non-Windows OS
      *     without {@code pwsh} on {@code PATH}, or if a {@code bat} / {@code cmd} extension is
      *     requested on a non-Windows OS
@@ -119,6 +133,10 @@ public class DefaultShellScriptRunnerFactory implements ShellScriptRunnerFactory
         Map<String, String> environmentVariables =
                 configuration.getPrefixNamespace("environmentVariables").asMap().orElse(null);
 
+        boolean workerEnabled = configuration.getBoolean("worker.enabled").orElse(false);
+        Duration workerTimeout =
+                Duration.ofSeconds(configuration.getLong("worker.timeoutSeconds").orElse(0L));
+
         ShellScriptRunner shellScriptRunner;
 
         String ext = fileExtension.toLowerCase(Locale.ROOT);
@@ -135,11 +153,15 @@ public class DefaultShellScriptRunnerFactory implements ShellScriptRunnerFactory
 
         } else if (ext.equals("sh")) {
             log.debug("Creating ShScriptRunner for extension: {}", ext);
-            shellScriptRunner = getShShellScriptRunner(name, environmentVariables);
+            shellScriptRunner =
+                    getShShellScriptRunner(
+                            name, environmentVariables, workerEnabled, workerTimeout);
 
         } else if (ext.equals("ps1")) {
             log.debug("Creating PowerShell Script Runner for extension: {}", ext);
-            shellScriptRunner = getPowerShellRunner(name, ext, environmentVariables);
+            shellScriptRunner =
+                    getPowerShellRunner(
+                            name, ext, environmentVariables, workerEnabled, workerTimeout);
 
         } else if (ext.equals("cmd") || ext.equals("bat")) {
             log.debug("Creating Windows CMD Script Runner for extension: {}", ext);
@@ -152,7 +174,9 @@ public class DefaultShellScriptRunnerFactory implements ShellScriptRunnerFactory
                         "Creating ShScriptRunner for extension '{}' as there is no more specific"
                                 + " rule",
                         ext);
-                shellScriptRunner = getShShellScriptRunner(name, environmentVariables);
+                shellScriptRunner =
+                        getShShellScriptRunner(
+                                name, environmentVariables, workerEnabled, workerTimeout);
 
             } else {
                 log.debug(
@@ -167,17 +191,39 @@ public class DefaultShellScriptRunnerFactory implements ShellScriptRunnerFactory
         return shellScriptRunner;
     }
 
-    private static ShScriptRunner getShShellScriptRunner(
-            String name, Map<String, String> environmentVariables) {
+    private static ShellScriptRunner getShShellScriptRunner(
+            String name,
+            Map<String, String> environmentVariables,
+            boolean workerEnabled,
+            Duration workerTimeout) {
+        if (workerEnabled) {
+            return new PersistentShellScriptRunner(
+                    name, WorkerDialect.SH, environmentVariables, workerTimeout);
+        }
         return new ShScriptRunner(name, environmentVariables);
     }
 
-    private GenericShellScriptRunner getPowerShellRunner(
-            String name, String extension, Map<String, String> environmentVariables) {
+    private ShellScriptRunner getPowerShellRunner(
+            String name,
+            String extension,
+            Map<String, String> environmentVariables,
+            boolean workerEnabled,
+            Duration workerTimeout) {
         if (runtimeInformation.isPwshAvailable()) {
+            if (workerEnabled) {
+                return new PersistentShellScriptRunner(
+                        name, WorkerDialect.PWSH, environmentVariables, workerTimeout);
+            }
             return new PwshScriptRunner(name, environmentVariables);
         } else {
             if (runtimeInformation.isWindows()) {
+                if (workerEnabled) {
+                    return new PersistentShellScriptRunner(
+                            name,
+                            WorkerDialect.WINDOWS_POWERSHELL,
+                            environmentVariables,
+                            workerTimeout);
+                }
                 return new WindowsPowerShellScriptRunner(name, environmentVariables);
             } else {
                 throw new IllegalStateException(
@@ -0,0 +1,146 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.shell.impl;
+
+import io.github.totalschema.connector.common.process.WorkerProcess;
+import io.github.totalschema.connector.shell.spi.ShellScriptRunner;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ShellScriptRunner} that keeps a single interpreter process running and feeds it the
+ * scripts to execute over its standard input, avoiding the start-up cost of a new interpreter for
+ * every script — substantial for PowerShell in particular.
+ *
+ * <p><b>Protocol:</b> for every script a single line produced by {@link WorkerDialect#frame} is
+ * sent to the interpreter, which answers with the exit status of the script as described in {@link
+ * WorkerProcess}. A non-zero exit status fails the execution, but keeps the worker running.
+ *
+ * <p><b>Restart:</b> if the interpreter terminates or its streams fail while a script is running,
+ * or the script does not complete within the timeout, the execution fails and the process is
+ * discarded; the next execution starts a new interpreter.
+ *
+ * <p>The interpreter is started lazily on first use and terminated by {@link #close()}. Executions
+ * are serialized.
+ */
+final class PersistentShellScriptRunner implements ShellScriptRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentShellScriptRunner.class);
+
+    private final String name;
+    private final WorkerDialect dialect;
+    private final Map<String, String> environmentVariables;
+    private final WorkerProcess workerProcess;
+
+    /**
+     * Constructs a runner; no process is started until the first execution.
+     *
+     * @param name the connector name; used for logging and diagnostics
+     * @param dialect the interpreter to run scripts in
+     * @param environmentVariables extra variables merged into the interpreter's environment, or
+     *     {@code null} if the parent environment should be inherited unchanged
+     * @param timeout the maximum time a script may run; {@link Duration#ZERO} for no limit
+     */
+    PersistentShellScriptRunner(
+            String name,
+            WorkerDialect dialect,
+            Map<String, String> environmentVariables,
+            Duration timeout) {
+        this.name = name;
+        this.dialect = dialect;
+        this.environmentVariables =
+                environmentVariables != null ? Map.copyOf(environmentVariables) : null;
+        this.workerProcess =
+                new WorkerProcess(
+                        name, sentinel -> getProcessBuilder(), this::acceptOutput, timeout);
+    }
+
+    WorkerDialect getDialect() {
+        return dialect;
+    }
+
+    /**
+     * Executes a script in the worker interpreter.
+     *
+     * @param command a single-element list holding the absolute path of the script
+     */
+    @Override
+    public void execute(List<String> command) throws InterruptedException {
+        if (command.size() != 1) {
+            throw new IllegalArgumentException(
+                    "Shell worker '" + name + "' expects the script path only: " + command);
+        }
+        String scriptPath = command.get(0);
+
+        log.info("Executing script in shell worker '{}': {}", name, scriptPath);
+
+        int exitStatus = send(dialect.frame(scriptPath, workerProcess.getSentinel()));
+        if (exitStatus != 0) {
+            throw new RuntimeException(
+                    "Exit status " + exitStatus + " received for script: " + scriptPath);
+        }
+    }
+
+    /** Starts the interpreter if necessary and verifies that it responds. */
+    @Override
+    public void checkReady() throws InterruptedException {
+        send(dialect.probe(workerProcess.getSentinel()));
+    }
+
+    private int send(String frame) throws InterruptedException {
+        try {
+            return workerProcess.send(frame);
+
+        } catch (IOException | RuntimeException e) {
+            throw new ShellScriptException(
+                    "Shell worker '" + name + "' failed, it will be restarted: " + e.getMessage(),
+                    e);
+        }
+    }
+
+    private void acceptOutput(String line) {
+        System.out.format("[%s:output] %s%n", name, line);
+    }
+
+    private ProcessBuilder getProcessBuilder() {
+        List<String> startCommand = dialect.getStartCommand();
+        log.info("Starting shell worker '{}': {}", name, startCommand);
+
+        ProcessBuilder builder = new ProcessBuilder(startCommand);
+        builder.redirectErrorStream(true);
+        if (environmentVariables != null && !environmentVariables.isEmpty()) {
+            builder.environment().putAll(environmentVariables);
+        }
+        return builder;
+    }
+
+    @Override
+    public void close() {
+        workerProcess.close();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "{" + "name='" + name + '\'' + ", dialect=" + dialect + '}';
+    }
+}
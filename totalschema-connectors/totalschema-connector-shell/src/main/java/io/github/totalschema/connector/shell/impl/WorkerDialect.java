@@ -0,0 +1,121 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.shell.impl;
+
+import java.util.List;
+
+/**
+ * The interpreters that can serve as a {@link PersistentShellScriptRunner} worker, together with
+ * the framing used to run a script inside the long-lived interpreter.
+ *
+ * <p>Each frame is a single line written to the interpreter's standard input. It runs the script
+ * isolated from the worker's own state, merges the script's error output into its standard output
+ * and finally prints the sentinel followed by a colon and the script's exit status on a line of its
+ * own.
+ */
+enum WorkerDialect {
+
+    /**
+     * POSIX {@code sh} reading commands from standard input. Scripts are sourced in a subshell, so
+     * that {@code cd}, variables and {@code exit} do not affect the worker.
+     */
+    SH(List.of("sh", "-s")) {
+        @Override
+        String frame(String scriptPath, String sentinel) {
+            return "( . " + quote(scriptPath) + " ) </dev/null 2>&1; echo \"" + sentinel + ":$?\"";
+        }
+
+        @Override
+        String probe(String sentinel) {
+            return "echo \"" + sentinel + ":0\"";
+        }
+
+        private String quote(String value) {
+            return "'" + value.replace("'", "'\\''") + "'";
+        }
+    },
+
+    /** PowerShell Core ({@code pwsh}) reading commands from standard input. */
+    PWSH(powerShellCommand("pwsh")),
+
+    /** Windows PowerShell 5.x ({@code powershell.exe}) reading commands from standard input. */
+    WINDOWS_POWERSHELL(powerShellCommand("powershell.exe"));
+
+    private final List<String> startCommand;
+
+    WorkerDialect(List<String> startCommand) {
+        this.startCommand = startCommand;
+    }
+
+    private static List<String> powerShellCommand(String executable) {
+        return List.of(
+                executable,
+                "-NoLogo",
+                "-NoProfile",
+                "-NonInteractive",
+                "-ExecutionPolicy",
+                "Bypass",
+                "-Command",
+                "-");
+    }
+
+    /**
+     * Returns the command starting the worker interpreter.
+     *
+     * @return the command tokens
+     */
+    List<String> getStartCommand() {
+        return startCommand;
+    }
+
+    /**
+     * Returns the line that runs the given script and reports its exit status.
+     *
+     * <p>The PowerShell frame invokes the script with the call operator, so that it runs in a child
+     * scope; a terminating error is reported as exit status 1, like {@code pwsh -File} does.
+     *
+     * @param scriptPath the absolute path of the script
+     * @param sentinel the sentinel marking the end of the script's output
+     * @return the line to write to the interpreter's standard input, without line terminator
+     */
+    String frame(String scriptPath, String sentinel) {
+        return "$global:LASTEXITCODE = 0; try { & "
+                + quotePowerShell(scriptPath)
+                + " *>&1 | ForEach-Object { \"$_\" }; $totalschemaStatus = $global:LASTEXITCODE }"
+                + " catch { \"$_\"; $totalschemaStatus = 1 };"
+                + " [Console]::Out.WriteLine(\""
+                + sentinel
+                + ":$totalschemaStatus\"); [Console]::Out.Flush()";
+    }
+
+    /**
+     * Returns the line that only reports a successful exit status, used to verify that the worker
+     * is responsive.
+     *
+     * @param sentinel the sentinel marking the end of the output
+     * @return the line to write to the interpreter's standard input, without line terminator
+     */
+    String probe(String sentinel) {
+        return "[Console]::Out.WriteLine(\"" + sentinel + ":0\"); [Console]::Out.Flush()";
+    }
+
+    private static String quotePowerShell(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
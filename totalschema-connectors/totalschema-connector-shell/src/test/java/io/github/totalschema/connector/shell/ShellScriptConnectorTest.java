@@ -281,6 +281,75 @@ public class ShellScriptConnectorTest {
         verify(mockFactory, mockRunner, mockRunner2);
     }
 
+    // -------------------------------------------------------------------------
+    // worker.enabled — runners are kept per extension until the connector is closed
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testWorkerModeReusesRunnerPerExtensionUntilClosed() throws Exception {
+        Configuration workerConfiguration =
+                Configuration.builder().set("worker.enabled", true).build();
+        ShellScriptConnector workerConnector =
+                new ShellScriptConnector(CONNECTOR_NAME, workerConfiguration, mockFactory);
+
+        Path changesDir = Paths.get("/changes");
+        Path script1 = Paths.get("/changes/0002.setup.apply.myshell.sh");
+        Path script2 = Paths.get("/changes/0003.migrate.apply.myshell.sh");
+        ApplyFile applyFile1 = makeApplyFile(changesDir, script1, "0002", "setup", null, "sh");
+        ApplyFile applyFile2 = makeApplyFile(changesDir, script2, "0003", "migrate", null, "sh");
+
+        expect(mockFactory.getRunner(CONNECTOR_NAME, workerConfiguration, "sh"))
+                .andReturn(mockRunner)
+                .once();
+        mockRunner.checkReady();
+        mockRunner.execute(List.of(script1.toString()));
+        mockRunner.execute(List.of(script2.toString()));
+        mockRunner.close();
+
+        replay(mockFactory, mockRunner);
+
+        workerConnector.checkConnection(context, List.of(makeId("0001", "check", null, "sh")));
+        workerConnector.execute(applyFile1, context);
+        workerConnector.execute(applyFile2, context);
+        workerConnector.close();
+
+        verify(mockFactory, mockRunner);
+    }
+
+    @Test
+    public void testWorkerModeCloseClosesAllRunnersDespiteFailures() throws Exception {
+        ShellScriptRunner mockRunner2 = createMock(ShellScriptRunner.class);
+        Configuration workerConfiguration =
+                Configuration.builder().set("worker.enabled", true).build();
+        ShellScriptConnector workerConnector =
+                new ShellScriptConnector(CONNECTOR_NAME, workerConfiguration, mockFactory);
+
+        expect(mockFactory.getRunner(CONNECTOR_NAME, workerConfiguration, "sh"))
+                .andReturn(mockRunner);
+        mockRunner.checkReady();
+        mockRunner.close();
+        expectLastCall().andThrow(new IllegalStateException("boom"));
+
+        expect(mockFactory.getRunner(CONNECTOR_NAME, workerConfiguration, "ps1"))
+                .andReturn(mockRunner2);
+        mockRunner2.checkReady();
+        mockRunner2.close();
+
+        replay(mockFactory, mockRunner, mockRunner2);
+
+        workerConnector.checkConnection(
+                context,
+                List.of(
+                        makeId("0001", "setup", null, "sh"),
+                        makeId("0002", "configure", null, "ps1")));
+
+        IllegalStateException ex =
+                expectThrows(IllegalStateException.class, workerConnector::close);
+        assertEquals(ex.getMessage(), "boom");
+
+        verify(mockFactory, mockRunner, mockRunner2);
+    }
+
     // -------------------------------------------------------------------------
     // Different script extensions
     // -------------------------------------------------------------------------
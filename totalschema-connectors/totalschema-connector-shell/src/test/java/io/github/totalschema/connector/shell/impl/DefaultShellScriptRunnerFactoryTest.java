@@ -326,4 +326,53 @@ public class DefaultShellScriptRunnerFactoryTest {
         ShellScriptRunner runner = factory.getRunner(CONNECTOR_NAME, EMPTY_CONFIG, "sh");
         assertNotNull(runner);
     }
+
+    // -------------------------------------------------------------------------
+    // worker.enabled — persistent interpreter processes
+    // -------------------------------------------------------------------------
+
+    private static final Configuration WORKER_CONFIG =
+            Configuration.builder().set("worker.enabled", true).build();
+
+    private static WorkerDialect workerDialect(
+            DefaultShellScriptRunnerFactory factory, String fileExtension) {
+        ShellScriptRunner runner = factory.getRunner(CONNECTOR_NAME, WORKER_CONFIG, fileExtension);
+        assertTrue(runner instanceof PersistentShellScriptRunner, String.valueOf(runner));
+        return ((PersistentShellScriptRunner) runner).getDialect();
+    }
+
+    @Test
+    public void testWorkerEnabledShScriptUsesShWorker() {
+        assertEquals(workerDialect(unixNoPwsh(), "sh"), WorkerDialect.SH);
+    }
+
+    @Test
+    public void testWorkerEnabledOtherExtensionOnUnixUsesShWorker() {
+        assertEquals(workerDialect(unixNoPwsh(), "txt"), WorkerDialect.SH);
+    }
+
+    @Test
+    public void testWorkerEnabledPs1WithPwshUsesPwshWorker() {
+        assertEquals(workerDialect(unixWithPwsh(), "ps1"), WorkerDialect.PWSH);
+    }
+
+    @Test
+    public void testWorkerEnabledPs1OnWindowsWithoutPwshUsesWindowsPowerShellWorker() {
+        assertEquals(workerDialect(windowsNoPwsh(), "ps1"), WorkerDialect.WINDOWS_POWERSHELL);
+    }
+
+    @Test
+    public void testWorkerEnabledCmdScriptOnWindowsStillUsesCmd() {
+        assertEquals(prefix(windowsNoPwsh(), WORKER_CONFIG, "cmd"), List.of("cmd.exe", "/c"));
+    }
+
+    @Test
+    public void testWorkerEnabledStartCommandStillUsesGenericRunner() {
+        Configuration config =
+                Configuration.builder()
+                        .set("worker.enabled", true)
+                        .set("start.command", "bash")
+                        .build();
+        assertEquals(prefix(unixNoPwsh(), config, "sh"), List.of("bash"));
+    }
 }
@@ -0,0 +1,227 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.shell.impl;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link PersistentShellScriptRunner} against a real {@code sh} worker process; skipped on
+ * Windows.
+ */
+public class PersistentShellScriptRunnerTest {
+
+    private Path directory;
+    private PersistentShellScriptRunner runner;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        if (new DefaultRuntimeInformation().isWindows()) {
+            throw new SkipException("requires a POSIX shell");
+        }
+        directory = Files.createTempDirectory("shell-worker-test-");
+        runner =
+                new PersistentShellScriptRunner(
+                        "worker-test", WorkerDialect.SH, null, Duration.ZERO);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        if (runner != null) {
+            runner.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testScriptsRunInTheSameWorkerProcess() throws Exception {
+        Path pids = directory.resolve("pids.txt");
+        Path script = script("pid.sh", "echo $$ >> '" + pids + "'\n");
+
+        runner.execute(List.of(script.toString()));
+        runner.execute(List.of(script.toString()));
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.size(), 2);
+        assertEquals(lines.get(0), lines.get(1));
+    }
+
+    @Test
+    public void testScriptStateDoesNotLeakIntoSubsequentScripts() throws Exception {
+        Path result = directory.resolve("result.txt");
+        Path first = script("first.sh", "cd /\nLEAKED=yes\nexit 0\n");
+        Path second = script("second.sh", "echo \"$(pwd):${LEAKED:-no}\" > '" + result + "'\n");
+
+        runner.execute(List.of(first.toString()));
+        runner.execute(List.of(second.toString()));
+
+        String content = Files.readString(result).trim();
+        assertFalse(content.startsWith("/:"), content);
+        assertTrue(content.endsWith(":no"), content);
+    }
+
+    @Test
+    public void testNonZeroExitStatusFailsButKeepsWorker() throws Exception {
+        Path pids = directory.resolve("pids.txt");
+        Path failing = script("failing.sh", "echo $$ >> '" + pids + "'\nexit 3\n");
+        Path passing = script("passing.sh", "echo $$ >> '" + pids + "'\n");
+
+        RuntimeException ex =
+                expectThrows(
+                        RuntimeException.class, () -> runner.execute(List.of(failing.toString())));
+        assertTrue(ex.getMessage().contains("Exit status 3"), ex.getMessage());
+
+        runner.execute(List.of(passing.toString()));
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.get(0), lines.get(1));
+    }
+
+    @Test
+    public void testOutputWithoutTrailingNewLineIsHandled() throws Exception {
+        Path script = script("no-newline.sh", "printf 'no new line'\n");
+
+        runner.execute(List.of(script.toString()));
+        runner.execute(List.of(script.toString()));
+    }
+
+    @Test
+    public void testScriptDoesNotConsumeWorkerInput() throws Exception {
+        Path script = script("read-stdin.sh", "cat\n");
+
+        runner.execute(List.of(script.toString()));
+        runner.checkReady();
+    }
+
+    @Test
+    public void testWorkerIsRestartedAfterItTerminated() throws Exception {
+        Path pids = directory.resolve("pids.txt");
+        Path killing = script("kill.sh", "echo $$ >> '" + pids + "'\nkill -9 $$\n");
+        Path passing = script("passing.sh", "echo $$ >> '" + pids + "'\n");
+
+        expectThrows(ShellScriptException.class, () -> runner.execute(List.of(killing.toString())));
+
+        runner.execute(List.of(passing.toString()));
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.size(), 2);
+        assertNotEquals(lines.get(0), lines.get(1));
+    }
+
+    @Test
+    public void testWorkerIsRestartedAfterTimeout() throws Exception {
+        runner.close();
+        runner =
+                new PersistentShellScriptRunner(
+                        "worker-test", WorkerDialect.SH, null, Duration.ofSeconds(1));
+
+        Path pids = directory.resolve("pids.txt");
+        Path sleeping = script("sleep.sh", "echo $$ >> '" + pids + "'\nsleep 60\n");
+        Path passing = script("passing.sh", "echo $$ >> '" + pids + "'\n");
+
+        long start = System.nanoTime();
+        ShellScriptException ex =
+                expectThrows(
+                        ShellScriptException.class,
+                        () -> runner.execute(List.of(sleeping.toString())));
+        assertTrue(ex.getMessage().contains("did not respond within 1s"), ex.getMessage());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).getSeconds() < 30);
+
+        runner.execute(List.of(passing.toString()));
+
+        List<String> lines = Files.readAllLines(pids);
+        assertEquals(lines.size(), 2);
+        assertNotEquals(lines.get(0), lines.get(1));
+    }
+
+    @Test
+    public void testInterruptTerminatesRunningScript() throws Exception {
+        Path started = directory.resolve("started.txt");
+        Path sleeping = script("sleep.sh", "touch '" + started + "'\nsleep 60\n");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> execution =
+                    executor.submit(
+                            () -> {
+                                runner.execute(List.of(sleeping.toString()));
+                                return null;
+                            });
+            while (!Files.exists(started)) {
+                Thread.sleep(10);
+            }
+
+            execution.cancel(true);
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        runner.checkReady();
+    }
+
+    @Test
+    public void testScriptPathWithQuoteIsSupported() throws Exception {
+        Path result = directory.resolve("quoted.txt");
+        Path script = script("it's.sh", "echo ok > '" + result + "'\n");
+
+        runner.execute(List.of(script.toString()));
+
+        assertEquals(Files.readString(result).trim(), "ok");
+    }
+
+    @Test
+    public void testCheckReadyStartsWorker() throws Exception {
+        runner.checkReady();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testCommandWithArgumentsIsRejected() throws Exception {
+        runner.execute(List.of("/tmp/script.sh", "argument"));
+    }
+
+    private Path script(String fileName, String content) throws IOException {
+        Path script = directory.resolve(fileName);
+        Files.writeString(script, content);
+        return script;
+    }
+}
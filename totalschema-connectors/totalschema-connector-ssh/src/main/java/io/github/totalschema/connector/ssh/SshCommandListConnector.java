@@ -25,6 +25,8 @@ import io.github.totalschema.connector.ssh.spi.SshConnectionFactory;
 import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -91,8 +93,19 @@ final class SshCommandListConnector extends AbstractTerminalConnector<SshConnect
     protected void execute(Path commandListFile, CommandContext context) {
         try {
             List<String> commands = parseCommands(Files.readAllLines(commandListFile));
+            Tracer tracer = Tracer.from(context);
             for (String command : commands) {
-                session.execute(command);
+                Span span = tracer.startSpan("ssh");
+                span.setAttribute("totalschema.connector", name);
+                span.setAttribute("ssh.command", command);
+
+                boolean successful = false;
+                try {
+                    session.execute(command);
+                    successful = true;
+                } finally {
+                    span.end(successful);
+                }
             }
         } catch (IOException e) {
             throw new RuntimeException(
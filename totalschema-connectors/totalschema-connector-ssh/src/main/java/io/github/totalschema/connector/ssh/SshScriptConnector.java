@@ -18,6 +18,7 @@
 
 package io.github.totalschema.connector.ssh;
 
+import io.github.totalschema.ProjectConventions;
 import io.github.totalschema.config.Configuration;
 import io.github.totalschema.connector.AbstractTerminalConnector;
 import io.github.totalschema.connector.ssh.spi.SshConnection;
@@ -25,18 +26,27 @@ import io.github.totalschema.connector.ssh.spi.SshConnectionFactory;
 import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * SSH connector that executes shell scripts on a remote host.
  *
- * <p>The script file is transferred to the remote host via SCP (Secure Copy Protocol), made
- * executable, executed as a single shell script (preserving shell context), and then cleaned up.
+ * <p>The script file is transferred to the remote host, made executable, executed as a single shell
+ * script (preserving shell context), and then cleaned up. With the default SSH connection all of
+ * these steps are performed by a single remote command, which receives the script on its standard
+ * input.
  *
  * <p>Unlike {@link SshCommandListConnector}, this connector executes the entire script in a single
  * shell session, so variables, functions, and state are preserved across lines.
@@ -59,11 +69,20 @@ import org.slf4j.LoggerFactory;
  * <ul>
  *   <li>{@code remote.temp.dir} - Remote directory for temporary scripts (default: /tmp)
  *   <li>{@code shell} - Shell to use for execution (default: /bin/bash)
+ *   <li>{@code staging.enabled} - Transfer all pending scripts in advance (default: false)
+ *   <li>{@code staging.compress} - Compress the transfer of staged scripts (default: false)
  * </ul>
  *
- * <p><b>File Transfer:</b> This connector uses Apache MINA SSHD's built-in SCP (Secure Copy
- * Protocol) client for efficient and secure file transfer, replacing the previous base64 encoding
- * approach.
+ * <p><b>File Transfer:</b> See {@link SshConnection#executeScript(Path, String, String)}; SSH
+ * connections that do not combine the steps fall back to an SCP upload followed by separate {@code
+ * chmod}, execute and {@code rm} commands.
+ *
+ * <p><b>Staging:</b> with {@code staging.enabled}, all scripts pending for this connector are
+ * transferred when the connector is prepared ({@link #prepare}), in a single operation (see {@link
+ * SshConnection#uploadFiles(Map, String)}), into a run-scoped directory below {@code
+ * remote.temp.dir}. Executing a staged script then requires no file transfer at all. The directory
+ * is removed when the connector is closed. If staging fails, each script is transferred when it is
+ * executed instead.
  *
  * @see SshCommandListConnector
  */
@@ -76,6 +95,12 @@ final class SshScriptConnector extends AbstractTerminalConnector<SshConnection>
     private final String name;
     private final String remoteTempDir;
     private final String shell;
+    private final boolean stagingEnabled;
+
+    /** Remote paths of the scripts staged by {@link #prepare}, keyed by local file. */
+    private final Map<Path, String> stagedScripts = new ConcurrentHashMap<>();
+
+    private volatile String stagingDirectory;
 
     public SshScriptConnector(String name, Configuration connectorConfiguration) {
         this(
@@ -92,6 +117,7 @@ final class SshScriptConnector extends AbstractTerminalConnector<SshConnection>
         this.remoteTempDir =
                 connectorConfiguration.getString("remote", "temp", "dir").orElse("/tmp");
         this.shell = connectorConfiguration.getString("shell").orElse("/bin/bash");
+        this.stagingEnabled = connectorConfiguration.getBoolean("staging.enabled").orElse(false);
     }
 
     @Override
@@ -104,30 +130,93 @@ final class SshScriptConnector extends AbstractTerminalConnector<SshConnection>
     }
 
     @Override
-    protected final void execute(Path scriptFile, CommandContext context) {
-        String remoteScriptPath = null;
+    public void prepare(Context context, List<ChangeFile.Id> plannedChangeFileIds)
+            throws InterruptedException {
+        if (stagingEnabled && !plannedChangeFileIds.isEmpty()) {
+            stageScripts(context, plannedChangeFileIds);
+        }
+    }
+
+    /**
+     * Transfers all scripts planned for this connector into a run-scoped remote directory in a
+     * single operation, so that their execution does not require any further file transfer. The
+     * directory is removed when the connector is closed. A failure is logged; the scripts are then
+     * transferred one by one when they are executed.
+     */
+    private void stageScripts(Context context, List<ChangeFile.Id> plannedChangeFileIds)
+            throws InterruptedException {
+
+        Path changesDirectory =
+                Paths.get(
+                                context.get(Configuration.class)
+                                        .getString("changes", "directory")
+                                        .orElse(ProjectConventions.CHANGE_DIRECTORY_PATH))
+                        .toAbsolutePath();
+
+        String runDirectory = remoteTempDir + "/totalschema-run-" + UUID.randomUUID();
+
+        // keyed by remote file name; the index keeps equally named files of different
+        // directories apart and preserves the planned order in listings
+        Map<String, Path> files = new LinkedHashMap<>();
+        Map<Path, String> remotePaths = new HashMap<>();
+        for (ChangeFile.Id id : plannedChangeFileIds) {
+            Path localFile = changesDirectory.resolve(id.toStringRepresentation()).normalize();
+            String remoteName = (files.size() + 1) + "-" + localFile.getFileName();
+
+            files.put(remoteName, localFile);
+            remotePaths.put(localFile, runDirectory + "/" + remoteName);
+        }
+
+        log.info("[{}] Staging {} scripts in {}", name, files.size(), runDirectory);
+
+        stagingDirectory = runDirectory;
         try {
-            // Generate unique remote script path
-            String scriptName = "totalschema-script-" + UUID.randomUUID() + ".sh";
-            remoteScriptPath = remoteTempDir + "/" + scriptName;
+            session.uploadFiles(files, runDirectory);
+        } catch (IOException | RuntimeException e) {
+            log.warn(
+                    "[{}] Failure staging scripts in {}, transferring them on execution instead",
+                    name,
+                    runDirectory,
+                    e);
+            return;
+        }
 
-            log.info(
-                    "Uploading script {} to remote host at {}",
-                    scriptFile.getFileName(),
-                    remoteScriptPath);
+        stagedScripts.putAll(remotePaths);
+    }
+
+    @Override
+    protected final void execute(Path scriptFile, CommandContext context) {
+        Span span = Tracer.from(context).startSpan("ssh");
+        span.setAttribute("totalschema.connector", name);
+        span.setAttribute("ssh.script", String.valueOf(scriptFile.getFileName()));
 
-            // Upload file using Apache MINA SSHD's SCP client
-            session.uploadFile(scriptFile, remoteScriptPath);
+        boolean successful = false;
+        try {
+            String stagedScriptPath = stagedScripts.get(scriptFile.toAbsolutePath().normalize());
+            if (stagedScriptPath != null) {
+                log.info(
+                        "Executing script {} staged on remote host as {}",
+                        scriptFile.getFileName(),
+                        stagedScriptPath);
 
-            // Make script executable
-            session.execute("chmod +x " + remoteScriptPath);
+                session.execute(shell + " " + stagedScriptPath);
+            } else {
+                // Generate unique remote script path
+                String scriptName = "totalschema-script-" + UUID.randomUUID() + ".sh";
+                String remoteScriptPath = remoteTempDir + "/" + scriptName;
 
-            log.info("Executing remote script: {}", remoteScriptPath);
+                log.info(
+                        "Executing script {} on remote host as {}",
+                        scriptFile.getFileName(),
+                        remoteScriptPath);
 
-            // Execute the script
-            session.execute(shell + " " + remoteScriptPath);
+                // transfer, chmod, execution and clean-up are combined by the session where
+                // possible
+                session.executeScript(scriptFile, remoteScriptPath, shell);
+            }
 
             log.info("Successfully executed script: {}", scriptFile.getFileName());
+            successful = true;
 
         } catch (IOException e) {
             throw new RuntimeException("Failure processing script file: " + scriptFile, e);
@@ -135,19 +224,27 @@ final class SshScriptConnector extends AbstractTerminalConnector<SshConnection>
             Thread.currentThread().interrupt();
             throw new RuntimeException("interrupted", e);
         } finally {
-            // Clean up remote script file
-            if (remoteScriptPath != null) {
-                try {
-                    log.debug("Cleaning up remote script: {}", remoteScriptPath);
-                    session.execute("rm -f " + remoteScriptPath);
-                } catch (Exception e) {
-                    log.warn(
-                            "Failed to clean up remote script {}: {}",
-                            remoteScriptPath,
-                            e.getMessage());
-                }
+            span.end(successful);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        String directory = stagingDirectory;
+        if (directory != null) {
+            stagingDirectory = null;
+            stagedScripts.clear();
+            try {
+                session.execute("rm -rf " + directory);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("[{}] Interrupted removing staged scripts from {}", name, directory);
+            } catch (RuntimeException e) {
+                log.warn("[{}] Failed to remove staged scripts from {}", name, directory, e);
             }
         }
+
+        super.close();
     }
 
     @Override
@@ -163,6 +260,8 @@ final class SshScriptConnector extends AbstractTerminalConnector<SshConnection>
                 + ", shell='"
                 + shell
                 + '\''
+                + ", stagingEnabled="
+                + stagingEnabled
                 + '}';
     }
 }
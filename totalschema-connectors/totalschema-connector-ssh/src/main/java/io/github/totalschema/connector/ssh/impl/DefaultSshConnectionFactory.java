@@ -24,8 +24,23 @@ import io.github.totalschema.connector.ssh.spi.SshConnectionFactory;
 import io.github.totalschema.engine.cache.NamedConfigKey;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Default {@link SshConnectionFactory}, creating {@link MinaSshdConnection} instances.
+ *
+ * <p>Connections share SSH sessions through a pool common to all factory instances, so that
+ * connectors targeting the same host with the same credentials perform the key exchange and
+ * authentication only once per run. Setting {@code session.shared} to {@code false} gives a
+ * connection a session of its own. The shared pool lives as long as the JVM; its sessions are
+ * closed when the change engine using them is closed (see {@link SshSessionPoolComponentFactory}).
+ */
 public class DefaultSshConnectionFactory implements SshConnectionFactory {
 
+    private static final SshSessionPool SHARED_SESSION_POOL = new SshSessionPool();
+
+    static SshSessionPool getSharedSessionPool() {
+        return SHARED_SESSION_POOL;
+    }
+
     private final ConcurrentHashMap<NamedConfigKey, SshConnection> connectionCache =
             new ConcurrentHashMap<>();
 
@@ -38,7 +53,11 @@ public class DefaultSshConnectionFactory implements SshConnectionFactory {
 
     @Override
     public SshConnection newSshConnection(String name, Configuration configuration) {
+        boolean sharedSession = configuration.getBoolean("session.shared").orElse(true);
+
+        SshSessionPool sessionPool =
+                sharedSession ? SHARED_SESSION_POOL : SshSessionPool.unshared();
 
-        return new MinaSshdConnection(name, configuration);
+        return new MinaSshdConnection(name, configuration, sessionPool);
     }
 }
@@ -18,31 +18,30 @@
 
 package io.github.totalschema.connector.ssh.impl;
 
+import io.github.totalschema.concurrent.LockAcquisitionException;
 import io.github.totalschema.concurrent.LockTemplate;
 import io.github.totalschema.config.Configuration;
-import io.github.totalschema.config.MissingConfigurationKeyException;
+import io.github.totalschema.config.MisconfigurationException;
 import io.github.totalschema.connector.ssh.SshConnectorException;
 import io.github.totalschema.connector.ssh.spi.SshConnection;
 import io.github.totalschema.engine.internal.shell.AbstractTerminalSession;
+import io.github.totalschema.jfr.SshExecEvent;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.security.KeyPair;
-import java.util.Properties;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
-import org.apache.sshd.client.SshClient;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 import org.apache.sshd.client.channel.ChannelExec;
 import org.apache.sshd.client.channel.ClientChannelEvent;
-import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier;
 import org.apache.sshd.client.session.ClientSession;
-import org.apache.sshd.common.PropertyResolverUtils;
-import org.apache.sshd.common.config.keys.FilePasswordProvider;
-import org.apache.sshd.common.keyprovider.FileKeyPairProvider;
 import org.apache.sshd.scp.client.ScpClient;
 import org.apache.sshd.scp.client.ScpClientCreator;
 import org.slf4j.Logger;
@@ -82,6 +81,25 @@ import org.slf4j.LoggerFactory;
  *       path: /path/to/id_rsa
  *       passphrase: ${secret:...}  # Optional, if key is encrypted
  * </pre>
+ *
+ * <p><b>Channel multiplexing:</b> all commands and file transfers share a single SSH session; each
+ * of them runs on its own channel. Up to {@code channels.maxConcurrent} (default: 10, the OpenSSH
+ * {@code MaxSessions} default) channels may be open on the session at the same time, including
+ * those of other connections sharing the session; further callers wait up to the configured lock
+ * timeout for a channel to become available.
+ *
+ * <p><b>Command output:</b> with {@code output.mode: STREAM} (the default) stdout and stderr of
+ * remote commands are relayed line by line as they arrive, so arbitrarily large output does not
+ * accumulate in memory. {@code output.mode: BUFFER} collects the output and relays it once the
+ * command has finished. In both modes the last {@code output.tailKb} (default: 64) KB of output are
+ * included in the error reported for a failing command.
+ *
+ * <p><b>Session sharing:</b> connections created through {@link DefaultSshConnectionFactory} obtain
+ * their session from a pool shared by all connections with the same host, port, credentials and SSH
+ * settings, see {@link SshSessionPool}. The pooled session is kept open for {@code
+ * session.idleTimeoutSeconds} (default: 60) after the last connection using it has been closed, and
+ * a keepalive request is sent every {@code session.keepAliveSeconds} (default: 30; 0 disables).
+ * Connections created directly through the public constructor use a session of their own.
  */
 public final class MinaSshdConnection extends AbstractTerminalSession<String>
         implements SshConnection {
@@ -91,51 +109,68 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
     private final String name;
 
     private static final class DefaultValues {
-        private static final int SSH_PORT = 22;
         private static final int TIMEOUT = 30;
         private static final TimeUnit TIMEOUT_UNIT = TimeUnit.SECONDS;
         private static final long COMMAND_TIMEOUT_MS = 300000; // 5 minutes
+        private static final OutputMode OUTPUT_MODE = OutputMode.STREAM;
+        private static final int OUTPUT_TAIL_KB = 64;
+        private static final boolean COMPRESS_STAGING = false;
     }
 
-    private final String host;
-    private final int port;
-    private final String user;
-    private final String password;
-    private final String privateKeyPath;
-    private final String privateKeyPassphrase;
-    private final Properties sshProperties;
+    /** Permissions of files transferred by {@link #uploadFiles(Map, String)}: owner only. */
+    private static final int STAGED_FILE_MODE = 0700;
 
-    /**
-     * When {@code false}, the client skips host-key verification (equivalent to SSH {@code
-     * StrictHostKeyChecking=no}). Intended for integration tests and development environments only
-     * — never disable in production.
-     */
-    private final boolean strictHostKeyChecking;
+    /** Controls how the output of remote commands is relayed. */
+    enum OutputMode {
+        /** Output lines are passed on as they arrive; memory use is bounded. */
+        STREAM,
+
+        /**
+         * Output is collected and passed on once the command has finished, so that the output of
+         * concurrently running commands is not interleaved. Memory use grows with the output.
+         */
+        BUFFER
+    }
+
+    private final SshSessionSettings sessionSettings;
+    private final SshSessionPool sessionPool;
 
     private final Integer lockTimeout;
     private final TimeUnit lockTimeoutUnit;
     private final long commandTimeoutMs;
 
+    /** Guards acquiring and releasing the session lease. */
     private final LockTemplate lockTemplate;
 
-    private SshClient client = null;
-    private ClientSession session = null;
+    private final OutputMode outputMode;
+    private final int outputTailSize;
 
-    public MinaSshdConnection(String name, Configuration configuration) {
-        this.name = name;
+    private final boolean compressStaging;
 
-        this.host =
-                configuration
-                        .getString("host")
-                        .orElseThrow(() -> new MissingConfigurationKeyException("host"));
-        this.port = configuration.getInt("port").orElse(DefaultValues.SSH_PORT);
-        this.user = configuration.getString("user").orElse(null);
-        this.password = configuration.getString("password").orElse(null);
+    private volatile SshSessionPool.Lease lease = null;
 
-        // SSH key-based authentication support
-        this.privateKeyPath = configuration.getString("privateKey", "path").orElse(null);
-        this.privateKeyPassphrase =
-                configuration.getString("privateKey", "passphrase").orElse(null);
+    /**
+     * Creates a connection with a session of its own, which is closed when the connection is
+     * closed.
+     *
+     * @param name the name of the connection
+     * @param configuration the connection configuration
+     */
+    public MinaSshdConnection(String name, Configuration configuration) {
+        this(name, configuration, SshSessionPool.unshared());
+    }
+
+    /**
+     * Creates a connection that obtains its session from the given pool.
+     *
+     * @param name the name of the connection
+     * @param configuration the connection configuration
+     * @param sessionPool the pool to obtain the session from
+     */
+    MinaSshdConnection(String name, Configuration configuration, SshSessionPool sessionPool) {
+        this.name = name;
+        this.sessionPool = sessionPool;
+        this.sessionSettings = SshSessionSettings.fromConfiguration(configuration);
 
         this.lockTimeout = configuration.getInt("lock", "timeout").orElse(DefaultValues.TIMEOUT);
 
@@ -151,39 +186,206 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
 
         this.lockTemplate = new LockTemplate(lockTimeout, lockTimeoutUnit, new ReentrantLock());
 
-        this.strictHostKeyChecking = configuration.getBoolean("strictHostKeyChecking").orElse(true);
+        this.outputMode =
+                configuration
+                        .getEnumValue(OutputMode.class, "output", "mode")
+                        .orElse(DefaultValues.OUTPUT_MODE);
+        int outputTailKb =
+                configuration.getInt("output", "tailKb").orElse(DefaultValues.OUTPUT_TAIL_KB);
+        if (outputTailKb < 1) {
+            throw MisconfigurationException.forMessage(
+                    "output.tailKb must be at least 1: %s", outputTailKb);
+        }
+        this.outputTailSize = outputTailKb * 1024;
 
-        this.sshProperties =
-                configuration.getPrefixNamespace("ssh", "properties").asProperties().orElse(null);
+        this.compressStaging =
+                configuration.getBoolean("staging.compress").orElse(DefaultValues.COMPRESS_STAGING);
     }
 
     @Override
     public void execute(String command) throws InterruptedException {
         try {
-            executeWithLockHeld(() -> executeSSHCommand(command));
+            executeOnChannel(activeSession -> executeSSHCommand(activeSession, command, null));
         } catch (IOException e) {
             throw new RuntimeException("SSH execution failed", e);
         }
     }
 
+    /**
+     * Transfers the script through the standard input of a single remote command, which stores it,
+     * makes it executable, runs it and removes it again; this replaces the separate SCP transfer
+     * and the three commands of the default implementation with one channel.
+     */
+    @Override
+    public void executeScript(Path localScript, String remotePath, String shell)
+            throws IOException, InterruptedException {
+
+        String path = doubleQuote(remotePath);
+
+        String script =
+                String.format(
+                        "cat > %1$s && chmod +x %1$s && %2$s %1$s < /dev/null; "
+                                + "rc=$?; rm -f %1$s; exit $rc",
+                        path, shell);
+
+        String command = "/bin/sh -c " + singleQuote(script);
+
+        try {
+            executeOnChannel(
+                    activeSession ->
+                            executeSSHCommand(
+                                    activeSession,
+                                    command,
+                                    stdin -> Files.copy(localScript, stdin)));
+        } catch (IOException e) {
+            throw new RuntimeException("SSH script execution failed: " + localScript, e);
+        }
+    }
+
+    /**
+     * Transfers the files as a single {@code tar} stream (gzip compressed if {@code
+     * staging.compress} is enabled) through the standard input of one remote command, which creates
+     * the directory and extracts the archive into it.
+     */
+    @Override
+    public void uploadFiles(Map<String, Path> files, String remoteDirectory)
+            throws IOException, InterruptedException {
+
+        String directory = doubleQuote(remoteDirectory);
+
+        String script =
+                String.format(
+                        "mkdir -p %1$s && tar -x%2$sf - -C %1$s",
+                        directory, compressStaging ? "z" : "");
+
+        String command = "/bin/sh -c " + singleQuote(script);
+
+        log.info("Uploading {} files to remote directory: {}", files.size(), remoteDirectory);
+
+        try {
+            executeOnChannel(
+                    activeSession ->
+                            executeSSHCommand(
+                                    activeSession, command, stdin -> writeTar(files, stdin)));
+        } catch (IOException e) {
+            throw new RuntimeException("SSH file upload failed: " + remoteDirectory, e);
+        }
+    }
+
+    private void writeTar(Map<String, Path> files, OutputStream stdin) throws IOException {
+        OutputStream out = compressStaging ? new GZIPOutputStream(stdin) : stdin;
+
+        TarStreamWriter tar = new TarStreamWriter(out);
+        for (Map.Entry<String, Path> file : files.entrySet()) {
+            tar.addFile(file.getKey(), file.getValue(), STAGED_FILE_MODE);
+        }
+        tar.finish();
+
+        if (out instanceof GZIPOutputStream) {
+            ((GZIPOutputStream) out).finish();
+        }
+    }
+
+    private static String doubleQuote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\' || c == '$' || c == '`') {
+                quoted.append('\\');
+            }
+            quoted.append(c);
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static String singleQuote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
     private void executeWithLockHeld(SshAction action) throws IOException, InterruptedException {
         lockTemplate.withTryLockInterruptible(action::execute);
     }
 
-    private void executeSSHCommand(String command) throws IOException, InterruptedException {
-        ensureConnected();
+    /**
+     * Runs the action on the (lazily connected) shared session, holding one of the channel permits
+     * of the session for its duration.
+     */
+    private void executeOnChannel(SshChannelAction action)
+            throws IOException, InterruptedException {
+
+        SshSessionPool.Lease activeLease =
+                lockTemplate.withTryLockInterruptible(
+                        () -> {
+                            if (lease == null) {
+                                lease = sessionPool.acquire(sessionSettings);
+                            }
+                            return lease;
+                        });
+
+        ClientSession activeSession = activeLease.getSession(lockTimeoutUnit.toMillis(lockTimeout));
+
+        if (!activeLease.tryAcquireChannel(lockTimeout, lockTimeoutUnit)) {
+            throw new LockAcquisitionException(
+                    String.format(
+                            "No SSH channel became available within %d %s on connection '%s' "
+                                    + "(channels.maxConcurrent=%d)",
+                            lockTimeout,
+                            lockTimeoutUnit,
+                            name,
+                            sessionSettings.getMaxConcurrentChannels()));
+        }
+
+        try {
+            action.execute(activeSession);
+        } finally {
+            activeLease.releaseChannel();
+        }
+    }
+
+    private void executeSSHCommand(
+            ClientSession activeSession, String command, StdinWriter stdinWriter)
+            throws IOException, InterruptedException {
 
         log.info("Executing command: {}", command);
 
-        try (ChannelExec channel = session.createExecChannel(command)) {
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            ByteArrayOutputStream err = new ByteArrayOutputStream();
+        OutputTail outputTail = new OutputTail(outputTailSize);
 
-            channel.setOut(out);
-            channel.setErr(err);
+        SshExecEvent event = new SshExecEvent();
+        event.begin();
+        CountingOutputStream stdin = null;
+        Integer exitStatus = null;
+        boolean successful = false;
+
+        try (ChannelExec channel = activeSession.createExecChannel(command)) {
+            ByteArrayOutputStream out = null;
+            ByteArrayOutputStream err = null;
+
+            if (outputMode == OutputMode.BUFFER) {
+                out = new ByteArrayOutputStream();
+                err = new ByteArrayOutputStream();
+                channel.setOut(out);
+                channel.setErr(err);
+            }
 
             channel.open().verify(commandTimeoutMs);
 
+            Future<?> outReader = null;
+            Future<?> errorReader = null;
+            if (outputMode == OutputMode.STREAM) {
+                // the inverted streams are fed as data arrives; the readers must be running
+                // before the remote side fills the channel window
+                outReader = submitReaderTask(channel.getInvertedOut(), stdoutConsumer(outputTail));
+                errorReader =
+                        submitReaderTask(channel.getInvertedErr(), stderrConsumer(outputTail));
+            }
+
+            if (stdinWriter != null) {
+                // closing the stream sends EOF, which ends the remote command's input
+                stdin = new CountingOutputStream(channel.getInvertedIn());
+                try (OutputStream input = stdin) {
+                    stdinWriter.write(input);
+                }
+            }
+
             // First wait for EXIT_STATUS: it is sent by the server before the channel close,
             // so it reliably captures the exit code even for very short-lived commands.
             // CLOSED is included as a fallback for servers that omit the exit-status request.
@@ -195,7 +397,7 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
                                     ClientChannelEvent.TIMEOUT),
                             commandTimeoutMs);
 
-            Integer exitStatus = channel.getExitStatus();
+            exitStatus = channel.getExitStatus();
 
             // If EXIT_STATUS arrived before CLOSED, wait for the channel to finish closing
             // so that all output is flushed before we read it.
@@ -206,16 +408,21 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
                         commandTimeoutMs);
             }
 
-            // Process output - convert ByteArrayOutputStream to InputStream for processing
-            java.io.ByteArrayInputStream outStream =
-                    new java.io.ByteArrayInputStream(out.toByteArray());
-            java.io.ByteArrayInputStream errStream =
-                    new java.io.ByteArrayInputStream(err.toByteArray());
-
-            Future<?> outReader =
-                    submitReaderTask(outStream, (line) -> System.out.format("[SSH] %s%n", line));
-            Future<?> errorReader =
-                    submitReaderTask(errStream, (line) -> System.err.format("[SSH] %s%n", line));
+            if (outputMode == OutputMode.STREAM) {
+                if (!channel.isClosed()) {
+                    // timed out: closing the channel ends the streams the readers are blocked on
+                    channel.close(true);
+                }
+            } else {
+                // Process output - convert ByteArrayOutputStream to InputStream for processing
+                java.io.ByteArrayInputStream outStream =
+                        new java.io.ByteArrayInputStream(out.toByteArray());
+                java.io.ByteArrayInputStream errStream =
+                        new java.io.ByteArrayInputStream(err.toByteArray());
+
+                outReader = submitReaderTask(outStream, stdoutConsumer(outputTail));
+                errorReader = submitReaderTask(errStream, stderrConsumer(outputTail));
+            }
 
             try {
                 outReader.get();
@@ -237,87 +444,40 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
 
             if (exitStatus != null && exitStatus != 0) {
                 throw new RuntimeException(
-                        "Exit code " + exitStatus + " received for command: " + command);
+                        "Exit code "
+                                + exitStatus
+                                + " received for command: "
+                                + command
+                                + lastOutput(outputTail));
             }
 
+            successful = true;
+
         } catch (IOException e) {
             log.error("SSH command execution failed", e);
             throw e;
+        } finally {
+            event.complete(
+                    name,
+                    sessionSettings.getHost(),
+                    command,
+                    stdin != null ? stdin.getCount() : 0,
+                    exitStatus != null ? exitStatus : -1,
+                    successful);
         }
     }
 
-    private void ensureConnected() throws IOException, InterruptedException {
-        if (session == null || session.isClosed() || !session.isOpen()) {
-            connect();
-        }
+    private static Consumer<String> stdoutConsumer(OutputTail outputTail) {
+        return outputTail.andThen(line -> System.out.format("[SSH] %s%n", line));
     }
 
-    private void connect() throws IOException, InterruptedException {
-        if (client == null) {
-            client = SshClient.setUpDefaultClient();
-
-            if (!strictHostKeyChecking) {
-                client.setServerKeyVerifier(AcceptAllServerKeyVerifier.INSTANCE);
-            }
-
-            // Apply custom SSH properties if provided
-            if (sshProperties != null) {
-                sshProperties.forEach(
-                        (key, value) ->
-                                PropertyResolverUtils.updateProperty(
-                                        client, key.toString(), value));
-            }
-
-            client.start();
-        }
-
-        log.info("Connecting to SSH server: {}@{}:{}", user, host, port);
-
-        session =
-                client.connect(user, host, port)
-                        .verify(lockTimeoutUnit.toMillis(lockTimeout))
-                        .getSession();
-
-        // Configure authentication methods
-        if (privateKeyPath != null) {
-            // Key-based authentication
-            log.debug("Using SSH key-based authentication with key: {}", privateKeyPath);
-
-            Path keyPath = Paths.get(privateKeyPath);
-            if (!Files.exists(keyPath)) {
-                throw new IOException("Private key file not found: " + privateKeyPath);
-            }
-
-            // Create key pair provider
-            FileKeyPairProvider keyPairProvider = new FileKeyPairProvider(keyPath);
-
-            // Set password provider if passphrase is provided
-            if (privateKeyPassphrase != null) {
-                keyPairProvider.setPasswordFinder(FilePasswordProvider.of(privateKeyPassphrase));
-            }
-
-            try {
-                // Load key pairs
-                Iterable<KeyPair> keyPairs = keyPairProvider.loadKeys(session);
-                for (KeyPair keyPair : keyPairs) {
-                    session.addPublicKeyIdentity(keyPair);
-                }
-            } catch (Exception e) {
-                throw new IOException("Failed to load SSH private key from " + privateKeyPath, e);
-            }
-
-        } else if (password != null) {
-            // Password-based authentication
-            log.debug("Using SSH password-based authentication");
-            session.addPasswordIdentity(password);
-        } else {
-            throw new IllegalStateException(
-                    "No authentication method configured. Provide either password or privateKey.path");
-        }
-
-        session.auth().verify(lockTimeoutUnit.toMillis(lockTimeout));
+    private static Consumer<String> stderrConsumer(OutputTail outputTail) {
+        return outputTail.andThen(line -> System.err.format("[SSH] %s%n", line));
+    }
 
-        log.info("Successfully connected to SSH server: {}@{}:{}", user, host, port);
+    private static String lastOutput(OutputTail outputTail) {
+        String output = outputTail.toString();
+        return output.isEmpty() ? "" : String.format("%nLast output:%n%s", output);
     }
 
     /**
@@ -338,22 +498,22 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
     public void uploadFile(Path localFile, String remotePath)
             throws IOException, InterruptedException {
         try {
-            executeWithLockHeld(() -> uploadFileInternal(localFile, remotePath));
+            executeOnChannel(
+                    activeSession -> uploadFileInternal(activeSession, localFile, remotePath));
         } catch (IOException e) {
             throw new RuntimeException("SCP file upload failed", e);
         }
     }
 
-    private void uploadFileInternal(Path localFile, String remotePath)
-            throws IOException, InterruptedException {
-        ensureConnected();
+    private void uploadFileInternal(ClientSession activeSession, Path localFile, String remotePath)
+            throws IOException {
 
         log.info("Uploading file {} to remote path: {}", localFile.getFileName(), remotePath);
 
         try {
             // Create SCP client from the session
             ScpClientCreator creator = ScpClientCreator.instance();
-            ScpClient scpClient = creator.createScpClient(session);
+            ScpClient scpClient = creator.createScpClient(activeSession);
 
             // Upload the file - MINA SSHD handles all the SCP protocol details
             scpClient.upload(localFile, remotePath);
@@ -381,40 +541,30 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
     }
 
     private void disconnect() {
-        if (session != null && session.isOpen()) {
+        if (lease != null) {
             try {
-                session.close();
-            } catch (IOException e) {
-                log.warn("Error closing SSH session", e);
+                lease.close();
             } finally {
-                session = null;
+                lease = null;
             }
         }
+    }
 
-        if (client != null && client.isStarted()) {
-            try {
-                client.stop();
-            } catch (RuntimeException e) {
-                log.warn("Error stopping SSH client", e);
-            } finally {
-                client = null;
-            }
-        }
+    boolean isConnected() {
+        SshSessionPool.Lease current = lease;
+        return current != null && current.isConnected();
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("MinaSshdConnection{");
         sb.append("name='").append(name).append('\'');
-        sb.append(", host='").append(host).append('\'');
-        sb.append(", port=").append(port);
-        sb.append(", user='").append(user).append('\'');
-        sb.append(", password='").append(password != null ? "***" : "null").append('\'');
-        sb.append(", sshProperties=").append(sshProperties);
+        sb.append(", sessionSettings=").append(sessionSettings);
         sb.append(", lockTimeout=").append(lockTimeout);
         sb.append(", lockTimeoutUnit=").append(lockTimeoutUnit);
         sb.append(", commandTimeoutMs=").append(commandTimeoutMs);
-        sb.append(", connected=").append(session != null && session.isOpen());
+        sb.append(", outputMode=").append(outputMode);
+        sb.append(", connected=").append(isConnected());
         sb.append('}');
         return sb.toString();
     }
@@ -423,4 +573,40 @@ public final class MinaSshdConnection extends AbstractTerminalSession<String>
     interface SshAction {
         void execute() throws IOException, InterruptedException;
     }
+
+    @FunctionalInterface
+    interface StdinWriter {
+        void write(OutputStream stdin) throws IOException;
+    }
+
+    /** Counts the bytes written to the standard input of a command. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    @FunctionalInterface
+    interface SshChannelAction {
+        void execute(ClientSession session) throws IOException, InterruptedException;
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring buffer retaining the most recent lines of command output, used to attach context to
+ * error messages without keeping the complete output in memory.
+ *
+ * <p>The buffer is bounded by the total number of characters retained: when a new line would exceed
+ * the capacity, the oldest lines are discarded. A single line longer than the capacity is truncated
+ * to its last characters. Instances are safe for concurrent use by the stdout and stderr readers of
+ * the same command.
+ */
+final class OutputTail implements Consumer<String> {
+
+    private static final String TRUNCATION_MARKER = "...";
+
+    private final int capacity;
+    private final Deque<String> lines = new ArrayDeque<>();
+
+    private int size;
+    private boolean truncated;
+
+    OutputTail(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        String retained = line;
+        if (retained.length() > capacity) {
+            retained = retained.substring(retained.length() - capacity);
+            truncated = true;
+        }
+
+        while (size + retained.length() > capacity && !lines.isEmpty()) {
+            size -= lines.removeFirst().length();
+            truncated = true;
+        }
+
+        lines.addLast(retained);
+        size += retained.length();
+    }
+
+    /**
+     * Returns the retained lines separated by new line characters, prefixed with a marker if
+     * earlier output has been discarded.
+     *
+     * @return the retained output, empty if nothing has been written
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder(size + lines.size() + TRUNCATION_MARKER.length() + 1);
+        if (truncated) {
+            sb.append(TRUNCATION_MARKER).append(System.lineSeparator());
+        }
+        for (String line : lines) {
+            sb.append(line).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+}
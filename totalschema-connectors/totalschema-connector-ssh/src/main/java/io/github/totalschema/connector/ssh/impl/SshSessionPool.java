@@ -0,0 +1,380 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.impl;
+
+import io.github.totalschema.concurrent.LockAcquisitionException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.sshd.client.SshClient;
+import org.apache.sshd.client.session.ClientSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of SSH sessions keyed by {@link SshSessionSettings}, allowing connections that target the
+ * same host with the same credentials to share one authenticated session instead of repeating the
+ * key exchange and authentication handshake.
+ *
+ * <p>Sessions are reference counted: each connection holds a {@link Lease} while it is open. When
+ * the last lease of a session is released, the session is kept open for the idle timeout of its
+ * settings, so that it can be picked up again by connections opened later in the same run, and
+ * closed afterwards. A session that has been closed (e.g. by the server) is re-established
+ * transparently on next use.
+ *
+ * <p>The number of channels open at the same time is limited per session, by {@code
+ * channels.maxConcurrent} of its settings: connections sharing a session share its channel permits,
+ * see {@link Lease#tryAcquireChannel(long, TimeUnit)}, so that they cannot exceed the server's
+ * limit of channels per session together.
+ *
+ * <p>A pool created with {@link #unshared()} does not retain idle sessions: a session is closed as
+ * soon as its last lease is released.
+ *
+ * <p>{@link #closeIdleSessions()} is called when a change engine is closed: it closes the idle
+ * sessions, and until the next acquisition it closes sessions as soon as their last lease is
+ * released, so that sessions still leased by the closing engine's connections do not outlive it.
+ * Sessions leased by other engines of the JVM are closed when released, not taken away. Once the
+ * pool holds no sessions any more, its eviction thread is stopped.
+ */
+final class SshSessionPool {
+
+    private static final Logger log = LoggerFactory.getLogger(SshSessionPool.class);
+
+    private final boolean retainIdleSessions;
+
+    /** Guarded by {@code this}. */
+    private final Map<SshSessionSettings, PooledSession> sessions = new HashMap<>();
+
+    /** Guarded by {@code this}; created on first use. */
+    private ScheduledExecutorService evictor;
+
+    /** Guarded by {@code this}; set by {@link #closeIdleSessions()} until the next acquisition. */
+    private boolean draining;
+
+    SshSessionPool() {
+        this(true);
+    }
+
+    private SshSessionPool(boolean retainIdleSessions) {
+        this.retainIdleSessions = retainIdleSessions;
+    }
+
+    /**
+     * Creates a pool that closes sessions as soon as they are no longer used.
+     *
+     * @return a new pool that does not retain idle sessions
+     */
+    static SshSessionPool unshared() {
+        return new SshSessionPool(false);
+    }
+
+    /**
+     * Acquires a lease on the session for the given settings. The session itself is established
+     * lazily by {@link Lease#getSession(long)}.
+     *
+     * @param settings the settings of the session
+     * @return a lease that must be closed when the session is no longer needed
+     */
+    synchronized Lease acquire(SshSessionSettings settings) {
+        draining = false;
+        PooledSession pooledSession =
+                sessions.computeIfAbsent(settings, key -> new PooledSession(key));
+        pooledSession.references++;
+        return new Lease(pooledSession);
+    }
+
+    /**
+     * Returns the number of sessions currently held by the pool, including idle ones.
+     *
+     * @return the number of pooled sessions
+     */
+    synchronized int size() {
+        return sessions.size();
+    }
+
+    /** Closes all sessions of the pool, regardless of outstanding leases. */
+    void close() {
+        List<PooledSession> closed;
+        synchronized (this) {
+            closed = new ArrayList<>(sessions.values());
+            sessions.clear();
+            if (evictor != null) {
+                evictor.shutdownNow();
+                evictor = null;
+            }
+        }
+        closed.forEach(PooledSession::disconnect);
+    }
+
+    /**
+     * Closes the sessions without leases, and makes the pool close sessions once their last lease
+     * is released, until the next {@link #acquire}.
+     */
+    void closeIdleSessions() {
+        List<PooledSession> idle = new ArrayList<>();
+        synchronized (this) {
+            draining = true;
+            for (PooledSession pooledSession : sessions.values()) {
+                if (pooledSession.references == 0) {
+                    idle.add(pooledSession);
+                }
+            }
+            idle.forEach(pooledSession -> sessions.remove(pooledSession.settings));
+            stopEvictorIfEmpty();
+        }
+
+        if (!idle.isEmpty()) {
+            log.debug("Closing {} idle SSH sessions", idle.size());
+        }
+        idle.forEach(PooledSession::disconnect);
+    }
+
+    private void release(PooledSession pooledSession) {
+        boolean closeNow = false;
+
+        synchronized (this) {
+            pooledSession.references--;
+
+            if (pooledSession.references == 0) {
+                long idleTimeoutNanos = pooledSession.settings.getIdleTimeout().toNanos();
+
+                if (!retainIdleSessions || idleTimeoutNanos == 0 || draining) {
+                    closeNow = sessions.remove(pooledSession.settings, pooledSession);
+                    if (draining) {
+                        stopEvictorIfEmpty();
+                    }
+                } else {
+                    pooledSession.idleSinceNanos = System.nanoTime();
+                    getEvictor()
+                            .schedule(
+                                    () -> evictIfIdle(pooledSession),
+                                    idleTimeoutNanos,
+                                    TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        if (closeNow) {
+            pooledSession.disconnect();
+        }
+    }
+
+    private void evictIfIdle(PooledSession pooledSession) {
+        boolean evict;
+
+        synchronized (this) {
+            long idleNanos = System.nanoTime() - pooledSession.idleSinceNanos;
+
+            // a session that was re-acquired and released since has a later eviction scheduled
+            evict =
+                    pooledSession.references == 0
+                            && idleNanos >= pooledSession.settings.getIdleTimeout().toNanos()
+                            && sessions.remove(pooledSession.settings, pooledSession);
+        }
+
+        if (evict) {
+            log.debug("Closing idle SSH session: {}", pooledSession.settings);
+            pooledSession.disconnect();
+        }
+    }
+
+    /** Must be called while holding the lock of the pool. */
+    private void stopEvictorIfEmpty() {
+        if (sessions.isEmpty() && evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+    }
+
+    /**
+     * Returns whether the eviction thread of the pool is running.
+     *
+     * @return {@code true} if idle sessions are scheduled for eviction
+     */
+    synchronized boolean isEvictorRunning() {
+        return evictor != null;
+    }
+
+    private ScheduledExecutorService getEvictor() {
+        if (evictor == null) {
+            evictor = Executors.newSingleThreadScheduledExecutor(new EvictorThreadFactory());
+        }
+        return evictor;
+    }
+
+    /** A reference to a pooled session, held by a single connection. */
+    final class Lease implements AutoCloseable {
+
+        private final PooledSession pooledSession;
+        private boolean released;
+
+        private Lease(PooledSession pooledSession) {
+            this.pooledSession = pooledSession;
+        }
+
+        /**
+         * Returns the authenticated session, connecting or reconnecting it if necessary.
+         *
+         * @param timeoutMs the maximum time to wait for another thread establishing the session and
+         *     for connection and authentication, respectively
+         * @return the open session
+         * @throws IOException if the session cannot be established
+         * @throws InterruptedException if interrupted while waiting for the session
+         */
+        ClientSession getSession(long timeoutMs) throws IOException, InterruptedException {
+            return pooledSession.getSession(timeoutMs);
+        }
+
+        boolean isConnected() {
+            return pooledSession.isConnected();
+        }
+
+        /**
+         * Acquires one of the channel permits of the session, waiting up to the given time for one
+         * to become available. An acquired permit must be returned by {@link #releaseChannel()}.
+         *
+         * @param timeout the maximum time to wait
+         * @param unit the unit of {@code timeout}
+         * @return {@code true} if a permit was acquired, {@code false} if the time elapsed
+         * @throws InterruptedException if interrupted while waiting
+         */
+        boolean tryAcquireChannel(long timeout, TimeUnit unit) throws InterruptedException {
+            return pooledSession.channelPermits.tryAcquire(timeout, unit);
+        }
+
+        /** Returns a channel permit acquired by {@link #tryAcquireChannel(long, TimeUnit)}. */
+        void releaseChannel() {
+            pooledSession.channelPermits.release();
+        }
+
+        /** Releases this lease; calling it again has no effect. */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(pooledSession);
+        }
+    }
+
+    private static final class PooledSession {
+
+        private final SshSessionSettings settings;
+        private final ReentrantLock connectLock = new ReentrantLock();
+        private final Semaphore channelPermits;
+
+        /** Guarded by the pool. */
+        private int references;
+
+        /** Guarded by the pool. */
+        private long idleSinceNanos;
+
+        /** Guarded by {@code connectLock}. */
+        private SshClient client;
+
+        private volatile ClientSession session;
+
+        private PooledSession(SshSessionSettings settings) {
+            this.settings = settings;
+            this.channelPermits = new Semaphore(settings.getMaxConcurrentChannels(), true);
+        }
+
+        private ClientSession getSession(long timeoutMs) throws IOException, InterruptedException {
+            ClientSession current = session;
+            if (current != null && current.isOpen()) {
+                return current;
+            }
+
+            if (!connectLock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new LockAcquisitionException(
+                        "Timed out waiting for SSH session to be established: " + settings);
+            }
+            try {
+                current = session;
+                if (current == null || current.isClosed() || !current.isOpen()) {
+                    if (client == null) {
+                        client = settings.startClient();
+                    }
+                    current = settings.connect(client, timeoutMs);
+                    session = current;
+                }
+                return current;
+            } finally {
+                connectLock.unlock();
+            }
+        }
+
+        private boolean isConnected() {
+            ClientSession current = session;
+            return current != null && current.isOpen();
+        }
+
+        private void disconnect() {
+            connectLock.lock();
+            try {
+                if (session != null && session.isOpen()) {
+                    try {
+                        session.close();
+                    } catch (IOException e) {
+                        log.warn("Error closing SSH session", e);
+                    }
+                }
+                session = null;
+
+                if (client != null && client.isStarted()) {
+                    try {
+                        client.stop();
+                    } catch (RuntimeException e) {
+                        log.warn("Error stopping SSH client", e);
+                    }
+                }
+                client = null;
+            } finally {
+                connectLock.unlock();
+            }
+        }
+    }
+
+    private static final class EvictorThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread =
+                    new Thread(
+                            runnable,
+                            "totalschema-ssh-session-evictor-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.impl;
+
+import io.github.totalschema.engine.api.Context;
+import io.github.totalschema.engine.core.event.ChangeEngineCloseEvent;
+import io.github.totalschema.engine.core.event.EventDispatcher;
+import io.github.totalschema.spi.factory.ArgumentSpecification;
+import io.github.totalschema.spi.factory.ComponentFactory;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link ComponentFactory} registering the shared SSH session pool with the change engine, so that
+ * its sessions are closed when the engine is closed (see {@link
+ * SshSessionPool#closeIdleSessions()}).
+ *
+ * <p>Registered via Java {@link java.util.ServiceLoader} in {@code
+ * META-INF/services/io.github.totalschema.spi.factory.ComponentFactory}.
+ */
+public final class SshSessionPoolComponentFactory extends ComponentFactory<SshSessionPool> {
+
+    @Override
+    public boolean isLazy() {
+        return false;
+    }
+
+    @Override
+    public Class<SshSessionPool> getComponentType() {
+        return SshSessionPool.class;
+    }
+
+    @Override
+    public Optional<String> getQualifier() {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Class<?>> getDependencies() {
+        return List.of(EventDispatcher.class);
+    }
+
+    @Override
+    public List<ArgumentSpecification<?>> getArgumentSpecifications() {
+        return List.of();
+    }
+
+    @Override
+    public SshSessionPool createComponent(Context context, List<Object> arguments) {
+        SshSessionPool sessionPool = DefaultSshConnectionFactory.getSharedSessionPool();
+
+        context.get(EventDispatcher.class)
+                .subscribe(ChangeEngineCloseEvent.class, event -> sessionPool.closeIdleSessions());
+
+        return sessionPool;
+    }
+}
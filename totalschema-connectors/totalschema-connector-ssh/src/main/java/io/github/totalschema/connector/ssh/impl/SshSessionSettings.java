@@ -0,0 +1,311 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.impl;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.MisconfigurationException;
+import io.github.totalschema.config.MissingConfigurationKeyException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.apache.sshd.client.SshClient;
+import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier;
+import org.apache.sshd.client.session.ClientSession;
+import org.apache.sshd.common.PropertyResolverUtils;
+import org.apache.sshd.common.config.keys.FilePasswordProvider;
+import org.apache.sshd.common.keyprovider.FileKeyPairProvider;
+import org.apache.sshd.core.CoreModuleProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The settings that determine how an SSH session is established and used: target, credentials, host
+ * key checking, client properties, session lifecycle settings and the number of channels that may
+ * be open on the session at the same time.
+ *
+ * <p>Instances are immutable and implement {@link #equals(Object)} and {@link #hashCode()}, so that
+ * they can be used as the key of {@link SshSessionPool}: connections with equal settings share an
+ * SSH session, regardless of channel or output related settings.
+ */
+final class SshSessionSettings {
+
+    private static final Logger log = LoggerFactory.getLogger(SshSessionSettings.class);
+
+    private static final String KEEPALIVE_REQUEST = "keepalive@openssh.com";
+
+    private static final class DefaultValues {
+        private static final int SSH_PORT = 22;
+        private static final long KEEP_ALIVE_SECONDS = 30;
+        private static final long IDLE_TIMEOUT_SECONDS = 60;
+        private static final int MAX_CONCURRENT_CHANNELS = 10;
+    }
+
+    private final String host;
+    private final int port;
+    private final String user;
+    private final String password;
+    private final String privateKeyPath;
+    private final String privateKeyPassphrase;
+
+    /**
+     * When {@code false}, the client skips host-key verification (equivalent to SSH {@code
+     * StrictHostKeyChecking=no}). Intended for integration tests and development environments only
+     * — never disable in production.
+     */
+    private final boolean strictHostKeyChecking;
+
+    private final Map<String, String> sshProperties;
+    private final Duration keepAliveInterval;
+    private final Duration idleTimeout;
+    private final int maxConcurrentChannels;
+
+    private SshSessionSettings(Configuration configuration) {
+        this.host =
+                configuration
+                        .getString("host")
+                        .orElseThrow(() -> new MissingConfigurationKeyException("host"));
+        this.port = configuration.getInt("port").orElse(DefaultValues.SSH_PORT);
+        this.user = configuration.getString("user").orElse(null);
+        this.password = configuration.getString("password").orElse(null);
+
+        // SSH key-based authentication support
+        this.privateKeyPath = configuration.getString("privateKey", "path").orElse(null);
+        this.privateKeyPassphrase =
+                configuration.getString("privateKey", "passphrase").orElse(null);
+
+        this.strictHostKeyChecking = configuration.getBoolean("strictHostKeyChecking").orElse(true);
+
+        this.sshProperties =
+                Collections.unmodifiableMap(
+                        new TreeMap<>(
+                                configuration
+                                        .getPrefixNamespace("ssh", "properties")
+                                        .asMap()
+                                        .orElse(Collections.emptyMap())));
+
+        this.keepAliveInterval =
+                Duration.ofSeconds(
+                        nonNegative(
+                                configuration,
+                                DefaultValues.KEEP_ALIVE_SECONDS,
+                                "session",
+                                "keepAliveSeconds"));
+
+        this.idleTimeout =
+                Duration.ofSeconds(
+                        nonNegative(
+                                configuration,
+                                DefaultValues.IDLE_TIMEOUT_SECONDS,
+                                "session",
+                                "idleTimeoutSeconds"));
+
+        this.maxConcurrentChannels =
+                configuration
+                        .getInt("channels", "maxConcurrent")
+                        .orElse(DefaultValues.MAX_CONCURRENT_CHANNELS);
+        if (maxConcurrentChannels < 1) {
+            throw MisconfigurationException.forMessage(
+                    "channels.maxConcurrent must be at least 1: %s", maxConcurrentChannels);
+        }
+    }
+
+    static SshSessionSettings fromConfiguration(Configuration configuration) {
+        return new SshSessionSettings(configuration);
+    }
+
+    private static long nonNegative(Configuration configuration, long defaultValue, String... key) {
+        long value = configuration.getLong(key).orElse(defaultValue);
+        if (value < 0) {
+            throw MisconfigurationException.forMessage(
+                    "%s must not be negative: %s", String.join(".", key), value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the remote host.
+     *
+     * @return the host name or address
+     */
+    String getHost() {
+        return host;
+    }
+
+    /**
+     * Returns how long a session that is no longer used by any connection is kept open for reuse.
+     *
+     * @return the idle timeout; zero if idle sessions are closed immediately
+     */
+    Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Returns how many channels may be open on the session at the same time, across all connections
+     * sharing it.
+     *
+     * @return the maximum number of concurrently open channels; at least 1
+     */
+    int getMaxConcurrentChannels() {
+        return maxConcurrentChannels;
+    }
+
+    /**
+     * Creates and starts a new SSH client configured with these settings.
+     *
+     * @return the started client
+     */
+    SshClient startClient() {
+        SshClient client = SshClient.setUpDefaultClient();
+
+        if (!strictHostKeyChecking) {
+            client.setServerKeyVerifier(AcceptAllServerKeyVerifier.INSTANCE);
+        }
+
+        if (!keepAliveInterval.isZero()) {
+            // keeps idle pooled sessions from being dropped by firewalls and bastion hosts
+            CoreModuleProperties.HEARTBEAT_INTERVAL.set(client, keepAliveInterval);
+            CoreModuleProperties.HEARTBEAT_REQUEST.set(client, KEEPALIVE_REQUEST);
+        }
+
+        // Apply custom SSH properties if provided; these take precedence over the above
+        sshProperties.forEach(
+                (key, value) -> PropertyResolverUtils.updateProperty(client, key, value));
+
+        client.start();
+
+        return client;
+    }
+
+    /**
+     * Connects and authenticates a new session using the given client.
+     *
+     * @param client the client to connect with
+     * @param timeoutMs the maximum time to wait for connection and authentication, respectively
+     * @return the authenticated session
+     * @throws IOException if connection or authentication fails
+     */
+    ClientSession connect(SshClient client, long timeoutMs) throws IOException {
+        log.info("Connecting to SSH server: {}@{}:{}", user, host, port);
+
+        ClientSession session = client.connect(user, host, port).verify(timeoutMs).getSession();
+
+        try {
+            // Configure authentication methods
+            if (privateKeyPath != null) {
+                // Key-based authentication
+                log.debug("Using SSH key-based authentication with key: {}", privateKeyPath);
+
+                Path keyPath = Paths.get(privateKeyPath);
+                if (!Files.exists(keyPath)) {
+                    throw new IOException("Private key file not found: " + privateKeyPath);
+                }
+
+                // Create key pair provider
+                FileKeyPairProvider keyPairProvider = new FileKeyPairProvider(keyPath);
+
+                // Set password provider if passphrase is provided
+                if (privateKeyPassphrase != null) {
+                    keyPairProvider.setPasswordFinder(
+                            FilePasswordProvider.of(privateKeyPassphrase));
+                }
+
+                try {
+                    // Load key pairs
+                    Iterable<KeyPair> keyPairs = keyPairProvider.loadKeys(session);
+                    for (KeyPair keyPair : keyPairs) {
+                        session.addPublicKeyIdentity(keyPair);
+                    }
+                } catch (Exception e) {
+                    throw new IOException(
+                            "Failed to load SSH private key from " + privateKeyPath, e);
+                }
+
+            } else if (password != null) {
+                // Password-based authentication
+                log.debug("Using SSH password-based authentication");
+                session.addPasswordIdentity(password);
+            } else {
+                throw new IllegalStateException(
+                        "No authentication method configured. Provide either password or privateKey.path");
+            }
+
+            session.auth().verify(timeoutMs);
+
+        } catch (IOException | RuntimeException e) {
+            session.close(true);
+            throw e;
+        }
+
+        log.info("Successfully connected to SSH server: {}@{}:{}", user, host, port);
+
+        return session;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SshSessionSettings that = (SshSessionSettings) o;
+        return port == that.port
+                && strictHostKeyChecking == that.strictHostKeyChecking
+                && host.equals(that.host)
+                && Objects.equals(user, that.user)
+                && Objects.equals(password, that.password)
+                && Objects.equals(privateKeyPath, that.privateKeyPath)
+                && Objects.equals(privateKeyPassphrase, that.privateKeyPassphrase)
+                && sshProperties.equals(that.sshProperties)
+                && keepAliveInterval.equals(that.keepAliveInterval)
+                && idleTimeout.equals(that.idleTimeout)
+                && maxConcurrentChannels == that.maxConcurrentChannels;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(host, port, user, privateKeyPath);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("SshSessionSettings{");
+        sb.append("host='").append(host).append('\'');
+        sb.append(", port=").append(port);
+        sb.append(", user='").append(user).append('\'');
+        sb.append(", password='").append(password != null ? "***" : "null").append('\'');
+        sb.append(", privateKeyPath='").append(privateKeyPath).append('\'');
+        sb.append(", strictHostKeyChecking=").append(strictHostKeyChecking);
+        sb.append(", sshProperties=").append(sshProperties);
+        sb.append(", keepAliveInterval=").append(keepAliveInterval);
+        sb.append(", idleTimeout=").append(idleTimeout);
+        sb.append(", maxConcurrentChannels=").append(maxConcurrentChannels);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Minimal writer of POSIX {@code ustar} archives, sufficient for transferring a set of regular
+ * files to a remote {@code tar -x}.
+ *
+ * <p>Only regular files with names of at most 100 bytes are supported; the caller is responsible
+ * for closing the underlying stream after {@link #finish()}.
+ */
+final class TarStreamWriter {
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int NAME_LENGTH = 100;
+
+    private final OutputStream out;
+    private final long modificationTime = System.currentTimeMillis() / 1000;
+
+    TarStreamWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Appends a regular file to the archive.
+     *
+     * @param name the name of the entry in the archive
+     * @param file the file to read the content from
+     * @param mode the permission bits of the entry (e.g. {@code 0700})
+     * @throws IOException if the file cannot be read or the stream cannot be written
+     */
+    void addFile(String name, Path file, int mode) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > NAME_LENGTH) {
+            throw new IllegalArgumentException("tar entry name too long: " + name);
+        }
+
+        long size = Files.size(file);
+
+        byte[] header = new byte[BLOCK_SIZE];
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        putOctal(header, 100, 8, mode);
+        putOctal(header, 108, 8, 0); // uid
+        putOctal(header, 116, 8, 0); // gid
+        putOctal(header, 124, 12, size);
+        putOctal(header, 136, 12, modificationTime);
+        header[156] = '0'; // regular file
+        putAscii(header, 257, "ustar\0");
+        putAscii(header, 263, "00");
+
+        // the checksum is calculated with the checksum field filled with spaces
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        putOctal(header, 148, 7, checksum);
+
+        out.write(header);
+
+        long copied = Files.copy(file, out);
+        if (copied != size) {
+            throw new IOException("File changed while being archived: " + file);
+        }
+        pad(size);
+    }
+
+    /**
+     * Writes the end-of-archive marker.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    void finish() throws IOException {
+        out.write(new byte[2 * BLOCK_SIZE]);
+        out.flush();
+    }
+
+    private void pad(long size) throws IOException {
+        int remainder = (int) (size % BLOCK_SIZE);
+        if (remainder != 0) {
+            out.write(new byte[BLOCK_SIZE - remainder]);
+        }
+    }
+
+    /** Writes a zero-padded, NUL-terminated octal number into a header field. */
+    private static void putOctal(byte[] header, int offset, int length, long value) {
+        String octal = Long.toOctalString(value);
+        if (octal.length() > length - 1) {
+            throw new IllegalArgumentException("value too large for tar header: " + value);
+        }
+        String padded = "0".repeat(length - 1 - octal.length()) + octal;
+        putAscii(header, offset, padded);
+        header[offset + length - 1] = 0;
+    }
+
+    private static void putAscii(byte[] header, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, offset, bytes.length);
+    }
+}
@@ -21,6 +21,8 @@ package io.github.totalschema.connector.ssh.spi;
 import io.github.totalschema.engine.internal.shell.direct.TerminalSession;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
+import org.slf4j.LoggerFactory;
 
 /**
  * SSH connection interface for remote command execution and file transfer.
@@ -35,6 +37,74 @@ import java.nio.file.Path;
  */
 public interface SshConnection extends TerminalSession<String> {
 
+    /**
+     * Transfers a local script to the remote server, makes it executable, runs it with the given
+     * shell and removes it again.
+     *
+     * <p>The default implementation performs each step as a separate remote operation.
+     * Implementations are encouraged to combine the steps into a single remote invocation. If a
+     * step fails, the script is still removed; a failure to remove it is then added to the failure
+     * of the step as a suppressed exception, rather than replacing it. If all steps succeed, a
+     * failure to remove the script is only logged: the script has been applied.
+     *
+     * @param localScript the local script file
+     * @param remotePath the path the script is stored at on the remote server while it runs
+     * @param shell the shell used to run the script (e.g. {@code /bin/bash})
+     * @throws IOException if the file transfer fails
+     * @throws InterruptedException if the operation is interrupted
+     */
+    default void executeScript(Path localScript, String remotePath, String shell)
+            throws IOException, InterruptedException {
+        try {
+            uploadFile(localScript, remotePath);
+            execute("chmod +x " + remotePath);
+            execute(shell + " " + remotePath);
+        } catch (IOException | InterruptedException | RuntimeException failure) {
+            try {
+                execute("rm -f " + remotePath);
+            } catch (InterruptedException cleanupFailure) {
+                failure.addSuppressed(cleanupFailure);
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException cleanupFailure) {
+                failure.addSuppressed(cleanupFailure);
+            }
+            throw failure;
+        }
+
+        try {
+            execute("rm -f " + remotePath);
+        } catch (InterruptedException cleanupFailure) {
+            LoggerFactory.getLogger(SshConnection.class)
+                    .warn("Interrupted cleaning up remote script {}", remotePath);
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException cleanupFailure) {
+            LoggerFactory.getLogger(SshConnection.class)
+                    .warn(
+                            "Failed to clean up remote script {}: {}",
+                            remotePath,
+                            cleanupFailure.getMessage());
+        }
+    }
+
+    /**
+     * Transfers several local files into a remote directory, which is created if necessary.
+     *
+     * <p>The default implementation creates the directory and uploads the files one by one.
+     * Implementations are encouraged to transfer all files in a single remote invocation.
+     *
+     * @param files the local files to transfer, keyed by their file name in the remote directory
+     * @param remoteDirectory the remote directory to store the files in
+     * @throws IOException if the file transfer fails
+     * @throws InterruptedException if the operation is interrupted
+     */
+    default void uploadFiles(Map<String, Path> files, String remoteDirectory)
+            throws IOException, InterruptedException {
+        execute("mkdir -p " + remoteDirectory);
+        for (Map.Entry<String, Path> file : files.entrySet()) {
+            uploadFile(file.getValue(), remoteDirectory + "/" + file.getKey());
+        }
+    }
+
     /**
      * Uploads a file to the remote server using SCP.
      *
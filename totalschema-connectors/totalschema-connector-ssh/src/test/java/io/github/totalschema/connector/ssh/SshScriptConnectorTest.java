@@ -25,9 +25,14 @@ import io.github.totalschema.config.Configuration;
 import io.github.totalschema.connector.ssh.spi.SshConnection;
 import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.model.ChangeType;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.testng.annotations.AfterMethod;
@@ -116,13 +121,10 @@ public class SshScriptConnectorTest {
     // -----------------------------------------------------------------------
 
     @Test
-    public void testHappyPathUploadChmodExecuteCleanupAreCalledInOrder() throws Exception {
+    public void testScriptIsExecutedWithDefaultRemoteDirAndShell() throws Exception {
         Capture<String> remotePath = newCapture(CaptureType.FIRST);
 
-        mockConnection.uploadFile(eq(tempScript), capture(remotePath));
-        mockConnection.execute(anyString()); // chmod +x <path>
-        mockConnection.execute(anyString()); // /bin/bash <path>
-        mockConnection.execute(anyString()); // rm -f <path>
+        mockConnection.executeScript(eq(tempScript), capture(remotePath), eq("/bin/bash"));
         replay(mockConnection);
 
         connector.execute(changeFile(), context);
@@ -133,45 +135,18 @@ public class SshScriptConnectorTest {
     }
 
     @Test
-    public void testDefaultShellAndRemoteDirAreUsedInCommands() throws Exception {
-        Capture<String> chmodArg = newCapture(CaptureType.FIRST);
-        Capture<String> executeArg = newCapture(CaptureType.FIRST);
-        Capture<String> rmArg = newCapture(CaptureType.FIRST);
-
-        mockConnection.uploadFile(eq(tempScript), anyString());
-        mockConnection.execute(capture(chmodArg));
-        mockConnection.execute(capture(executeArg));
-        mockConnection.execute(capture(rmArg));
-        replay(mockConnection);
-
-        connector.execute(changeFile(), context);
-
-        verify(mockConnection);
-        assertTrue(chmodArg.getValue().startsWith("chmod +x /tmp/totalschema-script-"));
-        assertTrue(executeArg.getValue().startsWith("/bin/bash /tmp/totalschema-script-"));
-        assertTrue(rmArg.getValue().startsWith("rm -f /tmp/totalschema-script-"));
-    }
+    public void testEachExecutionUsesAUniqueRemotePath() throws Exception {
+        Capture<String> remotePaths = newCapture(CaptureType.ALL);
 
-    @Test
-    public void testAllThreeCommandsShareTheSameRemotePath() throws Exception {
-        Capture<String> uploadedPath = newCapture(CaptureType.FIRST);
-        Capture<String> chmodArg = newCapture(CaptureType.FIRST);
-        Capture<String> executeArg = newCapture(CaptureType.FIRST);
-        Capture<String> rmArg = newCapture(CaptureType.FIRST);
-
-        mockConnection.uploadFile(eq(tempScript), capture(uploadedPath));
-        mockConnection.execute(capture(chmodArg));
-        mockConnection.execute(capture(executeArg));
-        mockConnection.execute(capture(rmArg));
+        mockConnection.executeScript(eq(tempScript), capture(remotePaths), eq("/bin/bash"));
+        expectLastCall().times(2);
         replay(mockConnection);
 
+        connector.execute(changeFile(), context);
         connector.execute(changeFile(), context);
 
         verify(mockConnection);
-        String path = uploadedPath.getValue();
-        assertEquals(chmodArg.getValue(), "chmod +x " + path);
-        assertEquals(executeArg.getValue(), "/bin/bash " + path);
-        assertEquals(rmArg.getValue(), "rm -f " + path);
+        assertNotEquals(remotePaths.getValues().get(0), remotePaths.getValues().get(1));
     }
 
     // -----------------------------------------------------------------------
@@ -186,10 +161,7 @@ public class SshScriptConnectorTest {
                 new SshScriptConnector(CONNECTOR_NAME, mockConnection, config);
         Capture<String> remotePath = newCapture(CaptureType.FIRST);
 
-        mockConnection.uploadFile(eq(tempScript), capture(remotePath));
-        mockConnection.execute(anyString());
-        mockConnection.execute(anyString());
-        mockConnection.execute(anyString());
+        mockConnection.executeScript(eq(tempScript), capture(remotePath), anyString());
         replay(mockConnection);
 
         customConnector.execute(changeFile(), context);
@@ -199,60 +171,44 @@ public class SshScriptConnectorTest {
     }
 
     @Test
-    public void testCustomShellIsUsedInExecuteCommand() throws Exception {
+    public void testCustomShellIsUsed() throws Exception {
         Configuration config = Configuration.builder().set("shell", "/bin/sh").build();
         SshScriptConnector customConnector =
                 new SshScriptConnector(CONNECTOR_NAME, mockConnection, config);
-        Capture<String> chmodArg = newCapture(CaptureType.FIRST);
-        Capture<String> executeArg = newCapture(CaptureType.FIRST);
-        Capture<String> rmArg = newCapture(CaptureType.FIRST);
-
-        mockConnection.uploadFile(eq(tempScript), anyString());
-        mockConnection.execute(capture(chmodArg)); // chmod +x
-        mockConnection.execute(capture(executeArg)); // run script
-        mockConnection.execute(capture(rmArg)); // rm -f
+
+        mockConnection.executeScript(eq(tempScript), anyString(), eq("/bin/sh"));
         replay(mockConnection);
 
         customConnector.execute(changeFile(), context);
 
         verify(mockConnection);
-        assertTrue(chmodArg.getValue().startsWith("chmod +x "));
-        assertTrue(executeArg.getValue().startsWith("/bin/sh "));
-        assertTrue(rmArg.getValue().startsWith("rm -f "));
     }
 
     // -----------------------------------------------------------------------
-    // execute() — cleanup in finally block
+    // execute() — exception handling
     // -----------------------------------------------------------------------
 
     @Test
-    public void testCleanupIsCalledEvenWhenChmodThrows() throws Exception {
-        mockConnection.uploadFile(eq(tempScript), anyString());
-        mockConnection.execute(anyString()); // chmod +x — throws
-        expectLastCall().andThrow(new InterruptedException("simulated"));
-        mockConnection.execute(anyString()); // rm -f still runs in finally
+    public void testIOExceptionIsWrapped() throws Exception {
+        mockConnection.executeScript(eq(tempScript), anyString(), anyString());
+        expectLastCall().andThrow(new IOException("upload failed"));
         replay(mockConnection);
 
         try {
             connector.execute(changeFile(), context);
             fail("Expected RuntimeException");
         } catch (RuntimeException ex) {
-            assertEquals(ex.getMessage(), "interrupted");
+            assertTrue(ex.getCause() instanceof IOException);
+            assertTrue(ex.getMessage().contains("Failure processing script file"));
         }
 
-        // Clear the interrupted flag so it does not bleed into other tests
-        boolean wasInterrupted = Thread.interrupted();
-        assertTrue(wasInterrupted);
         verify(mockConnection);
     }
 
     @Test
-    public void testCleanupIsCalledEvenWhenScriptExecutionThrows() throws Exception {
-        mockConnection.uploadFile(eq(tempScript), anyString());
-        mockConnection.execute(anyString()); // chmod +x — ok
-        mockConnection.execute(anyString()); // run script — throws
-        expectLastCall().andThrow(new InterruptedException("simulated"));
-        mockConnection.execute(anyString()); // rm -f still runs in finally
+    public void testInterruptedExceptionIsWrappedAndInterruptFlagIsSet() throws Exception {
+        mockConnection.executeScript(eq(tempScript), anyString(), anyString());
+        expectLastCall().andThrow(new InterruptedException("interrupted"));
         replay(mockConnection);
 
         try {
@@ -260,57 +216,212 @@ public class SshScriptConnectorTest {
             fail("Expected RuntimeException");
         } catch (RuntimeException ex) {
             assertEquals(ex.getMessage(), "interrupted");
+            assertTrue(ex.getCause() instanceof InterruptedException);
+            assertTrue(Thread.currentThread().isInterrupted());
         }
 
+        // Clear the interrupted flag so it does not bleed into other tests
         boolean wasInterrupted = Thread.interrupted();
         assertTrue(wasInterrupted);
         verify(mockConnection);
     }
 
     // -----------------------------------------------------------------------
-    // execute() — exception handling
+    // staging
     // -----------------------------------------------------------------------
 
     @Test
-    public void testIOExceptionFromUploadIsWrapped() throws Exception {
-        mockConnection.uploadFile(eq(tempScript), anyString());
-        expectLastCall().andThrow(new IOException("upload failed"));
-        // remoteScriptPath is assigned before uploadFile() is called, so finally always runs rm -f
-        mockConnection.execute(anyString());
-        replay(mockConnection);
+    public void testPlannedScriptsAreStagedAndExecutedWithoutTransfer() throws Exception {
+        Path changesDirectory = Files.createTempDirectory("ssh-staging-changes-");
+        try {
+            Path first = writeChangeFile(changesDirectory, "1.0", "0001.first.apply.srv.sh");
+            Path second = writeChangeFile(changesDirectory, "1.1", "0001.first.apply.srv.sh");
+
+            SshScriptConnector stagingConnector = stagingConnector(changesDirectory);
+
+            Capture<Map<String, Path>> stagedFiles = newCapture(CaptureType.FIRST);
+            Capture<String> stagingDirectory = newCapture(CaptureType.FIRST);
+            Capture<String> executed = newCapture(CaptureType.ALL);
+
+            mockConnection.uploadFiles(capture(stagedFiles), capture(stagingDirectory));
+            mockConnection.execute(capture(executed));
+            expectLastCall().times(3);
+            mockConnection.close();
+            replay(mockConnection);
+
+            stagingConnector.prepare(
+                    context,
+                    List.of(
+                            changeFileId("1.0", "0001.first.apply.srv.sh"),
+                            changeFileId("1.1", "0001.first.apply.srv.sh")));
+            stagingConnector.execute(changeFile(second), context);
+            stagingConnector.execute(changeFile(first), context);
+            stagingConnector.close();
+
+            verify(mockConnection);
+
+            String directory = stagingDirectory.getValue();
+            assertTrue(directory.startsWith("/tmp/totalschema-run-"));
+
+            // equally named files from different directories are staged under distinct names
+            assertEquals(
+                    stagedFiles.getValue(),
+                    Map.of(
+                            "1-0001.first.apply.srv.sh", first.toAbsolutePath(),
+                            "2-0001.first.apply.srv.sh", second.toAbsolutePath()));
+
+            assertEquals(
+                    executed.getValues(),
+                    List.of(
+                            "/bin/bash " + directory + "/2-0001.first.apply.srv.sh",
+                            "/bin/bash " + directory + "/1-0001.first.apply.srv.sh",
+                            "rm -rf " + directory));
+        } finally {
+            deleteRecursively(changesDirectory);
+        }
+    }
 
+    @Test
+    public void testScriptThatWasNotStagedIsTransferredOnExecution() throws Exception {
+        Path changesDirectory = Files.createTempDirectory("ssh-staging-changes-");
         try {
-            connector.execute(changeFile(), context);
-            fail("Expected RuntimeException");
-        } catch (RuntimeException ex) {
-            assertTrue(ex.getCause() instanceof IOException);
-            assertTrue(ex.getMessage().contains("Failure processing script file"));
+            writeChangeFile(changesDirectory, "1.0", "0001.first.apply.srv.sh");
+            SshScriptConnector stagingConnector = stagingConnector(changesDirectory);
+
+            mockConnection.uploadFiles(anyObject(), anyString());
+            mockConnection.executeScript(eq(tempScript), anyString(), eq("/bin/bash"));
+            replay(mockConnection);
+
+            stagingConnector.prepare(
+                    context, List.of(changeFileId("1.0", "0001.first.apply.srv.sh")));
+            stagingConnector.execute(changeFile(), context);
+
+            verify(mockConnection);
+        } finally {
+            deleteRecursively(changesDirectory);
         }
+    }
+
+    @Test
+    public void testNothingIsStagedWhenStagingIsDisabled() throws Exception {
+        mockConnection.close();
+        replay(mockConnection);
+
+        connector.prepare(context, List.of(changeFileId("1.0", "0001.x.apply.srv.sh")));
+        connector.close();
 
         verify(mockConnection);
     }
 
     @Test
-    public void testInterruptedExceptionFromUploadIsWrappedAndInterruptFlagIsSet()
-            throws Exception {
-        mockConnection.uploadFile(eq(tempScript), anyString());
-        expectLastCall().andThrow(new InterruptedException("interrupted"));
-        mockConnection.execute(anyString()); // rm -f still runs in finally
-        replay(mockConnection);
+    public void testConnectionCheckDoesNotStageScripts() throws Exception {
+        Path changesDirectory = Files.createTempDirectory("ssh-staging-changes-");
+        try {
+            writeChangeFile(changesDirectory, "1.0", "0001.first.apply.srv.sh");
+            SshScriptConnector stagingConnector = stagingConnector(changesDirectory);
+
+            mockConnection.execute(":");
+            mockConnection.close();
+            replay(mockConnection);
 
+            stagingConnector.checkConnection(
+                    context, List.of(changeFileId("1.0", "0001.first.apply.srv.sh")));
+            stagingConnector.close();
+
+            verify(mockConnection);
+        } finally {
+            deleteRecursively(changesDirectory);
+        }
+    }
+
+    @Test
+    public void testScriptsAreTransferredOnExecutionWhenStagingFails() throws Exception {
+        Path changesDirectory = Files.createTempDirectory("ssh-staging-changes-");
         try {
-            connector.execute(changeFile(), context);
-            fail("Expected RuntimeException");
-        } catch (RuntimeException ex) {
-            assertEquals(ex.getMessage(), "interrupted");
-            assertTrue(ex.getCause() instanceof InterruptedException);
-            assertTrue(Thread.currentThread().isInterrupted());
+            writeChangeFile(changesDirectory, "1.0", "0001.first.apply.srv.sh");
+            SshScriptConnector stagingConnector = stagingConnector(changesDirectory);
+
+            mockConnection.uploadFiles(anyObject(), anyString());
+            expectLastCall().andThrow(new IOException("disk full"));
+            mockConnection.executeScript(eq(tempScript), anyString(), eq("/bin/bash"));
+            mockConnection.execute(startsWith("rm -rf "));
+            mockConnection.close();
+            replay(mockConnection);
+
+            stagingConnector.prepare(
+                    context, List.of(changeFileId("1.0", "0001.first.apply.srv.sh")));
+            stagingConnector.execute(changeFile(), context);
+            stagingConnector.close();
+
+            verify(mockConnection);
+        } finally {
+            deleteRecursively(changesDirectory);
         }
+    }
 
-        // Clear the interrupted flag so it does not bleed into other tests
-        boolean wasInterrupted = Thread.interrupted();
-        assertTrue(wasInterrupted);
-        verify(mockConnection);
+    @Test
+    public void testCloseSucceedsWhenRemovingStagedScriptsFails() throws Exception {
+        Path changesDirectory = Files.createTempDirectory("ssh-staging-changes-");
+        try {
+            writeChangeFile(changesDirectory, "1.0", "0001.first.apply.srv.sh");
+            SshScriptConnector stagingConnector = stagingConnector(changesDirectory);
+
+            mockConnection.uploadFiles(anyObject(), anyString());
+            mockConnection.execute(startsWith("rm -rf "));
+            expectLastCall().andThrow(new RuntimeException("connection lost"));
+            mockConnection.close();
+            replay(mockConnection);
+
+            stagingConnector.prepare(
+                    context, List.of(changeFileId("1.0", "0001.first.apply.srv.sh")));
+            stagingConnector.close();
+
+            verify(mockConnection);
+        } finally {
+            deleteRecursively(changesDirectory);
+        }
+    }
+
+    private SshScriptConnector stagingConnector(Path changesDirectory) {
+        context.setValue(
+                Configuration.class,
+                Configuration.builder()
+                        .set("changes.directory", changesDirectory.toString())
+                        .build());
+
+        return new SshScriptConnector(
+                CONNECTOR_NAME,
+                mockConnection,
+                Configuration.builder().set("staging.enabled", true).build());
+    }
+
+    private static Path writeChangeFile(Path changesDirectory, String directory, String fileName)
+            throws IOException {
+        Path file = changesDirectory.resolve(directory).resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "#!/bin/bash\necho " + directory + "\n");
+        return file;
+    }
+
+    private static ChangeFile.Id changeFileId(String directory, String fileName) {
+        String[] parts = fileName.split("\\.");
+        return new ChangeFile.Id(
+                directory, parts[0], parts[1], null, ChangeType.APPLY, parts[3], parts[4]);
+    }
+
+    private static ChangeFile changeFile(Path file) {
+        ChangeFile mock = createMock(ChangeFile.class);
+        expect(mock.getFile()).andReturn(file);
+        replay(mock);
+        return mock;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.deleteIfExists(path);
+            }
+        }
     }
 
     // -----------------------------------------------------------------------
@@ -21,9 +21,22 @@ package io.github.totalschema.connector.ssh.impl;
 import static org.testng.Assert.*;
 
 import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.ConfigurationBuilder;
+import io.github.totalschema.config.MisconfigurationException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.sshd.common.session.Session;
+import org.apache.sshd.common.session.SessionListener;
 import org.apache.sshd.scp.server.ScpCommandFactory;
 import org.apache.sshd.server.SshServer;
 import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
@@ -50,6 +63,7 @@ public class MinaSshdConnectionIntegrationTest {
     private SshServer sshd;
     private int port;
     private Path remoteDir; // acts as the "remote" filesystem root for SCP uploads
+    private final AtomicInteger serverSessions = new AtomicInteger();
 
     // -----------------------------------------------------------------------
     // Server lifecycle
@@ -75,6 +89,14 @@ public class MinaSshdConnectionIntegrationTest {
         scpFactory.setDelegateCommandFactory(ProcessShellCommandFactory.INSTANCE);
         sshd.setCommandFactory(scpFactory);
 
+        sshd.addSessionListener(
+                new SessionListener() {
+                    @Override
+                    public void sessionCreated(Session session) {
+                        serverSessions.incrementAndGet();
+                    }
+                });
+
         sshd.start();
         port = sshd.getPort();
     }
@@ -108,13 +130,20 @@ public class MinaSshdConnectionIntegrationTest {
      * host key is accepted without a known-hosts file.
      */
     private Configuration serverConfig() {
+        return serverConfig("10");
+    }
+
+    private Configuration serverConfig(String maxConcurrentChannels) {
+        return serverConfigBuilder().set("channels.maxConcurrent", maxConcurrentChannels).build();
+    }
+
+    private ConfigurationBuilder serverConfigBuilder() {
         return Configuration.builder()
                 .set("host", "localhost")
                 .set("port", String.valueOf(port))
                 .set("user", TEST_USER)
                 .set("password", TEST_PASSWORD)
-                .set("strictHostKeyChecking", "false")
-                .build();
+                .set("strictHostKeyChecking", "false");
     }
 
     // -----------------------------------------------------------------------
@@ -154,6 +183,46 @@ public class MinaSshdConnectionIntegrationTest {
         }
     }
 
+    @Test
+    public void testFailingCommandReportsTailOfOutput() throws InterruptedException {
+        Configuration config = serverConfigBuilder().set("output.tailKb", "1").build();
+
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", config)) {
+            RuntimeException ex =
+                    expectThrows(
+                            RuntimeException.class,
+                            () ->
+                                    conn.execute(
+                                            "/bin/sh -c 'seq 1 2000; echo failing >&2; exit 2'"));
+
+            assertTrue(ex.getMessage().contains("Exit code 2"), ex.getMessage());
+            assertTrue(ex.getMessage().contains("failing"), ex.getMessage());
+            assertTrue(ex.getMessage().contains("2000"), ex.getMessage());
+            assertFalse(
+                    ex.getMessage()
+                            .contains(System.lineSeparator() + "1" + System.lineSeparator()));
+        }
+    }
+
+    @Test
+    public void testLargeOutputIsStreamed() throws InterruptedException {
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", serverConfig())) {
+            conn.execute("/bin/sh -c 'seq 1 50000'");
+        }
+    }
+
+    @Test
+    public void testBufferedOutputModeExecutesCommand() throws InterruptedException {
+        Configuration config = serverConfigBuilder().set("output.mode", "BUFFER").build();
+
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", config)) {
+            conn.execute("echo buffered");
+
+            RuntimeException ex = expectThrows(RuntimeException.class, () -> conn.execute("false"));
+            assertTrue(ex.getMessage().contains("Exit code 1"), ex.getMessage());
+        }
+    }
+
     // -----------------------------------------------------------------------
     // uploadFile() — SCP transfer
     // -----------------------------------------------------------------------
@@ -203,6 +272,273 @@ public class MinaSshdConnectionIntegrationTest {
         }
     }
 
+    @Test
+    public void testExecuteScriptRunsAndRemovesScriptInSingleChannel() throws Exception {
+        Path localScript = Files.createTempFile("exec-script-", ".sh");
+        Path remoteScript = remoteDir.resolve("exec-script.sh");
+        Path outputFile = remoteDir.resolve("exec-script-output.txt");
+
+        Files.writeString(localScript, "#!/bin/bash\necho 'script ran' > " + outputFile + "\n");
+
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", serverConfig())) {
+            conn.executeScript(localScript, remoteScript.toString(), "/bin/bash");
+
+            assertEquals(Files.readString(outputFile).trim(), "script ran");
+            assertFalse(
+                    Files.exists(remoteScript),
+                    "Remote script should have been removed after execution");
+        } finally {
+            Files.deleteIfExists(localScript);
+            Files.deleteIfExists(remoteScript);
+            Files.deleteIfExists(outputFile);
+        }
+    }
+
+    @Test
+    public void testExecuteScriptFailureIsReportedAndScriptIsRemoved() throws Exception {
+        Path localScript = Files.createTempFile("exec-script-fail-", ".sh");
+        Path remoteScript = remoteDir.resolve("exec-script-fail.sh");
+
+        Files.writeString(localScript, "#!/bin/bash\nexit 3\n");
+
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", serverConfig())) {
+            RuntimeException ex =
+                    expectThrows(
+                            RuntimeException.class,
+                            () ->
+                                    conn.executeScript(
+                                            localScript, remoteScript.toString(), "/bin/bash"));
+
+            assertTrue(ex.getMessage().contains("Exit code 3"), ex.getMessage());
+            assertFalse(Files.exists(remoteScript));
+        } finally {
+            Files.deleteIfExists(localScript);
+            Files.deleteIfExists(remoteScript);
+        }
+    }
+
+    @Test
+    public void testConcurrentCommandsShareOneSession() throws Exception {
+        Configuration config = serverConfig("2");
+
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", config)) {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    String command = "echo concurrent-" + i;
+                    futures.add(
+                            executor.submit(
+                                    () -> {
+                                        conn.execute(command);
+                                        return null;
+                                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = MisconfigurationException.class)
+    public void testNonPositiveMaxConcurrentChannelsIsRejected() {
+        Configuration config = serverConfig("0");
+
+        new MinaSshdConnection("test-conn", config);
+    }
+
+    @Test
+    public void testUploadFilesTransfersAllFilesInOneTarStream() throws Exception {
+        assertFilesUploaded(serverConfig(), "tar-upload");
+    }
+
+    @Test
+    public void testUploadFilesTransfersAllFilesInOneCompressedTarStream() throws Exception {
+        assertFilesUploaded(
+                serverConfigBuilder().set("staging.compress", true).build(), "tar-gz-upload");
+    }
+
+    private void assertFilesUploaded(Configuration config, String directoryName) throws Exception {
+        Path first = Files.createTempFile("tar-first-", ".sh");
+        Path second = Files.createTempFile("tar-second-", ".sh");
+        Path remoteDirectory = remoteDir.resolve(directoryName);
+
+        Files.writeString(first, "#!/bin/bash\necho first\n");
+        // larger than one tar block, not a multiple of the block size
+        Files.writeString(second, "#" + "x".repeat(1500) + "\n");
+
+        Map<String, Path> files = new LinkedHashMap<>();
+        files.put("1-first.sh", first);
+        files.put("2-second.sh", second);
+
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", config)) {
+            conn.uploadFiles(files, remoteDirectory.toString());
+
+            assertEquals(
+                    Files.readString(remoteDirectory.resolve("1-first.sh")),
+                    Files.readString(first));
+            assertEquals(
+                    Files.readString(remoteDirectory.resolve("2-second.sh")),
+                    Files.readString(second));
+
+            // staged files can be run directly
+            conn.execute("/bin/bash " + remoteDirectory.resolve("1-first.sh"));
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+        }
+    }
+
+    // -----------------------------------------------------------------------
+    // session pooling
+    // -----------------------------------------------------------------------
+
+    @Test
+    public void testConnectionsWithSameSettingsShareOnePooledSession() throws Exception {
+        SshSessionPool pool = new SshSessionPool();
+        Configuration config = serverConfigBuilder().set("session.idleTimeoutSeconds", 0).build();
+        int sessionsBefore = serverSessions.get();
+
+        try (MinaSshdConnection first = new MinaSshdConnection("first", config, pool);
+                MinaSshdConnection second = new MinaSshdConnection("second", config, pool)) {
+            first.execute("echo first");
+            second.execute("echo second");
+
+            assertEquals(serverSessions.get() - sessionsBefore, 1);
+            assertEquals(pool.size(), 1);
+        }
+
+        // no idle timeout: the session is closed with the last connection using it
+        assertEquals(pool.size(), 0);
+    }
+
+    @Test
+    public void testIdlePooledSessionIsReusedAndEventuallyEvicted() throws Exception {
+        SshSessionPool pool = new SshSessionPool();
+        Configuration config = serverConfigBuilder().set("session.idleTimeoutSeconds", 1).build();
+        int sessionsBefore = serverSessions.get();
+
+        try (MinaSshdConnection first = new MinaSshdConnection("first", config, pool)) {
+            first.execute("echo first");
+        }
+        assertEquals(pool.size(), 1, "Idle session should be retained");
+
+        try (MinaSshdConnection second = new MinaSshdConnection("second", config, pool)) {
+            second.execute("echo second");
+        }
+        assertEquals(serverSessions.get() - sessionsBefore, 1);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(pool.size(), 0, "Idle session should have been evicted");
+    }
+
+    @Test
+    public void testConnectionsWithDifferentSettingsUseSeparateSessions() throws Exception {
+        SshSessionPool pool = new SshSessionPool();
+        int sessionsBefore = serverSessions.get();
+
+        try (MinaSshdConnection first =
+                        new MinaSshdConnection(
+                                "first",
+                                serverConfigBuilder().set("session.keepAliveSeconds", 0).build(),
+                                pool);
+                MinaSshdConnection second =
+                        new MinaSshdConnection(
+                                "second",
+                                serverConfigBuilder().set("session.keepAliveSeconds", 5).build(),
+                                pool)) {
+            first.execute("echo first");
+            second.execute("echo second");
+
+            assertEquals(serverSessions.get() - sessionsBefore, 2);
+            assertEquals(pool.size(), 2);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testCloseIdleSessionsKeepsLeasedSessionsUntilReleased() throws Exception {
+        SshSessionPool pool = new SshSessionPool();
+        Configuration idleConfig =
+                serverConfigBuilder().set("session.idleTimeoutSeconds", 60).build();
+        Configuration leasedConfig =
+                serverConfigBuilder()
+                        .set("session.idleTimeoutSeconds", 60)
+                        .set("session.keepAliveSeconds", 5)
+                        .build();
+
+        try {
+            try (MinaSshdConnection idle = new MinaSshdConnection("idle", idleConfig, pool)) {
+                idle.execute("echo idle");
+            }
+
+            try (MinaSshdConnection leased = new MinaSshdConnection("leased", leasedConfig, pool)) {
+                leased.execute("echo before");
+                assertEquals(pool.size(), 2);
+                assertTrue(pool.isEvictorRunning());
+
+                pool.closeIdleSessions();
+
+                assertEquals(pool.size(), 1, "Only the idle session should be closed");
+                leased.execute("echo after");
+            }
+
+            // released after the engine was closed: not retained
+            assertEquals(pool.size(), 0);
+            assertFalse(pool.isEvictorRunning());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testIdleSessionsAreRetainedAgainAfterNextAcquisition() throws Exception {
+        SshSessionPool pool = new SshSessionPool();
+        Configuration config = serverConfigBuilder().set("session.idleTimeoutSeconds", 60).build();
+
+        try {
+            pool.closeIdleSessions();
+
+            try (MinaSshdConnection conn = new MinaSshdConnection("next-run", config, pool)) {
+                conn.execute("echo next");
+            }
+
+            assertEquals(pool.size(), 1, "Idle session should be retained");
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testClosedPooledSessionIsReestablished() throws Exception {
+        SshSessionPool pool = new SshSessionPool();
+        Configuration config = serverConfig();
+
+        try (MinaSshdConnection conn = new MinaSshdConnection("test-conn", config, pool)) {
+            conn.execute("echo before");
+
+            // simulate the server dropping the connection
+            sshd.getActiveSessions().forEach(session -> session.close(true));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (conn.isConnected() && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertFalse(conn.isConnected());
+
+            conn.execute("echo after");
+        } finally {
+            pool.close();
+        }
+    }
+
     // -----------------------------------------------------------------------
     // close() — connection teardown
     // -----------------------------------------------------------------------
@@ -0,0 +1,66 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.impl;
+
+import static org.testng.Assert.*;
+
+import org.testng.annotations.Test;
+
+public class OutputTailTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void testEmptyTailRendersAsEmptyString() {
+        assertEquals(new OutputTail(10).toString(), "");
+    }
+
+    @Test
+    public void testLinesWithinCapacityAreRetained() {
+        OutputTail tail = new OutputTail(10);
+        tail.accept("abc");
+        tail.accept("def");
+
+        assertEquals(tail.toString(), "abc" + NL + "def" + NL);
+    }
+
+    @Test
+    public void testOldestLinesAreDiscardedWhenCapacityIsExceeded() {
+        OutputTail tail = new OutputTail(6);
+        tail.accept("abc");
+        tail.accept("def");
+        tail.accept("ghi");
+
+        assertEquals(tail.toString(), "..." + NL + "def" + NL + "ghi" + NL);
+    }
+
+    @Test
+    public void testLineLongerThanCapacityKeepsItsEnd() {
+        OutputTail tail = new OutputTail(4);
+        tail.accept("first");
+        tail.accept("0123456789");
+
+        assertEquals(tail.toString(), "..." + NL + "6789" + NL);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNonPositiveCapacityIsRejected() {
+        new OutputTail(0);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.impl;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class SshSessionPoolTest {
+
+    private static SshSessionSettings settings(int maxConcurrentChannels) {
+        return SshSessionSettings.fromConfiguration(
+                Configuration.builder()
+                        .set("host", "localhost")
+                        .set("channels.maxConcurrent", maxConcurrentChannels)
+                        .build());
+    }
+
+    @Test
+    public void testLeasesOfOneSessionShareItsChannelPermits() throws InterruptedException {
+        SshSessionPool pool = SshSessionPool.unshared();
+
+        try (SshSessionPool.Lease first = pool.acquire(settings(2));
+                SshSessionPool.Lease second = pool.acquire(settings(2))) {
+
+            assertTrue(first.tryAcquireChannel(0, TimeUnit.SECONDS));
+            assertTrue(second.tryAcquireChannel(0, TimeUnit.SECONDS));
+
+            // the limit applies to the session, not to each connection
+            assertFalse(first.tryAcquireChannel(0, TimeUnit.SECONDS));
+            assertFalse(second.tryAcquireChannel(0, TimeUnit.SECONDS));
+
+            first.releaseChannel();
+            assertTrue(second.tryAcquireChannel(0, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testSessionsWithDifferentChannelLimitsAreSeparate() throws InterruptedException {
+        SshSessionPool pool = SshSessionPool.unshared();
+
+        try (SshSessionPool.Lease first = pool.acquire(settings(1));
+                SshSessionPool.Lease second = pool.acquire(settings(2))) {
+
+            assertEquals(pool.size(), 2);
+            assertTrue(first.tryAcquireChannel(0, TimeUnit.SECONDS));
+            assertTrue(second.tryAcquireChannel(0, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.connector.ssh.spi;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+/** Tests the default (step by step) implementation of {@link SshConnection#executeScript}. */
+public class SshConnectionTest {
+
+    private static final Path LOCAL_SCRIPT = Paths.get("script.sh");
+    private static final String REMOTE_PATH = "/tmp/totalschema-script-1.sh";
+
+    @Test
+    public void testUploadChmodExecuteCleanupAreCalledInOrder() throws Exception {
+        RecordingSshConnection connection = new RecordingSshConnection();
+
+        connection.executeScript(LOCAL_SCRIPT, REMOTE_PATH, "/bin/bash");
+
+        assertEquals(
+                connection.calls,
+                List.of(
+                        "upload script.sh " + REMOTE_PATH,
+                        "chmod +x " + REMOTE_PATH,
+                        "/bin/bash " + REMOTE_PATH,
+                        "rm -f " + REMOTE_PATH));
+    }
+
+    @Test
+    public void testCleanupIsCalledEvenWhenChmodFails() {
+        RecordingSshConnection connection = new RecordingSshConnection("chmod +x " + REMOTE_PATH);
+
+        expectThrows(
+                IllegalStateException.class,
+                () -> connection.executeScript(LOCAL_SCRIPT, REMOTE_PATH, "/bin/bash"));
+
+        assertEquals(
+                connection.calls,
+                List.of(
+                        "upload script.sh " + REMOTE_PATH,
+                        "chmod +x " + REMOTE_PATH,
+                        "rm -f " + REMOTE_PATH));
+    }
+
+    @Test
+    public void testCleanupIsCalledEvenWhenScriptExecutionFails() {
+        RecordingSshConnection connection = new RecordingSshConnection("/bin/sh " + REMOTE_PATH);
+
+        expectThrows(
+                IllegalStateException.class,
+                () -> connection.executeScript(LOCAL_SCRIPT, REMOTE_PATH, "/bin/sh"));
+
+        assertEquals(connection.calls.get(connection.calls.size() - 1), "rm -f " + REMOTE_PATH);
+    }
+
+    @Test
+    public void testCleanupIsCalledEvenWhenUploadFails() {
+        RecordingSshConnection connection =
+                new RecordingSshConnection("upload script.sh " + REMOTE_PATH);
+
+        expectThrows(
+                IllegalStateException.class,
+                () -> connection.executeScript(LOCAL_SCRIPT, REMOTE_PATH, "/bin/bash"));
+
+        assertEquals(
+                connection.calls,
+                List.of("upload script.sh " + REMOTE_PATH, "rm -f " + REMOTE_PATH));
+    }
+
+    @Test
+    public void testCleanupFailureDoesNotReplaceScriptFailure() {
+        RecordingSshConnection connection =
+                new RecordingSshConnection("/bin/sh " + REMOTE_PATH, "rm -f " + REMOTE_PATH);
+
+        IllegalStateException failure =
+                expectThrows(
+                        IllegalStateException.class,
+                        () -> connection.executeScript(LOCAL_SCRIPT, REMOTE_PATH, "/bin/sh"));
+
+        assertEquals(failure.getMessage(), "simulated failure: /bin/sh " + REMOTE_PATH);
+        assertEquals(failure.getSuppressed().length, 1);
+        assertEquals(
+                failure.getSuppressed()[0].getMessage(), "simulated failure: rm -f " + REMOTE_PATH);
+    }
+
+    @Test
+    public void testCleanupFailureAfterSuccessfulScriptIsIgnored() throws Exception {
+        RecordingSshConnection connection = new RecordingSshConnection("rm -f " + REMOTE_PATH);
+
+        // the script has been applied: failing to remove it must not fail the change
+        connection.executeScript(LOCAL_SCRIPT, REMOTE_PATH, "/bin/sh");
+
+        assertEquals(connection.calls.get(connection.calls.size() - 1), "rm -f " + REMOTE_PATH);
+    }
+
+    @Test
+    public void testUploadFilesCreatesDirectoryAndUploadsEachFile() throws Exception {
+        RecordingSshConnection connection = new RecordingSshConnection();
+
+        Map<String, Path> files = new LinkedHashMap<>();
+        files.put("1-a.sh", Paths.get("a.sh"));
+        files.put("2-b.sh", Paths.get("b.sh"));
+
+        connection.uploadFiles(files, "/tmp/run");
+
+        assertEquals(
+                connection.calls,
+                List.of(
+                        "mkdir -p /tmp/run",
+                        "upload a.sh /tmp/run/1-a.sh",
+                        "upload b.sh /tmp/run/2-b.sh"));
+    }
+
+    private static final class RecordingSshConnection implements SshConnection {
+
+        private final List<String> calls = new ArrayList<>();
+        private final List<String> failingCalls;
+
+        private RecordingSshConnection(String... failingCalls) {
+            this.failingCalls = Arrays.asList(failingCalls);
+        }
+
+        private void record(String call) {
+            calls.add(call);
+            if (failingCalls.contains(call)) {
+                throw new IllegalStateException("simulated failure: " + call);
+            }
+        }
+
+        @Override
+        public void uploadFile(Path localFile, String remotePath) throws IOException {
+            record("upload " + localFile + " " + remotePath);
+        }
+
+        @Override
+        public void execute(String command) {
+            record(command);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
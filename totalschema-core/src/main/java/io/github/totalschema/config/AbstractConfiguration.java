@@ -126,7 +126,7 @@ public abstract class AbstractConfiguration implements Configuration {
     }
 
     @Override
-    public final Configuration getPrefixNamespace(String... prefixes) {
+    public Configuration getPrefixNamespace(String... prefixes) {
 
         String prefixNamesSpace = String.join(".", prefixes);
         String prefixWithDot = prefixNamesSpace + ".";
@@ -152,7 +152,7 @@ public abstract class AbstractConfiguration implements Configuration {
     }
 
     @Override
-    public final Configuration addAll(Configuration otherConfiguration) {
+    public Configuration addAll(Configuration otherConfiguration) {
 
         Map<String, String> thisMap = this.asMap().orElseGet(HashMap::new);
 
@@ -174,7 +174,7 @@ public abstract class AbstractConfiguration implements Configuration {
     }
 
     @Override
-    public final Configuration withEntry(String key, String value) {
+    public Configuration withEntry(String key, String value) {
 
         Map<String, String> configMap =
                 asMap().map(
@@ -190,7 +190,7 @@ public abstract class AbstractConfiguration implements Configuration {
     }
 
     @Override
-    public final boolean isEmpty() {
+    public boolean isEmpty() {
         return asMap().isEmpty();
     }
 
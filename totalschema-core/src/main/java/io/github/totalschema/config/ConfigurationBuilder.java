@@ -304,6 +304,6 @@ public final class ConfigurationBuilder {
      * @return a new immutable Configuration instance
      */
     public Configuration build() {
-        return new MapConfiguration(new HashMap<>(entries));
+        return new MapConfiguration(entries);
     }
 }
@@ -20,15 +20,87 @@ package io.github.totalschema.config;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
+/**
+ * Immutable {@link Configuration} backed by a sorted copy of the supplied entries.
+ *
+ * <p>Keeping the keys sorted allows {@link #getPrefixNamespace(String...)} to locate all keys of a
+ * namespace with a single range lookup instead of scanning every key. As instances never change,
+ * the hash code is computed only once. {@link #addAll} and {@link #withEntry} copy the sorted map
+ * directly rather than going through {@link #asMap()}.
+ *
+ * <p>Keys must not be {@code null}: they are rejected with an {@link IllegalArgumentException}.
+ */
 public final class MapConfiguration extends AbstractConfiguration {
 
-    private final Map<String, String> map;
+    /**
+     * The character immediately following the namespace separator {@code '.'}; every key within a
+     * namespace {@code prefix.} sorts before {@code prefix/}.
+     */
+    private static final char NAMESPACE_SEPARATOR_SUCCESSOR = '.' + 1;
+
+    private final SortedMap<String, String> map;
+
+    private int hashCode;
 
+    /**
+     * Creates a configuration with a copy of the given entries.
+     *
+     * @param map the configuration entries
+     * @throws IllegalArgumentException if the map contains a {@code null} key
+     */
     public MapConfiguration(Map<String, String> map) {
-        this.map = Collections.unmodifiableMap(map);
+        this(new TreeMap<>(requireNonNullKeys(map)));
+    }
+
+    private MapConfiguration(TreeMap<String, String> sortedMap) {
+        this.map = Collections.unmodifiableSortedMap(sortedMap);
+    }
+
+    private static Map<String, String> requireNonNullKeys(Map<String, String> map) {
+        Objects.requireNonNull(map, "map is null");
+        // not containsKey(null): some maps, e.g. Map.of, reject the query itself
+        for (String key : map.keySet()) {
+            requireNonNullKey(key);
+        }
+        return map;
+    }
+
+    private static void requireNonNullKey(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Configuration keys must not be null");
+        }
+    }
+
+    @Override
+    public Configuration addAll(Configuration otherConfiguration) {
+        TreeMap<String, String> merged = new TreeMap<>(map);
+
+        if (otherConfiguration instanceof MapConfiguration) {
+            merged.putAll(((MapConfiguration) otherConfiguration).map);
+        } else {
+            otherConfiguration
+                    .asMap()
+                    .map(MapConfiguration::requireNonNullKeys)
+                    .ifPresent(merged::putAll);
+        }
+
+        return new MapConfiguration(merged);
+    }
+
+    @Override
+    public Configuration withEntry(String key, String value) {
+        requireNonNullKey(key);
+
+        TreeMap<String, String> entries = new TreeMap<>(map);
+        entries.put(key, value);
+
+        return new MapConfiguration(entries);
     }
 
     @Override
@@ -45,4 +117,47 @@ public final class MapConfiguration extends AbstractConfiguration {
     public Set<String> getKeys() {
         return map.keySet();
     }
+
+    @Override
+    public Configuration getPrefixNamespace(String... prefixes) {
+
+        String prefixNamesSpace = String.join(".", prefixes);
+        String prefixWithDot = prefixNamesSpace + ".";
+
+        SortedMap<String, String> namespace =
+                map.subMap(prefixWithDot, prefixNamesSpace + NAMESPACE_SEPARATOR_SUCCESSOR);
+
+        TreeMap<String, String> strippedKeys = new TreeMap<>();
+        namespace.forEach(
+                (key, value) -> strippedKeys.put(key.substring(prefixWithDot.length()), value));
+
+        return new MapConfiguration(strippedKeys);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        MapConfiguration that = (MapConfiguration) obj;
+
+        return this.hashCode() == that.hashCode() && this.map.equals(that.map);
+    }
+
+    @Override
+    public int hashCode() {
+        // racy single-check idiom: the computation is idempotent, so concurrent callers
+        // at worst compute the same value more than once
+        int result = hashCode;
+        if (result == 0) {
+            result = Objects.hash(map.isEmpty() ? Optional.empty() : Optional.of(map));
+            hashCode = result;
+        }
+        return result;
+    }
 }
@@ -60,6 +60,23 @@ public abstract class Connector {
     public abstract void checkConnection(Context context, List<ChangeFile.Id> plannedChangeFileIds)
             throws InterruptedException;
 
+    /**
+     * Prepares the execution of the change files planned for this connector, e.g. by compiling
+     * scripts in advance. Called before any change is applied, after {@link #checkConnection} (if
+     * the connection check is enabled). The default implementation does nothing.
+     *
+     * <p>Preparation is an optimization: implementations should log problems with individual change
+     * files rather than fail, leaving them to be reported when the change file is executed.
+     *
+     * @param context the current command context
+     * @param plannedChangeFileIds the list of change file IDs that are planned to be executed using
+     *     this connector
+     */
+    public void prepare(Context context, List<ChangeFile.Id> plannedChangeFileIds)
+            throws InterruptedException {
+        // nothing to prepare by default
+    }
+
     /**
      * Execute a change file against this connector's target system.
      *
@@ -57,4 +57,17 @@ public interface ConnectorManager {
      */
     void checkConnector(String name, Context context, List<ChangeFile.Id> plannedChangeFileIds)
             throws InterruptedException;
+
+    /**
+     * Lets a named connector prepare the execution of the change files planned for it (see {@link
+     * Connector#prepare}). Unlike the connection check, this cannot be disabled, and it is called
+     * after {@link #checkConnector} for each connector.
+     *
+     * @param name the connector name from configuration
+     * @param context the command context
+     * @param plannedChangeFileIds the list of change file IDs that are planned to be executed using
+     *     this connector
+     */
+    void prepareConnector(String name, Context context, List<ChangeFile.Id> plannedChangeFileIds)
+            throws InterruptedException;
 }
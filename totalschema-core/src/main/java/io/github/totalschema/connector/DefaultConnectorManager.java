@@ -24,6 +24,8 @@ import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.engine.core.container.FactoryNotFoundException;
 import io.github.totalschema.model.ChangeFile;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,16 +35,33 @@ import org.slf4j.LoggerFactory;
  * <p>Creates and caches connector instances based on configuration. Discovers connector factories
  * via Java ServiceLoader API, supporting both built-in connector types and user-defined connector
  * types.
+ *
+ * <p>The resolved configuration of a connector and the connector instance itself are memoized per
+ * configuration, environment and connector name, so that repeated lookups (e.g. one per executed
+ * change file) do not re-assemble the connector configuration and re-resolve the connector from the
+ * context.
  */
 public class DefaultConnectorManager implements ConnectorManager {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultConnectorManager.class);
 
+    private final ConcurrentHashMap<ConnectorKey, Configuration> connectorConfigurations =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<ConnectorKey, Connector> connectors = new ConcurrentHashMap<>();
+
     @Override
     public final Connector getConnectorByName(String connectorName, Context context) {
 
-        Configuration configurationOfTheConnector =
-                getConfigurationOfTheConnector(connectorName, context);
+        ConnectorKey connectorKey = ConnectorKey.from(connectorName, context);
+
+        Connector cachedConnector = connectors.get(connectorKey);
+        if (cachedConnector != null) {
+            logger.debug("Connector used: {}", cachedConnector);
+            return cachedConnector;
+        }
+
+        Configuration configurationOfTheConnector = getConfigurationOfTheConnector(connectorKey);
 
         if (configurationOfTheConnector.isEmpty()) {
             throw new RuntimeException(
@@ -69,7 +88,9 @@ public class DefaultConnectorManager implements ConnectorManager {
 
             logger.info("Connector used: {}", connector);
 
-            return connector;
+            Connector concurrentlyResolved = connectors.putIfAbsent(connectorKey, connector);
+
+            return concurrentlyResolved != null ? concurrentlyResolved : connector;
 
         } catch (FactoryNotFoundException ex) {
             throw new IllegalArgumentException(
@@ -83,7 +104,7 @@ public class DefaultConnectorManager implements ConnectorManager {
             throws InterruptedException {
 
         Configuration configurationOfTheConnector =
-                getConfigurationOfTheConnector(connectorName, context);
+                getConfigurationOfTheConnector(ConnectorKey.from(connectorName, context));
 
         boolean connectionCheckEnabled =
                 configurationOfTheConnector.getBoolean("connectionCheck.enabled").orElse(true);
@@ -103,14 +124,23 @@ public class DefaultConnectorManager implements ConnectorManager {
         logger.info("Connection check passed for connector '{}'", connectorName);
     }
 
-    private Configuration getConfigurationOfTheConnector(String connectorName, Context context) {
+    @Override
+    public void prepareConnector(
+            String connectorName, Context context, List<ChangeFile.Id> plannedChangeFileIds)
+            throws InterruptedException {
 
-        Configuration connectorsConfig =
-                getConnectorsConfiguration(
-                        context.get(Configuration.class),
-                        context.getOptional(Environment.class).orElse(null));
+        Connector connector = getConnectorByName(connectorName, context);
+
+        logger.debug("Preparing connector '{}'", connectorName);
+        connector.prepare(context, plannedChangeFileIds);
+    }
 
-        return connectorsConfig.getPrefixNamespace(connectorName);
+    private Configuration getConfigurationOfTheConnector(ConnectorKey connectorKey) {
+        return connectorConfigurations.computeIfAbsent(
+                connectorKey,
+                key ->
+                        getConnectorsConfiguration(key.configuration, key.environment)
+                                .getPrefixNamespace(key.connectorName));
     }
 
     private Configuration getConnectorsConfiguration(
@@ -138,4 +168,61 @@ public class DefaultConnectorManager implements ConnectorManager {
 
         return connectorsConfig;
     }
+
+    /**
+     * Identifies a connector within a given configuration and environment. The configuration is
+     * compared by identity: it is immutable and shared by all contexts of the same change engine,
+     * while connectors of a different engine (even with equal configuration) must not be reused.
+     */
+    private static final class ConnectorKey {
+
+        private final Configuration configuration;
+        private final Environment environment;
+        private final String connectorName;
+
+        private ConnectorKey(
+                Configuration configuration, Environment environment, String connectorName) {
+            this.configuration = Objects.requireNonNull(configuration, "configuration is null");
+            this.environment = environment;
+            this.connectorName = Objects.requireNonNull(connectorName, "connectorName is null");
+        }
+
+        static ConnectorKey from(String connectorName, Context context) {
+            return new ConnectorKey(
+                    context.get(Configuration.class),
+                    context.getOptional(Environment.class).orElse(null),
+                    connectorName);
+        }
+
+        private String getEnvironmentName() {
+            return environment != null ? environment.getName() : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ConnectorKey that = (ConnectorKey) o;
+            return configuration == that.configuration
+                    && Objects.equals(getEnvironmentName(), that.getEnvironmentName())
+                    && connectorName.equals(that.connectorName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(
+                    System.identityHashCode(configuration), getEnvironmentName(), connectorName);
+        }
+
+        @Override
+        public String toString() {
+            return "ConnectorKey{"
+                    + "environment="
+                    + getEnvironmentName()
+                    + ", connectorName='"
+                    + connectorName
+                    + '\''
+                    + '}';
+        }
+    }
 }
@@ -18,17 +18,22 @@
 
 package io.github.totalschema.connector.jdbc;
 
+import io.github.totalschema.ProjectConventions;
 import io.github.totalschema.config.Configuration;
 import io.github.totalschema.connector.Connector;
 import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.engine.core.command.api.CommandContext;
+import io.github.totalschema.engine.core.container.FactoryNotFoundException;
 import io.github.totalschema.jdbc.JdbcDatabase;
 import io.github.totalschema.model.ChangeFile;
 import io.github.totalschema.spi.script.ScriptExecutor;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,12 +87,61 @@ public class JdbcConnector extends Connector {
         logger.info("[{}] JDBC connection verified", name);
     }
 
+    /**
+     * Passes the planned change files, grouped by extension, to the {@link ScriptExecutor} of each
+     * extension, allowing it to prepare their execution (see {@link ScriptExecutor#prepare}).
+     * Extensions without a script executor are skipped here; they are reported when executed.
+     */
+    @Override
+    public void prepare(Context context, List<ChangeFile.Id> plannedChangeFileIds)
+            throws InterruptedException {
+
+        if (plannedChangeFileIds.isEmpty()) {
+            return;
+        }
+
+        Path changesDirectory =
+                Paths.get(
+                                context.get(Configuration.class)
+                                        .getString("changes", "directory")
+                                        .orElse(ProjectConventions.CHANGE_DIRECTORY_PATH))
+                        .toAbsolutePath();
+
+        Map<String, List<Path>> filesByExtension = new LinkedHashMap<>();
+        for (ChangeFile.Id id : plannedChangeFileIds) {
+            filesByExtension
+                    .computeIfAbsent(id.getExtension(), extension -> new ArrayList<>())
+                    .add(changesDirectory.resolve(id.toStringRepresentation()).normalize());
+        }
+
+        CommandContext executorContext = null;
+
+        for (Map.Entry<String, List<Path>> entry : filesByExtension.entrySet()) {
+            ScriptExecutor scriptExecutor;
+            try {
+                scriptExecutor =
+                        context.get(ScriptExecutor.class, entry.getKey(), connectorConfiguration);
+            } catch (FactoryNotFoundException ex) {
+                logger.debug("[{}] No script executor for extension '{}'", name, entry.getKey());
+                continue;
+            }
+
+            if (executorContext == null) {
+                executorContext = new CommandContext(context);
+                executorContext.setValue(
+                        JdbcDatabase.class,
+                        context.get(JdbcDatabase.class, null, name, connectorConfiguration));
+            }
+
+            scriptExecutor.prepare(entry.getValue(), executorContext);
+        }
+    }
+
     @Override
     public void execute(ChangeFile changeFile, CommandContext context) throws InterruptedException {
         Path file = changeFile.getFile();
 
         try {
-            String fileContent = Files.readString(file);
             String extension = changeFile.getId().getExtension();
 
             logger.debug("[{}] executing change file '{}' (extension: {})", name, file, extension);
@@ -101,10 +155,10 @@ public class JdbcConnector extends Connector {
             ScriptExecutor scriptExecutor =
                     executorContext.get(ScriptExecutor.class, extension, connectorConfiguration);
 
-            scriptExecutor.execute(fileContent, executorContext);
+            scriptExecutor.execute(file, executorContext);
 
         } catch (IOException e) {
-            throw new RuntimeException("Failure reading: " + file);
+            throw new RuntimeException("Failure reading: " + file, e);
         }
     }
 }
@@ -18,6 +18,8 @@
 
 package io.github.totalschema.engine.api;
 
+import io.github.totalschema.engine.core.event.EventDispatcher;
+
 /**
  * ChangeEngine is the main API for managing database and infrastructure changes. It provides access
  * to specialized managers for different aspects of change management:
@@ -58,4 +60,12 @@ public interface ChangeEngine extends AutoCloseable {
      * @return ValidationManager instance
      */
     ValidationManager getValidationManager();
+
+    /**
+     * Returns the EventDispatcher of this engine, to subscribe to its lifecycle events, e.g. the
+     * start, success or failure of each change, for progress reporting.
+     *
+     * @return EventDispatcher instance
+     */
+    EventDispatcher getEventDispatcher();
 }
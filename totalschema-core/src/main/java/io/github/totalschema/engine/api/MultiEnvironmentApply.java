@@ -0,0 +1,433 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.api;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.environment.Environment;
+import io.github.totalschema.config.environment.EnvironmentFactory;
+import io.github.totalschema.model.ApplyFile;
+import io.github.totalschema.spi.config.ConfigurationSupplier;
+import io.github.totalschema.spi.secrets.SecretsManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Applies the pending changes to several environments in one invocation, e.g. to roll a release out
+ * to all tenant environments.
+ *
+ * <p>The environments are given by name or by glob pattern (e.g. {@code TENANT*}), matched ignoring
+ * case against the environments declared in the configuration. One {@link ChangeEngine} is created
+ * per environment. The engine of the first environment discovers the change files before any
+ * environment is changed, so that a broken changes directory fails the whole run up front. The
+ * engines of the other environments reuse that discovery through the process-wide change file
+ * cache, unless it is disabled with {@code changes.discoveryCache: false}.
+ *
+ * <p>Up to {@code parallelism} environments are processed concurrently. A failing environment does
+ * not stop the others; the outcome of every environment is returned in a {@link
+ * MultiEnvironmentApplyReport}. While an environment is processed, its name is available to the log
+ * messages as the {@value #MDC_ENVIRONMENT} MDC value. The run report ({@code metrics.report.file})
+ * and the trace ({@code tracing.file}) of each environment are written to their own file, with the
+ * environment name inserted before the file extension.
+ *
+ * <pre>{@code
+ * MultiEnvironmentApplyReport report =
+ *         MultiEnvironmentApply.builder()
+ *                 .configurationSupplier(FileSystemYamlFileConfiguration::create)
+ *                 .environments(List.of("TENANT*"))
+ *                 .parallelism(8)
+ *                 .build()
+ *                 .execute();
+ * }</pre>
+ */
+public final class MultiEnvironmentApply {
+
+    /** The MDC key holding the name of the environment being processed. */
+    public static final String MDC_ENVIRONMENT = "environment";
+
+    private static final class DefaultValues {
+        private static final int PARALLELISM = 4;
+    }
+
+    /** The configuration keys of the files each engine writes when it is closed. */
+    private static final List<String> PER_ENVIRONMENT_FILE_KEYS =
+            List.of("metrics.report.file", "tracing.file");
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiEnvironmentApply.class);
+
+    private final ConfigurationSupplier configurationSupplier;
+    private final SecretsManager secretsManager;
+    private final ChangeEngineFactory changeEngineFactory;
+    private final List<String> environments;
+    private final ChangeFileSelector selector;
+    private final int parallelism;
+
+    private MultiEnvironmentApply(Builder builder) {
+        this.configurationSupplier =
+                Objects.requireNonNull(
+                        builder.configurationSupplier, "configurationSupplier must not be null");
+        this.secretsManager = builder.secretsManager;
+        this.changeEngineFactory =
+                builder.changeEngineFactory != null
+                        ? builder.changeEngineFactory
+                        : ChangeEngineFactory.getInstance();
+        this.environments = List.copyOf(builder.environments);
+        this.selector = builder.selector != null ? builder.selector : ChangeFileSelector.empty();
+        this.parallelism = builder.parallelism;
+
+        if (environments.isEmpty()) {
+            throw new IllegalArgumentException("At least one environment must be given");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Resolves the environments and applies the pending changes to them.
+     *
+     * @return the outcome of every environment
+     * @throws IllegalArgumentException if a pattern matches no declared environment
+     * @throws RuntimeException if the change files cannot be discovered; no environment is changed
+     *     in that case
+     * @throws InterruptedException if interrupted while waiting for the environments; the
+     *     environments still running are interrupted
+     */
+    public MultiEnvironmentApplyReport execute() throws InterruptedException {
+
+        List<String> environmentNames = resolveEnvironments();
+
+        logger.info(
+                "Applying pending changes to {} environment(s) with parallelism {}: {}",
+                environmentNames.size(),
+                Math.min(parallelism, environmentNames.size()),
+                environmentNames);
+
+        String firstEnvironment = environmentNames.get(0);
+        long firstStart = System.nanoTime();
+
+        ChangeEngine firstChangeEngine;
+        List<ApplyFile> firstApplyFiles;
+
+        MDC.put(MDC_ENVIRONMENT, firstEnvironment);
+        try {
+            firstChangeEngine = createChangeEngine(firstEnvironment);
+            try {
+                firstApplyFiles = firstChangeEngine.getChangeManager().getAllApplyFiles(selector);
+            } catch (RuntimeException e) {
+                close(firstChangeEngine, firstEnvironment);
+                throw e;
+            }
+        } finally {
+            MDC.remove(MDC_ENVIRONMENT);
+        }
+
+        logger.info(
+                "Discovered {} change file(s) for environment {} — {}",
+                firstApplyFiles.size(),
+                firstEnvironment,
+                selector.getDescription());
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(
+                        Math.min(parallelism, environmentNames.size()),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "totalschema-apply-" + threadCounter.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+
+        try {
+            List<Future<MultiEnvironmentApplyReport.EnvironmentResult>> futures = new ArrayList<>();
+
+            futures.add(
+                    executorService.submit(
+                            () -> apply(firstEnvironment, firstChangeEngine, firstStart)));
+
+            for (String environmentName : environmentNames.subList(1, environmentNames.size())) {
+                futures.add(
+                        executorService.submit(
+                                () -> apply(environmentName, null, System.nanoTime())));
+            }
+
+            List<MultiEnvironmentApplyReport.EnvironmentResult> results = new ArrayList<>();
+            for (Future<MultiEnvironmentApplyReport.EnvironmentResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // apply(...) reports failures in its result
+                    throw new IllegalStateException("Unexpected failure", e.getCause());
+                }
+            }
+
+            MultiEnvironmentApplyReport report = new MultiEnvironmentApplyReport(results);
+
+            logger.info(
+                    "{} out of {} environment(s) succeeded",
+                    results.size() - report.getFailures().size(),
+                    results.size());
+
+            return report;
+
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private MultiEnvironmentApplyReport.EnvironmentResult apply(
+            String environmentName, ChangeEngine changeEngine, long start) {
+
+        MDC.put(MDC_ENVIRONMENT, environmentName);
+        Exception failure = null;
+        try {
+            if (changeEngine == null) {
+                changeEngine = createChangeEngine(environmentName);
+            }
+
+            changeEngine.getChangeManager().executePendingApplies(selector);
+
+        } catch (Exception e) {
+            logger.error("Applying changes to environment {} failed", environmentName, e);
+            failure = e;
+        } finally {
+            if (changeEngine != null) {
+                close(changeEngine, environmentName);
+            }
+            MDC.remove(MDC_ENVIRONMENT);
+        }
+
+        return new MultiEnvironmentApplyReport.EnvironmentResult(
+                environmentName, Duration.ofNanos(System.nanoTime() - start), failure);
+    }
+
+    private ChangeEngine createChangeEngine(String environmentName) {
+        return changeEngineFactory.getChangeEngine(
+                () -> getConfiguration(environmentName), secretsManager, environmentName);
+    }
+
+    /**
+     * Returns the configuration of the engine of an environment: the engines run concurrently, so
+     * each of them writes its run report and trace to its own file, named after the environment.
+     */
+    private Configuration getConfiguration(String environmentName) {
+        Configuration configuration = configurationSupplier.getConfiguration();
+
+        for (String key : PER_ENVIRONMENT_FILE_KEYS) {
+            Optional<String> file = configuration.getString(key);
+            if (file.isPresent()) {
+                configuration =
+                        configuration.withEntry(
+                                key, getEnvironmentFileName(file.get(), environmentName));
+            }
+        }
+
+        return configuration;
+    }
+
+    /**
+     * Inserts the environment name before the extension of a file name, so that the format of the
+     * file can still be recognised by its extension: {@code build/report.json} becomes {@code
+     * build/report.TENANT01.json}.
+     */
+    private static String getEnvironmentFileName(String file, String environmentName) {
+        int nameStart = Math.max(file.lastIndexOf('/'), file.lastIndexOf('\\')) + 1;
+        int extensionStart = file.lastIndexOf('.');
+        if (extensionStart <= nameStart) {
+            return file + "." + environmentName;
+        }
+        return file.substring(0, extensionStart)
+                + "."
+                + environmentName
+                + file.substring(extensionStart);
+    }
+
+    private static void close(ChangeEngine changeEngine, String environmentName) {
+        try {
+            changeEngine.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close the change engine of environment {}", environmentName, e);
+        }
+    }
+
+    private List<String> resolveEnvironments() {
+        List<String> declaredEnvironments = null;
+
+        Set<String> resolved = new LinkedHashSet<>();
+        for (String environment : environments) {
+            if (!isPattern(environment)) {
+                resolved.add(environment);
+                continue;
+            }
+
+            if (declaredEnvironments == null) {
+                declaredEnvironments =
+                        EnvironmentFactory.getInstance()
+                                .getEnvironments(configurationSupplier.getConfiguration())
+                                .stream()
+                                .map(Environment::getName)
+                                .sorted()
+                                .collect(Collectors.toList());
+            }
+
+            Pattern pattern = toRegex(environment);
+            List<String> matching =
+                    declaredEnvironments.stream()
+                            .filter(it -> pattern.matcher(it).matches())
+                            .collect(Collectors.toList());
+
+            if (matching.isEmpty()) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "No environment declared in configuration matches '%s', declared"
+                                        + " environments: %s",
+                                environment, declaredEnvironments));
+            }
+
+            resolved.addAll(matching);
+        }
+
+        return new ArrayList<>(resolved);
+    }
+
+    private static boolean isPattern(String environment) {
+        return environment.indexOf('*') >= 0 || environment.indexOf('?') >= 0;
+    }
+
+    private static Pattern toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    /** Builder for {@link MultiEnvironmentApply}. */
+    public static final class Builder {
+
+        private ConfigurationSupplier configurationSupplier;
+        private SecretsManager secretsManager;
+        private ChangeEngineFactory changeEngineFactory;
+        private final List<String> environments = new ArrayList<>();
+        private ChangeFileSelector selector;
+        private int parallelism = DefaultValues.PARALLELISM;
+
+        private Builder() {}
+
+        /**
+         * Sets the supplier of the configuration of the engines; required.
+         *
+         * @param configurationSupplier the configuration supplier
+         */
+        public Builder configurationSupplier(ConfigurationSupplier configurationSupplier) {
+            this.configurationSupplier = configurationSupplier;
+            return this;
+        }
+
+        /**
+         * Sets the secrets manager of the engines.
+         *
+         * @param secretsManager the secrets manager; null to use the default one
+         */
+        public Builder secretsManager(SecretsManager secretsManager) {
+            this.secretsManager = secretsManager;
+            return this;
+        }
+
+        /**
+         * Sets the factory creating the engines.
+         *
+         * @param changeEngineFactory the factory; null to use {@link
+         *     ChangeEngineFactory#getInstance()}
+         */
+        public Builder changeEngineFactory(ChangeEngineFactory changeEngineFactory) {
+            this.changeEngineFactory = changeEngineFactory;
+            return this;
+        }
+
+        /**
+         * Adds environments by name or glob pattern ({@code *} and {@code ?}); required.
+         * Environments matched several times are processed once.
+         *
+         * @param environments the names or patterns of the environments
+         */
+        public Builder environments(Collection<String> environments) {
+            environments.forEach(it -> this.environments.add(Objects.requireNonNull(it)));
+            return this;
+        }
+
+        /**
+         * Sets the selector of the change files to apply.
+         *
+         * @param selector the selector; null to apply all change files
+         */
+        public Builder selector(ChangeFileSelector selector) {
+            this.selector = selector;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of environments processed concurrently; 4 by default.
+         *
+         * @param parallelism the parallelism; at least 1
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public MultiEnvironmentApply build() {
+            return new MultiEnvironmentApply(this);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.api;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The outcome of a {@link MultiEnvironmentApply}: one {@link EnvironmentResult} per environment, in
+ * the order the environments were resolved.
+ */
+public final class MultiEnvironmentApplyReport {
+
+    /** The outcome of applying the pending changes to one environment. */
+    public static final class EnvironmentResult {
+
+        private final String environment;
+        private final Duration duration;
+        private final Exception failure;
+
+        EnvironmentResult(String environment, Duration duration, Exception failure) {
+            this.environment = Objects.requireNonNull(environment, "environment must not be null");
+            this.duration = Objects.requireNonNull(duration, "duration must not be null");
+            this.failure = failure;
+        }
+
+        public String getEnvironment() {
+            return environment;
+        }
+
+        /**
+         * Returns the time spent on the environment, including the creation of its change engine.
+         *
+         * @return the duration; never null
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        /**
+         * Returns the exception that made the environment fail.
+         *
+         * @return the failure, or empty if the environment succeeded
+         */
+        public Optional<Exception> getFailure() {
+            return Optional.ofNullable(failure);
+        }
+
+        @Override
+        public String toString() {
+            return "EnvironmentResult{"
+                    + "environment='"
+                    + environment
+                    + '\''
+                    + ", duration="
+                    + duration
+                    + ", successful="
+                    + isSuccessful()
+                    + '}';
+        }
+    }
+
+    private final List<EnvironmentResult> results;
+
+    MultiEnvironmentApplyReport(List<EnvironmentResult> results) {
+        this.results = List.copyOf(results);
+    }
+
+    /**
+     * Returns the results of all environments.
+     *
+     * @return an unmodifiable list; never null
+     */
+    public List<EnvironmentResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the results of the environments that failed.
+     *
+     * @return an unmodifiable list; empty if all environments succeeded
+     */
+    public List<EnvironmentResult> getFailures() {
+        return results.stream()
+                .filter(result -> !result.isSuccessful())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public boolean isSuccessful() {
+        return results.stream().allMatch(EnvironmentResult::isSuccessful);
+    }
+
+    @Override
+    public String toString() {
+        return "MultiEnvironmentApplyReport{" + "results=" + results + '}';
+    }
+}
@@ -48,7 +48,7 @@ public class DefaultChangeEngine implements ChangeEngine {
 
     private final CommandExecutor commandExecutor;
 
-    private final CommandInvoker directCommandInvoker = new CommandInvoker();
+    private final CommandExecutor nestedCommandExecutor;
 
     private final ComponentContainer componentContainer;
 
@@ -64,11 +64,31 @@ public class DefaultChangeEngine implements ChangeEngine {
             ComponentContainer componentContainer,
             EventDispatcher eventDispatcher) {
 
+        this(commandExecutor, new CommandInvoker(), componentContainer, eventDispatcher);
+    }
+
+    /**
+     * Creates an engine executing the commands called through its API with {@code commandExecutor},
+     * and the commands called by other commands with {@code nestedCommandExecutor}.
+     *
+     * @param commandExecutor the executor of top-level commands, e.g. guarded by the lock
+     * @param nestedCommandExecutor the executor of nested commands; must not acquire the lock again
+     * @param componentContainer the container of the components of the engine
+     * @param eventDispatcher the dispatcher of the events of the engine
+     */
+    public DefaultChangeEngine(
+            CommandExecutor commandExecutor,
+            CommandExecutor nestedCommandExecutor,
+            ComponentContainer componentContainer,
+            EventDispatcher eventDispatcher) {
+
         requireNonNull(commandExecutor, "commandExecutor must not be null");
+        requireNonNull(nestedCommandExecutor, "nestedCommandExecutor must not be null");
         requireNonNull(componentContainer, "componentContainer must not be null");
         requireNonNull(eventDispatcher, "eventDispatcher must not be null");
 
         this.commandExecutor = commandExecutor;
+        this.nestedCommandExecutor = nestedCommandExecutor;
         this.componentContainer = componentContainer;
         this.eventDispatcher = eventDispatcher;
 
@@ -98,6 +118,11 @@ public class DefaultChangeEngine implements ChangeEngine {
         return validationManager;
     }
 
+    @Override
+    public EventDispatcher getEventDispatcher() {
+        return eventDispatcher;
+    }
+
     <R> R executeCommand(Command<R> command) {
 
         try {
@@ -118,7 +143,7 @@ public class DefaultChangeEngine implements ChangeEngine {
                 }
 
             } else {
-                result = directCommandInvoker.execute(commandContext, command);
+                result = nestedCommandExecutor.execute(commandContext, command);
             }
 
             return result;
@@ -131,6 +156,9 @@ public class DefaultChangeEngine implements ChangeEngine {
 
     @Override
     public void close() {
+        log.debug("Delivering pending asynchronous events");
+        eventDispatcher.close();
+
         log.debug("Dispatching ChangeEngineCloseEvent");
         eventDispatcher.dispatch(new ChangeEngineCloseEvent());
 
@@ -32,10 +32,12 @@ import io.github.totalschema.engine.api.ChangeEngineFactory;
 import io.github.totalschema.engine.core.command.api.CommandExecutor;
 import io.github.totalschema.engine.core.command.api.CommandInvoker;
 import io.github.totalschema.engine.core.command.interceptor.LockInterceptor;
+import io.github.totalschema.engine.core.command.interceptor.TracingInterceptor;
 import io.github.totalschema.engine.core.container.ComponentContainer;
 import io.github.totalschema.engine.core.container.ComponentContainerBuilder;
 import io.github.totalschema.engine.core.event.EventDispatcher;
 import io.github.totalschema.engine.internal.changefile.ChangeFileFactory;
+import io.github.totalschema.engine.internal.changefile.ChangeFileSnapshotCache;
 import io.github.totalschema.engine.internal.script.jsr223.JSR223ScriptExecutorFactory;
 import io.github.totalschema.spi.ServiceLoaderFactory;
 import io.github.totalschema.spi.config.ConfigurationSupplier;
@@ -45,9 +47,13 @@ import io.github.totalschema.spi.factory.ComponentFactory;
 import io.github.totalschema.spi.hash.HashService;
 import io.github.totalschema.spi.hash.HashServiceFactory;
 import io.github.totalschema.spi.lock.LockService;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import io.github.totalschema.spi.metrics.MetricsCollectorFactory;
 import io.github.totalschema.spi.script.ScriptExecutor;
 import io.github.totalschema.spi.secrets.SecretManagerFactory;
 import io.github.totalschema.spi.secrets.SecretsManager;
+import io.github.totalschema.spi.trace.Tracer;
+import io.github.totalschema.spi.trace.TracerFactory;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -101,6 +107,7 @@ public class DefaultChangeEngineFactory implements ChangeEngineFactory {
                             environment, configurationSupplier, secretsManager, eventDispatcher);
 
             CommandExecutor commandExecutor = new CommandInvoker();
+            CommandExecutor nestedCommandExecutor = new CommandInvoker();
 
             if (componentContainer.has(LockService.class)) {
                 logger.debug(
@@ -109,7 +116,16 @@ public class DefaultChangeEngineFactory implements ChangeEngineFactory {
                 commandExecutor = new LockInterceptor(commandExecutor);
             }
 
-            return new DefaultChangeEngine(commandExecutor, componentContainer, eventDispatcher);
+            if (componentContainer.get(Tracer.class) != Tracer.NO_OP) {
+                logger.debug(
+                        "Adding TracingInterceptor to command execution chains, as tracing is enabled");
+
+                commandExecutor = new TracingInterceptor(commandExecutor);
+                nestedCommandExecutor = new TracingInterceptor(nestedCommandExecutor);
+            }
+
+            return new DefaultChangeEngine(
+                    commandExecutor, nestedCommandExecutor, componentContainer, eventDispatcher);
 
         } catch (RuntimeException e) {
             throw new ChangeEngineException("Failed to create ChangeEngine: " + e.getMessage(), e);
@@ -150,17 +166,29 @@ public class DefaultChangeEngineFactory implements ChangeEngineFactory {
         builder.withComponent(EnvironmentFactory.class, EnvironmentFactory.getInstance());
         builder.withComponent(ConnectorManager.class, ConnectorManager.getInstance());
 
+        builder.withComponent(
+                MetricsCollector.class,
+                MetricsCollectorFactory.getInstance().getMetricsCollector(configuration));
+
+        builder.withComponent(Tracer.class, TracerFactory.getInstance().getTracer(configuration));
+
         getHashService(configuration)
                 .ifPresent(hashService -> builder.withComponent(HashService.class, hashService));
 
         builder.withComponent(ChangeFileFactory.class, new ChangeFileFactory(configuration));
 
+        // Engines of the same process share the discovered change files, unless disabled
+        if (configuration.getBoolean("changes.discoveryCache").orElse(true)) {
+            builder.withComponent(
+                    ChangeFileSnapshotCache.class, ChangeFileSnapshotCache.getInstance());
+        }
+
         // Register all ComponentFactory implementations discovered via ServiceLoader
         // This includes SqlScriptExecutorComponentFactory, GroovyScriptExecutorFactory, etc.
         ServiceLoaderFactory.getAllServices(ComponentFactory.class).forEach(builder::withFactory);
 
         if (JSR223ScriptExecutorFactory.isEnabled(configuration)) {
-            JSR223ScriptExecutorFactory.createExecutors()
+            JSR223ScriptExecutorFactory.createExecutors(configuration)
                     .forEach(
                             scriptExecutor ->
                                     builder.withComponent(
@@ -36,4 +36,16 @@ public abstract class CommandExecutor {
      */
     public abstract <R> R execute(CommandContext context, Command<R> command)
             throws InterruptedException;
+
+    /**
+     * Returns the name a command is reported with, e.g. in metrics and traces: the simple name of
+     * its class, or the fully qualified name for anonymous classes.
+     *
+     * @param command the command
+     * @return the name of the command
+     */
+    protected static String getCommandName(Command<?> command) {
+        String simpleName = command.getClass().getSimpleName();
+        return simpleName.isEmpty() ? command.getClass().getName() : simpleName;
+    }
 }
@@ -18,14 +18,32 @@
 
 package io.github.totalschema.engine.core.command.api;
 
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import java.time.Duration;
+
 /**
  * Direct command invoker that executes commands without interception.
  *
- * <p>This is the simplest executor that directly calls the command's execute method.
+ * <p>This is the simplest executor that directly calls the command's execute method. The duration
+ * of every command is reported to the {@link MetricsCollector} of the context; as nested commands
+ * are executed by this invoker as well, they are included.
  */
 public final class CommandInvoker extends CommandExecutor {
     @Override
     public <R> R execute(CommandContext context, Command<R> command) throws InterruptedException {
-        return command.execute(context);
+        MetricsCollector metricsCollector = MetricsCollector.from(context);
+
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            R result = command.execute(context);
+            successful = true;
+            return result;
+        } finally {
+            metricsCollector.commandExecuted(
+                    getCommandName(command),
+                    Duration.ofNanos(System.nanoTime() - start),
+                    successful);
+        }
     }
 }
@@ -24,8 +24,16 @@ import io.github.totalschema.engine.api.ChangeEngine;
 import io.github.totalschema.engine.api.ChangeFileSelector;
 import io.github.totalschema.engine.core.command.api.Command;
 import io.github.totalschema.engine.core.command.api.CommandContext;
+import io.github.totalschema.engine.core.event.ConnectorInitializedEvent;
+import io.github.totalschema.engine.core.event.DiscoveryCompletedEvent;
+import io.github.totalschema.engine.core.event.EventDispatcher;
+import io.github.totalschema.engine.core.event.PendingComputedEvent;
 import io.github.totalschema.model.ApplyFile;
 import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -35,6 +43,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Command to execute all pending change files. Retrieves all apply files, determines which are
  * pending, and applies them in order.
+ *
+ * <p>Dispatches a {@link DiscoveryCompletedEvent}, a {@link PendingComputedEvent} and a {@link
+ * ConnectorInitializedEvent} per connector asynchronously, as the run progresses.
  */
 public final class ExecutePendingApplyFilesCommand implements Command<Void> {
 
@@ -51,11 +62,15 @@ public final class ExecutePendingApplyFilesCommand implements Command<Void> {
 
         ChangeEngine changeEngine = context.get(ChangeEngine.class);
         Environment environment = context.get(Environment.class);
+        EventDispatcher eventDispatcher = context.get(EventDispatcher.class);
 
         List<ApplyFile> allApplyFiles = changeEngine.getChangeManager().getAllApplyFiles(selector);
 
         log.info("Found {} change file(s) — {}", allApplyFiles.size(), selector.getDescription());
 
+        eventDispatcher.dispatchAsync(
+                new DiscoveryCompletedEvent(allApplyFiles, selector.getDescription()));
+
         if (allApplyFiles.isEmpty()) {
             log.info("Nothing to apply: no change files found matching the given selector.");
             return null;
@@ -70,7 +85,9 @@ public final class ExecutePendingApplyFilesCommand implements Command<Void> {
                 totalPending,
                 allApplyFiles.size());
 
-        initializeConnectors(context, pendingApplyFiles);
+        eventDispatcher.dispatchAsync(new PendingComputedEvent(allApplyFiles, pendingApplyFiles));
+
+        initializeConnectors(context, eventDispatcher, pendingApplyFiles);
 
         for (int i = 0; i < totalPending; i++) {
             int outputIndex = i + 1;
@@ -98,7 +115,10 @@ public final class ExecutePendingApplyFilesCommand implements Command<Void> {
         return null;
     }
 
-    private void initializeConnectors(CommandContext context, List<ApplyFile> pendingApplyFiles)
+    private void initializeConnectors(
+            CommandContext context,
+            EventDispatcher eventDispatcher,
+            List<ApplyFile> pendingApplyFiles)
             throws InterruptedException {
 
         Map<String, List<ChangeFile.Id>> changeFileIdsByConnector =
@@ -111,10 +131,57 @@ public final class ExecutePendingApplyFilesCommand implements Command<Void> {
         log.info("Connectors required for the changes: {}", changeFileIdsByConnector.keySet());
 
         ConnectorManager connectorManager = context.get(ConnectorManager.class);
+        MetricsCollector metricsCollector = MetricsCollector.from(context);
+        Tracer tracer = Tracer.from(context);
 
         for (Map.Entry<String, List<ChangeFile.Id>> entry : changeFileIdsByConnector.entrySet()) {
             log.info("Initializing connector '{}'", entry.getKey());
-            connectorManager.checkConnector(entry.getKey(), context, entry.getValue());
+
+            Span span = tracer.startSpan("checkConnection");
+            span.setAttribute("totalschema.connector", entry.getKey());
+
+            long start = System.nanoTime();
+            boolean successful = false;
+            try {
+                connectorManager.checkConnector(entry.getKey(), context, entry.getValue());
+                successful = true;
+            } finally {
+                Duration duration = Duration.ofNanos(System.nanoTime() - start);
+                metricsCollector.connectorChecked(entry.getKey(), duration, successful);
+                span.end(successful);
+
+                if (successful) {
+                    eventDispatcher.dispatchAsync(
+                            new ConnectorInitializedEvent(
+                                    entry.getKey(), entry.getValue(), duration));
+                }
+            }
+
+            prepareConnector(connectorManager, tracer, context, entry);
+        }
+    }
+
+    /**
+     * Lets the connector prepare the execution of its change files in a step of its own, so that it
+     * runs even if the connection check is disabled, and its failures are not reported as
+     * connectivity problems.
+     */
+    private static void prepareConnector(
+            ConnectorManager connectorManager,
+            Tracer tracer,
+            CommandContext context,
+            Map.Entry<String, List<ChangeFile.Id>> entry)
+            throws InterruptedException {
+
+        Span span = tracer.startSpan("prepareConnector");
+        span.setAttribute("totalschema.connector", entry.getKey());
+
+        boolean successful = false;
+        try {
+            connectorManager.prepareConnector(entry.getKey(), context, entry.getValue());
+            successful = true;
+        } finally {
+            span.end(successful);
         }
     }
 }
@@ -20,18 +20,27 @@ package io.github.totalschema.engine.core.command.impl;
 
 import io.github.totalschema.engine.core.command.api.Command;
 import io.github.totalschema.engine.core.command.api.CommandContext;
+import io.github.totalschema.engine.core.event.ChangeFailedEvent;
+import io.github.totalschema.engine.core.event.ChangeStartedEvent;
+import io.github.totalschema.engine.core.event.ChangeSucceededEvent;
+import io.github.totalschema.engine.core.event.EventDispatcher;
+import io.github.totalschema.jfr.ChangeFileApplyEvent;
 import io.github.totalschema.model.ApplyFile;
 import io.github.totalschema.model.ChangeType;
 import io.github.totalschema.spi.change.ChangeExecutionException;
 import io.github.totalschema.spi.change.ChangeService;
 import io.github.totalschema.spi.state.StateService;
 import java.nio.file.Path;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Command to execute a single change file. Registers the completion in state unless the change type
  * is APPLY_ALWAYS.
+ *
+ * <p>Dispatches a {@link ChangeStartedEvent}, followed by a {@link ChangeSucceededEvent} or a
+ * {@link ChangeFailedEvent}, asynchronously.
  */
 public final class ExecuteSingleApplyFileCommand implements Command<Void> {
 
@@ -46,6 +55,16 @@ public final class ExecuteSingleApplyFileCommand implements Command<Void> {
     @Override
     public Void execute(CommandContext context) throws InterruptedException {
 
+        ChangeFileApplyEvent event = new ChangeFileApplyEvent();
+        event.begin();
+
+        EventDispatcher eventDispatcher = context.get(EventDispatcher.class);
+        eventDispatcher.dispatchAsync(new ChangeStartedEvent(applyFile));
+
+        long start = System.nanoTime();
+        Exception failure = null;
+        boolean successful = false;
+
         try {
             StateService stateService = context.get(StateService.class);
             ChangeService changeService = context.get(ChangeService.class);
@@ -69,11 +88,25 @@ public final class ExecuteSingleApplyFileCommand implements Command<Void> {
 
             log.info("SUCCESS executing: {}", changeFilePath);
 
+            successful = true;
             return null;
 
         } catch (ChangeExecutionException changeExecutionException) {
             log.error("FAILURE executing: {}", applyFile.getFile());
+            failure = changeExecutionException;
             throw changeExecutionException;
+        } catch (RuntimeException | InterruptedException exception) {
+            failure = exception;
+            throw exception;
+        } finally {
+            event.complete(applyFile, successful);
+
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            if (successful) {
+                eventDispatcher.dispatchAsync(new ChangeSucceededEvent(applyFile, duration));
+            } else {
+                eventDispatcher.dispatchAsync(new ChangeFailedEvent(applyFile, duration, failure));
+            }
         }
     }
 }
@@ -19,12 +19,10 @@
 package io.github.totalschema.engine.core.command.impl;
 
 import io.github.totalschema.engine.api.ChangeFileSelector;
-import io.github.totalschema.engine.internal.changefile.ChangeFileFactory;
+import io.github.totalschema.engine.internal.changefile.ChangeFileSnapshot;
 import io.github.totalschema.model.ApplyFile;
-import io.github.totalschema.model.ChangeFile;
 import io.github.totalschema.model.ChangeType;
-import java.nio.file.Path;
-import java.util.Comparator;
+import java.util.List;
 
 /**
  * Command to retrieve all apply files matching specified change types. Returns files sorted by
@@ -37,13 +35,7 @@ public final class GetApplyFilesCommand extends GetChangeFilesCommand<ApplyFile>
     }
 
     @Override
-    protected ApplyFile getChangeFile(
-            Path changesDirectory, Path changeFile, ChangeFileFactory changeFileFactory) {
-
-        return changeFileFactory.getApplyFile(changesDirectory, changeFile);
-    }
-
-    protected Comparator<ApplyFile> getChangeFileSortComparator() {
-        return Comparator.comparing(ChangeFile::getOrder);
+    protected List<ApplyFile> getChangeFiles(ChangeFileSnapshot.View view) {
+        return view.getApplyFiles();
     }
 }
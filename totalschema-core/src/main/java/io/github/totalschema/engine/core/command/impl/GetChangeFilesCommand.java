@@ -25,23 +25,19 @@ import io.github.totalschema.engine.api.ChangeFileSelector;
 import io.github.totalschema.engine.core.command.api.Command;
 import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.engine.internal.changefile.ChangeFileFactory;
-import io.github.totalschema.engine.internal.changefile.ChangeFileIgnorePatterns;
-import io.github.totalschema.engine.internal.changefile.labels.ChangeFileLabels;
-import io.github.totalschema.engine.internal.changefile.labels.ChangeFileLabelsCascade;
+import io.github.totalschema.engine.internal.changefile.ChangeFileSnapshot;
+import io.github.totalschema.engine.internal.changefile.ChangeFileSnapshotCache;
 import io.github.totalschema.engine.internal.changefile.labels.LabelFilter;
 import io.github.totalschema.engine.internal.changefile.labels.LabelInheritanceMode;
 import io.github.totalschema.model.ChangeFile;
 import io.github.totalschema.model.ChangeType;
 import io.github.totalschema.spi.hash.HashService;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,73 +45,6 @@ abstract class GetChangeFilesCommand<T extends ChangeFile> implements Command<Li
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private static final Comparator<Path> DIRECTORY_COMPARATOR =
-            new Comparator<>() {
-
-                @Override
-                public int compare(Path leftPath, Path rightPath) {
-
-                    Path leftFileNamePath = leftPath.getFileName();
-                    Path rightFileNamePath = rightPath.getFileName();
-
-                    if (leftFileNamePath == null || rightFileNamePath == null) {
-                        if (leftFileNamePath == null && rightFileNamePath == null) {
-                            return 0;
-                        }
-                        return leftFileNamePath == null ? -1 : 1;
-                    }
-
-                    String leftFileName = leftFileNamePath.toString();
-                    String rightFileName = rightFileNamePath.toString();
-
-                    if (leftFileName.matches(".*\\d.*") && rightFileName.matches(".*\\d.*")) {
-
-                        return Long.compare(
-                                getDirectoryOrder(leftFileName), getDirectoryOrder(rightFileName));
-
-                    } else {
-                        return leftFileName.compareTo(rightFileName);
-                    }
-                }
-
-                private long getDirectoryOrder(String directoryName) {
-                    List<Integer> versionNumberParts =
-                            Stream.of(directoryName.split("\\D"))
-                                    .filter(Predicate.not(String::isEmpty))
-                                    .filter(Predicate.not(String::isBlank))
-                                    .map(
-                                            it -> {
-                                                try {
-                                                    return Integer.parseInt(it);
-                                                } catch (NumberFormatException nfe) {
-                                                    throw new RuntimeException(
-                                                            String.format(
-                                                                    "Could not parse number [%s] part in %s",
-                                                                    it, directoryName));
-                                                }
-                                            })
-                                    .collect(Collectors.toList());
-
-                    long accumulator = 0;
-
-                    int partNumber = versionNumberParts.size();
-
-                    final int offset = 10;
-
-                    for (int i = 0; i < partNumber; i++) {
-
-                        int partIndex = partNumber - 1 - i;
-                        int digit = versionNumberParts.get(partIndex);
-
-                        long multiplier = (long) Math.pow(10, offset - i);
-
-                        accumulator += multiplier * digit;
-                    }
-
-                    return accumulator;
-                }
-            };
-
     private final Pattern filterExpressionPattern;
     private final LabelFilter labelFilter;
     private final EnumSet<ChangeType> includedChangeTypes;
@@ -166,196 +95,42 @@ abstract class GetChangeFilesCommand<T extends ChangeFile> implements Command<Li
                 LabelInheritanceMode.fromConfig(
                         config.getString("labels", "inheritance").orElse(null));
 
-        ChangeFileIgnorePatterns rootIgnorePatterns = ChangeFileIgnorePatterns.load(rootDirectory);
-
-        LinkedList<T> changeFiles = new LinkedList<>();
-
-        try {
-            // Each deque entry pairs a directory with its accumulated label cascade
-            Deque<DirectoryEntry> directoriesToVisit = new LinkedList<>();
-            ChangeFileLabelsCascade rootCascade =
-                    ChangeFileLabelsCascade.empty().withDirectory(rootDirectory, inheritanceMode);
-            directoriesToVisit.add(new DirectoryEntry(rootDirectory, rootCascade));
-
-            while (!directoriesToVisit.isEmpty()) {
-                DirectoryEntry entry = directoriesToVisit.poll();
-                Path directoryToProcess = entry.directory;
-                ChangeFileLabelsCascade cascade = entry.cascade;
-
-                ChangeFileIgnorePatterns effectiveIgnorePatterns =
-                        getEffectiveIgnorePatterns(
-                                directoryToProcess, rootDirectory, rootIgnorePatterns);
-
-                List<Path> directSubDirectories =
-                        getDirectSubDirectories(
-                                directoryToProcess, rootDirectory, effectiveIgnorePatterns);
-
-                // Load labels for this directory once, then build child cascades
-                ChangeFileLabels dirLabels = ChangeFileLabels.load(directoryToProcess);
-
-                for (Path subDir : directSubDirectories) {
-                    ChangeFileLabelsCascade childCascade =
-                            cascade.withDirectory(dirLabels, inheritanceMode)
-                                    .withDirectory(subDir, inheritanceMode);
-                    directoriesToVisit.add(new DirectoryEntry(subDir, childCascade));
-                }
-
-                List<T> changeFilesInTheDirectory =
-                        getChangeFilesInDirectory(
-                                directoryToProcess,
-                                environmentName,
-                                rootDirectory,
-                                changeFileFactory,
-                                effectiveIgnorePatterns,
-                                cascade,
-                                dirLabels);
-
-                changeFiles.addAll(changeFilesInTheDirectory);
-            }
-
-            if (changeFiles.stream()
-                    .anyMatch(it -> it.getChangeType() == ChangeType.APPLY_ON_CHANGE)) {
-                if (!context.has(HashService.class)) {
-                    throw new IllegalStateException(
-                            String.format(
-                                    "Hashing must be configured if %s files are used",
-                                    ChangeType.APPLY_ON_CHANGE));
-                }
+        ChangeFileSnapshot snapshot =
+                context.getOptional(ChangeFileSnapshotCache.class)
+                        .map(cache -> cache.get(rootDirectory, changeFileFactory, inheritanceMode))
+                        .orElseGet(
+                                () ->
+                                        ChangeFileSnapshot.discover(
+                                                rootDirectory, changeFileFactory, inheritanceMode));
+
+        List<T> changeFiles =
+                getChangeFiles(snapshot.forEnvironment(environmentName)).stream()
+                        .filter(it -> includedChangeTypes.contains(it.getChangeType()))
+                        .filter(this::matchesDesiredConfig)
+                        .collect(Collectors.toUnmodifiableList());
+
+        if (changeFiles.stream().anyMatch(it -> it.getChangeType() == ChangeType.APPLY_ON_CHANGE)) {
+            if (!context.has(HashService.class)) {
+                throw new IllegalStateException(
+                        String.format(
+                                "Hashing must be configured if %s files are used",
+                                ChangeType.APPLY_ON_CHANGE));
             }
-
-            return Collections.unmodifiableList(changeFiles);
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         }
-    }
 
-    /** Pairs a directory path with its accumulated label cascade. */
-    private static final class DirectoryEntry {
-        final Path directory;
-        final ChangeFileLabelsCascade cascade;
-
-        DirectoryEntry(Path directory, ChangeFileLabelsCascade cascade) {
-            this.directory = directory;
-            this.cascade = cascade;
-        }
+        return changeFiles;
     }
 
-    private static ChangeFileIgnorePatterns getEffectiveIgnorePatterns(
-            Path currentDirectory,
-            Path rootDirectory,
-            ChangeFileIgnorePatterns rootIgnorePatterns) {
-        // Load per-directory ignore file and combine with root patterns.
-        // When visiting the root itself we skip loading to avoid applying
-        // root patterns twice (they are already in rootIgnorePatterns).
-        ChangeFileIgnorePatterns effectiveIgnorePatterns;
-        if (currentDirectory.equals(rootDirectory)) {
-            effectiveIgnorePatterns = rootIgnorePatterns;
-        } else {
-            effectiveIgnorePatterns =
-                    rootIgnorePatterns.combine(ChangeFileIgnorePatterns.load(currentDirectory));
-        }
-        return effectiveIgnorePatterns;
-    }
-
-    private List<T> getChangeFilesInDirectory(
-            Path directoryToProcess,
-            String environmentName,
-            Path rootDirectory,
-            ChangeFileFactory changeFileFactory,
-            ChangeFileIgnorePatterns ignorePatterns,
-            ChangeFileLabelsCascade cascade,
-            ChangeFileLabels dirLabels)
-            throws IOException {
-
-        List<T> changeFilesInDirectory;
-
-        try (Stream<Path> directoryContents = Files.list(directoryToProcess)) {
-
-            changeFilesInDirectory =
-                    directoryContents
-                            .filter(Files::isRegularFile)
-                            .filter(p -> !ignorePatterns.isIgnoredFile(rootDirectory.relativize(p)))
-                            .filter(isIncludedType(rootDirectory, changeFileFactory))
-                            .map(
-                                    changeFile ->
-                                            getChangeFile(
-                                                    rootDirectory, changeFile, changeFileFactory))
-                            .map(it -> resolveAndSetEffectiveLabels(it, cascade, dirLabels))
-                            .filter(it -> matchesDesiredConfig(environmentName, it))
-                            .sorted(getChangeFileSortComparator())
-                            .collect(Collectors.toList());
-        }
-
-        return changeFilesInDirectory;
-    }
-
-    protected Comparator<T> getChangeFileSortComparator() {
-        return Comparator.comparing(ChangeFile::getOrder);
-    }
-
-    private List<Path> getDirectSubDirectories(
-            Path directoryToProcess, Path rootDirectory, ChangeFileIgnorePatterns ignorePatterns)
-            throws IOException {
-
-        List<Path> subDirectories;
-        try (Stream<Path> directoryContents = Files.list(directoryToProcess)) {
-            subDirectories =
-                    directoryContents
-                            .filter(Files::isDirectory)
-                            .filter(
-                                    p ->
-                                            !ignorePatterns.isIgnoredDirectory(
-                                                    rootDirectory.relativize(p)))
-                            .sorted(getDirectoryOrderComparator())
-                            .collect(Collectors.toList());
-        }
-        return subDirectories;
-    }
+    /**
+     * Returns the change files of the kind retrieved by this command, in the order they are
+     * executed.
+     *
+     * @param view the change files of the environment
+     * @return the change files to select from
+     */
+    protected abstract List<T> getChangeFiles(ChangeFileSnapshot.View view);
 
-    protected Comparator<Path> getDirectoryOrderComparator() {
-        return DIRECTORY_COMPARATOR;
-    }
-
-    protected abstract T getChangeFile(
-            Path changesDirectory, Path changeFile, ChangeFileFactory changeFileFactory);
-
-    private Predicate<Path> isIncludedType(Path rootDirectory, ChangeFileFactory factory) {
-        return path -> {
-            Path relativePath = rootDirectory.relativize(path);
-
-            ChangeFile.Id id = factory.getIdFromPath(relativePath);
-
-            ChangeType changeType = id.getChangeType();
-
-            return includedChangeTypes.contains(changeType);
-        };
-    }
-
-    private T resolveAndSetEffectiveLabels(
-            T file, ChangeFileLabelsCascade cascade, ChangeFileLabels dirLabels) {
-
-        Map<String, List<String>> effectiveLabels = cascade.resolve(dirLabels, file.getFile());
-        logger.debug(
-                "Resolved effective labels for file {}: {}",
-                file.getRelativePath(),
-                effectiveLabels);
-
-        // withEffectiveLabels will always return the same type as the file was itself
-        @SuppressWarnings("unchecked")
-        T fileWithLabels = (T) file.withEffectiveLabels(effectiveLabels);
-
-        return fileWithLabels;
-    }
-
-    private boolean matchesDesiredConfig(String environmentName, T file) {
-
-        if (environmentName != null && file.getEnvironment().isPresent()) {
-            String fileEnvironment = file.getEnvironment().get();
-            if (!fileEnvironment.equalsIgnoreCase(environmentName)) {
-                return false;
-            }
-        }
+    private boolean matchesDesiredConfig(T file) {
 
         if (filterExpressionPattern != null
                 && !filterExpressionPattern.matcher(file.getRelativePath().toString()).matches()) {
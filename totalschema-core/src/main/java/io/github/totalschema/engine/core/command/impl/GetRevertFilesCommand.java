@@ -19,11 +19,10 @@
 package io.github.totalschema.engine.core.command.impl;
 
 import io.github.totalschema.engine.api.ChangeFileSelector;
-import io.github.totalschema.engine.internal.changefile.ChangeFileFactory;
+import io.github.totalschema.engine.internal.changefile.ChangeFileSnapshot;
 import io.github.totalschema.model.ChangeType;
 import io.github.totalschema.model.RevertFile;
-import java.nio.file.Path;
-import java.util.Comparator;
+import java.util.List;
 
 public final class GetRevertFilesCommand extends GetChangeFilesCommand<RevertFile> {
 
@@ -32,18 +31,7 @@ public final class GetRevertFilesCommand extends GetChangeFilesCommand<RevertFil
     }
 
     @Override
-    protected RevertFile getChangeFile(
-            Path changesDirectory, Path changeFile, ChangeFileFactory changeFileFactory) {
-
-        return changeFileFactory.getRevertFile(changesDirectory, changeFile);
-    }
-
-    protected Comparator<RevertFile> getChangeFileSortComparator() {
-        return super.getChangeFileSortComparator().reversed();
-    }
-
-    @Override
-    protected Comparator<Path> getDirectoryOrderComparator() {
-        return super.getDirectoryOrderComparator().reversed();
+    protected List<RevertFile> getChangeFiles(ChangeFileSnapshot.View view) {
+        return view.getRevertFiles();
     }
 }
@@ -24,6 +24,8 @@ import io.github.totalschema.engine.core.command.api.CommandExecutor;
 import io.github.totalschema.engine.core.command.api.CommandInterceptor;
 import io.github.totalschema.model.LockRecord;
 import io.github.totalschema.spi.lock.LockService;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +51,13 @@ public final class LockInterceptor extends CommandInterceptor {
 
                 LockService lockService = context.get(LockService.class);
 
-                result = executeWithLockService(lockService, context, command, next);
+                result =
+                        executeWithLockService(
+                                lockService,
+                                MetricsCollector.from(context),
+                                context,
+                                command,
+                                next);
 
             } else {
                 result = next.execute(context, command);
@@ -65,6 +73,7 @@ public final class LockInterceptor extends CommandInterceptor {
 
     private <R> R executeWithLockService(
             LockService lockService,
+            MetricsCollector metricsCollector,
             CommandContext context,
             Command<R> command,
             CommandExecutor next)
@@ -72,7 +81,9 @@ public final class LockInterceptor extends CommandInterceptor {
 
         R result;
 
+        long start = System.nanoTime();
         boolean couldLock = lockService.tryLock(TIMEOUT, TIMEOUT_TIME_UNIT);
+        metricsCollector.lockAwaited(Duration.ofNanos(System.nanoTime() - start), couldLock);
 
         if (couldLock) {
             try {
@@ -0,0 +1,57 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.command.interceptor;
+
+import io.github.totalschema.engine.core.command.api.Command;
+import io.github.totalschema.engine.core.command.api.CommandContext;
+import io.github.totalschema.engine.core.command.api.CommandExecutor;
+import io.github.totalschema.engine.core.command.api.CommandInterceptor;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
+
+/**
+ * Interceptor recording the execution of each command as a span of the {@link Tracer} of the
+ * context. Placed in front of the {@link LockInterceptor}, the span of a command includes waiting
+ * for the lock.
+ */
+public final class TracingInterceptor extends CommandInterceptor {
+
+    public TracingInterceptor(CommandExecutor next) {
+        super(next);
+    }
+
+    @Override
+    public <R> R intercept(CommandContext context, Command<R> command, CommandExecutor next) {
+
+        Span span = Tracer.from(context).startSpan(getCommandName(command));
+        boolean successful = false;
+        try {
+            R result = next.execute(context, command);
+            successful = true;
+            return result;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+
+        } finally {
+            span.end(successful);
+        }
+    }
+}
@@ -48,7 +48,8 @@ public final class ComponentContainer implements Closeable, Context {
             new ConcurrentHashMap<>();
     private final ConcurrentHashMap<FactorySpecification, ComponentFactory<?>> factories =
             new ConcurrentHashMap<>();
-    private final ReentrantLock creationLock = new ReentrantLock();
+    private final ConcurrentHashMap<ObjectSpecification, ReentrantLock> creationLocks =
+            new ConcurrentHashMap<>();
 
     private final List<Closeable> closeableList = Collections.synchronizedList(new LinkedList<>());
 
@@ -157,13 +158,17 @@ public final class ComponentContainer implements Closeable, Context {
 
     @SuppressWarnings("unchecked")
     private <R> R createComponent(ObjectSpecification objectSpecification) {
-        // Use a single global lock for all component creation.
-        // Since the container is read-heavy (fast path without locking) and component
-        // creation is primarily a startup concern, a single lock is simple and adequate.
+        // Use a lock per object specification, so that independent components can be created
+        // concurrently (see ComponentContainerBuilder), while a given component is still created
+        // exactly once. Locks are reentrant, as a factory may recursively call get() for its
+        // dependencies.
         //
         // We use tryLock with a timeout to prevent deadlocks and provide better diagnostics
         // if something goes wrong.
 
+        ReentrantLock creationLock =
+                creationLocks.computeIfAbsent(objectSpecification, key -> new ReentrantLock());
+
         try {
             boolean lockAcquired = creationLock.tryLock(2, TimeUnit.MINUTES);
             if (!lockAcquired) {
@@ -21,6 +21,12 @@ package io.github.totalschema.engine.core.container;
 import io.github.totalschema.spi.factory.ArgumentSpecification;
 import io.github.totalschema.spi.factory.ComponentFactory;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +44,8 @@ public final class ComponentContainerBuilder {
 
     private boolean allowUnqualifiedAccessToSingleComponents = false;
 
+    private int eagerInitializationParallelism = Runtime.getRuntime().availableProcessors();
+
     /**
      * Registers a component instance of a specific type.
      *
@@ -82,6 +90,25 @@ public final class ComponentContainerBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of threads used to create non-lazy components during {@link
+     * #build()}. Components that do not depend on each other (as declared by {@link
+     * ComponentFactory#getDependencies()}) are created concurrently. A value of {@code 1} disables
+     * concurrent creation. Defaults to the number of available processors.
+     *
+     * @param newValue The maximum number of threads, must be at least 1.
+     * @return This builder for chaining.
+     */
+    public ComponentContainerBuilder eagerInitializationParallelism(int newValue) {
+        if (newValue < 1) {
+            throw new IllegalArgumentException(
+                    "eagerInitializationParallelism must be at least 1: " + newValue);
+        }
+        this.eagerInitializationParallelism = newValue;
+
+        return this;
+    }
+
     /**
      * Builds the {@link ComponentContainer}, initializing all registered components.
      *
@@ -173,30 +200,240 @@ public final class ComponentContainerBuilder {
             ComponentContainer componentContainer,
             Map<FactorySpecification, ComponentFactory<?>> enabledFactories) {
 
-        for (Map.Entry<FactorySpecification, ComponentFactory<?>> entry :
-                enabledFactories.entrySet()) {
+        Map<FactorySpecification, ComponentFactory<?>> eagerFactories =
+                enabledFactories.entrySet().stream()
+                        .filter(entry -> isEagerlyCreated(entry.getValue()))
+                        .collect(
+                                Collectors.toMap(
+                                        Map.Entry::getKey,
+                                        Map.Entry::getValue,
+                                        (a, b) -> a,
+                                        LinkedHashMap::new));
+
+        if (eagerFactories.size() <= 1 || eagerInitializationParallelism <= 1) {
+            eagerFactories.forEach(
+                    (factorySpecification, factory) ->
+                            createObject(componentContainer, factorySpecification, factory));
+            return;
+        }
+
+        List<List<FactorySpecification>> levels =
+                getCreationLevels(eagerFactories, enabledFactories.values());
+
+        int maxLevelSize = levels.stream().mapToInt(List::size).max().orElse(1);
+        int threadCount = Math.min(maxLevelSize, eagerInitializationParallelism);
+
+        if (threadCount <= 1) {
+            levels.forEach(
+                    level ->
+                            level.forEach(
+                                    spec ->
+                                            createObject(
+                                                    componentContainer,
+                                                    spec,
+                                                    eagerFactories.get(spec))));
+            return;
+        }
+
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(threadCount, new ComponentCreationThreadFactory());
+        try {
+            for (List<FactorySpecification> level : levels) {
+                createLevel(componentContainer, eagerFactories, level, executorService);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static boolean isEagerlyCreated(ComponentFactory<?> factory) {
+        if (factory.isLazy()) {
+            return false;
+        }
 
-            ComponentFactory<?> factory = entry.getValue();
+        List<ArgumentSpecification<?>> argumentTypes = factory.getArgumentSpecifications();
+        return argumentTypes == null || argumentTypes.isEmpty();
+    }
 
-            if (!factory.isLazy()) {
-                List<ArgumentSpecification<?>> argumentTypes = factory.getArgumentSpecifications();
-                if (argumentTypes == null || argumentTypes.isEmpty()) {
-                    FactorySpecification factorySpecification = entry.getKey();
+    private void createLevel(
+            ComponentContainer componentContainer,
+            Map<FactorySpecification, ComponentFactory<?>> eagerFactories,
+            List<FactorySpecification> level,
+            ExecutorService executorService) {
+
+        if (level.size() == 1) {
+            FactorySpecification factorySpecification = level.get(0);
+            createObject(
+                    componentContainer,
+                    factorySpecification,
+                    eagerFactories.get(factorySpecification));
+            return;
+        }
 
-                    ObjectSpecification objectSpecification =
-                            ObjectSpecification.from(factorySpecification);
+        List<Future<?>> futures = new ArrayList<>(level.size());
+        for (FactorySpecification factorySpecification : level) {
+            ComponentFactory<?> factory = eagerFactories.get(factorySpecification);
+            futures.add(
+                    executorService.submit(
+                            () -> createObject(componentContainer, factorySpecification, factory)));
+        }
+
+        List<Throwable> failures = new LinkedList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                        "Interrupted while waiting for component creation", e);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            Iterator<Throwable> iterator = failures.iterator();
+            Throwable firstFailure = iterator.next();
+            iterator.forEachRemaining(firstFailure::addSuppressed);
+
+            if (firstFailure instanceof RuntimeException) {
+                throw (RuntimeException) firstFailure;
+            } else if (firstFailure instanceof Error) {
+                throw (Error) firstFailure;
+            } else {
+                throw new ComponentCreationException(
+                        "Failure creating components: " + level, firstFailure);
+            }
+        }
+    }
 
-                    Object createdObject =
-                            componentContainer.get(
-                                    objectSpecification.getType(),
-                                    objectSpecification.getQualifier());
-                    logger.debug(
-                            "Created object {} for {} using factory {}",
-                            createdObject,
-                            factorySpecification,
-                            factory);
+    private void createObject(
+            ComponentContainer componentContainer,
+            FactorySpecification factorySpecification,
+            ComponentFactory<?> factory) {
+
+        ObjectSpecification objectSpecification = ObjectSpecification.from(factorySpecification);
+
+        Object createdObject =
+                componentContainer.get(
+                        objectSpecification.getType(), objectSpecification.getQualifier());
+        logger.debug(
+                "Created object {} for {} using factory {}",
+                createdObject,
+                factorySpecification,
+                factory);
+    }
+
+    /**
+     * Groups the eagerly created factories into levels, so that the factories within a level do not
+     * depend on each other (neither directly, nor through lazily created components) and can
+     * therefore be invoked concurrently. Each level only depends on the levels before it.
+     *
+     * <p>Should the declared dependencies contain a cycle, the affected factories are placed into a
+     * final level each on their own, which effectively falls back to sequential creation.
+     */
+    private static List<List<FactorySpecification>> getCreationLevels(
+            Map<FactorySpecification, ComponentFactory<?>> eagerFactories,
+            Collection<ComponentFactory<?>> allFactories) {
+
+        Map<FactorySpecification, Set<FactorySpecification>> remainingDependencies =
+                new LinkedHashMap<>();
+
+        eagerFactories.forEach(
+                (factorySpecification, factory) -> {
+                    Set<Class<?>> requiredTypes = getTransitiveDependencies(factory, allFactories);
+
+                    Set<FactorySpecification> dependencies = new HashSet<>();
+                    eagerFactories.forEach(
+                            (otherSpecification, otherFactory) -> {
+                                if (otherFactory != factory
+                                        && isAnyAssignableFrom(
+                                                requiredTypes, otherFactory.getComponentType())) {
+                                    dependencies.add(otherSpecification);
+                                }
+                            });
+
+                    remainingDependencies.put(factorySpecification, dependencies);
+                });
+
+        List<List<FactorySpecification>> levels = new LinkedList<>();
+
+        while (!remainingDependencies.isEmpty()) {
+            List<FactorySpecification> level =
+                    remainingDependencies.entrySet().stream()
+                            .filter(entry -> entry.getValue().isEmpty())
+                            .map(Map.Entry::getKey)
+                            .collect(Collectors.toList());
+
+            if (level.isEmpty()) {
+                // cyclic dependencies: let the container resolve these one by one
+                remainingDependencies.keySet().forEach(spec -> levels.add(List.of(spec)));
+                break;
+            }
+
+            level.forEach(remainingDependencies::remove);
+            remainingDependencies.values().forEach(dependencies -> dependencies.removeAll(level));
+
+            levels.add(level);
+        }
+
+        return levels;
+    }
+
+    private static Set<Class<?>> getTransitiveDependencies(
+            ComponentFactory<?> factory, Collection<ComponentFactory<?>> allFactories) {
+
+        Set<Class<?>> requiredTypes = new HashSet<>();
+        Set<ComponentFactory<?>> visitedFactories = new HashSet<>();
+        Deque<ComponentFactory<?>> factoriesToVisit = new ArrayDeque<>();
+        factoriesToVisit.add(factory);
+
+        while (!factoriesToVisit.isEmpty()) {
+            ComponentFactory<?> current = factoriesToVisit.poll();
+            if (!visitedFactories.add(current)) {
+                continue;
+            }
+
+            List<Class<?>> dependencies = current.getDependencies();
+            if (dependencies == null) {
+                continue;
+            }
+
+            for (Class<?> dependency : dependencies) {
+                if (requiredTypes.add(dependency)) {
+                    for (ComponentFactory<?> candidate : allFactories) {
+                        if (dependency.isAssignableFrom(candidate.getComponentType())) {
+                            factoriesToVisit.add(candidate);
+                        }
+                    }
                 }
             }
         }
+
+        return requiredTypes;
+    }
+
+    private static boolean isAnyAssignableFrom(Set<Class<?>> types, Class<?> candidate) {
+        for (Class<?> type : types) {
+            if (type.isAssignableFrom(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class ComponentCreationThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread =
+                    new Thread(
+                            runnable,
+                            "totalschema-component-init-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
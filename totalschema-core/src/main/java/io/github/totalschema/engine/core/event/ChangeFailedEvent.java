@@ -0,0 +1,67 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import io.github.totalschema.model.ApplyFile;
+import java.time.Duration;
+
+/**
+ * Event dispatched when the execution of an apply file, or the registration of its completion in
+ * state, has failed. The run stops after this event.
+ *
+ * @see ChangeStartedEvent
+ */
+public final class ChangeFailedEvent extends Event {
+
+    private final ApplyFile applyFile;
+    private final Duration duration;
+    private final Exception failure;
+
+    public ChangeFailedEvent(ApplyFile applyFile, Duration duration, Exception failure) {
+        this.applyFile = applyFile;
+        this.duration = duration;
+        this.failure = failure;
+    }
+
+    /** Returns the apply file that failed. */
+    public ApplyFile getApplyFile() {
+        return applyFile;
+    }
+
+    /** Returns the time spent until the failure. */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /** Returns the exception the execution failed with. */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeFailedEvent{applyFile="
+                + applyFile.getId().toStringRepresentation()
+                + ", duration="
+                + duration
+                + ", failure="
+                + failure
+                + '}';
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import io.github.totalschema.model.ApplyFile;
+
+/**
+ * Event dispatched when the execution of an apply file starts. It is followed by either a {@link
+ * ChangeSucceededEvent} or a {@link ChangeFailedEvent} for the same file.
+ */
+public final class ChangeStartedEvent extends Event {
+
+    private final ApplyFile applyFile;
+
+    public ChangeStartedEvent(ApplyFile applyFile) {
+        this.applyFile = applyFile;
+    }
+
+    /** Returns the apply file being executed. */
+    public ApplyFile getApplyFile() {
+        return applyFile;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeStartedEvent{applyFile=" + applyFile.getId().toStringRepresentation() + '}';
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import io.github.totalschema.model.ApplyFile;
+import java.time.Duration;
+
+/**
+ * Event dispatched when an apply file has been executed and, unless it is {@code APPLY_ALWAYS}, its
+ * completion registered in state.
+ *
+ * @see ChangeStartedEvent
+ */
+public final class ChangeSucceededEvent extends Event {
+
+    private final ApplyFile applyFile;
+    private final Duration duration;
+
+    public ChangeSucceededEvent(ApplyFile applyFile, Duration duration) {
+        this.applyFile = applyFile;
+        this.duration = duration;
+    }
+
+    /** Returns the executed apply file. */
+    public ApplyFile getApplyFile() {
+        return applyFile;
+    }
+
+    /** Returns the duration of the execution, including the registration in state. */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeSucceededEvent{applyFile="
+                + applyFile.getId().toStringRepresentation()
+                + ", duration="
+                + duration
+                + '}';
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import io.github.totalschema.model.ChangeFile;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Event dispatched when a connector required by the pending changes of an apply run has been
+ * initialized and its connection checked successfully.
+ */
+public final class ConnectorInitializedEvent extends Event {
+
+    private final String connector;
+    private final List<ChangeFile.Id> changeFileIds;
+    private final Duration duration;
+
+    public ConnectorInitializedEvent(
+            String connector, List<ChangeFile.Id> changeFileIds, Duration duration) {
+        this.connector = connector;
+        this.changeFileIds = List.copyOf(changeFileIds);
+        this.duration = duration;
+    }
+
+    /** Returns the name of the connector. */
+    public String getConnector() {
+        return connector;
+    }
+
+    /** Returns the pending changes to be executed by the connector. */
+    public List<ChangeFile.Id> getChangeFileIds() {
+        return changeFileIds;
+    }
+
+    /** Returns the duration of the initialization, including the connection check. */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectorInitializedEvent{connector='"
+                + connector
+                + "', changeFileIds="
+                + changeFileIds.size()
+                + ", duration="
+                + duration
+                + '}';
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import io.github.totalschema.model.ApplyFile;
+import java.util.List;
+
+/**
+ * Event dispatched when the apply files matching the selector of an apply run have been discovered,
+ * before the pending ones are determined.
+ *
+ * @see PendingComputedEvent
+ */
+public final class DiscoveryCompletedEvent extends Event {
+
+    private final List<ApplyFile> applyFiles;
+    private final String selectorDescription;
+
+    public DiscoveryCompletedEvent(List<ApplyFile> applyFiles, String selectorDescription) {
+        this.applyFiles = List.copyOf(applyFiles);
+        this.selectorDescription = selectorDescription;
+    }
+
+    /** Returns the discovered apply files, in execution order. */
+    public List<ApplyFile> getApplyFiles() {
+        return applyFiles;
+    }
+
+    /** Returns the human-readable description of the selector the files were matched with. */
+    public String getSelectorDescription() {
+        return selectorDescription;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscoveryCompletedEvent{applyFiles="
+                + applyFiles.size()
+                + ", selector='"
+                + selectorDescription
+                + "'}";
+    }
+}
@@ -18,12 +18,13 @@
 
 package io.github.totalschema.engine.core.event;
 
-import io.github.totalschema.concurrent.LockTemplate;
+import java.io.Closeable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,26 +58,44 @@ import org.slf4j.LoggerFactory;
  * }</pre>
  *
  * <p><strong>Thread Safety:</strong> All methods are thread-safe. Multiple threads can concurrently
- * subscribe, unsubscribe, and dispatch events without external synchronization.
+ * subscribe, unsubscribe, and dispatch events without external synchronization. The listeners of
+ * each event type are kept in an immutable array, which is replaced (copy-on-write) when a listener
+ * subscribes or unsubscribes; dispatching reads the current array without locking or copying, and
+ * notifies the listeners subscribed at that moment.
  *
  * <p><strong>Exception Handling:</strong> If a listener throws an exception during event
  * notification, the exception is caught and collected. After all listeners have been notified,
  * collected exceptions are thrown. This ensures that one failing listener doesn't prevent other
  * listeners from being notified.
  *
+ * <p><strong>Asynchronous Dispatch:</strong> Events published frequently on the execution path,
+ * e.g. progress events, can be dispatched with {@link #dispatchAsync(Event)}: the listeners are
+ * then notified on a dedicated thread, in the order the events were dispatched, and their
+ * exceptions are logged instead of thrown. The thread is only started when the first such event has
+ * listeners, and {@link #close()} waits until the pending events have been delivered.
+ *
  * @see Event
  * @see EventListener
  * @see Subscription
  */
-public final class EventDispatcher {
+public final class EventDispatcher implements Closeable {
 
     private static final Logger logger = LoggerFactory.getLogger(EventDispatcher.class);
 
-    private final LockTemplate lockTemplate =
-            new LockTemplate(30, TimeUnit.SECONDS, new ReentrantLock());
+    private static final EventListener<?>[] NO_LISTENERS = new EventListener<?>[0];
+
+    /** The maximum time {@link #close()} waits for pending asynchronous events to be delivered. */
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    // Map of event type to the array of listeners for that event type; arrays are never modified
+    private final Map<Class<?>, EventListener<?>[]> eventListeners = new ConcurrentHashMap<>();
 
-    // Map of event type to set of listeners for that event type
-    private final Map<Class<?>, Set<EventListener<?>>> eventListeners = new ConcurrentHashMap<>();
+    private final Object asyncExecutorLock = new Object();
+
+    /** The executor of asynchronous dispatches, created on first use. */
+    private ExecutorService asyncExecutor;
+
+    private boolean closed;
 
     /**
      * Subscribes a listener to events of the specified type.
@@ -91,15 +110,23 @@ public final class EventDispatcher {
         Objects.requireNonNull(eventType, "Event type cannot be null");
         Objects.requireNonNull(listener, "Listener cannot be null");
 
-        lockTemplate.withTryLock(
-                () -> {
-                    eventListeners
-                            .computeIfAbsent(eventType, k -> new LinkedHashSet<>())
-                            .add(listener);
-                    logger.debug("Subscribed listener for event type: {}", eventType.getName());
-                    return null;
+        eventListeners.compute(
+                eventType,
+                (type, listeners) -> {
+                    if (listeners == null || listeners.length == 0) {
+                        return new EventListener<?>[] {listener};
+                    }
+                    if (indexOf(listeners, listener) >= 0) {
+                        return listeners;
+                    }
+                    EventListener<?>[] newListeners =
+                            Arrays.copyOf(listeners, listeners.length + 1);
+                    newListeners[listeners.length] = listener;
+                    return newListeners;
                 });
 
+        logger.debug("Subscribed listener for event type: {}", eventType.getName());
+
         return new Subscription<>(this, eventType, listener);
     }
 
@@ -115,23 +142,35 @@ public final class EventDispatcher {
         Objects.requireNonNull(eventType, "Event type cannot be null");
         Objects.requireNonNull(listener, "Listener cannot be null");
 
-        return lockTemplate.withTryLock(
-                () -> {
-                    Set<EventListener<?>> listeners = eventListeners.get(eventType);
-                    if (listeners != null) {
-                        boolean removed = listeners.remove(listener);
-                        if (removed) {
-                            logger.debug(
-                                    "Unsubscribed listener for event type: {}",
-                                    eventType.getName());
-                            if (listeners.isEmpty()) {
-                                eventListeners.remove(eventType);
-                            }
-                        }
-                        return removed;
+        boolean[] removed = new boolean[1];
+
+        eventListeners.computeIfPresent(
+                eventType,
+                (type, listeners) -> {
+                    int index = indexOf(listeners, listener);
+                    if (index < 0) {
+                        return listeners;
                     }
-                    return false;
+                    removed[0] = true;
+                    if (listeners.length == 1) {
+                        return NO_LISTENERS;
+                    }
+                    EventListener<?>[] newListeners = new EventListener<?>[listeners.length - 1];
+                    System.arraycopy(listeners, 0, newListeners, 0, index);
+                    System.arraycopy(
+                            listeners,
+                            index + 1,
+                            newListeners,
+                            index,
+                            listeners.length - index - 1);
+                    return newListeners;
                 });
+
+        if (removed[0]) {
+            logger.debug("Unsubscribed listener for event type: {}", eventType.getName());
+        }
+
+        return removed[0];
     }
 
     /**
@@ -145,42 +184,16 @@ public final class EventDispatcher {
     public <E extends Event> void dispatch(E event) {
         Objects.requireNonNull(event, "Event cannot be null");
 
-        Class<?> eventType = event.getClass();
+        EventListener<?>[] listeners = getListeners(event.getClass());
 
-        List<EventListener<E>> listenerSnapshot =
-                lockTemplate.withTryLock(
-                        () -> {
-                            Set<EventListener<?>> listeners = eventListeners.get(eventType);
-                            if (listeners == null || listeners.isEmpty()) {
-                                return Collections.emptyList();
-                            }
-                            @SuppressWarnings("unchecked")
-                            List<EventListener<E>> snapshot =
-                                    listeners.stream()
-                                            .map(l -> (EventListener<E>) l)
-                                            .collect(Collectors.toList());
-                            return snapshot;
-                        });
-
-        if (listenerSnapshot.isEmpty()) {
-            logger.trace("No listeners for event type: {}", eventType.getName());
+        if (listeners.length == 0) {
+            logger.trace("No listeners for event type: {}", event.getClass().getName());
             return;
         }
 
-        List<Exception> caughtExceptions = new ArrayList<>();
+        List<Exception> caughtExceptions = notifyListeners(event, listeners);
 
-        for (EventListener<E> listener : listenerSnapshot) {
-            try {
-                logger.trace("Notifying listener about event: {}", eventType.getName());
-                listener.onEvent(event);
-            } catch (RuntimeException exception) {
-                logger.warn(
-                        "Listener threw exception for event type: {}",
-                        eventType.getName(),
-                        exception);
-                caughtExceptions.add(exception);
-            }
-        }
+        Class<?> eventType = event.getClass();
 
         if (caughtExceptions.size() > 1) {
             RuntimeException runtimeException =
@@ -199,6 +212,40 @@ public final class EventDispatcher {
         }
     }
 
+    /**
+     * Dispatches an event asynchronously: the listeners subscribed at the time of the call are
+     * notified on the dispatch thread of this dispatcher, after the events dispatched
+     * asynchronously before. Exceptions thrown by listeners are logged.
+     *
+     * <p>Returns immediately if there are no listeners. Once the dispatcher is closed, events are
+     * dispatched synchronously.
+     *
+     * @param <E> the event type
+     * @param event the event to fire
+     */
+    public <E extends Event> void dispatchAsync(E event) {
+        Objects.requireNonNull(event, "Event cannot be null");
+
+        EventListener<?>[] listeners = getListeners(event.getClass());
+
+        if (listeners.length == 0) {
+            logger.trace("No listeners for event type: {}", event.getClass().getName());
+            return;
+        }
+
+        ExecutorService executor = getAsyncExecutor();
+        if (executor != null) {
+            try {
+                executor.execute(() -> notifyListeners(event, listeners));
+                return;
+            } catch (RejectedExecutionException e) {
+                logger.trace("Dispatcher closed, dispatching synchronously: {}", event);
+            }
+        }
+
+        notifyListeners(event, listeners);
+    }
+
     /**
      * Returns the number of listeners subscribed to events of the specified type.
      *
@@ -206,20 +253,102 @@ public final class EventDispatcher {
      * @return the number of subscribed listeners
      */
     public int getListenerCount(Class<?> eventType) {
-        return lockTemplate.withTryLock(
-                () -> {
-                    Set<EventListener<?>> listeners = eventListeners.get(eventType);
-                    return listeners != null ? listeners.size() : 0;
-                });
+        return getListeners(eventType).length;
     }
 
     /** Removes all listeners for all event types. */
     public void clear() {
-        lockTemplate.withTryLock(
-                () -> {
-                    eventListeners.clear();
-                    logger.debug("Cleared all event listeners");
-                    return null;
-                });
+        eventListeners.clear();
+        logger.debug("Cleared all event listeners");
+    }
+
+    /**
+     * Waits until the events dispatched asynchronously have been delivered, and stops the dispatch
+     * thread. Events dispatched afterwards are delivered synchronously. Calling this method
+     * multiple times has no additional effect.
+     */
+    @Override
+    public void close() {
+        ExecutorService executor;
+        synchronized (asyncExecutorLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            executor = asyncExecutor;
+        }
+
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                List<Runnable> undelivered = executor.shutdownNow();
+                logger.warn(
+                        "{} asynchronous event(s) not delivered within {} seconds",
+                        undelivered.size(),
+                        CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private EventListener<?>[] getListeners(Class<?> eventType) {
+        EventListener<?>[] listeners = eventListeners.get(eventType);
+        return listeners != null ? listeners : NO_LISTENERS;
+    }
+
+    private ExecutorService getAsyncExecutor() {
+        synchronized (asyncExecutorLock) {
+            if (asyncExecutor == null && !closed) {
+                asyncExecutor =
+                        Executors.newSingleThreadExecutor(
+                                runnable -> {
+                                    Thread thread =
+                                            new Thread(runnable, "totalschema-event-dispatcher");
+                                    thread.setDaemon(true);
+                                    return thread;
+                                });
+            }
+            return asyncExecutor;
+        }
+    }
+
+    private static <E extends Event> List<Exception> notifyListeners(
+            E event, EventListener<?>[] listeners) {
+
+        Class<?> eventType = event.getClass();
+
+        List<Exception> caughtExceptions = new ArrayList<>(0);
+
+        for (EventListener<?> listener : listeners) {
+            @SuppressWarnings("unchecked")
+            EventListener<E> typedListener = (EventListener<E>) listener;
+            try {
+                logger.trace("Notifying listener about event: {}", eventType.getName());
+                typedListener.onEvent(event);
+            } catch (RuntimeException exception) {
+                logger.warn(
+                        "Listener threw exception for event type: {}",
+                        eventType.getName(),
+                        exception);
+                caughtExceptions.add(exception);
+            }
+        }
+
+        return caughtExceptions;
+    }
+
+    private static int indexOf(EventListener<?>[] listeners, EventListener<?> listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listener)) {
+                return i;
+            }
+        }
+        return -1;
     }
 }
@@ -25,9 +25,9 @@ package io.github.totalschema.engine.core.event;
  * notifications when events of type {@code E} are dispatched. The type parameter ensures type
  * safety at compile time.
  *
- * <p>Listeners are invoked synchronously on the same thread that dispatches the event. If a
- * listener throws an exception, the dispatcher will still notify all other listeners before
- * propagating the exception.
+ * <p>Listeners are invoked synchronously on the same thread that dispatches the event, unless the
+ * event is dispatched with {@link EventDispatcher#dispatchAsync(Event)}. If a listener throws an
+ * exception, the dispatcher will still notify all other listeners before propagating the exception.
  *
  * <p>Example usage:
  *
@@ -0,0 +1,52 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Event dispatched when the expiration of a database lock already held has been extended.
+ *
+ * @see LockAcquiredEvent
+ */
+public final class LockRenewedEvent extends Event {
+
+    private final String lockId;
+    private final ZonedDateTime expiration;
+
+    public LockRenewedEvent(String lockId, ZonedDateTime expiration) {
+        this.lockId = lockId;
+        this.expiration = expiration;
+    }
+
+    /** Returns the id of the lock holder, unique per change engine. */
+    public String getLockId() {
+        return lockId;
+    }
+
+    /** Returns the new expiration of the lock. */
+    public ZonedDateTime getExpiration() {
+        return expiration;
+    }
+
+    @Override
+    public String toString() {
+        return "LockRenewedEvent{lockId='" + lockId + "', expiration=" + expiration + '}';
+    }
+}
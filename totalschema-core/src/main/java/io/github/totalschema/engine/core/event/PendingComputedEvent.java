@@ -0,0 +1,58 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import io.github.totalschema.model.ApplyFile;
+import java.util.List;
+
+/**
+ * Event dispatched when the pending apply files of an apply run have been determined, before their
+ * connectors are initialized. Its pending files are the ones a progress display counts down.
+ *
+ * @see DiscoveryCompletedEvent
+ */
+public final class PendingComputedEvent extends Event {
+
+    private final List<ApplyFile> applyFiles;
+    private final List<ApplyFile> pendingApplyFiles;
+
+    public PendingComputedEvent(List<ApplyFile> applyFiles, List<ApplyFile> pendingApplyFiles) {
+        this.applyFiles = List.copyOf(applyFiles);
+        this.pendingApplyFiles = List.copyOf(pendingApplyFiles);
+    }
+
+    /** Returns all apply files matching the selector of the run. */
+    public List<ApplyFile> getApplyFiles() {
+        return applyFiles;
+    }
+
+    /** Returns the apply files that will be executed, in execution order. */
+    public List<ApplyFile> getPendingApplyFiles() {
+        return pendingApplyFiles;
+    }
+
+    @Override
+    public String toString() {
+        return "PendingComputedEvent{applyFiles="
+                + applyFiles.size()
+                + ", pendingApplyFiles="
+                + pendingApplyFiles.size()
+                + '}';
+    }
+}
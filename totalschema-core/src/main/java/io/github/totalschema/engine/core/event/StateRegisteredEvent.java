@@ -0,0 +1,47 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.event;
+
+import io.github.totalschema.model.ChangeFile;
+
+/**
+ * Event dispatched when the completion of a change has been registered in state: a state record has
+ * been saved for an {@link io.github.totalschema.model.ApplyFile}, or deleted for a {@link
+ * io.github.totalschema.model.RevertFile}.
+ */
+public final class StateRegisteredEvent extends Event {
+
+    private final ChangeFile changeFile;
+
+    public StateRegisteredEvent(ChangeFile changeFile) {
+        this.changeFile = changeFile;
+    }
+
+    /** Returns the apply or revert file whose completion has been registered. */
+    public ChangeFile getChangeFile() {
+        return changeFile;
+    }
+
+    @Override
+    public String toString() {
+        return "StateRegisteredEvent{changeFile="
+                + changeFile.getId().toStringRepresentation()
+                + '}';
+    }
+}
@@ -25,6 +25,10 @@ import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.model.ChangeFile;
 import io.github.totalschema.spi.change.ChangeExecutionException;
 import io.github.totalschema.spi.change.ChangeService;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
+import java.time.Duration;
 
 /**
  * Default implementation of ChangeService that routes changes to appropriate connectors. Validates
@@ -48,6 +52,14 @@ final class DefaultChangeService implements ChangeService {
 
         requireMatchingEnvironment(changeFile, thisEnvironmentName);
 
+        MetricsCollector metricsCollector = MetricsCollector.from(context);
+
+        Span span = Tracer.from(context).startSpan(changeFile.getId().toStringRepresentation());
+        span.setAttribute("totalschema.connector", changeFile.getConnector());
+        span.setAttribute("totalschema.change_type", String.valueOf(changeFile.getChangeType()));
+
+        long start = System.nanoTime();
+        boolean successful = false;
         try {
 
             String changeFileConnector = changeFile.getConnector();
@@ -56,6 +68,8 @@ final class DefaultChangeService implements ChangeService {
 
             connector.execute(changeFile, context);
 
+            successful = true;
+
         } catch (RuntimeException ex) {
             throw new ChangeExecutionException(
                     changeFile,
@@ -63,6 +77,10 @@ final class DefaultChangeService implements ChangeService {
                             "Change execution failed for '%s': %s",
                             changeFile.getRelativePath(), ex.getMessage()),
                     ex);
+        } finally {
+            metricsCollector.changeFileExecuted(
+                    changeFile.getId(), Duration.ofNanos(System.nanoTime() - start), successful);
+            span.end(successful);
         }
     }
 
@@ -0,0 +1,539 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.changefile;
+
+import io.github.totalschema.engine.internal.changefile.labels.ChangeFileLabels;
+import io.github.totalschema.engine.internal.changefile.labels.ChangeFileLabelsCascade;
+import io.github.totalschema.engine.internal.changefile.labels.LabelInheritanceMode;
+import io.github.totalschema.jfr.ChangeFileDiscoveryEvent;
+import io.github.totalschema.model.ApplyFile;
+import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.model.ChangeType;
+import io.github.totalschema.model.RevertFile;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable result of the discovery of all change files under a changes directory, independent of
+ * any environment.
+ *
+ * <p>The directory tree is walked once: every change file is parsed and its effective labels are
+ * resolved, whichever environment it is for. The files are kept in their execution order, i.e.
+ * breadth-first by directory and by order within a directory; revert files in the reverse order.
+ * {@link #forEnvironment(String)} returns the cheap per-environment {@link View} commands work
+ * with, so that one snapshot can serve every environment of a multi-environment apply or of a
+ * long-running daemon.
+ *
+ * <p>The snapshot remembers the modification time of every directory walked and of the ignore and
+ * label files in them; {@link #isUpToDate()} tells whether it still reflects the file system.
+ * Changing the content of a change file does not change the snapshot, as it only holds the paths.
+ */
+public final class ChangeFileSnapshot {
+
+    private static final class DefaultValues {
+        private DefaultValues() {
+            throw new AssertionError("static constant class, no instances allowed");
+        }
+
+        /**
+         * Modification times this close to the start of the discovery are not trusted, since a
+         * change made in the same time slice of the file system would not alter them.
+         */
+        private static final long RACY_INTERVAL_MILLIS = 2000;
+    }
+
+    private static final Comparator<Path> DIRECTORY_COMPARATOR =
+            new Comparator<>() {
+
+                @Override
+                public int compare(Path leftPath, Path rightPath) {
+
+                    Path leftFileNamePath = leftPath.getFileName();
+                    Path rightFileNamePath = rightPath.getFileName();
+
+                    if (leftFileNamePath == null || rightFileNamePath == null) {
+                        if (leftFileNamePath == null && rightFileNamePath == null) {
+                            return 0;
+                        }
+                        return leftFileNamePath == null ? -1 : 1;
+                    }
+
+                    String leftFileName = leftFileNamePath.toString();
+                    String rightFileName = rightFileNamePath.toString();
+
+                    if (leftFileName.matches(".*\\d.*") && rightFileName.matches(".*\\d.*")) {
+
+                        return Long.compare(
+                                getDirectoryOrder(leftFileName), getDirectoryOrder(rightFileName));
+
+                    } else {
+                        return leftFileName.compareTo(rightFileName);
+                    }
+                }
+
+                private long getDirectoryOrder(String directoryName) {
+                    List<Integer> versionNumberParts =
+                            Stream.of(directoryName.split("\\D"))
+                                    .filter(Predicate.not(String::isEmpty))
+                                    .filter(Predicate.not(String::isBlank))
+                                    .map(
+                                            it -> {
+                                                try {
+                                                    return Integer.parseInt(it);
+                                                } catch (NumberFormatException nfe) {
+                                                    throw new RuntimeException(
+                                                            String.format(
+                                                                    "Could not parse number [%s] part in %s",
+                                                                    it, directoryName));
+                                                }
+                                            })
+                                    .collect(Collectors.toList());
+
+                    long accumulator = 0;
+
+                    int partNumber = versionNumberParts.size();
+
+                    final int offset = 10;
+
+                    for (int i = 0; i < partNumber; i++) {
+
+                        int partIndex = partNumber - 1 - i;
+                        int digit = versionNumberParts.get(partIndex);
+
+                        long multiplier = (long) Math.pow(10, offset - i);
+
+                        accumulator += multiplier * digit;
+                    }
+
+                    return accumulator;
+                }
+            };
+
+    private final Path rootDirectory;
+    private final ChangeFileFactory changeFileFactory;
+    private final LabelInheritanceMode inheritanceMode;
+
+    private final List<ApplyFile> applyFiles;
+    private final List<RevertFile> revertFiles;
+    private final List<Stamp> stamps;
+
+    private final View allEnvironmentsView;
+    private final ConcurrentMap<String, View> environmentViews = new ConcurrentHashMap<>();
+
+    private ChangeFileSnapshot(
+            Path rootDirectory,
+            ChangeFileFactory changeFileFactory,
+            LabelInheritanceMode inheritanceMode,
+            List<ApplyFile> applyFiles,
+            List<RevertFile> revertFiles,
+            List<Stamp> stamps) {
+
+        this.rootDirectory = rootDirectory;
+        this.changeFileFactory = changeFileFactory;
+        this.inheritanceMode = inheritanceMode;
+        this.applyFiles = Collections.unmodifiableList(applyFiles);
+        this.revertFiles = Collections.unmodifiableList(revertFiles);
+        this.stamps = Collections.unmodifiableList(stamps);
+
+        this.allEnvironmentsView = new View(null, this.applyFiles, this.revertFiles);
+    }
+
+    /**
+     * Walks the given changes directory and collects all change files found in it.
+     *
+     * @param rootDirectory the changes directory; must exist
+     * @param changeFileFactory the factory parsing the change file names
+     * @param inheritanceMode the mode used to resolve the labels inherited from parent directories
+     * @return the snapshot of the change files
+     * @throws UncheckedIOException if the directory tree could not be read
+     */
+    public static ChangeFileSnapshot discover(
+            Path rootDirectory,
+            ChangeFileFactory changeFileFactory,
+            LabelInheritanceMode inheritanceMode) {
+
+        Objects.requireNonNull(rootDirectory, "rootDirectory must not be null");
+        Objects.requireNonNull(changeFileFactory, "changeFileFactory must not be null");
+        Objects.requireNonNull(inheritanceMode, "inheritanceMode must not be null");
+
+        long discoveryStartMillis = System.currentTimeMillis();
+
+        try {
+            List<ApplyFile> applyFiles = new ArrayList<>();
+            List<Stamp> stamps = new ArrayList<>();
+            Map<Path, DirectoryNode> nodes = new LinkedHashMap<>();
+
+            ChangeFileIgnorePatterns rootIgnorePatterns =
+                    ChangeFileIgnorePatterns.load(rootDirectory);
+
+            // Each deque entry pairs a directory with its accumulated label cascade
+            Deque<DirectoryEntry> directoriesToVisit = new ArrayDeque<>();
+            directoriesToVisit.add(
+                    new DirectoryEntry(
+                            rootDirectory,
+                            ChangeFileLabelsCascade.empty()
+                                    .withDirectory(rootDirectory, inheritanceMode)));
+
+            while (!directoriesToVisit.isEmpty()) {
+                DirectoryEntry entry = directoriesToVisit.poll();
+                Path directory = entry.directory;
+
+                ChangeFileDiscoveryEvent discoveryEvent = new ChangeFileDiscoveryEvent();
+                discoveryEvent.begin();
+
+                // the stamps are taken before reading, so that a concurrent change is detected
+                stamps.add(Stamp.of(directory, discoveryStartMillis));
+                stamps.add(
+                        Stamp.of(
+                                directory.resolve(ChangeFileIgnorePatterns.IGNORE_FILE_NAME),
+                                discoveryStartMillis));
+                stamps.add(
+                        Stamp.of(
+                                directory.resolve(ChangeFileLabels.LABEL_FILE_NAME),
+                                discoveryStartMillis));
+
+                // Load per-directory ignore file and combine with root patterns.
+                // When visiting the root itself we skip loading to avoid applying
+                // root patterns twice (they are already in rootIgnorePatterns).
+                ChangeFileIgnorePatterns ignorePatterns =
+                        directory.equals(rootDirectory)
+                                ? rootIgnorePatterns
+                                : rootIgnorePatterns.combine(
+                                        ChangeFileIgnorePatterns.load(directory));
+
+                List<Path> subDirectories = new ArrayList<>();
+                List<Path> files = new ArrayList<>();
+                try (Stream<Path> directoryContents = Files.list(directory)) {
+                    directoryContents.forEach(
+                            path -> {
+                                Path relativePath = rootDirectory.relativize(path);
+                                if (Files.isDirectory(path)) {
+                                    if (!ignorePatterns.isIgnoredDirectory(relativePath)) {
+                                        subDirectories.add(path);
+                                    }
+                                } else if (Files.isRegularFile(path)
+                                        && !ignorePatterns.isIgnoredFile(relativePath)) {
+                                    files.add(path);
+                                }
+                            });
+                }
+
+                // Load labels for this directory once, then build child cascades
+                ChangeFileLabels directoryLabels = ChangeFileLabels.load(directory);
+
+                List<Path> sortedSubDirectories = new ArrayList<>(subDirectories);
+                sortedSubDirectories.sort(DIRECTORY_COMPARATOR);
+                for (Path subDirectory : sortedSubDirectories) {
+                    ChangeFileLabelsCascade childCascade =
+                            entry.cascade
+                                    .withDirectory(directoryLabels, inheritanceMode)
+                                    .withDirectory(subDirectory, inheritanceMode);
+                    directoriesToVisit.add(new DirectoryEntry(subDirectory, childCascade));
+                }
+
+                List<ApplyFile> directoryApplyFiles = new ArrayList<>();
+                List<RevertFile> directoryRevertFiles = new ArrayList<>();
+                for (Path file : files) {
+                    ChangeType changeType =
+                            changeFileFactory
+                                    .getIdFromPath(rootDirectory.relativize(file))
+                                    .getChangeType();
+
+                    Map<String, List<String>> effectiveLabels =
+                            entry.cascade.resolve(directoryLabels, file);
+
+                    if (changeType == ChangeType.REVERT) {
+                        directoryRevertFiles.add(
+                                changeFileFactory
+                                        .getRevertFile(rootDirectory, file)
+                                        .withEffectiveLabels(effectiveLabels));
+                    } else {
+                        directoryApplyFiles.add(
+                                changeFileFactory
+                                        .getApplyFile(rootDirectory, file)
+                                        .withEffectiveLabels(effectiveLabels));
+                    }
+                }
+
+                directoryApplyFiles.sort(Comparator.comparing(ChangeFile::getOrder));
+                applyFiles.addAll(directoryApplyFiles);
+
+                List<Path> reverseSortedSubDirectories = new ArrayList<>(subDirectories);
+                reverseSortedSubDirectories.sort(DIRECTORY_COMPARATOR.reversed());
+                directoryRevertFiles.sort(
+                        Comparator.comparing(ChangeFile::getOrder, Comparator.reverseOrder()));
+                nodes.put(
+                        directory,
+                        new DirectoryNode(reverseSortedSubDirectories, directoryRevertFiles));
+
+                discoveryEvent.complete(
+                        directory,
+                        directoryApplyFiles.size() + directoryRevertFiles.size(),
+                        subDirectories.size());
+            }
+
+            return new ChangeFileSnapshot(
+                    rootDirectory,
+                    changeFileFactory,
+                    inheritanceMode,
+                    applyFiles,
+                    getRevertFiles(rootDirectory, nodes),
+                    stamps);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Collects the revert files breadth-first, visiting the subdirectories in reverse order. */
+    private static List<RevertFile> getRevertFiles(
+            Path rootDirectory, Map<Path, DirectoryNode> nodes) {
+
+        List<RevertFile> revertFiles = new ArrayList<>();
+
+        Deque<Path> directoriesToVisit = new ArrayDeque<>();
+        directoriesToVisit.add(rootDirectory);
+        while (!directoriesToVisit.isEmpty()) {
+            DirectoryNode node = nodes.get(directoriesToVisit.poll());
+            revertFiles.addAll(node.revertFiles);
+            directoriesToVisit.addAll(node.reverseSortedSubDirectories);
+        }
+
+        return revertFiles;
+    }
+
+    /**
+     * Tells whether this snapshot was discovered with the given parameters and no directory walked,
+     * ignore file or label file has changed since.
+     *
+     * @param rootDirectory the changes directory
+     * @param changeFileFactory the factory parsing the change file names
+     * @param inheritanceMode the mode used to resolve the inherited labels
+     * @return {@code true} if the snapshot can be used instead of discovering the files again
+     */
+    public boolean isUpToDate(
+            Path rootDirectory,
+            ChangeFileFactory changeFileFactory,
+            LabelInheritanceMode inheritanceMode) {
+
+        return this.rootDirectory.equals(rootDirectory)
+                && Objects.equals(
+                        this.changeFileFactory.getChangeFileNameMaxLength(),
+                        changeFileFactory.getChangeFileNameMaxLength())
+                && this.inheritanceMode == inheritanceMode
+                && isUpToDate();
+    }
+
+    /**
+     * Tells whether no directory walked, ignore file or label file has changed since the discovery.
+     *
+     * @return {@code true} if the snapshot still reflects the file system
+     */
+    public boolean isUpToDate() {
+        return stamps.stream().allMatch(Stamp::isCurrent);
+    }
+
+    /**
+     * @return the changes directory the files were discovered in
+     */
+    public Path getRootDirectory() {
+        return rootDirectory;
+    }
+
+    /**
+     * @return all apply files, in the order they are applied
+     */
+    public List<ApplyFile> getApplyFiles() {
+        return applyFiles;
+    }
+
+    /**
+     * @return all revert files, in the order they are reverted
+     */
+    public List<RevertFile> getRevertFiles() {
+        return revertFiles;
+    }
+
+    /**
+     * Returns the change files applicable to the given environment: the ones specific to it and the
+     * ones not specific to any environment. Views are cached, so repeated calls are cheap.
+     *
+     * @param environmentName the name of the environment, matched ignoring case; {@code null} for
+     *     the files of all environments
+     * @return the view of the snapshot for the environment
+     */
+    public View forEnvironment(String environmentName) {
+        if (environmentName == null) {
+            return allEnvironmentsView;
+        }
+
+        return environmentViews.computeIfAbsent(
+                environmentName.toUpperCase(Locale.ROOT),
+                key -> {
+                    Predicate<ChangeFile> applicable =
+                            changeFile -> changeFile.isForEnvironment(environmentName);
+                    return new View(
+                            environmentName,
+                            filter(applyFiles, applicable),
+                            filter(revertFiles, applicable));
+                });
+    }
+
+    private static <T extends ChangeFile> List<T> filter(
+            List<T> changeFiles, Predicate<ChangeFile> predicate) {
+        return changeFiles.stream().filter(predicate).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeFileSnapshot{"
+                + "rootDirectory="
+                + rootDirectory
+                + ", applyFiles="
+                + applyFiles.size()
+                + ", revertFiles="
+                + revertFiles.size()
+                + '}';
+    }
+
+    /** The change files of a {@link ChangeFileSnapshot} applicable to one environment. */
+    public static final class View {
+
+        private final String environmentName;
+        private final List<ApplyFile> applyFiles;
+        private final List<RevertFile> revertFiles;
+
+        private View(
+                String environmentName, List<ApplyFile> applyFiles, List<RevertFile> revertFiles) {
+            this.environmentName = environmentName;
+            this.applyFiles = Collections.unmodifiableList(applyFiles);
+            this.revertFiles = Collections.unmodifiableList(revertFiles);
+        }
+
+        /**
+         * @return the name of the environment, or {@code null} if the view covers all environments
+         */
+        public String getEnvironmentName() {
+            return environmentName;
+        }
+
+        /**
+         * @return the apply files of the environment, in the order they are applied
+         */
+        public List<ApplyFile> getApplyFiles() {
+            return applyFiles;
+        }
+
+        /**
+         * @return the revert files of the environment, in the order they are reverted
+         */
+        public List<RevertFile> getRevertFiles() {
+            return revertFiles;
+        }
+    }
+
+    /** Pairs a directory path with its accumulated label cascade. */
+    private static final class DirectoryEntry {
+        final Path directory;
+        final ChangeFileLabelsCascade cascade;
+
+        DirectoryEntry(Path directory, ChangeFileLabelsCascade cascade) {
+            this.directory = directory;
+            this.cascade = cascade;
+        }
+    }
+
+    /** What the revert order needs to know about a directory walked. */
+    private static final class DirectoryNode {
+        final List<Path> reverseSortedSubDirectories;
+        final List<RevertFile> revertFiles;
+
+        DirectoryNode(List<Path> reverseSortedSubDirectories, List<RevertFile> revertFiles) {
+            this.reverseSortedSubDirectories = reverseSortedSubDirectories;
+            this.revertFiles = revertFiles;
+        }
+    }
+
+    /** The modification time and size of a path, or its absence, at discovery time. */
+    private static final class Stamp {
+
+        final Path path;
+        final BasicFileAttributes attributes;
+        final boolean trusted;
+
+        private Stamp(Path path, BasicFileAttributes attributes, boolean trusted) {
+            this.path = path;
+            this.attributes = attributes;
+            this.trusted = trusted;
+        }
+
+        static Stamp of(Path path, long discoveryStartMillis) {
+            BasicFileAttributes attributes = readAttributes(path);
+            boolean trusted =
+                    attributes == null
+                            || attributes.lastModifiedTime().toMillis()
+                                    < discoveryStartMillis - DefaultValues.RACY_INTERVAL_MILLIS;
+            return new Stamp(path, attributes, trusted);
+        }
+
+        boolean isCurrent() {
+            if (!trusted) {
+                return false;
+            }
+
+            BasicFileAttributes currentAttributes = readAttributes(path);
+            if (attributes == null || currentAttributes == null) {
+                return attributes == currentAttributes;
+            }
+
+            return attributes.lastModifiedTime().equals(currentAttributes.lastModifiedTime())
+                    && attributes.size() == currentAttributes.size()
+                    && attributes.isDirectory() == currentAttributes.isDirectory();
+        }
+
+        private static BasicFileAttributes readAttributes(Path path) {
+            try {
+                return Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.changefile;
+
+import io.github.totalschema.engine.internal.changefile.labels.LabelInheritanceMode;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link ChangeFileSnapshot} of the most recently used changes directories, so that the
+ * change engines of a process, e.g. the ones of a daemon or of a multi-environment apply, share the
+ * discovery of the change files instead of walking the directory tree for every command.
+ *
+ * <p>A snapshot is only returned while {@link ChangeFileSnapshot#isUpToDate()} confirms that no
+ * directory, ignore file or label file has changed; otherwise the files are discovered again.
+ */
+public final class ChangeFileSnapshotCache {
+
+    private static final class DefaultValues {
+        private DefaultValues() {
+            throw new AssertionError("static constant class, no instances allowed");
+        }
+
+        private static final int MAXIMUM_SIZE = 16;
+    }
+
+    private static final ChangeFileSnapshotCache INSTANCE =
+            new ChangeFileSnapshotCache(DefaultValues.MAXIMUM_SIZE);
+
+    private final Logger logger = LoggerFactory.getLogger(ChangeFileSnapshotCache.class);
+
+    private final Map<Path, ChangeFileSnapshot> snapshots;
+
+    /**
+     * @return the cache shared by all change engines of the process
+     */
+    public static ChangeFileSnapshotCache getInstance() {
+        return INSTANCE;
+    }
+
+    ChangeFileSnapshotCache(int maximumSize) {
+        this.snapshots = new LeastRecentlyUsedMap(maximumSize);
+    }
+
+    /**
+     * Returns the snapshot of the given changes directory, discovering the change files only if
+     * there is no up-to-date snapshot discovered with the same parameters.
+     *
+     * @param rootDirectory the changes directory; must exist
+     * @param changeFileFactory the factory parsing the change file names
+     * @param inheritanceMode the mode used to resolve the labels inherited from parent directories
+     * @return the snapshot of the change files
+     */
+    public synchronized ChangeFileSnapshot get(
+            Path rootDirectory,
+            ChangeFileFactory changeFileFactory,
+            LabelInheritanceMode inheritanceMode) {
+
+        ChangeFileSnapshot snapshot = snapshots.get(rootDirectory);
+        if (snapshot != null
+                && snapshot.isUpToDate(rootDirectory, changeFileFactory, inheritanceMode)) {
+            logger.debug("Reusing the change files discovered in {}", rootDirectory);
+            return snapshot;
+        }
+
+        snapshot = ChangeFileSnapshot.discover(rootDirectory, changeFileFactory, inheritanceMode);
+        snapshots.put(rootDirectory, snapshot);
+
+        return snapshot;
+    }
+
+    /** Discards all snapshots, so that the change files are discovered again. */
+    public synchronized void clear() {
+        snapshots.clear();
+    }
+
+    private static final class LeastRecentlyUsedMap
+            extends LinkedHashMap<Path, ChangeFileSnapshot> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maximumSize;
+
+        LeastRecentlyUsedMap(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, ChangeFileSnapshot> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
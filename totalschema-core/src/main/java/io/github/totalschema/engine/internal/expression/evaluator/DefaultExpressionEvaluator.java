@@ -19,9 +19,12 @@
 package io.github.totalschema.engine.internal.expression.evaluator;
 
 import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.MapConfiguration;
 import io.github.totalschema.spi.expression.evaluator.ExpressionEvaluator;
 import io.github.totalschema.spi.lookup.ExpressionLookup;
+import java.io.Reader;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -45,8 +48,54 @@ final class DefaultExpressionEvaluator implements ExpressionEvaluator {
         }
     }
 
+    /**
+     * A {@link StringSubstitutor} bound to a specific set of values. The source (the values map or
+     * the configuration they were taken from) is compared by identity, as callers typically
+     * evaluate many expressions against the very same values.
+     */
+    private static final class BoundSubstitutor {
+
+        private final Object source;
+        private final Map<String, String> values;
+        private final StringSubstitutor substitutor;
+
+        private BoundSubstitutor(
+                Object source, Map<String, String> values, StringSubstitutor substitutor) {
+            this.source = source;
+            this.values = values;
+            this.substitutor = substitutor;
+        }
+    }
+
+    private static final class DefaultValues {
+        private static final int MAX_CACHED_TEMPLATES = 1024;
+        private static final int MAX_CACHED_TEMPLATE_LENGTH = 4096;
+        private static final int STREAM_CHUNK_SIZE = 8192;
+        private static final int STREAM_MAX_LOOK_AHEAD = 64 * 1024;
+    }
+
     private final Map<String, StringLookup> stringLookups;
 
+    /** Least recently used cache of compiled templates, keyed by the expression text. */
+    private static final class TemplateCache extends LinkedHashMap<String, ExpressionTemplate> {
+
+        private static final long serialVersionUID = 1L;
+
+        private TemplateCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ExpressionTemplate> eldest) {
+            return size() > DefaultValues.MAX_CACHED_TEMPLATES;
+        }
+    }
+
+    private final Map<String, ExpressionTemplate> templateCache =
+            Collections.synchronizedMap(new TemplateCache());
+
+    private volatile BoundSubstitutor lastSubstitutor;
+
     DefaultExpressionEvaluator(List<ExpressionLookup> lookups) {
         stringLookups =
                 lookups.stream()
@@ -58,32 +107,108 @@ final class DefaultExpressionEvaluator implements ExpressionEvaluator {
     @Override
     public String evaluate(String expressionString, Configuration variablesConfiguration) {
 
-        Map<String, String> valuesMap =
-                variablesConfiguration.asMap().orElse(Collections.emptyMap());
+        ExpressionTemplate template = getTemplate(expressionString);
+        if (template == null || !template.hasPlaceholders()) {
+            return expressionString;
+        }
+
+        BoundSubstitutor boundSubstitutor = lastSubstitutor;
+        if (boundSubstitutor == null || boundSubstitutor.source != variablesConfiguration) {
+            Map<String, String> valuesMap =
+                    variablesConfiguration.asMap().orElse(Collections.emptyMap());
+
+            // only immutable configurations can be recognised by identity later on
+            Object source =
+                    variablesConfiguration instanceof MapConfiguration
+                            ? variablesConfiguration
+                            : valuesMap;
 
-        return evaluate(expressionString, valuesMap);
+            boundSubstitutor = bindSubstitutor(source, valuesMap);
+        }
+
+        return render(expressionString, template, boundSubstitutor);
     }
 
     @Override
     public String evaluate(String expressionString, Map<String, String> values) {
 
-        try {
-            StringLookupFactory stringLookupFactory = StringLookupFactory.INSTANCE;
+        ExpressionTemplate template = getTemplate(expressionString);
+        if (template == null || !template.hasPlaceholders()) {
+            return expressionString;
+        }
+
+        BoundSubstitutor boundSubstitutor = lastSubstitutor;
+        if (boundSubstitutor == null || boundSubstitutor.source != values) {
+            boundSubstitutor = bindSubstitutor(values, values);
+        }
+
+        return render(expressionString, template, boundSubstitutor);
+    }
+
+    @Override
+    public Reader evaluatingReader(Reader expression, Map<String, String> values) {
+
+        BoundSubstitutor boundSubstitutor = lastSubstitutor;
+        if (boundSubstitutor == null || boundSubstitutor.source != values) {
+            boundSubstitutor = bindSubstitutor(values, values);
+        }
+
+        BoundSubstitutor substitutor = boundSubstitutor;
+
+        return new ExpressionEvaluatingReader(
+                expression,
+                template -> render(template.getExpression(), template, substitutor),
+                DefaultValues.STREAM_CHUNK_SIZE,
+                DefaultValues.STREAM_MAX_LOOK_AHEAD);
+    }
 
-            StringLookup variableResolver =
-                    stringLookupFactory.interpolatorStringLookup(
-                            stringLookups, stringLookupFactory.mapStringLookup(values), true);
+    private ExpressionTemplate getTemplate(String expressionString) {
+        if (expressionString == null) {
+            return null;
+        }
 
-            StringSubstitutor stringSubstitutor =
-                    new StringSubstitutor(variableResolver, "${", "}", '$')
-                            .setEnableSubstitutionInVariables(true);
+        if (expressionString.length() > DefaultValues.MAX_CACHED_TEMPLATE_LENGTH) {
+            // large inputs (e.g. whole scripts) are rarely evaluated twice: do not retain them
+            return ExpressionTemplate.compile(expressionString);
+        }
 
-            return stringSubstitutor.replace(expressionString);
+        ExpressionTemplate template = templateCache.get(expressionString);
+        if (template == null) {
+            template = ExpressionTemplate.compile(expressionString);
+            templateCache.put(expressionString, template);
+        }
+
+        return template;
+    }
+
+    private BoundSubstitutor bindSubstitutor(Object source, Map<String, String> values) {
+        StringLookupFactory stringLookupFactory = StringLookupFactory.INSTANCE;
+
+        StringLookup variableResolver =
+                stringLookupFactory.interpolatorStringLookup(
+                        stringLookups, stringLookupFactory.mapStringLookup(values), true);
+
+        StringSubstitutor stringSubstitutor =
+                new StringSubstitutor(variableResolver, "${", "}", '$')
+                        .setEnableSubstitutionInVariables(true);
+
+        BoundSubstitutor boundSubstitutor = new BoundSubstitutor(source, values, stringSubstitutor);
+        lastSubstitutor = boundSubstitutor;
+
+        return boundSubstitutor;
+    }
+
+    private static String render(
+            String expressionString,
+            ExpressionTemplate template,
+            BoundSubstitutor boundSubstitutor) {
+        try {
+            return template.render(boundSubstitutor.substitutor::replace);
         } catch (RuntimeException e) {
             throw new RuntimeException(
                     String.format(
                             "Failed to evaluate expression: '%s' with values: %s",
-                            expressionString, values),
+                            expressionString, boundSubstitutor.values),
                     e);
         }
     }
@@ -0,0 +1,135 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.expression.evaluator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link Reader} that evaluates the expressions of the underlying character stream on the fly.
+ *
+ * <p>The source is consumed in chunks; literal text is passed on as soon as it has been read, while
+ * a placeholder is held back until its closing brace arrives. The look-ahead is bounded: a
+ * placeholder that is still not closed after {@code maxLookAhead} characters is treated as
+ * unterminated and passed on as text.
+ */
+final class ExpressionEvaluatingReader extends Reader {
+
+    private final Reader source;
+    private final Function<ExpressionTemplate, String> renderer;
+    private final int maxLookAhead;
+
+    private final char[] readBuffer;
+    private final StringBuilder pending = new StringBuilder();
+
+    private String rendered = "";
+    private int renderedPosition;
+    private boolean sourceExhausted;
+
+    /**
+     * @param source the character stream containing the expressions
+     * @param renderer renders a compiled chunk of the source
+     * @param chunkSize the number of characters to read from {@code source} at once
+     * @param maxLookAhead the maximum number of characters held back waiting for a placeholder to
+     *     be closed
+     */
+    ExpressionEvaluatingReader(
+            Reader source,
+            Function<ExpressionTemplate, String> renderer,
+            int chunkSize,
+            int maxLookAhead) {
+        this.source = Objects.requireNonNull(source, "source is null");
+        this.renderer = Objects.requireNonNull(renderer, "renderer is null");
+        this.readBuffer = new char[chunkSize];
+        this.maxLookAhead = maxLookAhead;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        if (len == 0) {
+            return 0;
+        }
+
+        while (renderedPosition == rendered.length()) {
+            if (!renderNextChunk()) {
+                return -1;
+            }
+        }
+
+        int count = Math.min(len, rendered.length() - renderedPosition);
+        rendered.getChars(renderedPosition, renderedPosition + count, cbuf, off);
+        renderedPosition += count;
+
+        return count;
+    }
+
+    /**
+     * Reads from the source until a chunk can be rendered.
+     *
+     * @return {@code false} if the source is exhausted and everything has been rendered
+     */
+    private boolean renderNextChunk() throws IOException {
+
+        while (true) {
+            if (!sourceExhausted) {
+                int count = source.read(readBuffer, 0, readBuffer.length);
+                if (count < 0) {
+                    sourceExhausted = true;
+                } else {
+                    pending.append(readBuffer, 0, count);
+                }
+            }
+
+            if (pending.length() == 0) {
+                if (sourceExhausted) {
+                    return false;
+                }
+                continue;
+            }
+
+            String text = pending.toString();
+
+            int completeLength;
+            if (sourceExhausted || text.length() > maxLookAhead) {
+                completeLength = text.length();
+            } else {
+                completeLength = ExpressionTemplate.getCompletePrefixLength(text);
+            }
+
+            if (completeLength > 0) {
+                pending.delete(0, completeLength);
+
+                rendered =
+                        renderer.apply(
+                                ExpressionTemplate.compile(text.substring(0, completeLength)));
+                renderedPosition = 0;
+
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.expression.evaluator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A pre-parsed expression: the literal text between placeholders is kept as-is, while each
+ * top-level placeholder ({@code ${...}}, including nested placeholders, defaults and an optional
+ * {@code $} escape) is kept as a separate segment that is handed to the variable resolver when the
+ * template is rendered.
+ *
+ * <p>Parsing once allows the same expression to be rendered repeatedly without re-scanning its
+ * literal text, and allows expressions without any placeholder to be returned unchanged.
+ */
+final class ExpressionTemplate {
+
+    private static final String PREFIX = "${";
+    private static final char ESCAPE = '$';
+    private static final char SUFFIX = '}';
+
+    /**
+     * Rough per-placeholder allowance used to pre-size the output buffer, so that typical values
+     * fit without re-allocating.
+     */
+    private static final int EXPECTED_VALUE_GROWTH = 16;
+
+    private final String expression;
+
+    /** Alternating segments, starting with a literal: literal, placeholder, literal, ... */
+    private final List<String> segments;
+
+    private ExpressionTemplate(String expression, List<String> segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    static ExpressionTemplate compile(String expression) {
+
+        int placeholderStart = expression.indexOf(PREFIX);
+        if (placeholderStart < 0) {
+            return new ExpressionTemplate(expression, Collections.emptyList());
+        }
+
+        List<String> segments = new ArrayList<>();
+        int literalStart = 0;
+
+        while (placeholderStart >= 0) {
+            int segmentStart =
+                    placeholderStart > literalStart
+                                    && expression.charAt(placeholderStart - 1) == ESCAPE
+                            ? placeholderStart - 1
+                            : placeholderStart;
+
+            int segmentEnd = findPlaceholderEnd(expression, placeholderStart);
+            if (segmentEnd < 0) {
+                segmentEnd = expression.length();
+            }
+
+            segments.add(expression.substring(literalStart, segmentStart));
+            segments.add(expression.substring(segmentStart, segmentEnd));
+
+            literalStart = segmentEnd;
+            placeholderStart = expression.indexOf(PREFIX, literalStart);
+        }
+
+        segments.add(expression.substring(literalStart));
+
+        return new ExpressionTemplate(expression, Collections.unmodifiableList(segments));
+    }
+
+    /**
+     * Returns the index after the suffix that closes the placeholder starting at {@code start},
+     * taking nested placeholders into account; if the placeholder is not closed, returns the end of
+     * the expression.
+     */
+    private static int findPlaceholderEnd(String expression, int start) {
+        int nesting = 0;
+        int position = start + PREFIX.length();
+        int length = expression.length();
+
+        while (position < length) {
+            if (expression.startsWith(PREFIX, position)) {
+                nesting++;
+                position += PREFIX.length();
+            } else if (expression.charAt(position) == SUFFIX) {
+                if (nesting == 0) {
+                    return position + 1;
+                }
+                nesting--;
+                position++;
+            } else {
+                position++;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the length of the longest prefix of {@code text} that can be compiled on its own: a
+     * prefix that neither ends within a placeholder nor ends with a {@code $} that might start or
+     * escape a placeholder continuing beyond the end of {@code text}.
+     *
+     * @param text a chunk of a larger, not yet completely read input
+     * @return the length of the prefix that can be rendered without seeing the rest of the input
+     */
+    static int getCompletePrefixLength(String text) {
+
+        int completeLength = 0;
+        int placeholderStart = text.indexOf(PREFIX);
+
+        while (placeholderStart >= 0) {
+            int segmentStart =
+                    placeholderStart > completeLength && text.charAt(placeholderStart - 1) == ESCAPE
+                            ? placeholderStart - 1
+                            : placeholderStart;
+
+            int segmentEnd = findPlaceholderEnd(text, placeholderStart);
+            if (segmentEnd < 0) {
+                return segmentStart;
+            }
+
+            completeLength = segmentEnd;
+            placeholderStart = text.indexOf(PREFIX, completeLength);
+        }
+
+        int length = text.length();
+        // a trailing "$" might be followed by "{", a trailing "$$" by "{" as an escaped prefix
+        for (int i = 0; i < PREFIX.length() && length > completeLength; i++) {
+            if (text.charAt(length - 1) != ESCAPE) {
+                break;
+            }
+            length--;
+        }
+
+        return length;
+    }
+
+    boolean hasPlaceholders() {
+        return !segments.isEmpty();
+    }
+
+    String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Renders the template in a single pass.
+     *
+     * @param placeholderResolver resolves a single placeholder segment to its substituted text
+     * @return the rendered expression
+     */
+    String render(UnaryOperator<String> placeholderResolver) {
+
+        if (segments.isEmpty()) {
+            return expression;
+        }
+
+        int placeholderCount = segments.size() / 2;
+        StringBuilder result =
+                new StringBuilder(expression.length() + placeholderCount * EXPECTED_VALUE_GROWTH);
+
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (i % 2 == 0) {
+                result.append(segment);
+            } else {
+                result.append(placeholderResolver.apply(segment));
+            }
+        }
+
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ExpressionTemplate{" + "segments=" + segments + '}';
+    }
+}
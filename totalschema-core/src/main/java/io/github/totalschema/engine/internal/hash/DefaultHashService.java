@@ -19,6 +19,7 @@
 package io.github.totalschema.engine.internal.hash;
 
 import io.github.totalschema.config.Configuration;
+import io.github.totalschema.jfr.HashEvent;
 import io.github.totalschema.spi.hash.HashService;
 import io.github.totalschema.util.HexUtil;
 import java.nio.charset.StandardCharsets;
@@ -46,6 +47,9 @@ final class DefaultHashService implements HashService {
     @Override
     public String hashToHexString(String value) {
 
+        HashEvent event = new HashEvent();
+        event.begin();
+
         try {
             MessageDigest digest = MessageDigest.getInstance(algorithm);
 
@@ -53,6 +57,8 @@ final class DefaultHashService implements HashService {
 
             byte[] encodedHash = digest.digest(valueBytes);
 
+            event.complete(algorithm, valueBytes.length);
+
             return HexUtil.encodeToString(encodedHash);
 
         } catch (NoSuchAlgorithmException e) {
@@ -19,6 +19,7 @@
 package io.github.totalschema.engine.internal.lock.database.service;
 
 import io.github.totalschema.engine.internal.lock.database.repository.spi.LockStateRepository;
+import io.github.totalschema.jfr.LockEvent;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.util.Objects;
@@ -61,10 +62,14 @@ final class DatabaseLockOperations {
     boolean tryAcquire(ZonedDateTime expiration) {
         Objects.requireNonNull(expiration, "expiration must not be null");
 
+        LockEvent event = new LockEvent();
+        event.begin();
+        boolean acquired = false;
+
         try {
             logger.trace("Attempting to acquire lock in database: lockId={}", lockId);
 
-            boolean acquired =
+            acquired =
                     lockStateRepository.updateIdAndExpirationIfOwnerIsNullOrExpirationIsReached(
                             lockId, expiration);
 
@@ -82,6 +87,8 @@ final class DatabaseLockOperations {
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Interrupted while acquiring lock", ex);
+        } finally {
+            event.complete(LockEvent.ACQUIRE, lockId, acquired);
         }
     }
 
@@ -94,10 +101,14 @@ final class DatabaseLockOperations {
     void renew(ZonedDateTime expiration) {
         Objects.requireNonNull(expiration, "expiration must not be null");
 
+        LockEvent event = new LockEvent();
+        event.begin();
+        boolean renewed = false;
+
         try {
             logger.info("Renewing lock: lockId={}, newExpiration={}", lockId, expiration);
 
-            boolean renewed = lockStateRepository.updateLockExpiration(lockId, expiration);
+            renewed = lockStateRepository.updateLockExpiration(lockId, expiration);
 
             if (!renewed) {
                 throw new IllegalStateException(
@@ -110,6 +121,8 @@ final class DatabaseLockOperations {
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Interrupted while renewing lock", ex);
+        } finally {
+            event.complete(LockEvent.RENEW, lockId, renewed);
         }
     }
 
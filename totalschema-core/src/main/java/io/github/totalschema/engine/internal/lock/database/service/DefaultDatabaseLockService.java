@@ -20,6 +20,9 @@ package io.github.totalschema.engine.internal.lock.database.service;
 
 import io.github.totalschema.concurrent.LockTemplate;
 import io.github.totalschema.config.Configuration;
+import io.github.totalschema.engine.core.event.EventDispatcher;
+import io.github.totalschema.engine.core.event.LockAcquiredEvent;
+import io.github.totalschema.engine.core.event.LockRenewedEvent;
 import io.github.totalschema.engine.internal.lock.database.repository.spi.LockStateRepository;
 import io.github.totalschema.model.LockRecord;
 import io.github.totalschema.spi.lock.LockService;
@@ -80,6 +83,9 @@ import org.slf4j.LoggerFactory;
  * }
  * }</pre>
  *
+ * <p>Acquiring the lock in the database and renewing it dispatch a {@link LockAcquiredEvent} and a
+ * {@link LockRenewedEvent} respectively, asynchronously.
+ *
  * @see LockService
  * @see LockRenewalPolicy
  * @see DatabaseLockOperations
@@ -104,20 +110,26 @@ public final class DefaultDatabaseLockService implements LockService {
     private final DatabaseLockOperations databaseOperations;
     private final ReentrantLockState lockState;
     private final LockStateRepository lockStateRepository;
+    private final EventDispatcher eventDispatcher;
 
     /**
      * Constructs a database lock service with the specified repository and configuration.
      *
      * @param lockStateRepository the repository for lock state persistence, must not be null
      * @param configuration the configuration containing TTL settings, must not be null
-     * @throws NullPointerException if lockStateRepository or configuration is null
+     * @param eventDispatcher the dispatcher of the lock events, must not be null
+     * @throws NullPointerException if any of the arguments is null
      */
     public DefaultDatabaseLockService(
-            LockStateRepository lockStateRepository, Configuration configuration) {
+            LockStateRepository lockStateRepository,
+            Configuration configuration,
+            EventDispatcher eventDispatcher) {
 
         this.lockStateRepository =
                 Objects.requireNonNull(lockStateRepository, "lockStateRepository must not be null");
         Objects.requireNonNull(configuration, "configuration must not be null");
+        this.eventDispatcher =
+                Objects.requireNonNull(eventDispatcher, "eventDispatcher must not be null");
 
         long timeToLiveTimeout =
                 configuration.getInt("lock.ttl.timeout").orElse(DEFAULT_TTL_TIMEOUT);
@@ -187,6 +199,7 @@ public final class DefaultDatabaseLockService implements LockService {
 
         if (acquired) {
             lockState.acquire(expiration);
+            eventDispatcher.dispatchAsync(new LockAcquiredEvent(lockId, expiration));
         }
 
         return acquired;
@@ -209,6 +222,7 @@ public final class DefaultDatabaseLockService implements LockService {
             ZonedDateTime newExpiration = renewalPolicy.calculateExpiration();
             databaseOperations.renew(newExpiration);
             lockState.updateExpiration(newExpiration);
+            eventDispatcher.dispatchAsync(new LockRenewedEvent(lockId, newExpiration));
         } else {
             logger.trace(
                     "Reentrant lock acquisition without renewal: acquiredCount={}",
@@ -20,6 +20,7 @@ package io.github.totalschema.engine.internal.lock.database.service;
 
 import io.github.totalschema.config.Configuration;
 import io.github.totalschema.engine.api.Context;
+import io.github.totalschema.engine.core.event.EventDispatcher;
 import io.github.totalschema.engine.internal.lock.database.LockingComponentFactory;
 import io.github.totalschema.engine.internal.lock.database.LockingConstants;
 import io.github.totalschema.engine.internal.lock.database.repository.spi.LockStateRepository;
@@ -47,7 +48,7 @@ public class DefaultLockServiceFactory extends LockingComponentFactory<LockServi
 
     @Override
     public List<Class<?>> getDependencies() {
-        return List.of(Configuration.class);
+        return List.of(Configuration.class, EventDispatcher.class);
     }
 
     @Override
@@ -67,6 +68,7 @@ public class DefaultLockServiceFactory extends LockingComponentFactory<LockServi
         Configuration configuration =
                 lockConfig.getPrefixNamespace(DefaultDatabaseLockService.CONFIG_PREFIX);
 
-        return new DefaultDatabaseLockService(lockStateRepository, configuration);
+        return new DefaultDatabaseLockService(
+                lockStateRepository, configuration, context.get(EventDispatcher.class));
     }
 }
@@ -0,0 +1,57 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.metrics;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import io.github.totalschema.spi.metrics.MetricsCollectorFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Default {@link MetricsCollectorFactory}: creates a collector writing a run report when the engine
+ * is closed, if {@code metrics.report.file} is configured, and {@link MetricsCollector#NO_OP}
+ * otherwise.
+ *
+ * <p>The format of the report is configured with {@code metrics.report.format} ({@code json} or
+ * {@code csv}); by default it is CSV for files ending with {@code .csv} and JSON otherwise.
+ */
+public final class DefaultMetricsCollectorFactory implements MetricsCollectorFactory {
+
+    @Override
+    public MetricsCollector getMetricsCollector(Configuration configuration) {
+
+        Configuration reportConfiguration = configuration.getPrefixNamespace("metrics", "report");
+
+        Optional<String> file = reportConfiguration.getString("file");
+        if (file.isEmpty()) {
+            return MetricsCollector.NO_OP;
+        }
+
+        Path reportFile = Paths.get(file.get()).toAbsolutePath();
+
+        RunReportFormat format =
+                reportConfiguration
+                        .getEnumValue(RunReportFormat.class, "format")
+                        .orElseGet(() -> RunReportFormat.forFile(reportFile));
+
+        return new RunReportMetricsCollector(reportFile, format);
+    }
+}
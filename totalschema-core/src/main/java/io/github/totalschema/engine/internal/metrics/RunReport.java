@@ -0,0 +1,163 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/** Snapshot of the metrics collected during a run, written by a {@link RunReportFormat}. */
+final class RunReport {
+
+    static final String RUN = "run";
+    static final String COMMAND = "command";
+    static final String CONNECTOR_CHECK = "connectorCheck";
+    static final String CHANGE_FILE = "changeFile";
+    static final String CHANGE_FILE_GROUP = "changeFileGroup";
+    static final String STATEMENT = "statement";
+    static final String CONNECTION_ACQUIRE = "connectionAcquire";
+    static final String STATE_WRITE = "stateWrite";
+    static final String LOCK_WAIT = "lockWait";
+
+    /** Aggregated timings of the operations of one category and name. */
+    static final class Entry {
+
+        private final String category;
+        private final String name;
+        private final long count;
+        private final long failures;
+        private final Duration total;
+        private final Duration max;
+
+        Entry(
+                String category,
+                String name,
+                long count,
+                long failures,
+                Duration total,
+                Duration max) {
+            this.category = category;
+            this.name = name;
+            this.count = count;
+            this.failures = failures;
+            this.total = total;
+            this.max = max;
+        }
+
+        String getCategory() {
+            return category;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getFailures() {
+            return failures;
+        }
+
+        Duration getTotal() {
+            return total;
+        }
+
+        Duration getMax() {
+            return max;
+        }
+    }
+
+    /** The peak usage of the connection pool of a JDBC database. */
+    static final class ConnectionPool {
+
+        private final String name;
+        private final int maximumPoolSize;
+        private final int peakActive;
+        private final int peakIdle;
+        private final int peakWaiting;
+
+        ConnectionPool(
+                String name, int maximumPoolSize, int peakActive, int peakIdle, int peakWaiting) {
+            this.name = name;
+            this.maximumPoolSize = maximumPoolSize;
+            this.peakActive = peakActive;
+            this.peakIdle = peakIdle;
+            this.peakWaiting = peakWaiting;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        int getPeakActive() {
+            return peakActive;
+        }
+
+        int getPeakIdle() {
+            return peakIdle;
+        }
+
+        int getPeakWaiting() {
+            return peakWaiting;
+        }
+    }
+
+    private final Instant startTime;
+    private final Instant endTime;
+    private final List<Entry> entries;
+    private final List<ConnectionPool> connectionPools;
+
+    RunReport(
+            Instant startTime,
+            Instant endTime,
+            List<Entry> entries,
+            List<ConnectionPool> connectionPools) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.entries = List.copyOf(entries);
+        this.connectionPools = List.copyOf(connectionPools);
+    }
+
+    Instant getStartTime() {
+        return startTime;
+    }
+
+    Instant getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Returns the entries of the report, grouped by category, in the order of the categories of
+     * this class.
+     */
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    /** Returns the peak usage of the connection pool of each JDBC database used by the run. */
+    List<ConnectionPool> getConnectionPools() {
+        return connectionPools;
+    }
+}
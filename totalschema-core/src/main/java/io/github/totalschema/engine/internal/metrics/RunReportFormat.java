@@ -0,0 +1,156 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.metrics;
+
+import io.github.totalschema.util.StringUtils;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+/** The formats a {@link RunReport} can be written in. */
+enum RunReportFormat {
+
+    /**
+     * A JSON object with the start and end time of the run, an array of entries per category, and
+     * the peak usage of the connection pools.
+     */
+    JSON {
+        @Override
+        void write(RunReport report, Writer writer) throws IOException {
+            writer.write("{\n");
+            writer.write(
+                    "  \"startTime\": "
+                            + StringUtils.toJsonString(report.getStartTime().toString())
+                            + ",\n");
+            writer.write(
+                    "  \"endTime\": "
+                            + StringUtils.toJsonString(report.getEndTime().toString())
+                            + ",\n");
+            writer.write("  \"metrics\": {");
+
+            String category = null;
+            for (RunReport.Entry entry : report.getEntries()) {
+                if (!entry.getCategory().equals(category)) {
+                    writer.write(category == null ? "\n" : "\n    ],\n");
+                    category = entry.getCategory();
+                    writer.write("    " + StringUtils.toJsonString(category) + ": [\n");
+                } else {
+                    writer.write(",\n");
+                }
+
+                writer.write(
+                        "      {\"name\": "
+                                + StringUtils.toJsonString(entry.getName())
+                                + ", \"count\": "
+                                + entry.getCount()
+                                + ", \"failures\": "
+                                + entry.getFailures()
+                                + ", \"totalMillis\": "
+                                + millis(entry.getTotal())
+                                + ", \"maxMillis\": "
+                                + millis(entry.getMax())
+                                + "}");
+            }
+
+            writer.write(category == null ? "},\n" : "\n    ]\n  },\n");
+
+            writer.write("  \"connectionPools\": [");
+            String separator = "\n";
+            for (RunReport.ConnectionPool pool : report.getConnectionPools()) {
+                writer.write(separator);
+                separator = ",\n";
+                writer.write(
+                        "    {\"name\": "
+                                + StringUtils.toJsonString(pool.getName())
+                                + ", \"maximumPoolSize\": "
+                                + pool.getMaximumPoolSize()
+                                + ", \"peakActive\": "
+                                + pool.getPeakActive()
+                                + ", \"peakIdle\": "
+                                + pool.getPeakIdle()
+                                + ", \"peakWaiting\": "
+                                + pool.getPeakWaiting()
+                                + "}");
+            }
+            writer.write(report.getConnectionPools().isEmpty() ? "]\n" : "\n  ]\n");
+            writer.write("}\n");
+        }
+    },
+
+    /**
+     * A CSV table with one row per entry; the run itself is the first row. The usage of the
+     * connection pools is not included.
+     */
+    CSV {
+        @Override
+        void write(RunReport report, Writer writer) throws IOException {
+            CSVFormat csvFormat =
+                    CSVFormat.DEFAULT
+                            .builder()
+                            .setHeader(
+                                    "category",
+                                    "name",
+                                    "count",
+                                    "failures",
+                                    "totalMillis",
+                                    "maxMillis")
+                            .build();
+
+            CSVPrinter printer = new CSVPrinter(writer, csvFormat);
+            for (RunReport.Entry entry : report.getEntries()) {
+                printer.printRecord(
+                        entry.getCategory(),
+                        entry.getName(),
+                        entry.getCount(),
+                        entry.getFailures(),
+                        millis(entry.getTotal()),
+                        millis(entry.getMax()));
+            }
+            printer.flush();
+        }
+    };
+
+    /**
+     * Writes the report. The writer is not closed.
+     *
+     * @param report the report to write
+     * @param writer the writer to write to
+     * @throws IOException if writing fails
+     */
+    abstract void write(RunReport report, Writer writer) throws IOException;
+
+    /**
+     * Returns the format matching the extension of the given file: {@link #CSV} for {@code .csv}
+     * files, {@link #JSON} otherwise.
+     */
+    static RunReportFormat forFile(Path file) {
+        String fileName = String.valueOf(file.getFileName()).toLowerCase(Locale.ENGLISH);
+        return fileName.endsWith(".csv") ? CSV : JSON;
+    }
+
+    /** Milliseconds with microsecond precision, e.g. {@code 12.345}. */
+    private static String millis(Duration duration) {
+        return BigDecimal.valueOf(duration.toNanos() / 1000, 3).toPlainString();
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.metrics;
+
+import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link MetricsCollector} aggregating the metrics of a run in memory, and writing them as a run
+ * report when closed together with the engine.
+ *
+ * <p>The report contains the count, failures, total and maximum duration of: each command; the
+ * initialization of each connector; each change file, and the change files of each connector and
+ * extension; the JDBC statements and connection acquisitions of each database; the state writes;
+ * and the lock waits. It also contains the peak number of active, idle and waiting connections of
+ * each connection pool. A failure to write the report is logged, and does not fail the run.
+ */
+final class RunReportMetricsCollector implements MetricsCollector, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RunReportMetricsCollector.class);
+
+    /** Mutable aggregate of the timings of one category and name. */
+    private static final class Statistics {
+
+        private long count;
+        private long failures;
+        private long totalNanos;
+        private long maxNanos;
+
+        private void add(Duration duration, boolean successful) {
+            long nanos = duration.toNanos();
+
+            count++;
+            if (!successful) {
+                failures++;
+            }
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        private RunReport.Entry toEntry(String category, String name) {
+            return new RunReport.Entry(
+                    category,
+                    name,
+                    count,
+                    failures,
+                    Duration.ofNanos(totalNanos),
+                    Duration.ofNanos(maxNanos));
+        }
+    }
+
+    /** Mutable peak usage of the connection pool of one database. */
+    private static final class PoolStatistics {
+
+        private int maximumPoolSize;
+        private int peakActive;
+        private int peakIdle;
+        private int peakWaiting;
+
+        private void add(int active, int idle, int waiting, int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+            peakActive = Math.max(peakActive, active);
+            peakIdle = Math.max(peakIdle, idle);
+            peakWaiting = Math.max(peakWaiting, waiting);
+        }
+
+        private RunReport.ConnectionPool toConnectionPool(String name) {
+            return new RunReport.ConnectionPool(
+                    name, maximumPoolSize, peakActive, peakIdle, peakWaiting);
+        }
+    }
+
+    private final Path reportFile;
+    private final RunReportFormat format;
+
+    private final Instant startTime = Instant.now();
+
+    private final Map<String, Statistics> commands = new LinkedHashMap<>();
+    private final Map<String, Statistics> connectorChecks = new LinkedHashMap<>();
+    private final List<RunReport.Entry> changeFiles = new ArrayList<>();
+    private final Map<String, Statistics> changeFileGroups = new LinkedHashMap<>();
+    private final Map<String, Statistics> statements = new LinkedHashMap<>();
+    private final Map<String, Statistics> connectionAcquisitions = new LinkedHashMap<>();
+    private final Map<String, PoolStatistics> connectionPools = new LinkedHashMap<>();
+    private final Statistics stateWrites = new Statistics();
+    private final Statistics lockWaits = new Statistics();
+
+    private boolean closed;
+
+    RunReportMetricsCollector(Path reportFile, RunReportFormat format) {
+        this.reportFile = reportFile;
+        this.format = format;
+    }
+
+    @Override
+    public synchronized void commandExecuted(
+            String command, Duration duration, boolean successful) {
+        add(commands, command, duration, successful);
+    }
+
+    @Override
+    public synchronized void connectorChecked(
+            String connector, Duration duration, boolean successful) {
+        add(connectorChecks, connector, duration, successful);
+    }
+
+    @Override
+    public synchronized void changeFileExecuted(
+            ChangeFile.Id changeFileId, Duration duration, boolean successful) {
+
+        Statistics statistics = new Statistics();
+        statistics.add(duration, successful);
+        changeFiles.add(
+                statistics.toEntry(RunReport.CHANGE_FILE, changeFileId.toStringRepresentation()));
+
+        add(
+                changeFileGroups,
+                changeFileId.getConnector() + ":" + changeFileId.getExtension(),
+                duration,
+                successful);
+    }
+
+    @Override
+    public synchronized void statementExecuted(
+            String database, Duration duration, boolean successful) {
+        add(statements, database, duration, successful);
+    }
+
+    @Override
+    public synchronized void connectionAcquired(
+            String database, Duration duration, boolean successful) {
+        add(connectionAcquisitions, database, duration, successful);
+    }
+
+    @Override
+    public synchronized void connectionPoolSampled(
+            String database, int active, int idle, int waiting, int maximumPoolSize) {
+        connectionPools
+                .computeIfAbsent(database, key -> new PoolStatistics())
+                .add(active, idle, waiting, maximumPoolSize);
+    }
+
+    @Override
+    public synchronized void stateWritten(Duration duration, boolean successful) {
+        stateWrites.add(duration, successful);
+    }
+
+    @Override
+    public synchronized void lockAwaited(Duration duration, boolean acquired) {
+        lockWaits.add(duration, acquired);
+    }
+
+    private static void add(
+            Map<String, Statistics> statistics,
+            String name,
+            Duration duration,
+            boolean successful) {
+        statistics.computeIfAbsent(name, key -> new Statistics()).add(duration, successful);
+    }
+
+    @Override
+    public void close() {
+        RunReport report;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            report = createReport();
+        }
+
+        try {
+            Path directory = reportFile.getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+
+            try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                format.write(report, writer);
+            }
+
+            log.info("Run report written to {}", reportFile);
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failure writing run report to {}", reportFile, e);
+        }
+    }
+
+    private RunReport createReport() {
+        Instant endTime = Instant.now();
+
+        List<RunReport.Entry> entries = new ArrayList<>();
+
+        Statistics run = new Statistics();
+        run.add(Duration.between(startTime, endTime), true);
+        entries.add(run.toEntry(RunReport.RUN, RunReport.RUN));
+
+        addEntries(entries, RunReport.COMMAND, commands);
+        addEntries(entries, RunReport.CONNECTOR_CHECK, connectorChecks);
+        entries.addAll(changeFiles);
+        addEntries(entries, RunReport.CHANGE_FILE_GROUP, changeFileGroups);
+        addEntries(entries, RunReport.STATEMENT, statements);
+        addEntries(entries, RunReport.CONNECTION_ACQUIRE, connectionAcquisitions);
+
+        if (stateWrites.count > 0) {
+            entries.add(stateWrites.toEntry(RunReport.STATE_WRITE, RunReport.STATE_WRITE));
+        }
+        if (lockWaits.count > 0) {
+            entries.add(lockWaits.toEntry(RunReport.LOCK_WAIT, RunReport.LOCK_WAIT));
+        }
+
+        List<RunReport.ConnectionPool> pools = new ArrayList<>();
+        connectionPools.forEach((name, value) -> pools.add(value.toConnectionPool(name)));
+
+        return new RunReport(startTime, endTime, entries, pools);
+    }
+
+    private static void addEntries(
+            List<RunReport.Entry> entries, String category, Map<String, Statistics> statistics) {
+        statistics.forEach((name, value) -> entries.add(value.toEntry(category, name)));
+    }
+
+    @Override
+    public String toString() {
+        return "RunReportMetricsCollector{reportFile=" + reportFile + ", format=" + format + '}';
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.script;
+
+import io.github.totalschema.util.HexUtil;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.script.CompiledScript;
+
+/**
+ * Cache of compiled JSR-223 scripts, shared by the script executors that compile scripts once and
+ * evaluate them many times.
+ *
+ * <p>Scripts are keyed by {@link #key(String, Map)}: a hash of their content and of the names and
+ * types of their bindings, since some engines (e.g. Kotlin) derive the variables of a script from
+ * the bindings present at compile time. At most {@code maxSize} scripts are kept, the least
+ * recently used one is evicted first. A cache of size {@code 0} is disabled and keeps nothing.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class CompiledScriptCache {
+
+    /** Least recently used compiled scripts, keyed by script and bindings hash. */
+    private static final class CompiledScripts extends LinkedHashMap<String, CompiledScript> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private CompiledScripts(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private final int maxSize;
+    private final CompiledScripts compiledScripts;
+
+    /**
+     * @param maxSize maximum number of compiled scripts to keep; {@code 0} disables the cache
+     */
+    public CompiledScriptCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.compiledScripts = new CompiledScripts(maxSize);
+    }
+
+    /**
+     * @return the maximum number of compiled scripts kept
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return {@code true} if compiled scripts are kept, i.e. the maximum size is not {@code 0}
+     */
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns a cached compiled script, marking it as most recently used.
+     *
+     * @param key the key of the script, see {@link #key(String, Map)}
+     * @return the compiled script, or {@code null} if it is not cached
+     */
+    public synchronized CompiledScript get(String key) {
+        return compiledScripts.get(key);
+    }
+
+    /**
+     * Caches a compiled script, evicting the least recently used one if the cache is full.
+     *
+     * @param key the key of the script, see {@link #key(String, Map)}
+     * @param compiledScript the compiled script
+     */
+    public synchronized void put(String key, CompiledScript compiledScript) {
+        compiledScripts.put(key, compiledScript);
+    }
+
+    /**
+     * @return the number of compiled scripts cached
+     */
+    public synchronized int size() {
+        return compiledScripts.size();
+    }
+
+    /**
+     * Computes the cache key of a script: the SHA-256 hash of the names and value types of the
+     * bindings and of the script content. The values of the bindings do not contribute.
+     *
+     * @param script the script source
+     * @param bindings the bindings the script is compiled and evaluated with
+     * @return the key, as a hexadecimal string
+     */
+    public static String key(String script, Map<String, Object> bindings) {
+        StringBuilder signature = new StringBuilder();
+        for (Map.Entry<String, Object> binding : new TreeMap<>(bindings).entrySet()) {
+            Object value = binding.getValue();
+            signature
+                    .append(binding.getKey())
+                    .append(':')
+                    .append(value != null ? value.getClass().getName() : "null")
+                    .append(',');
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(signature.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(script.getBytes(StandardCharsets.UTF_8));
+            return HexUtil.encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledScriptCache{" + "maxSize=" + maxSize + '}';
+    }
+}
@@ -25,6 +25,12 @@ import io.github.totalschema.jdbc.JdbcDatabase;
 import io.github.totalschema.spi.expression.evaluator.ExpressionEvaluator;
 import io.github.totalschema.spi.script.ScriptExecutor;
 import io.github.totalschema.spi.variables.VariableService;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
@@ -44,14 +50,31 @@ import java.util.stream.Collectors;
  *       {@code ";"}) and executes each non-blank statement via JDBC.
  * </ul>
  *
+ * <p>When the separator is a plain literal (rather than a regular expression), statement splitting
+ * is streamed: each statement is executed as soon as it has been read, and the script is never
+ * loaded into memory as a whole. Scripts executed from a file ({@link #execute(Path, Context)}, as
+ * done by {@link io.github.totalschema.connector.jdbc.JdbcConnector}) are substituted while they
+ * are streamed as well; so that a failing placeholder is reported before any statement has been
+ * applied, the file is read twice: first to evaluate all placeholders, discarding the output, then
+ * to substitute and execute the statements.
+ *
+ * <p>The script is held in memory as a whole in the remaining cases: if the separator is a regular
+ * expression (the script is substituted, and then split, completely before the first statement is
+ * executed), and if a script supplied as a {@link Reader} is to be substituted, as a reader cannot
+ * be read twice.
+ *
  * <p>The {@link io.github.totalschema.jdbc.JdbcDatabase} is retrieved from the {@link
  * io.github.totalschema.engine.api.Context} at execution time; it is placed there by {@link
  * io.github.totalschema.connector.jdbc.JdbcConnector} before this executor is invoked.
  */
 public final class SqlScriptExecutor implements ScriptExecutor {
 
+    /** Characters with a special meaning in a regular expression. */
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
     private final boolean variableSubstitutionEnabled;
     private final String statementSeparator;
+    private final boolean literalStatementSeparator;
 
     private static final class DefaultValues {
 
@@ -76,6 +99,18 @@ public final class SqlScriptExecutor implements ScriptExecutor {
                             .getString("statementSeparator")
                             .orElse(DefaultValues.STATEMENT_SEPARATOR);
         }
+
+        this.literalStatementSeparator =
+                statementSeparator == null || isLiteralPattern(statementSeparator);
+    }
+
+    private static boolean isLiteralPattern(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return !regex.isEmpty();
     }
 
     @Override
@@ -90,13 +125,82 @@ public final class SqlScriptExecutor implements ScriptExecutor {
         List<String> statements = getStatements(script);
 
         for (String statement : statements) {
+            executeStatement(jdbcDatabase, statement);
+        }
+    }
 
-            try {
-                jdbcDatabase.execute(statement);
+    @Override
+    public void execute(Reader script, Context context) throws IOException, InterruptedException {
 
-            } catch (SQLException e) {
-                throw new RuntimeException("Statement failed: " + statement, e);
+        if (variableSubstitutionEnabled) {
+            // substitute completely: a failing placeholder must not leave earlier statements
+            // applied, and the reader cannot be read a second time
+            ScriptExecutor.super.execute(script, context);
+            return;
+        }
+
+        executeStatements(script, context);
+    }
+
+    @Override
+    public void execute(Path scriptFile, Context context) throws IOException, InterruptedException {
+
+        if (!variableSubstitutionEnabled) {
+            try (Reader script = Files.newBufferedReader(scriptFile)) {
+                executeStatements(script, context);
             }
+            return;
+        }
+
+        ExpressionEvaluator expressionEvaluator = getExpressionEvaluator(context);
+        Map<String, String> variables = getVariables(context);
+
+        if (literalStatementSeparator) {
+            // validation pass: a failing placeholder must not leave earlier statements applied
+            try (Reader script = Files.newBufferedReader(scriptFile)) {
+                expressionEvaluator.evaluate(script, Writer.nullWriter(), variables);
+            }
+        }
+
+        try (Reader script = Files.newBufferedReader(scriptFile);
+                Reader substituted = expressionEvaluator.evaluatingReader(script, variables)) {
+            executeStatements(substituted, context);
+        }
+    }
+
+    /**
+     * Splits the script read from {@code source} into statements and executes them: one by one as
+     * they are read for a literal separator, otherwise after reading the complete script.
+     */
+    private void executeStatements(Reader source, Context context)
+            throws IOException, InterruptedException {
+
+        JdbcDatabase jdbcDatabase = context.get(JdbcDatabase.class);
+
+        if (!literalStatementSeparator) {
+            StringWriter content = new StringWriter();
+            source.transferTo(content);
+            for (String statement : getStatements(content.toString())) {
+                executeStatement(jdbcDatabase, statement);
+            }
+            return;
+        }
+
+        SqlStatementReader statementReader = new SqlStatementReader(source, statementSeparator);
+
+        String statement;
+        while ((statement = statementReader.nextStatement()) != null) {
+            executeStatement(jdbcDatabase, statement);
+        }
+    }
+
+    private static void executeStatement(JdbcDatabase jdbcDatabase, String statement)
+            throws InterruptedException {
+        try {
+            jdbcDatabase.execute(statement);
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Statement failed: " + statement, e);
         }
     }
 
@@ -109,16 +213,20 @@ public final class SqlScriptExecutor implements ScriptExecutor {
      * @return content with all known variable references replaced
      */
     private String substituteVariables(String content, Context context) {
+        return getExpressionEvaluator(context).evaluate(content, getVariables(context));
+    }
 
-        ExpressionEvaluator expressionEvaluator = context.get(ExpressionEvaluator.class);
-        VariableService variableService = context.get(VariableService.class);
+    private static ExpressionEvaluator getExpressionEvaluator(Context context) {
+        return context.get(ExpressionEvaluator.class);
+    }
 
-        Map<String, String> variables =
-                context.getOptional(Environment.class)
-                        .map(variableService::getVariablesInEnvironment)
-                        .orElseGet(variableService::getVariables);
+    private static Map<String, String> getVariables(Context context) {
+
+        VariableService variableService = context.get(VariableService.class);
 
-        return expressionEvaluator.evaluate(content, variables);
+        return context.getOptional(Environment.class)
+                .map(variableService::getVariablesInEnvironment)
+                .orElseGet(variableService::getVariables);
     }
 
     private List<String> getStatements(String fileContent) {
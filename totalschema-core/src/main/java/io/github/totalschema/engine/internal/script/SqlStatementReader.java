@@ -0,0 +1,115 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.script;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * Splits a character stream into SQL statements on a literal separator, reading no further ahead
+ * than the end of the next statement.
+ *
+ * <p>Statements are trimmed and blank statements are skipped, which matches splitting the whole
+ * script with {@link String#split(String)} and dropping blank parts.
+ */
+final class SqlStatementReader {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Reader source;
+    private final String separator;
+
+    private final char[] readBuffer = new char[CHUNK_SIZE];
+    private final StringBuilder buffer = new StringBuilder();
+
+    /** Position in {@link #buffer} from which the search for the next separator resumes. */
+    private int searchFrom;
+
+    private boolean sourceExhausted;
+
+    /**
+     * @param source the script to split
+     * @param separator the literal statement separator, or {@code null} if the whole script is a
+     *     single statement
+     */
+    SqlStatementReader(Reader source, String separator) {
+        this.source = Objects.requireNonNull(source, "source is null");
+        if (separator != null && separator.isEmpty()) {
+            throw new IllegalArgumentException("separator must not be empty");
+        }
+        this.separator = separator;
+    }
+
+    /**
+     * Returns the next non-blank statement.
+     *
+     * @return the next trimmed statement, or {@code null} if there are no more statements
+     * @throws IOException if reading the source fails
+     */
+    String nextStatement() throws IOException {
+
+        while (true) {
+            String statement = takeStatement();
+            if (statement == null) {
+                return null;
+            }
+
+            statement = statement.trim();
+            if (!statement.isBlank()) {
+                return statement;
+            }
+        }
+    }
+
+    private String takeStatement() throws IOException {
+
+        while (true) {
+            if (separator != null) {
+                int separatorIndex = buffer.indexOf(separator, searchFrom);
+                if (separatorIndex >= 0) {
+                    String statement = buffer.substring(0, separatorIndex);
+                    buffer.delete(0, separatorIndex + separator.length());
+                    searchFrom = 0;
+                    return statement;
+                }
+
+                // a separator might start within the last characters and continue in the next chunk
+                searchFrom = Math.max(0, buffer.length() - separator.length() + 1);
+            }
+
+            if (sourceExhausted) {
+                if (buffer.length() == 0) {
+                    return null;
+                }
+                String statement = buffer.toString();
+                buffer.setLength(0);
+                searchFrom = 0;
+                return statement;
+            }
+
+            int count = source.read(readBuffer, 0, readBuffer.length);
+            if (count < 0) {
+                sourceExhausted = true;
+            } else {
+                buffer.append(readBuffer, 0, count);
+            }
+        }
+    }
+}
@@ -3,11 +3,15 @@ package io.github.totalschema.engine.internal.script.jsr223;
 import io.github.totalschema.config.Configuration;
 import io.github.totalschema.config.environment.Environment;
 import io.github.totalschema.engine.api.Context;
+import io.github.totalschema.engine.internal.script.CompiledScriptCache;
 import io.github.totalschema.spi.script.ScriptExecutor;
 import java.sql.Connection;
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
+import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +21,10 @@ import org.slf4j.LoggerFactory;
  * ScriptEngine}.
  *
  * <p>One instance is created per supported file extension (e.g. {@code js}, {@code py}). The
- * underlying engine is resolved at construction time from the classpath via {@link
- * ScriptEngineManager}. At execution time the following objects are bound into the script's {@link
- * Bindings} when present in the supplied {@link Context}:
+ * underlying engine is created by the {@link ScriptEngineFactory} advertising the extension when
+ * the first script is executed, so that engines of languages not used by a run are never created.
+ * At execution time the following objects are bound into the script's {@link Bindings} when present
+ * in the supplied {@link Context}:
  *
  * <ul>
  *   <li>{@code configuration} — the active {@link Configuration}
@@ -27,8 +32,15 @@ import org.slf4j.LoggerFactory;
  *   <li>{@code environment} — the active {@link Environment}
  * </ul>
  *
- * <p>Instances should be obtained via {@link JSR223ScriptExecutorFactory#createExecutors()} rather
- * than constructed directly.
+ * <p>If the engine implements {@link Compilable}, scripts are compiled once and kept in a cache of
+ * at most {@code cacheMaxSize} entries, keyed by a hash of the script content and of the names and
+ * types of the bindings (some engines, e.g. Kotlin, derive the variables of a script from the
+ * bindings present at compile time). Compiled scripts are evaluated with the bindings set on the
+ * context of the engine, which all engines honor, while holding the lock of the engine. With a
+ * cache size of {@code 0}, or an engine that cannot compile, every script is evaluated directly.
+ *
+ * <p>Instances should be obtained via {@link
+ * JSR223ScriptExecutorFactory#createExecutors(Configuration)} rather than constructed directly.
  */
 public class JSR223ScriptExecutor implements ScriptExecutor {
 
@@ -37,40 +49,39 @@ public class JSR223ScriptExecutor implements ScriptExecutor {
     /** The file extension (without leading dot) this executor handles, e.g. {@code "js"}. */
     private final String extension;
 
-    /** The JSR-223 engine used to evaluate scripts. */
-    private final ScriptEngine engine;
+    /** The factory creating the JSR-223 engine used to evaluate scripts. */
+    private final ScriptEngineFactory scriptEngineFactory;
+
+    /** The compiled scripts; disabled if compilation is. */
+    private final CompiledScriptCache compiledScripts;
+
+    /** The JSR-223 engine used to evaluate scripts, created on first use. */
+    private ScriptEngine engine;
 
     /**
      * Creates a new {@link JSR223ScriptExecutor} for the given file extension.
      *
-     * <p>The corresponding {@link ScriptEngine} is resolved from the current thread's context class
-     * loader via {@link ScriptEngineManager#getEngineByExtension(String)}.
+     * <p>The corresponding {@link ScriptEngine} is created on first use, with the context class
+     * loader of the current thread, via {@link ScriptEngineFactory#getScriptEngine()}.
      *
      * @param extension the file extension to associate with this executor (e.g. {@code "js"}); must
      *     not be {@code null}
-     * @return a new {@link JSR223ScriptExecutor} bound to the resolved engine
-     * @throws IllegalStateException if the engine cannot be loaded for the given extension
+     * @param scriptEngineFactory the factory advertising the extension; must not be {@code null}
+     * @param cacheMaxSize the maximum number of compiled scripts to keep; {@code 0} disables
+     *     compilation
+     * @return a new {@link JSR223ScriptExecutor} using the engines of the given factory
      */
-    static JSR223ScriptExecutor newInstance(String extension) {
-
-        try {
-            ScriptEngineManager manager =
-                    new ScriptEngineManager(Thread.currentThread().getContextClassLoader());
+    static JSR223ScriptExecutor newInstance(
+            String extension, ScriptEngineFactory scriptEngineFactory, int cacheMaxSize) {
 
-            ScriptEngine scriptEngine = manager.getEngineByExtension(extension);
-
-            log.debug("Created ScriptEngine for extension: {}", extension);
-
-            return new JSR223ScriptExecutor(extension, scriptEngine);
-
-        } catch (RuntimeException ex) {
-            throw new IllegalStateException("Failed to load JSR223 engine: " + extension, ex);
-        }
+        return new JSR223ScriptExecutor(extension, scriptEngineFactory, cacheMaxSize);
     }
 
-    private JSR223ScriptExecutor(String extension, ScriptEngine engine) {
+    private JSR223ScriptExecutor(
+            String extension, ScriptEngineFactory scriptEngineFactory, int cacheMaxSize) {
         this.extension = extension;
-        this.engine = engine;
+        this.scriptEngineFactory = scriptEngineFactory;
+        this.compiledScripts = new CompiledScriptCache(cacheMaxSize);
     }
 
     /**
@@ -102,9 +113,11 @@ public class JSR223ScriptExecutor implements ScriptExecutor {
     @Override
     public void execute(String script, Context context) throws InterruptedException {
 
+        ScriptEngine scriptEngine = getEngine();
+
         try {
 
-            Bindings bindings = engine.createBindings();
+            Bindings bindings = scriptEngine.createBindings();
 
             context.getOptional(Configuration.class)
                     .ifPresent(configuration -> bindings.put("configuration", configuration));
@@ -115,13 +128,59 @@ public class JSR223ScriptExecutor implements ScriptExecutor {
             context.getOptional(Environment.class)
                     .ifPresent(environment -> bindings.put("environment", environment));
 
-            engine.eval(script, bindings);
+            if (compiledScripts.isEnabled() && scriptEngine instanceof Compilable) {
+                evalCompiled(scriptEngine, script, bindings);
+            } else {
+                scriptEngine.eval(script, bindings);
+            }
 
         } catch (ScriptException ex) {
             throw new RuntimeException("Failure evaluating script", ex);
         }
     }
 
+    private void evalCompiled(ScriptEngine scriptEngine, String script, Bindings bindings)
+            throws ScriptException {
+
+        String key = CompiledScriptCache.key(script, bindings);
+
+        synchronized (scriptEngine) {
+            scriptEngine.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+            try {
+                CompiledScript compiledScript = compiledScripts.get(key);
+                if (compiledScript == null) {
+                    log.debug("Compiling {} script {}", extension, key);
+                    compiledScript = ((Compilable) scriptEngine).compile(script);
+                    compiledScripts.put(key, compiledScript);
+                } else {
+                    log.debug("Using cached compiled {} script {}", extension, key);
+                }
+
+                compiledScript.eval();
+            } finally {
+                // do not keep the values of the last execution, e.g. the connection, reachable
+                scriptEngine.setBindings(scriptEngine.createBindings(), ScriptContext.ENGINE_SCOPE);
+            }
+        }
+    }
+
+    private synchronized ScriptEngine getEngine() {
+        if (engine == null) {
+            try {
+                engine = scriptEngineFactory.getScriptEngine();
+            } catch (RuntimeException ex) {
+                throw new IllegalStateException("Failed to load JSR223 engine: " + extension, ex);
+            }
+
+            if (engine == null) {
+                throw new IllegalStateException("Failed to load JSR223 engine: " + extension);
+            }
+
+            log.debug("Created ScriptEngine for extension: {}", extension);
+        }
+        return engine;
+    }
+
     @Override
     public String toString() {
         return "JSR223ScriptExecutor{" + "extension='" + extension + '\'' + '}';
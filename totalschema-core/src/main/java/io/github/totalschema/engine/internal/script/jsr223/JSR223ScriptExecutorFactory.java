@@ -1,6 +1,7 @@
 package io.github.totalschema.engine.internal.script.jsr223;
 
 import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.MisconfigurationException;
 import java.util.LinkedList;
 import java.util.List;
 import javax.script.ScriptEngineFactory;
@@ -14,9 +15,18 @@ import javax.script.ScriptEngineManager;
  * implementations available on the classpath via {@link ScriptEngineManager} and produces one
  * {@link JSR223ScriptExecutor} per registered file extension. JSR-223 support must be explicitly
  * opted in via the {@code scripting.jsr223.enabled} configuration flag.
+ *
+ * <p>Script engines are only created by the executors when the first script of their extension is
+ * executed. Compiled scripts are cached per executor; the size of the cache is configured with
+ * {@code scripting.jsr223.cache.maxSize} (default: {@value DefaultValues#CACHE_MAX_SIZE}; {@code 0}
+ * disables compilation).
  */
 public final class JSR223ScriptExecutorFactory {
 
+    private static final class DefaultValues {
+        private static final int CACHE_MAX_SIZE = 64;
+    }
+
     /**
      * Returns {@code true} if JSR-223 scripting is enabled in the supplied configuration.
      *
@@ -35,12 +45,24 @@ public final class JSR223ScriptExecutorFactory {
      * ScriptEngineFactory} instances discovered on the current classpath.
      *
      * <p>The discovery is performed via {@link ScriptEngineManager#getEngineFactories()}. Factories
-     * that report a {@code null} or empty extension list are silently skipped.
+     * that report a {@code null} or empty extension list are silently skipped. No script engine is
+     * created by this method.
      *
+     * @param configuration the runtime configuration; must not be {@code null}
      * @return an immutable list of {@link JSR223ScriptExecutor} instances, one per supported file
      *     extension; never {@code null}, may be empty if no JSR-223 engines are present
+     * @throws MisconfigurationException if {@code scripting.jsr223.cache.maxSize} is negative
      */
-    public static List<JSR223ScriptExecutor> createExecutors() {
+    public static List<JSR223ScriptExecutor> createExecutors(Configuration configuration) {
+
+        int cacheMaxSize =
+                configuration
+                        .getInt("scripting", "jsr223", "cache", "maxSize")
+                        .orElse(DefaultValues.CACHE_MAX_SIZE);
+        if (cacheMaxSize < 0) {
+            throw MisconfigurationException.forMessage(
+                    "scripting.jsr223.cache.maxSize must not be negative: %s", cacheMaxSize);
+        }
 
         List<JSR223ScriptExecutor> results = new LinkedList<>();
 
@@ -50,7 +72,9 @@ public final class JSR223ScriptExecutorFactory {
             List<String> extensions = scriptEngineFactory.getExtensions();
             if (extensions != null) {
                 for (String extension : extensions) {
-                    results.add(JSR223ScriptExecutor.newInstance(extension));
+                    results.add(
+                            JSR223ScriptExecutor.newInstance(
+                                    extension, scriptEngineFactory, cacheMaxSize));
                 }
             }
         }
@@ -18,14 +18,18 @@
 
 package io.github.totalschema.engine.internal.state;
 
+import io.github.totalschema.engine.core.event.EventDispatcher;
+import io.github.totalschema.engine.core.event.StateRegisteredEvent;
 import io.github.totalschema.model.*;
 import io.github.totalschema.spi.hash.HashService;
+import io.github.totalschema.spi.metrics.MetricsCollector;
 import io.github.totalschema.spi.state.StateManagementException;
 import io.github.totalschema.spi.state.StateRepository;
 import io.github.totalschema.spi.state.StateService;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -42,15 +46,23 @@ class DefaultStateService implements StateService {
 
     private final StateRepository repository;
     private final HashService hashService;
+    private final MetricsCollector metricsCollector;
+    private final EventDispatcher eventDispatcher;
 
     private final String overrideAppliedByUserId;
 
     DefaultStateService(
-            StateRepository repository, HashService hashService, String overrideAppliedByUserId) {
+            StateRepository repository,
+            HashService hashService,
+            MetricsCollector metricsCollector,
+            EventDispatcher eventDispatcher,
+            String overrideAppliedByUserId) {
         this.repository = repository;
         this.overrideAppliedByUserId = overrideAppliedByUserId;
 
         this.hashService = hashService;
+        this.metricsCollector = metricsCollector;
+        this.eventDispatcher = eventDispatcher;
     }
 
     @Override
@@ -68,6 +80,19 @@ class DefaultStateService implements StateService {
 
     @Override
     public void registerCompletion(ApplyFile applyFile) {
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            saveCompletion(applyFile);
+            successful = true;
+        } finally {
+            metricsCollector.stateWritten(Duration.ofNanos(System.nanoTime() - start), successful);
+        }
+
+        eventDispatcher.dispatchAsync(new StateRegisteredEvent(applyFile));
+    }
+
+    private void saveCompletion(ApplyFile applyFile) {
 
         if (applyFile.getChangeType() == ChangeType.APPLY_ON_CHANGE) {
             deleteStateRecordsByChangeId(applyFile.getId());
@@ -110,6 +135,19 @@ class DefaultStateService implements StateService {
 
     @Override
     public void registerCompletion(RevertFile revertFile) {
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            deleteCompletion(revertFile);
+            successful = true;
+        } finally {
+            metricsCollector.stateWritten(Duration.ofNanos(System.nanoTime() - start), successful);
+        }
+
+        eventDispatcher.dispatchAsync(new StateRegisteredEvent(revertFile));
+    }
+
+    private void deleteCompletion(RevertFile revertFile) {
 
         ChangeFile.Id id = revertFile.getId();
 
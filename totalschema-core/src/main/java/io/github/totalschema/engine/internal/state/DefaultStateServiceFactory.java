@@ -27,6 +27,7 @@ import io.github.totalschema.engine.core.event.EventDispatcher;
 import io.github.totalschema.spi.factory.ArgumentSpecification;
 import io.github.totalschema.spi.factory.ComponentFactory;
 import io.github.totalschema.spi.hash.HashService;
+import io.github.totalschema.spi.metrics.MetricsCollector;
 import io.github.totalschema.spi.state.StateRepository;
 import io.github.totalschema.spi.state.StateService;
 import java.util.List;
@@ -81,7 +82,12 @@ public class DefaultStateServiceFactory extends ComponentFactory<StateService> {
                             .getString("state.overrideAppliedByUserId")
                             .orElse(null);
 
-            return new DefaultStateService(stateRepository, hashService, overrideAppliedByUserId);
+            return new DefaultStateService(
+                    stateRepository,
+                    hashService,
+                    MetricsCollector.from(context),
+                    context.get(EventDispatcher.class),
+                    overrideAppliedByUserId);
 
         } catch (RuntimeException ex) {
             throw new RuntimeException("Failure creating StateService", ex);
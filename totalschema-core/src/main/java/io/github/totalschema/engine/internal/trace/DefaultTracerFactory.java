@@ -0,0 +1,44 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.trace;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.spi.trace.Tracer;
+import io.github.totalschema.spi.trace.TracerFactory;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Default {@link TracerFactory}: creates a tracer writing the spans of the run to an OTLP JSON file
+ * when the engine is closed, if {@code tracing.file} is configured, and {@link Tracer#NO_OP}
+ * otherwise.
+ */
+public final class DefaultTracerFactory implements TracerFactory {
+
+    @Override
+    public Tracer getTracer(Configuration configuration) {
+
+        Optional<String> file = configuration.getString("tracing", "file");
+        if (file.isEmpty()) {
+            return Tracer.NO_OP;
+        }
+
+        return new OtlpJsonFileTracer(Paths.get(file.get()).toAbsolutePath());
+    }
+}
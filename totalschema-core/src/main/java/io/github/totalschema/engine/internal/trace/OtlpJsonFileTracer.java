@@ -0,0 +1,202 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.trace;
+
+import io.github.totalschema.ProjectConventions;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
+import io.github.totalschema.util.HexUtil;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Tracer} keeping the spans of a run in memory, and writing them to an OTLP JSON file when
+ * closed together with the engine, so that they can be loaded into a trace viewer without a
+ * collector.
+ *
+ * <p>All spans belong to one trace, whose root span covers the lifetime of the engine. A span
+ * started on a thread without an open span (e.g. the first command of the run, or work done on a
+ * worker thread) becomes a child of the root span. A failure to write the file is logged, and does
+ * not fail the run.
+ */
+final class OtlpJsonFileTracer implements Tracer, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(OtlpJsonFileTracer.class);
+
+    /** A span of this tracer; attributes and end time are only modified by the starting thread. */
+    static final class RecordedSpan implements Span {
+
+        private final OtlpJsonFileTracer tracer;
+        private final RecordedSpan parent;
+        private final RecordedSpan previous;
+
+        final String spanId;
+        final String name;
+        final long startEpochNanos;
+        final Map<String, Object> attributes = new LinkedHashMap<>();
+
+        long endEpochNanos;
+        boolean successful;
+
+        private RecordedSpan(
+                OtlpJsonFileTracer tracer,
+                RecordedSpan parent,
+                RecordedSpan previous,
+                String name) {
+            this.tracer = tracer;
+            this.parent = parent;
+            this.previous = previous;
+            this.spanId = randomId(8);
+            this.name = name;
+            this.startEpochNanos = tracer.epochNanos();
+        }
+
+        String getParentSpanId() {
+            return parent != null ? parent.spanId : null;
+        }
+
+        @Override
+        public void setAttribute(String key, String value) {
+            if (value != null) {
+                attributes.put(key, value);
+            }
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public void end(boolean successful) {
+            this.endEpochNanos = tracer.epochNanos();
+            this.successful = successful;
+            tracer.ended(this);
+        }
+    }
+
+    private final Path traceFile;
+
+    private final String traceId = randomId(16);
+
+    private final long startEpochNanos;
+    private final long startNanoTime;
+
+    private final ThreadLocal<RecordedSpan> currentSpan = new ThreadLocal<>();
+
+    private final RecordedSpan rootSpan;
+
+    private final List<RecordedSpan> endedSpans = new ArrayList<>();
+
+    private boolean closed;
+
+    OtlpJsonFileTracer(Path traceFile) {
+        this.traceFile = traceFile;
+
+        Instant now = Instant.now();
+        this.startNanoTime = System.nanoTime();
+        this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+
+        this.rootSpan = new RecordedSpan(this, null, null, ProjectConventions.PROJECT_SYSTEM_NAME);
+    }
+
+    @Override
+    public Span startSpan(String name) {
+        RecordedSpan current = currentSpan.get();
+
+        RecordedSpan span =
+                new RecordedSpan(this, current != null ? current : rootSpan, current, name);
+
+        currentSpan.set(span);
+        return span;
+    }
+
+    private void ended(RecordedSpan span) {
+        if (span != rootSpan && currentSpan.get() == span) {
+            if (span.previous != null) {
+                currentSpan.set(span.previous);
+            } else {
+                currentSpan.remove();
+            }
+        }
+
+        synchronized (this) {
+            if (!closed) {
+                endedSpans.add(span);
+            }
+        }
+    }
+
+    /** Epoch nanoseconds derived from the monotonic clock, so that span durations are exact. */
+    private long epochNanos() {
+        return startEpochNanos + (System.nanoTime() - startNanoTime);
+    }
+
+    @Override
+    public void close() {
+        List<RecordedSpan> spans;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            rootSpan.end(true);
+            closed = true;
+            spans = new ArrayList<>(endedSpans);
+        }
+
+        try {
+            Path directory = traceFile.getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+
+            try (Writer writer = Files.newBufferedWriter(traceFile, StandardCharsets.UTF_8)) {
+                OtlpJsonWriter.write(traceId, spans, writer);
+            }
+
+            log.info("Trace with {} spans written to {}", spans.size(), traceFile);
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failure writing trace to {}", traceFile, e);
+        }
+    }
+
+    private static String randomId(int bytes) {
+        byte[] id = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(id);
+        return HexUtil.encodeToString(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OtlpJsonFileTracer{traceFile=" + traceFile + '}';
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.trace;
+
+import io.github.totalschema.ProjectConventions;
+import io.github.totalschema.VersionInfo;
+import io.github.totalschema.util.StringUtils;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes spans in the JSON encoding of the OpenTelemetry protocol (OTLP), i.e. as an {@code
+ * ExportTraceServiceRequest} with one resource and one instrumentation scope.
+ */
+final class OtlpJsonWriter {
+
+    private static final String SCOPE_NAME = "io.github.totalschema";
+
+    /** {@code SPAN_KIND_INTERNAL} */
+    private static final int SPAN_KIND_INTERNAL = 1;
+
+    /** {@code STATUS_CODE_OK} */
+    private static final int STATUS_CODE_OK = 1;
+
+    /** {@code STATUS_CODE_ERROR} */
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private OtlpJsonWriter() {
+        throw new AssertionError("static utility class, no instances allowed");
+    }
+
+    static void write(String traceId, List<OtlpJsonFileTracer.RecordedSpan> spans, Writer writer)
+            throws IOException {
+
+        writer.write("{\"resourceSpans\": [{\n");
+        writer.write("  \"resource\": {\"attributes\": [");
+        writer.write(stringAttribute("service.name", ProjectConventions.PROJECT_SYSTEM_NAME));
+        writer.write(", ");
+        writer.write(stringAttribute("service.version", VersionInfo.getVersion()));
+        writer.write("]},\n");
+        writer.write("  \"scopeSpans\": [{\n");
+        writer.write("    \"scope\": {\"name\": " + StringUtils.toJsonString(SCOPE_NAME) + "},\n");
+        writer.write("    \"spans\": [");
+
+        boolean first = true;
+        for (OtlpJsonFileTracer.RecordedSpan span : spans) {
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+            writeSpan(traceId, span, writer);
+        }
+
+        writer.write("\n    ]\n");
+        writer.write("  }]\n");
+        writer.write("}]}\n");
+    }
+
+    private static void writeSpan(
+            String traceId, OtlpJsonFileTracer.RecordedSpan span, Writer writer)
+            throws IOException {
+
+        writer.write("      {\"traceId\": " + StringUtils.toJsonString(traceId));
+        writer.write(", \"spanId\": " + StringUtils.toJsonString(span.spanId));
+
+        String parentSpanId = span.getParentSpanId();
+        if (parentSpanId != null) {
+            writer.write(", \"parentSpanId\": " + StringUtils.toJsonString(parentSpanId));
+        }
+
+        writer.write(", \"name\": " + StringUtils.toJsonString(span.name));
+        writer.write(", \"kind\": " + SPAN_KIND_INTERNAL);
+        writer.write(
+                ", \"startTimeUnixNano\": "
+                        + StringUtils.toJsonString(Long.toString(span.startEpochNanos)));
+        writer.write(
+                ", \"endTimeUnixNano\": "
+                        + StringUtils.toJsonString(Long.toString(span.endEpochNanos)));
+
+        writer.write(", \"attributes\": [");
+        boolean first = true;
+        for (Map.Entry<String, Object> attribute : span.attributes.entrySet()) {
+            if (!first) {
+                writer.write(", ");
+            }
+            first = false;
+
+            Object value = attribute.getValue();
+            if (value instanceof Long) {
+                writer.write(longAttribute(attribute.getKey(), (Long) value));
+            } else {
+                writer.write(stringAttribute(attribute.getKey(), String.valueOf(value)));
+            }
+        }
+        writer.write("]");
+
+        int statusCode = span.successful ? STATUS_CODE_OK : STATUS_CODE_ERROR;
+        writer.write(", \"status\": {\"code\": " + statusCode + "}}");
+    }
+
+    private static String stringAttribute(String key, String value) {
+        return "{\"key\": "
+                + StringUtils.toJsonString(key)
+                + ", \"value\": {\"stringValue\": "
+                + StringUtils.toJsonString(value)
+                + "}}";
+    }
+
+    /** 64 bit integers are encoded as strings in OTLP JSON. */
+    private static String longAttribute(String key, long value) {
+        return "{\"key\": "
+                + StringUtils.toJsonString(key)
+                + ", \"value\": {\"intValue\": "
+                + StringUtils.toJsonString(Long.toString(value))
+                + "}}";
+    }
+}
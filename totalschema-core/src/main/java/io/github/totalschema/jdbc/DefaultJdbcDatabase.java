@@ -20,11 +20,17 @@ package io.github.totalschema.jdbc;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import io.github.totalschema.config.Configuration;
 import io.github.totalschema.config.MisconfigurationException;
+import io.github.totalschema.jfr.JdbcStatementEvent;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
 import io.github.totalschema.util.StringUtils;
 import java.io.IOException;
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -98,7 +104,10 @@ import org.slf4j.LoggerFactory;
  *   <li><b>connectionTest.timeoutUnit</b> (optional, default: SECONDS): Connection test timeout
  *       unit
  *   <li><b>connectionTest.query</b> (optional): Custom connection test query
- *   <li><b>pool.maximumPoolSize</b> (optional, default: 1): Maximum number of connections in pool
+ *   <li><b>concurrency</b> (optional, default: 1): Number of threads expected to use the database
+ *       concurrently
+ *   <li><b>pool.maximumPoolSize</b> (optional, default: the value of <b>concurrency</b>): Maximum
+ *       number of connections in pool
  *   <li><b>pool.minimumIdle</b> (optional, default: 1): Minimum number of idle connections
  *   <li><b>pool.connectionTimeout</b> (optional, default: 30000): Connection acquisition timeout
  *       (ms)
@@ -156,6 +165,10 @@ import org.slf4j.LoggerFactory;
  *   <li>No unnecessary synchronization that would serialize concurrent operations
  *   <li>Connection leak detection helps identify resource leaks in development (60 second
  *       threshold)
+ *   <li>The pool is sized for the configured <b>concurrency</b>, so that concurrent operations are
+ *       not serialized waiting for a connection. The time spent acquiring connections and the
+ *       number of active, idle and waiting connections are reported to the {@link
+ *       MetricsCollector}, and threads having to wait for a connection are logged once as a warning
  * </ul>
  *
  * <h2>Usage Examples</h2>
@@ -202,6 +215,8 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
         private static final int CONNECTION_TEST_TIMEOUT = 30;
         private static final TimeUnit CONNECTION_TEST_UNIT = TimeUnit.SECONDS;
 
+        private static final int CONCURRENCY = 1;
+
         // HikariCP pool defaults
         private static final int MAXIMUM_POOL_SIZE = 1;
         private static final int MINIMUM_IDLE = 1;
@@ -216,6 +231,10 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
 
     private final String name;
 
+    private final MetricsCollector metricsCollector;
+
+    private final Tracer tracer;
+
     private final String driverClass;
     private final String jdbcUrl;
     private final String username;
@@ -244,15 +263,42 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
 
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
 
+    private final AtomicBoolean isPoolStarvationReported = new AtomicBoolean(false);
+
     public static DefaultJdbcDatabase newInstance(
             String name, Configuration connectorConfiguration) {
-        DefaultJdbcDatabase database = new DefaultJdbcDatabase(name, connectorConfiguration);
+        return newInstance(name, connectorConfiguration, MetricsCollector.NO_OP, Tracer.NO_OP);
+    }
+
+    /**
+     * Creates and initializes a database, reporting the execution of its statements to the given
+     * {@link MetricsCollector} and {@link Tracer}.
+     *
+     * @param name the name of the database, typically the name of its connector
+     * @param connectorConfiguration the configuration of the connector
+     * @param metricsCollector the collector to report statement timings to
+     * @param tracer the tracer to record statements as spans with
+     * @return the initialized database
+     */
+    public static DefaultJdbcDatabase newInstance(
+            String name,
+            Configuration connectorConfiguration,
+            MetricsCollector metricsCollector,
+            Tracer tracer) {
+        DefaultJdbcDatabase database =
+                new DefaultJdbcDatabase(name, connectorConfiguration, metricsCollector, tracer);
         database.init();
         return database;
     }
 
-    private DefaultJdbcDatabase(String name, Configuration connectorConfiguration) {
+    private DefaultJdbcDatabase(
+            String name,
+            Configuration connectorConfiguration,
+            MetricsCollector metricsCollector,
+            Tracer tracer) {
         this.name = name;
+        this.metricsCollector = metricsCollector;
+        this.tracer = tracer;
 
         this.jdbcUrl =
                 connectorConfiguration
@@ -296,11 +342,30 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
                         .map(StringUtils::emptyToNull)
                         .orElse(null);
 
-        // Read HikariCP pool configuration with defaults
+        int concurrency =
+                connectorConfiguration.getInt("concurrency").orElse(DefaultValues.CONCURRENCY);
+
+        if (concurrency < 1) {
+            throw MisconfigurationException.forMessage(
+                    "Invalid value for connector '%s': '%s' must be at least 1, but was %s",
+                    name, "concurrency", concurrency);
+        }
+
+        // Read HikariCP pool configuration with defaults; unless configured explicitly, the pool
+        // provides one connection for each thread expected to use the database concurrently
         this.maximumPoolSize =
                 connectorConfiguration
                         .getInt("pool", "maximumPoolSize")
-                        .orElse(DefaultValues.MAXIMUM_POOL_SIZE);
+                        .orElse(Math.max(DefaultValues.MAXIMUM_POOL_SIZE, concurrency));
+
+        if (maximumPoolSize < concurrency) {
+            log.warn(
+                    "[{}] database: pool.maximumPoolSize {} is less than concurrency {}; "
+                            + "concurrent operations will wait for connections",
+                    name,
+                    maximumPoolSize,
+                    concurrency);
+        }
 
         this.minimumIdle =
                 connectorConfiguration
@@ -426,7 +491,9 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
 
         logSql("executeUpdate", sql, parameters);
 
-        return withConnection(
+        return executeStatement(
+                "executeUpdate",
+                sql,
                 connection -> {
                     try (PreparedStatement ps = connection.prepareStatement(sql)) {
 
@@ -449,7 +516,9 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
 
         logSql("execute", sql, parameters);
 
-        withConnection(
+        executeStatement(
+                "execute",
+                sql,
                 connection -> {
                     try (PreparedStatement ps = connection.prepareStatement(sql)) {
 
@@ -483,7 +552,9 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
 
         logSql("query", sql, parameters);
 
-        return withConnection(
+        return executeStatement(
+                "query",
+                sql,
                 connection -> {
                     List<R> resultList = new ArrayList<>();
 
@@ -512,6 +583,35 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
                 });
     }
 
+    /**
+     * Executes a statement with a connection of the pool, reporting its duration (including
+     * acquiring the connection and reading the results) to the {@link MetricsCollector}, as a span
+     * of the {@link Tracer} and as a {@link JdbcStatementEvent}.
+     */
+    private <R> R executeStatement(String operationType, String sql, ConnectionAction<R> action)
+            throws SQLException, InterruptedException {
+
+        JdbcStatementEvent event = new JdbcStatementEvent();
+        event.begin();
+
+        Span span = tracer.startSpan(operationType);
+        span.setAttribute("db.name", name);
+        span.setAttribute("db.operation", operationType);
+
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            R result = withConnection(action);
+            successful = true;
+            return result;
+        } finally {
+            metricsCollector.statementExecuted(
+                    name, Duration.ofNanos(System.nanoTime() - start), successful);
+            span.end(successful);
+            event.complete(name, operationType, sql, successful);
+        }
+    }
+
     private void logSql(String operationType, String sql, Parameter<?>[] parameters) {
 
         if (logSql && log.isInfoEnabled()) {
@@ -558,7 +658,7 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
 
         requireOpen();
 
-        try (Connection connection = dataSource.getConnection()) {
+        try (Connection connection = getConnection()) {
 
             if (Thread.currentThread().isInterrupted()) {
                 throw new InterruptedException();
@@ -568,6 +668,55 @@ final class DefaultJdbcDatabase implements JdbcDatabase {
         }
     }
 
+    /**
+     * Acquires a connection from the pool, reporting the time spent and the state of the pool to
+     * the {@link MetricsCollector}.
+     */
+    private Connection getConnection() throws SQLException {
+
+        long start = System.nanoTime();
+        boolean successful = false;
+        try {
+            Connection connection = dataSource.getConnection();
+            successful = true;
+            return connection;
+        } finally {
+            metricsCollector.connectionAcquired(
+                    name, Duration.ofNanos(System.nanoTime() - start), successful);
+
+            if (successful) {
+                samplePool();
+            }
+        }
+    }
+
+    private void samplePool() {
+
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+
+        int waiting = pool.getThreadsAwaitingConnection();
+
+        metricsCollector.connectionPoolSampled(
+                name,
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                waiting,
+                maximumPoolSize);
+
+        if (waiting > 0 && isPoolStarvationReported.compareAndSet(false, true)) {
+            log.warn(
+                    "[{}] database: {} thread(s) waiting for one of the {} connection(s) of the pool;"
+                            + " increase 'concurrency' or 'pool.maximumPoolSize' to run them"
+                            + " concurrently",
+                    name,
+                    waiting,
+                    maximumPoolSize);
+        }
+    }
+
     private <R> R executeWithConnection(ConnectionAction<R> action, Connection connection)
             throws SQLException, InterruptedException {
 
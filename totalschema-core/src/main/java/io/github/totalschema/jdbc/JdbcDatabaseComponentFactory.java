@@ -7,6 +7,8 @@ import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.spi.factory.ArgumentHandler;
 import io.github.totalschema.spi.factory.ArgumentSpecification;
 import io.github.totalschema.spi.factory.ComponentFactory;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import io.github.totalschema.spi.trace.Tracer;
 import java.util.List;
 import java.util.Optional;
 
@@ -54,6 +56,7 @@ public class JdbcDatabaseComponentFactory extends ComponentFactory<JdbcDatabase>
         String name = ARGUMENTS.getArgument(NAME, arguments);
         Configuration configuration = ARGUMENTS.getArgument(CONFIGURATION, arguments);
 
-        return DefaultJdbcDatabase.newInstance(name, configuration);
+        return DefaultJdbcDatabase.newInstance(
+                name, configuration, MetricsCollector.from(context), Tracer.from(context));
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import io.github.totalschema.model.ChangeFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the application of a single change file, including the registration of its
+ * completion in the state repository.
+ */
+@Name("io.github.totalschema.ChangeFileApply")
+@Label("Change File Apply")
+@Category({"TotalSchema", "Engine"})
+@StackTrace(false)
+public final class ChangeFileApplyEvent extends Event {
+
+    @Label("Change File")
+    private String changeFile;
+
+    @Label("Connector")
+    private String connector;
+
+    @Label("Change Type")
+    private String changeType;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Successful")
+    private boolean successful;
+
+    /**
+     * Ends the event and commits it, if it is enabled. The size of the file is only read if the
+     * event is committed.
+     *
+     * @param changeFile the change file applied
+     * @param successful whether the change file was applied successfully
+     */
+    public void complete(ChangeFile changeFile, boolean successful) {
+        end();
+        if (shouldCommit()) {
+            ChangeFile.Id id = changeFile.getId();
+            this.changeFile = id.toStringRepresentation();
+            this.connector = id.getConnector();
+            this.changeType = String.valueOf(id.getChangeType());
+            this.bytes = sizeOf(changeFile);
+            this.successful = successful;
+            commit();
+        }
+    }
+
+    private static long sizeOf(ChangeFile changeFile) {
+        try {
+            return Files.size(changeFile.getFile());
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+}
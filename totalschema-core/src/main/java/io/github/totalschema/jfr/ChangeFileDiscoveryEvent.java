@@ -0,0 +1,63 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import java.nio.file.Path;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event covering the discovery of the change files in a single directory. */
+@Name("io.github.totalschema.ChangeFileDiscovery")
+@Label("Change File Discovery")
+@Description("Listing and parsing of the change files in a directory")
+@Category({"TotalSchema", "Engine"})
+@StackTrace(false)
+public final class ChangeFileDiscoveryEvent extends Event {
+
+    @Label("Directory")
+    private String directory;
+
+    @Label("Change Files")
+    @Description("Number of change files selected from the directory")
+    private int changeFiles;
+
+    @Label("Subdirectories")
+    private int subdirectories;
+
+    /**
+     * Ends the event and commits it, if it is enabled.
+     *
+     * @param directory the directory searched
+     * @param changeFiles the number of change files selected from the directory
+     * @param subdirectories the number of subdirectories to be searched next
+     */
+    public void complete(Path directory, int changeFiles, int subdirectories) {
+        end();
+        if (shouldCommit()) {
+            this.directory = String.valueOf(directory);
+            this.changeFiles = changeFiles;
+            this.subdirectories = subdirectories;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event covering the hashing of a change file's content. */
+@Name("io.github.totalschema.Hash")
+@Label("Hash")
+@Category({"TotalSchema", "Engine"})
+@StackTrace(false)
+public final class HashEvent extends Event {
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Ends the event and commits it, if it is enabled.
+     *
+     * @param algorithm the name of the hash algorithm
+     * @param bytes the number of bytes hashed
+     */
+    public void complete(String algorithm, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering a JDBC statement or query, including acquiring the connection and reading the
+ * results.
+ */
+@Name("io.github.totalschema.JdbcStatement")
+@Label("JDBC Statement")
+@Category({"TotalSchema", "JDBC"})
+@StackTrace(false)
+public final class JdbcStatementEvent extends Event {
+
+    @Label("Database")
+    private String database;
+
+    @Label("Operation")
+    @Description("execute, executeUpdate or query")
+    private String operation;
+
+    @Label("SQL Length")
+    @Description("Number of characters of the SQL text")
+    private int sqlLength;
+
+    @Label("Successful")
+    private boolean successful;
+
+    /**
+     * Ends the event and commits it, if it is enabled.
+     *
+     * @param database the name of the database
+     * @param operation the operation, e.g. {@code query}
+     * @param sql the SQL text executed
+     * @param successful whether the statement completed successfully
+     */
+    public void complete(String database, String operation, String sql, boolean successful) {
+        end();
+        if (shouldCommit()) {
+            this.database = database;
+            this.operation = operation;
+            this.sqlLength = sql != null ? sql.length() : 0;
+            this.successful = successful;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event covering an attempt to acquire or renew the lock in the lock repository. */
+@Name("io.github.totalschema.Lock")
+@Label("Lock")
+@Category({"TotalSchema", "Lock"})
+@StackTrace(false)
+public final class LockEvent extends Event {
+
+    /** The operation of an event acquiring the lock. */
+    public static final String ACQUIRE = "acquire";
+
+    /** The operation of an event renewing the lock. */
+    public static final String RENEW = "renew";
+
+    @Label("Operation")
+    @Description("acquire or renew")
+    private String operation;
+
+    @Label("Lock Id")
+    private String lockId;
+
+    @Label("Successful")
+    @Description("Whether the lock was acquired or renewed")
+    private boolean successful;
+
+    /**
+     * Ends the event and commits it, if it is enabled.
+     *
+     * @param operation {@link #ACQUIRE} or {@link #RENEW}
+     * @param lockId the id of the lock owner
+     * @param successful whether the lock was acquired or renewed
+     */
+    public void complete(String operation, String lockId, boolean successful) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.lockId = lockId;
+            this.successful = successful;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import java.io.IOException;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event covering the start of an OS process, e.g. a script interpreter or a worker. */
+@Name("io.github.totalschema.ProcessSpawn")
+@Label("Process Spawn")
+@Category({"TotalSchema", "Process"})
+@StackTrace(false)
+public final class ProcessSpawnEvent extends Event {
+
+    @Label("Connector")
+    private String connector;
+
+    @Label("Command")
+    private String command;
+
+    @Label("Process Id")
+    private long pid;
+
+    @Label("Successful")
+    private boolean successful;
+
+    /**
+     * Starts a process with the given {@link ProcessBuilder}, recording a {@link ProcessSpawnEvent}
+     * if the event is enabled.
+     *
+     * @param processBuilder the configured process builder
+     * @param connector the name of the connector starting the process; may be {@code null}
+     * @return the started process
+     * @throws IOException if the process cannot be started
+     */
+    public static Process start(ProcessBuilder processBuilder, String connector)
+            throws IOException {
+
+        ProcessSpawnEvent event = new ProcessSpawnEvent();
+        event.begin();
+
+        Process process = null;
+        try {
+            process = processBuilder.start();
+            return process;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.connector = connector;
+                event.command = String.join(" ", processBuilder.command());
+                event.pid = process != null ? process.pid() : -1;
+                event.successful = process != null;
+                event.commit();
+            }
+        }
+    }
+}
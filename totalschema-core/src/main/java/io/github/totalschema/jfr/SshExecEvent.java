@@ -0,0 +1,84 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event covering the execution of a command on an SSH exec channel. */
+@Name("io.github.totalschema.SshExec")
+@Label("SSH Exec")
+@Category({"TotalSchema", "SSH"})
+@StackTrace(false)
+public final class SshExecEvent extends Event {
+
+    @Label("Connection")
+    private String connection;
+
+    @Label("Host")
+    private String host;
+
+    @Label("Command")
+    private String command;
+
+    @Label("Input Bytes")
+    @Description("Bytes sent to the standard input of the command, e.g. a staged script")
+    @DataAmount
+    private long inputBytes;
+
+    @Label("Exit Status")
+    private int exitStatus;
+
+    @Label("Successful")
+    private boolean successful;
+
+    /**
+     * Ends the event and commits it, if it is enabled.
+     *
+     * @param connection the name of the SSH connection
+     * @param host the remote host
+     * @param command the command executed
+     * @param inputBytes the number of bytes sent to the standard input of the command
+     * @param exitStatus the exit status of the command, or {@code -1} if none was received
+     * @param successful whether the command completed successfully
+     */
+    public void complete(
+            String connection,
+            String host,
+            String command,
+            long inputBytes,
+            int exitStatus,
+            boolean successful) {
+        end();
+        if (shouldCommit()) {
+            this.connection = connection;
+            this.host = host;
+            this.command = command;
+            this.inputBytes = inputBytes;
+            this.exitStatus = exitStatus;
+            this.successful = successful;
+            commit();
+        }
+    }
+}
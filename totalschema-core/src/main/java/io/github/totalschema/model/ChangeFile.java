@@ -312,6 +312,17 @@ public abstract class ChangeFile {
         return id.getEnvironment();
     }
 
+    /**
+     * Returns whether this change file is to be executed in the given environment, i.e. it is not
+     * specific to an environment or specific to the given one (ignoring case).
+     *
+     * @param environmentName the name of the environment
+     * @return {@code true} if the change file is to be executed in the environment
+     */
+    public boolean isForEnvironment(String environmentName) {
+        return id.getEnvironment().map(environmentName::equalsIgnoreCase).orElse(true);
+    }
+
     /**
      * Gets the connector name from the identifier.
      *
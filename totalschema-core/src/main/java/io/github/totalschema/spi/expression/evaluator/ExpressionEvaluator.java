@@ -19,10 +19,54 @@
 package io.github.totalschema.spi.expression.evaluator;
 
 import io.github.totalschema.config.Configuration;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import java.util.Map;
 
 public interface ExpressionEvaluator {
     String evaluate(String expression, Configuration configuration);
 
     String evaluate(String expressionString, Map<String, String> values);
+
+    /**
+     * Returns a {@link Reader} that yields the content of {@code expression} with all expressions
+     * evaluated against {@code values}.
+     *
+     * <p>The default implementation reads the whole input into memory; implementations are
+     * encouraged to evaluate the stream incrementally, so that large inputs (e.g. scripts) can be
+     * processed without holding both the raw and the evaluated text in memory.
+     *
+     * @param expression the character stream to evaluate; closed when the returned reader is closed
+     * @param values the values of the variables
+     * @return a reader yielding the evaluated content
+     * @throws IOException if reading {@code expression} fails
+     */
+    default Reader evaluatingReader(Reader expression, Map<String, String> values)
+            throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (expression) {
+            char[] buffer = new char[8192];
+            int count;
+            while ((count = expression.read(buffer)) >= 0) {
+                content.append(buffer, 0, count);
+            }
+        }
+        return new StringReader(evaluate(content.toString(), values));
+    }
+
+    /**
+     * Evaluates the content of {@code expression} against {@code values} and writes the result to
+     * {@code output}. Neither stream is closed.
+     *
+     * @param expression the character stream to evaluate
+     * @param output the destination of the evaluated content
+     * @param values the values of the variables
+     * @throws IOException if reading or writing fails
+     */
+    default void evaluate(Reader expression, Writer output, Map<String, String> values)
+            throws IOException {
+        evaluatingReader(expression, values).transferTo(output);
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.spi.metrics;
+
+import io.github.totalschema.engine.api.Context;
+import io.github.totalschema.model.ChangeFile;
+import java.time.Duration;
+
+/**
+ * Receives the timings of the operations performed by a change engine, e.g. to report where the
+ * time of a deployment is spent.
+ *
+ * <p>One instance is created per change engine by the {@link MetricsCollectorFactory} and
+ * registered in its context; the engine, its connectors and services report into it via {@link
+ * #from(Context)}. Implementations must be thread-safe and fast, as they are invoked on the
+ * execution path. If an implementation is {@link java.io.Closeable}, it is closed together with the
+ * engine.
+ *
+ * <p>All methods have an empty default implementation, so that implementations only need to
+ * override the metrics they are interested in.
+ */
+public interface MetricsCollector {
+
+    /** A collector ignoring all metrics. */
+    MetricsCollector NO_OP = new MetricsCollector() {};
+
+    /**
+     * Returns the collector registered in the given context, or {@link #NO_OP} if there is none.
+     *
+     * @param context the context to look up the collector in
+     * @return the collector to report into; never {@code null}
+     */
+    static MetricsCollector from(Context context) {
+        return context.getOptional(MetricsCollector.class).orElse(NO_OP);
+    }
+
+    /**
+     * Called after a command of the engine has been executed. Commands executed by other commands
+     * are reported as well, so the duration of a command includes the ones of its nested commands.
+     *
+     * @param command the name of the command, e.g. {@code GetPendingApplyFilesCommand}
+     * @param duration the duration of the execution
+     * @param successful {@code false} if the command failed
+     */
+    default void commandExecuted(String command, Duration duration, boolean successful) {}
+
+    /**
+     * Called after a connector has been initialized and its connection checked, before the changes
+     * are applied.
+     *
+     * @param connector the name of the connector
+     * @param duration the duration of the initialization
+     * @param successful {@code false} if the initialization failed
+     */
+    default void connectorChecked(String connector, Duration duration, boolean successful) {}
+
+    /**
+     * Called after a change file has been executed by its connector. Registering the change in
+     * state is not included (see {@link #stateWritten}).
+     *
+     * @param changeFileId the change file; provides its connector and extension
+     * @param duration the duration of the execution
+     * @param successful {@code false} if the execution failed
+     */
+    default void changeFileExecuted(
+            ChangeFile.Id changeFileId, Duration duration, boolean successful) {}
+
+    /**
+     * Called after a JDBC statement has been executed.
+     *
+     * @param database the name of the database, i.e. of its connector
+     * @param duration the duration of the execution
+     * @param successful {@code false} if the statement failed
+     */
+    default void statementExecuted(String database, Duration duration, boolean successful) {}
+
+    /**
+     * Called after a connection has been requested from the connection pool of a JDBC database.
+     *
+     * @param database the name of the database, i.e. of its connector
+     * @param duration the time spent waiting for the connection
+     * @param successful {@code false} if no connection could be acquired, e.g. on timeout
+     */
+    default void connectionAcquired(String database, Duration duration, boolean successful) {}
+
+    /**
+     * Called with the state of the connection pool of a JDBC database, sampled each time a
+     * connection has been acquired from it.
+     *
+     * @param database the name of the database, i.e. of its connector
+     * @param active the number of connections in use, including the one just acquired
+     * @param idle the number of idle connections
+     * @param waiting the number of threads waiting for a connection
+     * @param maximumPoolSize the maximum number of connections of the pool
+     */
+    default void connectionPoolSampled(
+            String database, int active, int idle, int waiting, int maximumPoolSize) {}
+
+    /**
+     * Called after the completion of a change has been registered in state.
+     *
+     * @param duration the duration of the write
+     * @param successful {@code false} if the write failed
+     */
+    default void stateWritten(Duration duration, boolean successful) {}
+
+    /**
+     * Called after waiting for the lock guarding the execution of a command.
+     *
+     * @param duration the time spent waiting for the lock
+     * @param acquired {@code false} if the lock could not be acquired
+     */
+    default void lockAwaited(Duration duration, boolean acquired) {}
+}
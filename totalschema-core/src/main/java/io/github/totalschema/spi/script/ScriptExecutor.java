@@ -19,6 +19,12 @@
 package io.github.totalschema.spi.script;
 
 import io.github.totalschema.engine.api.Context;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Executes a script file against a JDBC database.
@@ -57,4 +63,63 @@ public interface ScriptExecutor {
      * @throws InterruptedException if execution is interrupted
      */
     void execute(String script, Context context) throws InterruptedException;
+
+    /**
+     * Executes the script read from the given reader.
+     *
+     * <p>The default implementation reads the whole script into memory and delegates to {@link
+     * #execute(String, Context)}. Implementations that can process a script incrementally (e.g.
+     * statement by statement) should override this method. The reader is not closed by this method.
+     *
+     * @param script the reader supplying the text of the script file to execute
+     * @param context the command context; provides access to the {@code JdbcDatabase} and engine
+     *     services
+     * @throws IOException if reading the script fails
+     * @throws InterruptedException if execution is interrupted
+     */
+    default void execute(Reader script, Context context) throws IOException, InterruptedException {
+        StringWriter content = new StringWriter();
+        script.transferTo(content);
+        execute(content.toString(), context);
+    }
+
+    /**
+     * Executes the script stored in the given file (UTF-8 encoded).
+     *
+     * <p>The default implementation opens the file and delegates to {@link #execute(Reader,
+     * Context)}. Implementations that need to read a script more than once (e.g. to validate it
+     * completely before executing its first statement, without holding it in memory) should
+     * override this method.
+     *
+     * @param scriptFile the script file to execute
+     * @param context the command context; provides access to the {@code JdbcDatabase} and engine
+     *     services
+     * @throws IOException if reading the script fails
+     * @throws InterruptedException if execution is interrupted
+     */
+    default void execute(Path scriptFile, Context context)
+            throws IOException, InterruptedException {
+        try (Reader script = Files.newBufferedReader(scriptFile)) {
+            execute(script, context);
+        }
+    }
+
+    /**
+     * Prepares the execution of the given script files, before any change of the run is applied.
+     *
+     * <p>{@link io.github.totalschema.connector.jdbc.JdbcConnector} invokes this method from {@link
+     * io.github.totalschema.connector.Connector#prepare}, with all files of the run that are going
+     * to be executed by this executor. As with {@link #execute(String, Context)}, the {@code
+     * context} contains a {@link io.github.totalschema.jdbc.JdbcDatabase} instance. Implementations
+     * may use this to perform expensive work (e.g. compiling scripts) in advance; since the scripts
+     * are executed later anyway, a script that cannot be prepared should not fail this method, but
+     * the subsequent execution.
+     *
+     * <p>The default implementation does nothing.
+     *
+     * @param scriptFiles the script files planned to be executed, in execution order
+     * @param context the context of the preparation
+     * @throws InterruptedException if the preparation is interrupted
+     */
+    default void prepare(List<Path> scriptFiles, Context context) throws InterruptedException {}
 }
@@ -0,0 +1,54 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.spi.trace;
+
+/**
+ * A timed operation of a trace, started with {@link Tracer#startSpan(String)}.
+ *
+ * <p>A span must be ended exactly once, on the thread that started it; spans started on the same
+ * thread in the meantime become its children. All methods have an empty default implementation.
+ */
+public interface Span {
+
+    /** A span that is not recorded. */
+    Span NO_OP = new Span() {};
+
+    /**
+     * Sets a string attribute of the span.
+     *
+     * @param key the attribute key, e.g. {@code totalschema.connector}
+     * @param value the attribute value; {@code null} values are ignored
+     */
+    default void setAttribute(String key, String value) {}
+
+    /**
+     * Sets a numeric attribute of the span.
+     *
+     * @param key the attribute key
+     * @param value the attribute value
+     */
+    default void setAttribute(String key, long value) {}
+
+    /**
+     * Ends the span.
+     *
+     * @param successful {@code false} if the operation failed
+     */
+    default void end(boolean successful) {}
+}
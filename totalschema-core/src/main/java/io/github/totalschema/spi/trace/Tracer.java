@@ -0,0 +1,56 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.spi.trace;
+
+import io.github.totalschema.engine.api.Context;
+
+/**
+ * Records the operations performed by a change engine as the spans of a trace, e.g. to see where
+ * the wall-clock time of a deployment goes across connectors.
+ *
+ * <p>One instance is created per change engine by the {@link TracerFactory} and registered in its
+ * context; the engine, its connectors and services start spans via {@link #from(Context)}.
+ * Implementations must be thread-safe. If an implementation is {@link java.io.Closeable}, it is
+ * closed together with the engine.
+ */
+public interface Tracer {
+
+    /** A tracer not recording any spans. */
+    Tracer NO_OP = new Tracer() {};
+
+    /**
+     * Returns the tracer registered in the given context, or {@link #NO_OP} if there is none.
+     *
+     * @param context the context to look up the tracer in
+     * @return the tracer to start spans with; never {@code null}
+     */
+    static Tracer from(Context context) {
+        return context.getOptional(Tracer.class).orElse(NO_OP);
+    }
+
+    /**
+     * Starts a span as a child of the span currently open on this thread, if any.
+     *
+     * @param name the name of the span, e.g. {@code ExecuteSingleApplyFileCommand}
+     * @return the started span; never {@code null}
+     */
+    default Span startSpan(String name) {
+        return Span.NO_OP;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.spi.trace;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.engine.internal.trace.DefaultTracerFactory;
+import io.github.totalschema.spi.ServiceLoaderFactory;
+
+/**
+ * Service Provider Interface for creating Tracer instances.
+ *
+ * <p>Implementations are discovered via Java ServiceLoader mechanism; if none is found, the default
+ * implementation writing the spans to an OTLP JSON file (see {@link DefaultTracerFactory}) is used.
+ */
+public interface TracerFactory {
+
+    /**
+     * Gets the singleton TracerFactory instance.
+     *
+     * @return the TracerFactory instance
+     */
+    static TracerFactory getInstance() {
+        return ServiceLoaderFactory.getSingleService(TracerFactory.class)
+                .orElseGet(DefaultTracerFactory::new);
+    }
+
+    /**
+     * Creates the Tracer of a change engine.
+     *
+     * @param configuration the configuration of the system (never {@code null})
+     * @return a Tracer instance; {@link Tracer#NO_OP} if tracing is disabled
+     */
+    Tracer getTracer(Configuration configuration);
+}
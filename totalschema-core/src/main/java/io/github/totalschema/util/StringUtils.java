@@ -43,4 +43,42 @@ public final class StringUtils {
         }
         return result;
     }
+
+    /**
+     * Returns the given value as a JSON string literal, i.e. enclosed in double quotes, with
+     * quotes, backslashes and control characters escaped.
+     *
+     * @param value the value to quote; must not be {@code null}
+     * @return the JSON string literal
+     */
+    public static String toJsonString(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
 }
@@ -20,6 +20,7 @@ package io.github.totalschema.config;
 
 import static org.testng.Assert.*;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -188,4 +189,115 @@ public class MapConfigurationTest {
         assertEquals(connectionConfig.getString("size"), Optional.empty());
         assertEquals(connectionConfig.getKeys(), Set.of("url", "user"));
     }
+
+    @Test
+    public void testGetPrefixNamespaceExcludesSiblingKeysSharingThePrefix() {
+        MapConfiguration configuration =
+                new MapConfiguration(
+                        Map.of(
+                                "foo-bar.key", "dash",
+                                "foo.key", "value",
+                                "foo/key", "slash",
+                                "foo0.key", "digit",
+                                "foobar.key", "letter"));
+
+        Configuration prefixConfig = configuration.getPrefixNamespace("foo");
+
+        assertEquals(prefixConfig.getKeys(), Set.of("key"));
+        assertEquals(prefixConfig.getString("key").orElse(null), "value");
+    }
+
+    @Test
+    public void testIsImmutableCopyOfSourceMap() {
+        Map<String, String> source = new HashMap<>(Map.of("foo", "fooValue"));
+
+        MapConfiguration configuration = new MapConfiguration(source);
+        source.put("bar", "barValue");
+
+        assertEquals(configuration.getKeys(), Set.of("foo"));
+        expectThrows(UnsupportedOperationException.class, () -> configuration.getKeys().add("bar"));
+    }
+
+    @Test
+    public void testNullKeyIsRejected() {
+        Map<String, String> map = new HashMap<>();
+        map.put("foo", "fooValue");
+        map.put(null, "nullValue");
+
+        IllegalArgumentException exception =
+                expectThrows(IllegalArgumentException.class, () -> new MapConfiguration(map));
+
+        assertEquals(exception.getMessage(), "Configuration keys must not be null");
+    }
+
+    @Test
+    public void testWithNullKeyIsRejected() {
+        MapConfiguration configuration = new MapConfiguration(Map.of("foo", "fooValue"));
+
+        expectThrows(IllegalArgumentException.class, () -> configuration.withEntry(null, "x"));
+    }
+
+    @Test
+    public void testWithEntryAddsAndReplacesEntries() {
+        MapConfiguration configuration =
+                new MapConfiguration(Map.of("db.url", "jdbc:h2:mem:a", "db.user", "sa"));
+
+        Configuration updated =
+                configuration.withEntry("db.url", "jdbc:h2:mem:b").withEntry("db.schema", "app");
+
+        assertEquals(
+                updated.getPrefixNamespace("db"),
+                new MapConfiguration(
+                        Map.of("url", "jdbc:h2:mem:b", "user", "sa", "schema", "app")));
+        assertEquals(configuration.getString("db.url").orElse(null), "jdbc:h2:mem:a");
+    }
+
+    @Test
+    public void testAddAllOverridesEntries() {
+        MapConfiguration configuration =
+                new MapConfiguration(Map.of("foo", "fooValue", "bar", "barValue"));
+
+        Configuration merged =
+                configuration.addAll(
+                        new MapConfiguration(Map.of("bar", "overridden", "baz", "bazValue")));
+
+        assertEquals(
+                merged,
+                new MapConfiguration(
+                        Map.of("foo", "fooValue", "bar", "overridden", "baz", "bazValue")));
+        assertEquals(configuration.getString("bar").orElse(null), "barValue");
+    }
+
+    @Test
+    public void testAddAllOfOtherConfigurationType() {
+        System.setProperty(
+                SystemPropertyConfiguration.JVM_SYSTEM_PROPERTY_PREFIX + "mapConfigurationTest.key",
+                "systemValue");
+        try {
+            Configuration merged =
+                    new MapConfiguration(Map.of("foo", "fooValue"))
+                            .addAll(new SystemPropertyConfiguration());
+
+            assertEquals(merged.getString("foo").orElse(null), "fooValue");
+            assertEquals(merged.getString("mapConfigurationTest.key").orElse(null), "systemValue");
+        } finally {
+            System.clearProperty(
+                    SystemPropertyConfiguration.JVM_SYSTEM_PROPERTY_PREFIX
+                            + "mapConfigurationTest.key");
+        }
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        MapConfiguration configuration = new MapConfiguration(Map.of("a", "1", "b", "2"));
+        Configuration built = Configuration.builder().set("b", "2").set("a", "1").build();
+
+        assertEquals(configuration, built);
+        assertEquals(configuration.hashCode(), built.hashCode());
+        assertEquals(
+                new MapConfiguration(Map.of()).hashCode(),
+                new MapConfiguration(Map.of()).hashCode());
+        assertNotEquals(configuration, new MapConfiguration(Map.of("a", "1")));
+        assertTrue(new MapConfiguration(Map.of()).isEmpty());
+    }
 }
@@ -25,6 +25,7 @@ import io.github.totalschema.config.MapConfiguration;
 import io.github.totalschema.config.environment.Environment;
 import io.github.totalschema.connector.jdbc.JdbcConnectorFactory;
 import io.github.totalschema.engine.api.Context;
+import io.github.totalschema.engine.core.command.api.CommandContext;
 import io.github.totalschema.engine.core.container.ComponentContainer;
 import io.github.totalschema.engine.core.container.ComponentContainerBuilder;
 import io.github.totalschema.engine.core.event.EventDispatcher;
@@ -131,6 +132,55 @@ public class DefaultConnectorManagerTest {
         assertSame(connector1, connector2, "Connector should be cached");
     }
 
+    @Test
+    public void testCachedConnectorIsNotSharedAcrossContainers() {
+        Map<String, String> configMap =
+                Map.of(
+                        "connectors.my_db.type",
+                        "jdbc",
+                        "connectors.my_db.jdbc.url",
+                        "jdbc:h2:mem:test");
+
+        Connector connector1 =
+                connectorManager.getConnectorByName(
+                        "my_db", getContext(new MapConfiguration(configMap)));
+        Connector connector2 =
+                connectorManager.getConnectorByName(
+                        "my_db", getContext(new MapConfiguration(configMap)));
+
+        assertNotSame(connector1, connector2, "Connector must be resolved per container");
+    }
+
+    @Test
+    public void testCachedConnectorIsResolvedPerEnvironment() {
+        Configuration config =
+                new MapConfiguration(
+                        Map.of(
+                                "connectors.my_db.type",
+                                "jdbc",
+                                "connectors.my_db.jdbc.url",
+                                "jdbc:h2:mem:default",
+                                "environments.DEV.connectors.my_db.jdbc.url",
+                                "jdbc:h2:mem:dev"));
+
+        ComponentContainer container =
+                ComponentContainer.builder()
+                        .withComponent(Configuration.class, config)
+                        .withComponent(EventDispatcher.class, new EventDispatcher())
+                        .withFactory(new JdbcConnectorFactory())
+                        .allowUnqualifiedAccessToSingleComponents(true)
+                        .build();
+
+        CommandContext devContext = new CommandContext(container);
+        devContext.setValue(Environment.class, new Environment("DEV"));
+
+        Connector defaultConnector = connectorManager.getConnectorByName("my_db", container);
+        Connector devConnector = connectorManager.getConnectorByName("my_db", devContext);
+
+        assertNotSame(defaultConnector, devConnector);
+        assertSame(connectorManager.getConnectorByName("my_db", devContext), devConnector);
+    }
+
     private static Context getContext(Configuration config) {
         return getContext(config, null);
     }
@@ -24,6 +24,7 @@ import static org.testng.Assert.*;
 import io.github.totalschema.config.Configuration;
 import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.engine.core.command.api.CommandContext;
+import io.github.totalschema.engine.core.container.FactoryNotFoundException;
 import io.github.totalschema.jdbc.JdbcDatabase;
 import io.github.totalschema.model.ApplyFile;
 import io.github.totalschema.model.ChangeFile;
@@ -31,6 +32,7 @@ import io.github.totalschema.model.ChangeType;
 import io.github.totalschema.spi.script.ScriptExecutor;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.testng.annotations.AfterMethod;
@@ -49,7 +51,7 @@ import org.testng.annotations.Test;
  *   <li>Acquiring the {@link JdbcDatabase} from the IoC container and exposing it through a child
  *       context.
  *   <li>Retrieving the appropriate {@link ScriptExecutor} via the context.
- *   <li>Invoking the executor with the raw file content and the child context.
+ *   <li>Invoking the executor with a reader over the raw file content and the child context.
  * </ol>
  */
 public class JdbcConnectorTest {
@@ -107,7 +109,7 @@ public class JdbcConnectorTest {
 
         Capture<String> capturedScript = newCapture(CaptureType.FIRST);
         expectStandardMocks("sql", connectorConfig);
-        mockScriptExecutor.execute(capture(capturedScript), isA(Context.class));
+        expectScriptRead(capturedScript);
         replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
 
         new JdbcConnector(CONNECTOR_NAME, connectorConfig)
@@ -133,7 +135,7 @@ public class JdbcConnectorTest {
 
         Capture<String> capturedScript = newCapture(CaptureType.FIRST);
         expectStandardMocks("sql", connectorConfig);
-        mockScriptExecutor.execute(capture(capturedScript), isA(Context.class));
+        expectScriptRead(capturedScript);
         replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
 
         new JdbcConnector(CONNECTOR_NAME, connectorConfig)
@@ -156,7 +158,7 @@ public class JdbcConnectorTest {
 
         Capture<String> capturedScript = newCapture(CaptureType.FIRST);
         expectStandardMocks("groovy", connectorConfig);
-        mockScriptExecutor.execute(capture(capturedScript), isA(Context.class));
+        expectScriptRead(capturedScript);
         replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
 
         new JdbcConnector(CONNECTOR_NAME, connectorConfig)
@@ -181,7 +183,7 @@ public class JdbcConnectorTest {
 
         Capture<Context> capturedContext = newCapture(CaptureType.FIRST);
         expectStandardMocks("sql", connectorConfig);
-        mockScriptExecutor.execute(anyString(), capture(capturedContext));
+        mockScriptExecutor.execute(isA(Path.class), capture(capturedContext));
         replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
 
         new JdbcConnector(CONNECTOR_NAME, connectorConfig)
@@ -205,7 +207,7 @@ public class JdbcConnectorTest {
         ApplyFile applyFile = makeApplyFile(tempFile, "groovy");
 
         expectStandardMocks("groovy", connectorConfig);
-        mockScriptExecutor.execute(anyString(), isA(Context.class));
+        mockScriptExecutor.execute(isA(Path.class), isA(Context.class));
         replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
 
         new JdbcConnector(CONNECTOR_NAME, connectorConfig)
@@ -215,6 +217,77 @@ public class JdbcConnectorTest {
         verify(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
     }
 
+    // -------------------------------------------------------------------------
+    // Script executor preparation
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testPreparePassesPlannedFilesToScriptExecutors() throws Exception {
+        Configuration connectorConfig = Configuration.builder().build();
+        Path changesDirectory = Path.of("changes-dir").toAbsolutePath();
+
+        ChangeFile.Id first = makeId("0001", "kts");
+        ChangeFile.Id second = makeId("0002", "txt");
+        ChangeFile.Id third = makeId("0003", "kts");
+
+        expect(mockParentContext.get(JdbcDatabase.class, null, CONNECTOR_NAME, connectorConfig))
+                .andReturn(mockJdbcDatabase);
+        expect(mockParentContext.get(Configuration.class))
+                .andReturn(
+                        Configuration.builder()
+                                .set("changes.directory", changesDirectory.toString())
+                                .build());
+        expect(mockParentContext.get(eq(ScriptExecutor.class), eq("kts"), eq(connectorConfig)))
+                .andReturn(mockScriptExecutor);
+        expect(mockParentContext.get(eq(ScriptExecutor.class), eq("txt"), eq(connectorConfig)))
+                .andThrow(new FactoryNotFoundException("no executor"));
+
+        Capture<Context> capturedContext = newCapture(CaptureType.FIRST);
+        mockScriptExecutor.prepare(
+                eq(
+                        List.of(
+                                changesDirectory.resolve(first.toStringRepresentation()),
+                                changesDirectory.resolve(third.toStringRepresentation()))),
+                capture(capturedContext));
+        replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
+
+        new JdbcConnector(CONNECTOR_NAME, connectorConfig)
+                .prepare(mockParentContext, List.of(first, second, third));
+
+        verify(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
+        assertSame(capturedContext.getValue().get(JdbcDatabase.class), mockJdbcDatabase);
+    }
+
+    @Test
+    public void testPrepareWithoutScriptExecutorsDoesNotConnect() throws Exception {
+        Configuration connectorConfig = Configuration.builder().build();
+
+        expect(mockParentContext.get(Configuration.class))
+                .andReturn(Configuration.builder().build());
+        expect(mockParentContext.get(eq(ScriptExecutor.class), eq("txt"), eq(connectorConfig)))
+                .andThrow(new FactoryNotFoundException("no executor"));
+        replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
+
+        new JdbcConnector(CONNECTOR_NAME, connectorConfig)
+                .prepare(mockParentContext, List.of(makeId("0001", "txt")));
+
+        verify(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
+    }
+
+    @Test
+    public void testCheckConnectionDoesNotPrepareScriptExecutors() throws Exception {
+        Configuration connectorConfig = Configuration.builder().build();
+
+        expect(mockParentContext.get(JdbcDatabase.class, null, CONNECTOR_NAME, connectorConfig))
+                .andReturn(mockJdbcDatabase);
+        replay(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
+
+        new JdbcConnector(CONNECTOR_NAME, connectorConfig)
+                .checkConnection(mockParentContext, List.of(makeId("0001", "kts")));
+
+        verify(mockParentContext, mockScriptExecutor, mockJdbcDatabase);
+    }
+
     // -------------------------------------------------------------------------
     // Helpers
     // -------------------------------------------------------------------------
@@ -246,4 +319,20 @@ public class JdbcConnectorTest {
                         extension);
         return new ApplyFile(file.getParent(), file, id);
     }
+
+    private ChangeFile.Id makeId(String order, String extension) {
+        return new ChangeFile.Id(
+                "1.0", order, "test_change", null, ChangeType.APPLY, CONNECTOR_NAME, extension);
+    }
+
+    private void expectScriptRead(Capture<String> capturedScript) throws Exception {
+        mockScriptExecutor.execute(isA(Path.class), isA(Context.class));
+        expectLastCall()
+                .andAnswer(
+                        () -> {
+                            capturedScript.setValue(
+                                    Files.readString((Path) getCurrentArguments()[0]));
+                            return null;
+                        });
+    }
 }
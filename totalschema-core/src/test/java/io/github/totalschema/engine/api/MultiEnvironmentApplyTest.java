@@ -0,0 +1,236 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.api;
+
+import static org.easymock.EasyMock.*;
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.model.ApplyFile;
+import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.model.ChangeType;
+import io.github.totalschema.spi.config.ConfigurationSupplier;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.easymock.Capture;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class MultiEnvironmentApplyTest {
+
+    private final ConfigurationSupplier configurationSupplier =
+            () ->
+                    Configuration.builder()
+                            .set("environments.TENANT01.variables.name", "one")
+                            .set("environments.TENANT02.variables.name", "two")
+                            .set("environments.TENANT03.variables.name", "three")
+                            .set("environments.QA.variables.name", "qa")
+                            .build();
+
+    private final List<ApplyFile> applyFiles =
+            List.of(
+                    new ApplyFile(
+                            Path.of("changes"),
+                            Path.of("changes", "1.0", "0001.create.apply.mydb.sql"),
+                            new ChangeFile.Id(
+                                    "1.0",
+                                    "0001",
+                                    "create",
+                                    null,
+                                    ChangeType.APPLY,
+                                    "mydb",
+                                    "sql")));
+
+    private ChangeEngineFactory changeEngineFactory;
+
+    @BeforeMethod
+    public void setUp() {
+        changeEngineFactory = createMock(ChangeEngineFactory.class);
+    }
+
+    @Test
+    public void testAppliesToMatchingEnvironmentsAfterDiscovery() throws Exception {
+        ChangeManager firstChangeManager = expectEngine("TENANT01");
+        expect(firstChangeManager.getAllApplyFiles(ChangeFileSelector.empty()))
+                .andReturn(applyFiles)
+                .once();
+        firstChangeManager.executePendingApplies(ChangeFileSelector.empty());
+
+        ChangeManager secondChangeManager = expectEngine("TENANT02");
+        secondChangeManager.executePendingApplies(ChangeFileSelector.empty());
+
+        ChangeManager thirdChangeManager = expectEngine("TENANT03");
+        thirdChangeManager.executePendingApplies(ChangeFileSelector.empty());
+        expectLastCall().andThrow(new IllegalStateException("connection refused"));
+
+        replay(changeEngineFactory, firstChangeManager, secondChangeManager, thirdChangeManager);
+
+        MultiEnvironmentApplyReport report =
+                MultiEnvironmentApply.builder()
+                        .configurationSupplier(configurationSupplier)
+                        .changeEngineFactory(changeEngineFactory)
+                        .environments(List.of("tenant*"))
+                        .parallelism(2)
+                        .build()
+                        .execute();
+
+        verify(changeEngineFactory, firstChangeManager, secondChangeManager, thirdChangeManager);
+
+        assertEquals(
+                report.getResults().stream()
+                        .map(MultiEnvironmentApplyReport.EnvironmentResult::getEnvironment)
+                        .collect(Collectors.toList()),
+                List.of("TENANT01", "TENANT02", "TENANT03"));
+
+        assertFalse(report.isSuccessful());
+        assertEquals(report.getFailures().size(), 1);
+
+        MultiEnvironmentApplyReport.EnvironmentResult failure = report.getFailures().get(0);
+        assertEquals(failure.getEnvironment(), "TENANT03");
+        assertEquals(failure.getFailure().orElseThrow().getMessage(), "connection refused");
+    }
+
+    @Test
+    public void testNamesAreUsedAsGivenAndDeduplicated() throws Exception {
+        ChangeManager changeManager = expectEngine("QA");
+        expect(changeManager.getAllApplyFiles(ChangeFileSelector.empty())).andReturn(applyFiles);
+        changeManager.executePendingApplies(ChangeFileSelector.empty());
+
+        replay(changeEngineFactory, changeManager);
+
+        MultiEnvironmentApplyReport report =
+                MultiEnvironmentApply.builder()
+                        .configurationSupplier(configurationSupplier)
+                        .changeEngineFactory(changeEngineFactory)
+                        .environments(List.of("QA", "Q?"))
+                        .build()
+                        .execute();
+
+        verify(changeEngineFactory, changeManager);
+
+        assertTrue(report.isSuccessful());
+        assertEquals(report.getResults().size(), 1);
+    }
+
+    @Test
+    public void testPatternMatchingNoEnvironmentFails() {
+        replay(changeEngineFactory);
+
+        MultiEnvironmentApply multiEnvironmentApply =
+                MultiEnvironmentApply.builder()
+                        .configurationSupplier(configurationSupplier)
+                        .changeEngineFactory(changeEngineFactory)
+                        .environments(List.of("PROD*"))
+                        .build();
+
+        IllegalArgumentException exception =
+                expectThrows(IllegalArgumentException.class, multiEnvironmentApply::execute);
+
+        assertTrue(exception.getMessage().contains("PROD*"));
+        verify(changeEngineFactory);
+    }
+
+    @Test
+    public void testDiscoveryFailureChangesNoEnvironment() throws Exception {
+        ChangeManager changeManager = expectEngine("TENANT01");
+        expect(changeManager.getAllApplyFiles(ChangeFileSelector.empty()))
+                .andThrow(new IllegalStateException("no changes directory"));
+
+        replay(changeEngineFactory, changeManager);
+
+        MultiEnvironmentApply multiEnvironmentApply =
+                MultiEnvironmentApply.builder()
+                        .configurationSupplier(configurationSupplier)
+                        .changeEngineFactory(changeEngineFactory)
+                        .environments(List.of("TENANT*"))
+                        .build();
+
+        expectThrows(IllegalStateException.class, multiEnvironmentApply::execute);
+
+        verify(changeEngineFactory, changeManager);
+    }
+
+    @Test
+    public void testReportAndTraceFilesArePerEnvironment() throws Exception {
+        ConfigurationSupplier reportingConfigurationSupplier =
+                () ->
+                        configurationSupplier
+                                .getConfiguration()
+                                .withEntry("metrics.report.file", "build/report.json")
+                                .withEntry("tracing.file", "build/trace");
+
+        Capture<ConfigurationSupplier> firstSupplier = newCapture();
+        Capture<ConfigurationSupplier> secondSupplier = newCapture();
+        ChangeManager firstChangeManager = expectEngine("TENANT01", firstSupplier);
+        expect(firstChangeManager.getAllApplyFiles(ChangeFileSelector.empty()))
+                .andReturn(applyFiles);
+        firstChangeManager.executePendingApplies(ChangeFileSelector.empty());
+        ChangeManager secondChangeManager = expectEngine("TENANT02", secondSupplier);
+        secondChangeManager.executePendingApplies(ChangeFileSelector.empty());
+
+        replay(changeEngineFactory, firstChangeManager, secondChangeManager);
+
+        MultiEnvironmentApply.builder()
+                .configurationSupplier(reportingConfigurationSupplier)
+                .changeEngineFactory(changeEngineFactory)
+                .environments(List.of("TENANT01", "TENANT02"))
+                .build()
+                .execute();
+
+        verify(changeEngineFactory, firstChangeManager, secondChangeManager);
+
+        Configuration first = firstSupplier.getValue().getConfiguration();
+        assertEquals(
+                first.getString("metrics.report.file").orElseThrow(), "build/report.TENANT01.json");
+        assertEquals(first.getString("tracing.file").orElseThrow(), "build/trace.TENANT01");
+        assertEquals(first.getString("environments.TENANT01.variables.name").orElseThrow(), "one");
+
+        Configuration second = secondSupplier.getValue().getConfiguration();
+        assertEquals(
+                second.getString("metrics.report.file").orElseThrow(),
+                "build/report.TENANT02.json");
+        assertEquals(second.getString("tracing.file").orElseThrow(), "build/trace.TENANT02");
+    }
+
+    /** Expects the creation of the engine of an environment, which is closed afterwards. */
+    private ChangeManager expectEngine(String environment) throws Exception {
+        return expectEngine(environment, newCapture());
+    }
+
+    private ChangeManager expectEngine(
+            String environment, Capture<ConfigurationSupplier> configurationSupplier)
+            throws Exception {
+        ChangeManager changeManager = createMock(ChangeManager.class);
+
+        ChangeEngine changeEngine = createMock(ChangeEngine.class);
+        expect(changeEngine.getChangeManager()).andStubReturn(changeManager);
+        changeEngine.close();
+        expectLastCall().once();
+        replay(changeEngine);
+
+        expect(
+                        changeEngineFactory.getChangeEngine(
+                                capture(configurationSupplier), isNull(), eq(environment)))
+                .andReturn(changeEngine)
+                .once();
+
+        return changeManager;
+    }
+}
@@ -21,6 +21,8 @@ package io.github.totalschema.engine.core.command.api;
 import static org.easymock.EasyMock.*;
 import static org.testng.Assert.*;
 
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import java.time.Duration;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -84,4 +86,65 @@ public class CommandInvokerTest {
         assertEquals(intResult, (Integer) 42);
         verify(intCommand);
     }
+
+    @Test
+    public void testCommandDurationIsReportedToMetricsCollector() throws InterruptedException {
+        MetricsCollector mockCollector = createMock(MetricsCollector.class);
+        mockCollector.commandExecuted(eq("TestCommand"), isA(Duration.class), eq(true));
+        replay(mockCollector);
+
+        context.setValue(MetricsCollector.class, mockCollector);
+        invoker.execute(context, new TestCommand());
+
+        verify(mockCollector);
+    }
+
+    @Test
+    public void testFailedCommandIsReportedToMetricsCollector() {
+        MetricsCollector mockCollector = createMock(MetricsCollector.class);
+        mockCollector.commandExecuted(eq("FailingCommand"), isA(Duration.class), eq(false));
+        replay(mockCollector);
+
+        context.setValue(MetricsCollector.class, mockCollector);
+        expectThrows(
+                IllegalStateException.class, () -> invoker.execute(context, new FailingCommand()));
+
+        verify(mockCollector);
+    }
+
+    @Test
+    public void testAnonymousCommandIsReportedWithQualifiedName() throws InterruptedException {
+        MetricsCollector mockCollector = createMock(MetricsCollector.class);
+        mockCollector.commandExecuted(
+                startsWith(CommandInvokerTest.class.getName() + "$"),
+                isA(Duration.class),
+                eq(true));
+        replay(mockCollector);
+
+        context.setValue(MetricsCollector.class, mockCollector);
+        invoker.execute(
+                context,
+                new Command<String>() {
+                    @Override
+                    public String execute(CommandContext context) {
+                        return "done";
+                    }
+                });
+
+        verify(mockCollector);
+    }
+
+    private static final class TestCommand implements Command<String> {
+        @Override
+        public String execute(CommandContext context) {
+            return "done";
+        }
+    }
+
+    private static final class FailingCommand implements Command<String> {
+        @Override
+        public String execute(CommandContext context) {
+            throw new IllegalStateException("failed");
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.command.impl;
+
+import static org.easymock.EasyMock.*;
+import static org.testng.Assert.*;
+
+import io.github.totalschema.engine.core.command.api.CommandContext;
+import io.github.totalschema.engine.core.event.ChangeFailedEvent;
+import io.github.totalschema.engine.core.event.ChangeStartedEvent;
+import io.github.totalschema.engine.core.event.ChangeSucceededEvent;
+import io.github.totalschema.engine.core.event.Event;
+import io.github.totalschema.engine.core.event.EventDispatcher;
+import io.github.totalschema.model.ApplyFile;
+import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.model.ChangeType;
+import io.github.totalschema.spi.change.ChangeExecutionException;
+import io.github.totalschema.spi.change.ChangeService;
+import io.github.totalschema.spi.state.StateService;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ExecuteSingleApplyFileCommandTest {
+
+    private final ApplyFile applyFile =
+            new ApplyFile(
+                    Path.of("changes"),
+                    Path.of("changes", "1.0", "0001.create.apply.mydb.sql"),
+                    new ChangeFile.Id(
+                            "1.0", "0001", "create", null, ChangeType.APPLY, "mydb", "sql"));
+
+    private final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+
+    private EventDispatcher eventDispatcher;
+    private ChangeService changeService;
+    private StateService stateService;
+    private CommandContext context;
+
+    @BeforeMethod
+    public void setUp() {
+        events.clear();
+
+        eventDispatcher = new EventDispatcher();
+        eventDispatcher.subscribe(ChangeStartedEvent.class, events::add);
+        eventDispatcher.subscribe(ChangeSucceededEvent.class, events::add);
+        eventDispatcher.subscribe(ChangeFailedEvent.class, events::add);
+
+        changeService = createMock(ChangeService.class);
+        stateService = createMock(StateService.class);
+
+        context = new CommandContext();
+        context.setValue(EventDispatcher.class, eventDispatcher);
+        context.setValue(ChangeService.class, changeService);
+        context.setValue(StateService.class, stateService);
+    }
+
+    @Test
+    public void testSuccessfulExecutionDispatchesStartedAndSucceeded() throws Exception {
+        changeService.execute(applyFile, context);
+        stateService.registerCompletion(applyFile);
+        replay(changeService, stateService);
+
+        new ExecuteSingleApplyFileCommand(applyFile).execute(context);
+        eventDispatcher.close();
+
+        verify(changeService, stateService);
+        assertEquals(events.size(), 2);
+        assertSame(((ChangeStartedEvent) events.get(0)).getApplyFile(), applyFile);
+
+        ChangeSucceededEvent succeeded = (ChangeSucceededEvent) events.get(1);
+        assertSame(succeeded.getApplyFile(), applyFile);
+        assertFalse(succeeded.getDuration().isNegative());
+    }
+
+    @Test
+    public void testFailedExecutionDispatchesStartedAndFailed() throws Exception {
+        ChangeExecutionException failure = new ChangeExecutionException(applyFile, "failed");
+
+        changeService.execute(applyFile, context);
+        expectLastCall().andThrow(failure);
+        replay(changeService, stateService);
+
+        try {
+            new ExecuteSingleApplyFileCommand(applyFile).execute(context);
+            fail("Expected ChangeExecutionException");
+        } catch (ChangeExecutionException e) {
+            assertSame(e, failure);
+        }
+        eventDispatcher.close();
+
+        verify(changeService, stateService);
+        assertEquals(events.size(), 2);
+        assertTrue(events.get(0) instanceof ChangeStartedEvent);
+
+        ChangeFailedEvent failed = (ChangeFailedEvent) events.get(1);
+        assertSame(failed.getApplyFile(), applyFile);
+        assertSame(failed.getFailure(), failure);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.core.container;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.engine.api.Context;
+import io.github.totalschema.spi.factory.ArgumentSpecification;
+import io.github.totalschema.spi.factory.ComponentFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.testng.annotations.Test;
+
+public class ComponentContainerBuilderTest {
+
+    interface First {}
+
+    interface Second {}
+
+    interface Third {}
+
+    @Test
+    public void testIndependentEagerComponentsAreCreatedConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        try (ComponentContainer container =
+                ComponentContainer.builder()
+                        .eagerInitializationParallelism(2)
+                        .withFactory(
+                                new TestFactory<>(
+                                        First.class,
+                                        List.of(),
+                                        context -> {
+                                            awaitConcurrentCreation(bothStarted);
+                                            return new First() {};
+                                        }))
+                        .withFactory(
+                                new TestFactory<>(
+                                        Second.class,
+                                        List.of(),
+                                        context -> {
+                                            awaitConcurrentCreation(bothStarted);
+                                            return new Second() {};
+                                        }))
+                        .build()) {
+
+            assertNotNull(container.get(First.class));
+            assertNotNull(container.get(Second.class));
+        }
+    }
+
+    @Test
+    public void testDependentEagerComponentIsCreatedAfterItsDependencies() {
+        AtomicInteger creationCounter = new AtomicInteger();
+
+        try (ComponentContainer container =
+                ComponentContainer.builder()
+                        .eagerInitializationParallelism(4)
+                        .withFactory(
+                                new TestFactory<>(
+                                        Third.class,
+                                        List.of(First.class, Second.class),
+                                        context -> {
+                                            assertEquals(creationCounter.get(), 2);
+                                            return new Third() {};
+                                        }))
+                        .withFactory(
+                                new TestFactory<>(
+                                        First.class,
+                                        List.of(),
+                                        context -> {
+                                            creationCounter.incrementAndGet();
+                                            return new First() {};
+                                        }))
+                        .withFactory(
+                                new TestFactory<>(
+                                        Second.class,
+                                        List.of(),
+                                        context -> {
+                                            creationCounter.incrementAndGet();
+                                            return new Second() {};
+                                        }))
+                        .build()) {
+
+            assertNotNull(container.get(Third.class));
+            assertEquals(creationCounter.get(), 2);
+        }
+    }
+
+    @Test
+    public void testFailureOfConcurrentCreationIsPropagated() {
+        IllegalStateException thrown =
+                expectThrows(
+                        IllegalStateException.class,
+                        () ->
+                                ComponentContainer.builder()
+                                        .eagerInitializationParallelism(2)
+                                        .withFactory(
+                                                new TestFactory<>(
+                                                        First.class,
+                                                        List.of(),
+                                                        context -> {
+                                                            throw new IllegalStateException(
+                                                                    "creation failed");
+                                                        }))
+                                        .withFactory(
+                                                new TestFactory<>(
+                                                        Second.class,
+                                                        List.of(),
+                                                        context -> new Second() {}))
+                                        .build());
+
+        assertEquals(thrown.getMessage(), "creation failed");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidParallelismIsRejected() {
+        ComponentContainer.builder().eagerInitializationParallelism(0);
+    }
+
+    private static void awaitConcurrentCreation(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            assertTrue(
+                    bothStarted.await(10, TimeUnit.SECONDS),
+                    "Components were not created concurrently");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class TestFactory<T> extends ComponentFactory<T> {
+
+        private final Class<T> componentType;
+        private final List<Class<?>> dependencies;
+        private final Function<Context, T> creator;
+
+        private TestFactory(
+                Class<T> componentType, List<Class<?>> dependencies, Function<Context, T> creator) {
+            this.componentType = componentType;
+            this.dependencies = dependencies;
+            this.creator = creator;
+        }
+
+        @Override
+        public boolean isLazy() {
+            return false;
+        }
+
+        @Override
+        public Class<T> getComponentType() {
+            return componentType;
+        }
+
+        @Override
+        public Optional<String> getQualifier() {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Class<?>> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public List<ArgumentSpecification<?>> getArgumentSpecifications() {
+            return List.of();
+        }
+
+        @Override
+        public T createComponent(Context context, List<Object> arguments) {
+            return creator.apply(context);
+        }
+    }
+}
@@ -20,7 +20,13 @@ package io.github.totalschema.engine.core.event;
 
 import static org.testng.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -241,4 +247,129 @@ public class EventDispatcherTest {
         eventDispatcher.dispatch(new ChangeEngineCloseEvent());
         assertEquals(callCount.get(), 1);
     }
+
+    @Test
+    public void testSubscribeSameListenerInstanceOnce() {
+        AtomicInteger callCount = new AtomicInteger(0);
+        EventListener<ChangeEngineCloseEvent> listener = event -> callCount.incrementAndGet();
+
+        eventDispatcher.subscribe(ChangeEngineCloseEvent.class, listener);
+        eventDispatcher.subscribe(ChangeEngineCloseEvent.class, listener);
+
+        eventDispatcher.dispatch(new ChangeEngineCloseEvent());
+
+        assertEquals(callCount.get(), 1);
+        assertEquals(eventDispatcher.getListenerCount(ChangeEngineCloseEvent.class), 1);
+    }
+
+    @Test
+    public void testUnsubscribeKeepsOrderOfRemainingListeners() {
+        List<String> calls = new ArrayList<>();
+        EventListener<ChangeEngineCloseEvent> second = event -> calls.add("second");
+
+        eventDispatcher.subscribe(ChangeEngineCloseEvent.class, event -> calls.add("first"));
+        eventDispatcher.subscribe(ChangeEngineCloseEvent.class, second);
+        eventDispatcher.subscribe(ChangeEngineCloseEvent.class, event -> calls.add("third"));
+
+        assertTrue(eventDispatcher.unsubscribe(ChangeEngineCloseEvent.class, second));
+
+        eventDispatcher.dispatch(new ChangeEngineCloseEvent());
+
+        assertEquals(calls, List.of("first", "third"));
+    }
+
+    @Test
+    public void testSubscriptionDuringDispatchAppliesToNextEvent() {
+        AtomicInteger lateCalls = new AtomicInteger(0);
+
+        eventDispatcher.subscribe(
+                ChangeEngineCloseEvent.class,
+                event ->
+                        eventDispatcher.subscribe(
+                                ChangeEngineCloseEvent.class,
+                                lateEvent -> lateCalls.incrementAndGet()));
+
+        eventDispatcher.dispatch(new ChangeEngineCloseEvent());
+        assertEquals(lateCalls.get(), 0);
+
+        eventDispatcher.dispatch(new ChangeEngineCloseEvent());
+        assertEquals(lateCalls.get(), 1);
+    }
+
+    @Test
+    public void testDispatchAsyncNotifiesOnDispatchThreadInOrder() throws Exception {
+        List<Integer> calls = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Thread> listenerThread = new AtomicReference<>();
+        CountDownLatch delivered = new CountDownLatch(100);
+
+        eventDispatcher.subscribe(
+                TestEvent.class,
+                event -> {
+                    listenerThread.set(Thread.currentThread());
+                    calls.add(event.sequence);
+                    delivered.countDown();
+                });
+
+        for (int i = 0; i < 100; i++) {
+            eventDispatcher.dispatchAsync(new TestEvent(i));
+        }
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        assertNotSame(listenerThread.get(), Thread.currentThread());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(calls.get(i).intValue(), i);
+        }
+    }
+
+    @Test
+    public void testDispatchAsyncLogsListenerExceptions() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        eventDispatcher.subscribe(
+                TestEvent.class,
+                event -> {
+                    throw new RuntimeException("Listener failed");
+                });
+        eventDispatcher.subscribe(TestEvent.class, event -> delivered.countDown());
+
+        eventDispatcher.dispatchAsync(new TestEvent(1));
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCloseDeliversPendingAsyncEvents() {
+        AtomicInteger callCount = new AtomicInteger(0);
+
+        eventDispatcher.subscribe(
+                TestEvent.class,
+                event -> {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    callCount.incrementAndGet();
+                });
+
+        for (int i = 0; i < 10; i++) {
+            eventDispatcher.dispatchAsync(new TestEvent(i));
+        }
+
+        eventDispatcher.close();
+        assertEquals(callCount.get(), 10);
+
+        // after close, events are delivered synchronously
+        eventDispatcher.dispatchAsync(new TestEvent(10));
+        assertEquals(callCount.get(), 11);
+    }
+
+    private static final class TestEvent extends Event {
+
+        private final int sequence;
+
+        private TestEvent(int sequence) {
+            this.sequence = sequence;
+        }
+    }
 }
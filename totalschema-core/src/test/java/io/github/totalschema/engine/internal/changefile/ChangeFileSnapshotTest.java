@@ -0,0 +1,190 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.changefile;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.engine.internal.changefile.labels.LabelInheritanceMode;
+import io.github.totalschema.model.ChangeFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ChangeFileSnapshotTest {
+
+    private Path directory;
+
+    private final ChangeFileFactory changeFileFactory =
+            new ChangeFileFactory(Configuration.builder().build());
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("changes-");
+
+        createFile("1.X/1.0.0/01.a.apply.db.sql");
+        createFile("1.X/1.0.0/01.a.revert.db.sql");
+        createFile("1.X/1.0.0/02.b.DEV.apply.db.sql");
+        createFile("1.X/1.0.0/03.c.QA.apply.db.sql");
+        createFile("1.X/1.0.0/04.d.apply.scripts.py");
+        createFile("1.X/1.10.0/01.e.apply.db.sql");
+        createFile("1.X/1.10.0/01.e.revert.db.sql");
+        createFile("1.X/1.2.0/01.f.apply.db.sql");
+        createFile("1.X/1.2.0/02.g.apply.db.sql");
+        createFile("1.X/1.2.0/02.g.revert.db.sql");
+        createFile("1.X/totalschema-labels.yml", "release: r1\n");
+        createFile("scratch/01.h.apply.db.sql");
+        createFile(".totalschemaignore", "scratch/\n");
+
+        makeOld();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFilesAreInExecutionOrder() {
+        ChangeFileSnapshot snapshot = discover();
+
+        assertEquals(
+                paths(snapshot.getApplyFiles()),
+                List.of(
+                        "1.X/1.0.0/01.a.apply.db.sql",
+                        "1.X/1.0.0/02.b.DEV.apply.db.sql",
+                        "1.X/1.0.0/03.c.QA.apply.db.sql",
+                        "1.X/1.0.0/04.d.apply.scripts.py",
+                        "1.X/1.2.0/01.f.apply.db.sql",
+                        "1.X/1.2.0/02.g.apply.db.sql",
+                        "1.X/1.10.0/01.e.apply.db.sql"));
+
+        assertEquals(
+                paths(snapshot.getRevertFiles()),
+                List.of(
+                        "1.X/1.10.0/01.e.revert.db.sql",
+                        "1.X/1.2.0/02.g.revert.db.sql",
+                        "1.X/1.0.0/01.a.revert.db.sql"));
+    }
+
+    @Test
+    public void testViewContainsFilesOfEnvironment() {
+        ChangeFileSnapshot snapshot = discover();
+
+        ChangeFileSnapshot.View view = snapshot.forEnvironment("dev");
+
+        assertEquals(
+                paths(view.getApplyFiles()),
+                List.of(
+                        "1.X/1.0.0/01.a.apply.db.sql",
+                        "1.X/1.0.0/02.b.DEV.apply.db.sql",
+                        "1.X/1.0.0/04.d.apply.scripts.py",
+                        "1.X/1.2.0/01.f.apply.db.sql",
+                        "1.X/1.2.0/02.g.apply.db.sql",
+                        "1.X/1.10.0/01.e.apply.db.sql"));
+        assertEquals(view.getRevertFiles(), snapshot.getRevertFiles());
+
+        assertSame(snapshot.forEnvironment("DEV"), view);
+        assertEquals(snapshot.forEnvironment(null).getApplyFiles(), snapshot.getApplyFiles());
+    }
+
+    @Test
+    public void testIsUpToDateUntilDirectoryOrLabelsChange() throws Exception {
+        ChangeFileSnapshot snapshot = discover();
+        assertTrue(snapshot.isUpToDate());
+
+        createFile("1.X/1.0.0/05.i.apply.db.sql");
+        assertFalse(snapshot.isUpToDate());
+
+        makeOld();
+        snapshot = discover();
+        assertEquals(snapshot.getApplyFiles().size(), 8);
+        assertTrue(snapshot.isUpToDate());
+
+        createFile("1.X/totalschema-labels.yml", "release: r2\n");
+        assertFalse(snapshot.isUpToDate());
+    }
+
+    @Test
+    public void testRecentChangesAreNotTrusted() throws Exception {
+        createFile("1.X/1.0.0/05.i.apply.db.sql");
+
+        assertFalse(discover().isUpToDate());
+    }
+
+    @Test
+    public void testCacheReusesSnapshotWhileUpToDate() throws Exception {
+        ChangeFileSnapshotCache cache = new ChangeFileSnapshotCache(1);
+
+        ChangeFileSnapshot snapshot =
+                cache.get(directory, changeFileFactory, LabelInheritanceMode.OVERRIDE);
+        assertSame(
+                cache.get(directory, changeFileFactory, LabelInheritanceMode.OVERRIDE), snapshot);
+        assertNotSame(
+                cache.get(directory, changeFileFactory, LabelInheritanceMode.MERGE), snapshot);
+
+        createFile("1.X/1.0.0/05.i.apply.db.sql");
+        assertEquals(
+                cache.get(directory, changeFileFactory, LabelInheritanceMode.MERGE)
+                        .getApplyFiles()
+                        .size(),
+                8);
+    }
+
+    private ChangeFileSnapshot discover() {
+        return ChangeFileSnapshot.discover(
+                directory, changeFileFactory, LabelInheritanceMode.OVERRIDE);
+    }
+
+    private void createFile(String relativePath) throws Exception {
+        createFile(relativePath, "select 1;");
+    }
+
+    private void createFile(String relativePath, String content) throws Exception {
+        Path file = directory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    /** Moves the modification times out of the interval not trusted by the snapshot. */
+    private void makeOld() throws Exception {
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                Files.setLastModifiedTime(path, old);
+            }
+        }
+    }
+
+    private static List<String> paths(List<? extends ChangeFile> changeFiles) {
+        return changeFiles.stream()
+                .map(changeFile -> changeFile.getRelativePath().toString())
+                .collect(Collectors.toList());
+    }
+}
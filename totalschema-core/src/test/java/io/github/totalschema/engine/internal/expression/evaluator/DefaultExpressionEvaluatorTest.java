@@ -24,8 +24,15 @@ import io.github.totalschema.config.Configuration;
 import io.github.totalschema.config.MapConfiguration;
 import io.github.totalschema.engine.internal.lookup.DelegatingExpressionLookup;
 import io.github.totalschema.spi.lookup.ExpressionLookup;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import org.apache.commons.text.StringSubstitutor;
+import org.apache.commons.text.lookup.StringLookupFactory;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -129,4 +136,105 @@ public class DefaultExpressionEvaluatorTest {
 
         assertEquals(result, "HELLO world!");
     }
+
+    @Test
+    public void testEvaluateMatchesStringSubstitutor() {
+        Map<String, String> values =
+                Map.of(
+                        "name", "world",
+                        "greeting", "hello",
+                        "outer", "${inner}",
+                        "inner", "value",
+                        "pointer", "name");
+
+        StringSubstitutor reference =
+                new StringSubstitutor(
+                                StringLookupFactory.INSTANCE.interpolatorStringLookup(
+                                        Map.of(
+                                                "upper",
+                                                key -> key.toUpperCase(Locale.ROOT),
+                                                "lower",
+                                                key -> key.toLowerCase(Locale.ROOT)),
+                                        StringLookupFactory.INSTANCE.mapStringLookup(values),
+                                        true),
+                                "${",
+                                "}",
+                                '$')
+                        .setEnableSubstitutionInVariables(true);
+
+        List<String> expressions =
+                List.of(
+                        "plain text",
+                        "${name}",
+                        "a ${name} b ${greeting} c",
+                        "${${pointer}}",
+                        "$${name}",
+                        "$$${name}",
+                        "${name}$${name}${name}",
+                        "${missing}",
+                        "${missing:-default}",
+                        "${missing:-${name}}",
+                        "${upper:${greeting}} ${name}!",
+                        "${outer}",
+                        "unterminated ${name",
+                        "${a${name}}b}",
+                        "}${name}{",
+                        "$",
+                        "$$",
+                        "${}",
+                        "{${name}}",
+                        "SELECT '${name}' FROM t WHERE x = '$$' AND y = '${greeting}';");
+
+        for (String expression : expressions) {
+            assertEquals(
+                    evaluator.evaluate(expression, values),
+                    reference.replace(expression),
+                    "Mismatch for expression: " + expression);
+        }
+    }
+
+    @Test
+    public void testEvaluateReusesValuesAcrossCalls() {
+        Configuration config = new MapConfiguration(Map.of("key", "value1"));
+        Configuration otherConfig = new MapConfiguration(Map.of("key", "value2"));
+
+        assertEquals(evaluator.evaluate("${key}", config), "value1");
+        assertEquals(evaluator.evaluate("${key}", otherConfig), "value2");
+        assertEquals(evaluator.evaluate("${key}", config), "value1");
+    }
+
+    @Test
+    public void testEvaluateNullExpression() {
+        assertNull(evaluator.evaluate(null, Map.of()));
+    }
+
+    @Test
+    public void testEvaluatingReaderMatchesEvaluate() throws IOException {
+        Map<String, String> values = Map.of("name", "world", "greeting", "hello");
+
+        String script =
+                "SELECT '${greeting}' FROM t; -- $${name} $$${name}\n"
+                        + "${upper:${name}} ${missing:-${greeting}} ${missing} $ $$ }{ \n"
+                        + "${unterminated";
+
+        String expected = evaluator.evaluate(script, values);
+
+        for (int chunkSize : List.of(1, 2, 3, 5, 8192)) {
+            Reader reader =
+                    new ExpressionEvaluatingReader(
+                            new StringReader(script),
+                            template -> template.render(key -> evaluator.evaluate(key, values)),
+                            chunkSize,
+                            64 * 1024);
+
+            StringWriter output = new StringWriter();
+            reader.transferTo(output);
+
+            assertEquals(output.toString(), expected, "Mismatch for chunk size " + chunkSize);
+        }
+
+        StringWriter output = new StringWriter();
+        evaluator.evaluate(new StringReader(script), output, values);
+        assertEquals(output.toString(), expected);
+    }
 }
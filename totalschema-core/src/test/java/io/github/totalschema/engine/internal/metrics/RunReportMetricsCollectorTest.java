@@ -0,0 +1,185 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.metrics;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.ConfigurationBuilder;
+import io.github.totalschema.model.ChangeFile;
+import io.github.totalschema.model.ChangeType;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RunReportMetricsCollectorTest {
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("run-report-");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFactoryReturnsNoOpCollectorWithoutReportFile() {
+        MetricsCollector collector =
+                new DefaultMetricsCollectorFactory()
+                        .getMetricsCollector(Configuration.builder().build());
+
+        assertSame(collector, MetricsCollector.NO_OP);
+    }
+
+    @Test
+    public void testJsonReportContainsAggregatedMetrics() throws Exception {
+        Path reportFile = directory.resolve("reports").resolve("run.json");
+
+        RunReportMetricsCollector collector = createCollector(reportFile, null);
+        record(collector);
+        collector.close();
+
+        String report = Files.readString(reportFile);
+
+        assertTrue(report.contains("\"startTime\": "), report);
+        assertTrue(report.contains("\"run\": ["), report);
+        assertTrue(
+                report.contains(
+                        "{\"name\": \"GetPendingApplyFilesCommand\", \"count\": 2, \"failures\": 1,"
+                                + " \"totalMillis\": 5.000, \"maxMillis\": 3.000}"),
+                report);
+        assertTrue(
+                report.contains(
+                        "{\"name\": \"1.0/0001.create.apply.mydb.sql\", \"count\": 1,"
+                                + " \"failures\": 0, \"totalMillis\": 10.000,"
+                                + " \"maxMillis\": 10.000}"),
+                report);
+        assertTrue(
+                report.contains(
+                        "{\"name\": \"mydb:sql\", \"count\": 2, \"failures\": 1,"
+                                + " \"totalMillis\": 30.000, \"maxMillis\": 20.000}"),
+                report);
+        assertTrue(report.contains("\"connectorCheck\": ["), report);
+        assertTrue(report.contains("\"statement\": ["), report);
+        assertTrue(report.contains("\"connectionAcquire\": ["), report);
+        assertTrue(
+                report.contains(
+                        "\"connectionPools\": [\n    {\"name\": \"mydb\", \"maximumPoolSize\": 4,"
+                                + " \"peakActive\": 3, \"peakIdle\": 2, \"peakWaiting\": 1}\n  ]"),
+                report);
+        assertTrue(report.contains("\"stateWrite\": ["), report);
+        assertTrue(report.contains("\"lockWait\": ["), report);
+        assertTrue(report.trim().endsWith("}"), report);
+    }
+
+    @Test
+    public void testCsvReportIsSelectedByFileExtension() throws Exception {
+        Path reportFile = directory.resolve("run.csv");
+
+        RunReportMetricsCollector collector = createCollector(reportFile, null);
+        record(collector);
+        collector.close();
+
+        List<String> lines = Files.readAllLines(reportFile);
+
+        assertEquals(lines.get(0), "category,name,count,failures,totalMillis,maxMillis");
+        assertTrue(lines.get(1).startsWith("run,run,1,0,"), lines.get(1));
+        assertTrue(lines.contains("command,GetPendingApplyFilesCommand,2,1,5.000,3.000"));
+        assertTrue(lines.contains("connectorCheck,mydb,1,0,7.000,7.000"));
+        assertTrue(lines.contains("changeFile,1.0/0002.load.apply.mydb.sql,1,1,20.000,20.000"));
+        assertTrue(lines.contains("changeFileGroup,mydb:sql,2,1,30.000,20.000"));
+        assertTrue(lines.contains("statement,mydb,3,0,0.300,0.100"));
+        assertTrue(lines.contains("connectionAcquire,mydb,2,1,1.000,0.750"));
+        assertTrue(lines.contains("stateWrite,stateWrite,1,0,1.500,1.500"));
+        assertTrue(lines.contains("lockWait,lockWait,1,0,0.250,0.250"));
+    }
+
+    @Test
+    public void testExplicitFormatOverridesFileExtension() throws Exception {
+        Path reportFile = directory.resolve("run.csv");
+
+        RunReportMetricsCollector collector = createCollector(reportFile, "json");
+        collector.close();
+
+        String report = Files.readString(reportFile);
+        assertTrue(report.startsWith("{"), report);
+        assertTrue(report.contains("\"metrics\": {\n    \"run\": ["), report);
+        assertTrue(report.endsWith("  ]\n  },\n  \"connectionPools\": []\n}\n"), report);
+    }
+
+    @Test
+    public void testReportIsWrittenOnlyOnce() throws Exception {
+        Path reportFile = directory.resolve("run.csv");
+
+        RunReportMetricsCollector collector = createCollector(reportFile, null);
+        collector.close();
+        Files.delete(reportFile);
+        collector.close();
+
+        assertFalse(Files.exists(reportFile));
+    }
+
+    private static RunReportMetricsCollector createCollector(Path reportFile, String format) {
+        ConfigurationBuilder builder =
+                Configuration.builder().set("metrics.report.file", reportFile.toString());
+        if (format != null) {
+            builder.set("metrics.report.format", format);
+        }
+
+        MetricsCollector collector =
+                new DefaultMetricsCollectorFactory().getMetricsCollector(builder.build());
+
+        assertTrue(collector instanceof RunReportMetricsCollector);
+        return (RunReportMetricsCollector) collector;
+    }
+
+    private static void record(MetricsCollector collector) {
+        collector.commandExecuted("GetPendingApplyFilesCommand", Duration.ofMillis(2), true);
+        collector.commandExecuted("GetPendingApplyFilesCommand", Duration.ofMillis(3), false);
+        collector.connectorChecked("mydb", Duration.ofMillis(7), true);
+        collector.changeFileExecuted(id("0001", "create"), Duration.ofMillis(10), true);
+        collector.changeFileExecuted(id("0002", "load"), Duration.ofMillis(20), false);
+        for (int i = 0; i < 3; i++) {
+            collector.statementExecuted("mydb", Duration.ofNanos(100_000), true);
+        }
+        collector.connectionAcquired("mydb", Duration.ofNanos(250_000), true);
+        collector.connectionAcquired("mydb", Duration.ofNanos(750_000), false);
+        collector.connectionPoolSampled("mydb", 3, 0, 1, 4);
+        collector.connectionPoolSampled("mydb", 1, 2, 0, 4);
+        collector.stateWritten(Duration.ofNanos(1_500_000), true);
+        collector.lockAwaited(Duration.ofNanos(250_000), true);
+    }
+
+    private static ChangeFile.Id id(String order, String description) {
+        return new ChangeFile.Id("1.0", order, description, null, ChangeType.APPLY, "mydb", "sql");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.script;
+
+import static org.testng.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import org.testng.annotations.Test;
+
+public class CompiledScriptCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedScriptIsEvicted() {
+        CompiledScriptCache cache = new CompiledScriptCache(2);
+        CompiledScript first = new TestCompiledScript();
+        CompiledScript second = new TestCompiledScript();
+        CompiledScript third = new TestCompiledScript();
+
+        cache.put("first", first);
+        cache.put("second", second);
+        assertSame(cache.get("first"), first);
+
+        cache.put("third", third);
+
+        assertEquals(cache.size(), 2);
+        assertSame(cache.get("first"), first);
+        assertNull(cache.get("second"));
+        assertSame(cache.get("third"), third);
+    }
+
+    @Test
+    public void testZeroSizeDisablesCache() {
+        CompiledScriptCache cache = new CompiledScriptCache(0);
+
+        cache.put("script", new TestCompiledScript());
+
+        assertFalse(cache.isEnabled());
+        assertEquals(cache.size(), 0);
+        assertNull(cache.get("script"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeSizeIsRejected() {
+        new CompiledScriptCache(-1);
+    }
+
+    @Test
+    public void testKeyDependsOnScriptAndBindingTypesOnly() {
+        String key = CompiledScriptCache.key("print(x)", Map.of("x", "a", "y", 1));
+
+        assertEquals(CompiledScriptCache.key("print(x)", Map.of("y", 2, "x", "b")), key);
+        assertNotEquals(CompiledScriptCache.key("print(y)", Map.of("x", "a", "y", 1)), key);
+        assertNotEquals(CompiledScriptCache.key("print(x)", Map.of("x", "a", "y", 1L)), key);
+        assertNotEquals(CompiledScriptCache.key("print(x)", Map.of("x", "a")), key);
+        assertNotEquals(
+                CompiledScriptCache.key("print(x)", Map.of("x", "a", "z", 1)),
+                key,
+                "binding names contribute");
+        assertEquals(key.length(), 64);
+    }
+
+    @Test
+    public void testKeyAcceptsNullBindingValues() {
+        Map<String, Object> bindings = new HashMap<>();
+        bindings.put("connection", null);
+
+        assertNotEquals(
+                CompiledScriptCache.key("run()", bindings),
+                CompiledScriptCache.key("run()", Map.of("connection", "url")));
+    }
+
+    private static final class TestCompiledScript extends CompiledScript {
+
+        @Override
+        public Object eval(ScriptContext context) {
+            return null;
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+            return null;
+        }
+    }
+}
@@ -31,8 +31,14 @@ import io.github.totalschema.engine.internal.variables.DefaultVariableServiceFac
 import io.github.totalschema.jdbc.JdbcDatabase;
 import io.github.totalschema.spi.expression.evaluator.ExpressionEvaluator;
 import io.github.totalschema.spi.variables.VariableService;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.easymock.EasyMock;
@@ -230,6 +236,163 @@ public class SqlScriptExecutorTest {
         verify(mockDatabase);
     }
 
+    // -------------------------------------------------------------------------
+    // Streaming
+    // -------------------------------------------------------------------------
+
+    @Test
+    public void testStreamedScriptIsSubstitutedAndSplit() throws Exception {
+        Configuration connectorConfig =
+                Configuration.builder()
+                        .set("scriptExecutors.sql.variableSubstitution", "true")
+                        .set("statementSeparator", ";;")
+                        .build();
+        Configuration fullConfig = new MapConfiguration(Map.of("variables.schema", "app"));
+
+        List<String> executed = new ArrayList<>();
+        mockDatabase.execute(EasyMock.anyString());
+        expectLastCall()
+                .andAnswer(
+                        () -> {
+                            executed.add((String) EasyMock.getCurrentArguments()[0]);
+                            return null;
+                        })
+                .times(2);
+        replay(mockDatabase);
+
+        CommandContext context = buildContext(fullConfig, null);
+        new SqlScriptExecutor(connectorConfig)
+                .execute(
+                        new StringReader("CREATE SCHEMA ${schema};;\n;;DROP SCHEMA ${schema};;"),
+                        context);
+
+        verify(mockDatabase);
+        assertEquals(executed, List.of("CREATE SCHEMA app", "DROP SCHEMA app"));
+    }
+
+    @Test
+    public void testStreamedScriptWithRegexSeparator() throws Exception {
+        Configuration connectorConfig =
+                Configuration.builder().set("statementSeparator", "(?m)^GO$").build();
+
+        List<String> executed = new ArrayList<>();
+        mockDatabase.execute(EasyMock.anyString());
+        expectLastCall()
+                .andAnswer(
+                        () -> {
+                            executed.add((String) EasyMock.getCurrentArguments()[0]);
+                            return null;
+                        })
+                .times(2);
+        replay(mockDatabase);
+
+        CommandContext context = buildContext(new MapConfiguration(Map.of()), null);
+        new SqlScriptExecutor(connectorConfig)
+                .execute(new StringReader("SELECT 1\nGO\nSELECT 2\nGO\n"), context);
+
+        verify(mockDatabase);
+        assertEquals(executed, List.of("SELECT 1", "SELECT 2"));
+    }
+
+    @Test
+    public void testStreamedScriptFailingSubstitutionExecutesNoStatement() throws Exception {
+        Configuration connectorConfig =
+                Configuration.builder()
+                        .set("scriptExecutors.sql.variableSubstitution", "true")
+                        .build();
+
+        replay(mockDatabase);
+
+        expressionEvaluator = new FailingExpressionEvaluator(expressionEvaluator);
+        CommandContext context = buildContext(new MapConfiguration(Map.of()), null);
+
+        SqlScriptExecutor executor = new SqlScriptExecutor(connectorConfig);
+        try {
+            executor.execute(new StringReader(createScriptWithFailingPlaceholder()), context);
+            fail("Expected the substitution failure to be propagated");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("Failed to evaluate expression"), e.getMessage());
+        }
+
+        verify(mockDatabase);
+    }
+
+    @Test
+    public void testScriptFileIsSubstitutedWhileStreamed() throws Exception {
+        Configuration connectorConfig =
+                Configuration.builder()
+                        .set("scriptExecutors.sql.variableSubstitution", "true")
+                        .build();
+        Configuration fullConfig = new MapConfiguration(Map.of("variables.schema", "app"));
+
+        List<String> executed = recordExecutedStatements(2);
+
+        FailingExpressionEvaluator evaluator = new FailingExpressionEvaluator(expressionEvaluator);
+        expressionEvaluator = evaluator;
+        CommandContext context = buildContext(fullConfig, null);
+
+        Path scriptFile = writeScriptFile("CREATE SCHEMA ${schema};\nDROP SCHEMA ${schema};\n");
+        try {
+            new SqlScriptExecutor(connectorConfig).execute(scriptFile, context);
+        } finally {
+            Files.delete(scriptFile);
+        }
+
+        verify(mockDatabase);
+        assertEquals(executed, List.of("CREATE SCHEMA app", "DROP SCHEMA app"));
+        assertFalse(evaluator.evaluatedAsString, "The script must not be substituted as a String");
+    }
+
+    @Test
+    public void testScriptFileFailingSubstitutionExecutesNoStatement() throws Exception {
+        Configuration connectorConfig =
+                Configuration.builder()
+                        .set("scriptExecutors.sql.variableSubstitution", "true")
+                        .build();
+
+        replay(mockDatabase);
+
+        FailingExpressionEvaluator evaluator = new FailingExpressionEvaluator(expressionEvaluator);
+        expressionEvaluator = evaluator;
+        CommandContext context = buildContext(new MapConfiguration(Map.of()), null);
+
+        Path scriptFile = writeScriptFile(createScriptWithFailingPlaceholder());
+        try {
+            new SqlScriptExecutor(connectorConfig).execute(scriptFile, context);
+            fail("Expected the substitution failure to be propagated");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("Failed to evaluate expression"), e.getMessage());
+        } finally {
+            Files.delete(scriptFile);
+        }
+
+        verify(mockDatabase);
+        assertFalse(evaluator.evaluatedAsString, "The script must not be substituted as a String");
+    }
+
+    @Test
+    public void testScriptFileWithRegexSeparatorIsSubstituted() throws Exception {
+        Configuration connectorConfig =
+                Configuration.builder()
+                        .set("scriptExecutors.sql.variableSubstitution", "true")
+                        .set("statementSeparator", "(?m)^GO$")
+                        .build();
+        Configuration fullConfig = new MapConfiguration(Map.of("variables.schema", "app"));
+
+        List<String> executed = recordExecutedStatements(2);
+        CommandContext context = buildContext(fullConfig, null);
+
+        Path scriptFile = writeScriptFile("CREATE SCHEMA ${schema}\nGO\nSELECT 2\nGO\n");
+        try {
+            new SqlScriptExecutor(connectorConfig).execute(scriptFile, context);
+        } finally {
+            Files.delete(scriptFile);
+        }
+
+        verify(mockDatabase);
+        assertEquals(executed, List.of("CREATE SCHEMA app", "SELECT 2"));
+    }
+
     // -------------------------------------------------------------------------
     // Error propagation
     // -------------------------------------------------------------------------
@@ -252,6 +415,83 @@ public class SqlScriptExecutorTest {
     // Helpers
     // -------------------------------------------------------------------------
 
+    private List<String> recordExecutedStatements(int count) throws Exception {
+        List<String> executed = new ArrayList<>();
+        mockDatabase.execute(EasyMock.anyString());
+        expectLastCall()
+                .andAnswer(
+                        () -> {
+                            executed.add((String) EasyMock.getCurrentArguments()[0]);
+                            return null;
+                        })
+                .times(count);
+        replay(mockDatabase);
+        return executed;
+    }
+
+    /**
+     * A script whose failing placeholder lies well beyond the first chunk a streaming reader would
+     * hand out.
+     */
+    private static String createScriptWithFailingPlaceholder() {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            script.append("SELECT ").append(i).append(";\n");
+        }
+        script.append("SELECT ${broken};\n");
+        return script.toString();
+    }
+
+    private static Path writeScriptFile(String content) throws IOException {
+        Path scriptFile = Files.createTempFile("sql-script-executor-test-", ".sql");
+        Files.writeString(scriptFile, content);
+        return scriptFile;
+    }
+
+    /**
+     * Delegates to an evaluator with values whose lookup of {@code broken} fails, whether the
+     * script is evaluated eagerly or lazily; records whether a script was evaluated as a String.
+     */
+    private static final class FailingExpressionEvaluator implements ExpressionEvaluator {
+
+        private final ExpressionEvaluator delegate;
+        private boolean evaluatedAsString;
+
+        private FailingExpressionEvaluator(ExpressionEvaluator delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String evaluate(String expression, Configuration configuration) {
+            return delegate.evaluate(expression, configuration);
+        }
+
+        @Override
+        public String evaluate(String expressionString, Map<String, String> values) {
+            // variable values are evaluated as Strings too; only scripts span several lines
+            evaluatedAsString |= expressionString.contains("\n");
+            return delegate.evaluate(expressionString, failing(values));
+        }
+
+        @Override
+        public Reader evaluatingReader(Reader expression, Map<String, String> values)
+                throws IOException {
+            return delegate.evaluatingReader(expression, failing(values));
+        }
+
+        private static Map<String, String> failing(Map<String, String> values) {
+            return new HashMap<>(values) {
+                @Override
+                public String get(Object key) {
+                    if ("broken".equals(key)) {
+                        throw new IllegalStateException("Cannot resolve: broken");
+                    }
+                    return super.get(key);
+                }
+            };
+        }
+    }
+
     private CommandContext buildContext(Configuration fullConfig, Environment environment) {
         VariableService variableService =
                 new DefaultVariableServiceFactory()
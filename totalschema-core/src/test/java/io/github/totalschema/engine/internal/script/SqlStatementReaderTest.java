@@ -0,0 +1,108 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.script;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
+
+public class SqlStatementReaderTest {
+
+    @Test
+    public void testMatchesSplittingTheWholeScript() throws IOException {
+        List<String> scripts =
+                List.of(
+                        "",
+                        ";",
+                        "SELECT 1",
+                        "SELECT 1;",
+                        "SELECT 1; SELECT 2",
+                        ";; ;SELECT 1;;;SELECT 2;\n",
+                        "CREATE TABLE t (a INT);\n\nINSERT INTO t VALUES (1);\n");
+
+        for (String separator : List.of(";", ";;", "\nGO\n")) {
+            for (String script : scripts) {
+                String scriptWithSeparator = script.replace(";", separator);
+
+                assertEquals(
+                        readAll(new OneCharAtATimeReader(scriptWithSeparator), separator),
+                        split(scriptWithSeparator, separator),
+                        "Mismatch for script: " + scriptWithSeparator);
+            }
+        }
+    }
+
+    @Test
+    public void testWithoutSeparatorReturnsWholeScript() throws IOException {
+        assertEquals(
+                readAll(new StringReader("  SELECT 1; SELECT 2  "), null),
+                List.of("SELECT 1; SELECT 2"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testEmptySeparatorIsRejected() {
+        new SqlStatementReader(new StringReader(""), "");
+    }
+
+    private static List<String> readAll(Reader reader, String separator) throws IOException {
+        SqlStatementReader statementReader = new SqlStatementReader(reader, separator);
+
+        List<String> statements = new ArrayList<>();
+        String statement;
+        while ((statement = statementReader.nextStatement()) != null) {
+            statements.add(statement);
+        }
+        return statements;
+    }
+
+    private static List<String> split(String script, String separator) {
+        return List.of(script.split(Pattern.quote(separator))).stream()
+                .map(String::trim)
+                .filter(Predicate.not(String::isBlank))
+                .collect(Collectors.toList());
+    }
+
+    /** Forces separators to be split across reads. */
+    private static final class OneCharAtATimeReader extends Reader {
+
+        private final StringReader delegate;
+
+        private OneCharAtATimeReader(String content) {
+            this.delegate = new StringReader(content);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return delegate.read(cbuf, off, Math.min(len, 1));
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.script.jsr223;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.MisconfigurationException;
+import io.github.totalschema.engine.core.command.api.CommandContext;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.SimpleBindings;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for {@link JSR223ScriptExecutor}, using stub script engines whose "scripts" record the
+ * {@code configuration} binding they are evaluated with.
+ */
+public class JSR223ScriptExecutorTest {
+
+    private StubEngineFactory factory;
+
+    @BeforeMethod
+    public void setUp() {
+        factory = new StubEngineFactory(true);
+    }
+
+    @Test
+    public void testEngineIsCreatedOnFirstExecutionOnly() throws Exception {
+        JSR223ScriptExecutor executor = JSR223ScriptExecutor.newInstance("stub", factory, 16);
+
+        assertEquals(factory.engines.size(), 0);
+
+        executor.execute("a", contextWith(configuration("1")));
+        executor.execute("b", contextWith(configuration("2")));
+
+        assertEquals(factory.engines.size(), 1);
+    }
+
+    @Test
+    public void testScriptIsCompiledOnceAndEvaluatedWithCurrentBindings() throws Exception {
+        JSR223ScriptExecutor executor = JSR223ScriptExecutor.newInstance("stub", factory, 16);
+
+        Configuration first = configuration("1");
+        Configuration second = configuration("2");
+        executor.execute("a", contextWith(first));
+        executor.execute("a", contextWith(second));
+
+        StubEngine engine = factory.engines.get(0);
+        assertEquals(engine.compiled, List.of("a"));
+        assertEquals(engine.evaluated, List.of("a", "a"));
+        assertEquals(engine.configurations, List.of(first, second));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedScriptIsEvicted() throws Exception {
+        JSR223ScriptExecutor executor = JSR223ScriptExecutor.newInstance("stub", factory, 1);
+
+        executor.execute("a", contextWith(configuration("1")));
+        executor.execute("b", contextWith(configuration("1")));
+        executor.execute("a", contextWith(configuration("1")));
+
+        assertEquals(factory.engines.get(0).compiled, List.of("a", "b", "a"));
+    }
+
+    @Test
+    public void testBindingsAreClearedAfterExecution() throws Exception {
+        JSR223ScriptExecutor executor = JSR223ScriptExecutor.newInstance("stub", factory, 16);
+
+        executor.execute("a", contextWith(configuration("1")));
+
+        StubEngine engine = factory.engines.get(0);
+        assertNull(engine.getBindings(ScriptContext.ENGINE_SCOPE).get("configuration"));
+    }
+
+    @Test
+    public void testZeroCacheSizeEvaluatesScriptsDirectly() throws Exception {
+        JSR223ScriptExecutor executor = JSR223ScriptExecutor.newInstance("stub", factory, 0);
+
+        Configuration configuration = configuration("1");
+        executor.execute("a", contextWith(configuration));
+        executor.execute("a", contextWith(configuration));
+
+        StubEngine engine = factory.engines.get(0);
+        assertTrue(engine.compiled.isEmpty());
+        assertEquals(engine.evaluated, List.of("a", "a"));
+        assertEquals(engine.configurations, List.of(configuration, configuration));
+    }
+
+    @Test
+    public void testEngineWithoutCompilationEvaluatesScriptsDirectly() throws Exception {
+        factory = new StubEngineFactory(false);
+        JSR223ScriptExecutor executor = JSR223ScriptExecutor.newInstance("stub", factory, 16);
+
+        executor.execute("a", contextWith(configuration("1")));
+
+        StubEngine engine = factory.engines.get(0);
+        assertFalse(engine instanceof Compilable);
+        assertEquals(engine.evaluated, List.of("a"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testMissingEngineFailsOnExecution() throws Exception {
+        factory = new StubEngineFactory(true);
+        factory.fail = true;
+        JSR223ScriptExecutor executor = JSR223ScriptExecutor.newInstance("stub", factory, 16);
+
+        executor.execute("a", contextWith(configuration("1")));
+    }
+
+    @Test(expectedExceptions = MisconfigurationException.class)
+    public void testNegativeCacheSizeIsRejected() {
+        JSR223ScriptExecutorFactory.createExecutors(
+                Configuration.builder().set("scripting.jsr223.cache.maxSize", "-1").build());
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private static Configuration configuration(String value) {
+        return Configuration.builder().set("value", value).build();
+    }
+
+    private static CommandContext contextWith(Configuration configuration) {
+        CommandContext context = new CommandContext();
+        context.setValue(Configuration.class, configuration);
+        return context;
+    }
+
+    private static class StubEngine extends AbstractScriptEngine {
+
+        private final ScriptEngineFactory factory;
+
+        final List<String> compiled = new ArrayList<>();
+        final List<String> evaluated = new ArrayList<>();
+        final List<Object> configurations = new ArrayList<>();
+
+        StubEngine(ScriptEngineFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Object eval(String script, ScriptContext context) {
+            evaluated.add(script);
+            configurations.add(context.getAttribute("configuration"));
+            return null;
+        }
+
+        @Override
+        public Object eval(Reader reader, ScriptContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Bindings createBindings() {
+            return new SimpleBindings();
+        }
+
+        @Override
+        public ScriptEngineFactory getFactory() {
+            return factory;
+        }
+    }
+
+    private static final class CompilableStubEngine extends StubEngine implements Compilable {
+
+        CompilableStubEngine(ScriptEngineFactory factory) {
+            super(factory);
+        }
+
+        @Override
+        public CompiledScript compile(String script) {
+            compiled.add(script);
+            return new CompiledScript() {
+                @Override
+                public Object eval(ScriptContext context) {
+                    return CompilableStubEngine.this.eval(script, context);
+                }
+
+                @Override
+                public ScriptEngine getEngine() {
+                    return CompilableStubEngine.this;
+                }
+            };
+        }
+
+        @Override
+        public CompiledScript compile(Reader script) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class StubEngineFactory implements ScriptEngineFactory {
+
+        private final boolean compilable;
+        private final List<StubEngine> engines = new ArrayList<>();
+        private boolean fail;
+
+        StubEngineFactory(boolean compilable) {
+            this.compilable = compilable;
+        }
+
+        @Override
+        public ScriptEngine getScriptEngine() {
+            if (fail) {
+                throw new IllegalArgumentException("engine not available");
+            }
+            StubEngine engine = compilable ? new CompilableStubEngine(this) : new StubEngine(this);
+            engines.add(engine);
+            return engine;
+        }
+
+        @Override
+        public String getEngineName() {
+            return "stub";
+        }
+
+        @Override
+        public String getEngineVersion() {
+            return "1";
+        }
+
+        @Override
+        public List<String> getExtensions() {
+            return List.of("stub");
+        }
+
+        @Override
+        public List<String> getMimeTypes() {
+            return List.of();
+        }
+
+        @Override
+        public List<String> getNames() {
+            return List.of("stub");
+        }
+
+        @Override
+        public String getLanguageName() {
+            return "stub";
+        }
+
+        @Override
+        public String getLanguageVersion() {
+            return "1";
+        }
+
+        @Override
+        public Object getParameter(String key) {
+            return null;
+        }
+
+        @Override
+        public String getMethodCallSyntax(String obj, String m, String... args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getOutputStatement(String toDisplay) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getProgram(String... statements) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.engine.internal.trace;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.spi.trace.Span;
+import io.github.totalschema.spi.trace.Tracer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.yaml.snakeyaml.Yaml;
+
+public class OtlpJsonFileTracerTest {
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("trace-");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFactoryReturnsNoOpTracerWithoutTraceFile() {
+        Tracer tracer = new DefaultTracerFactory().getTracer(Configuration.builder().build());
+
+        assertSame(tracer, Tracer.NO_OP);
+    }
+
+    @Test
+    public void testFactoryCreatesFileTracer() {
+        Tracer tracer =
+                new DefaultTracerFactory()
+                        .getTracer(
+                                Configuration.builder()
+                                        .set(
+                                                "tracing.file",
+                                                directory.resolve("trace.json").toString())
+                                        .build());
+
+        assertTrue(tracer instanceof OtlpJsonFileTracer, String.valueOf(tracer));
+    }
+
+    @Test
+    public void testNestedSpansAreWrittenAsOtlpJson() throws Exception {
+        Path traceFile = directory.resolve("traces").resolve("trace.json");
+
+        OtlpJsonFileTracer tracer = new OtlpJsonFileTracer(traceFile);
+
+        Span command = tracer.startSpan("ExecutePendingApplyFilesCommand");
+        Span changeFile = tracer.startSpan("1.0/0001.create.apply.mydb.sql");
+        changeFile.setAttribute("totalschema.connector", "mydb");
+        Span statement = tracer.startSpan("execute");
+        statement.setAttribute("db.name", "my\"db");
+        statement.setAttribute("rows", 42);
+        statement.end(false);
+        changeFile.end(false);
+        Span next = tracer.startSpan("1.0/0002.insert.apply.mydb.sql");
+        next.end(true);
+        command.end(true);
+
+        tracer.close();
+
+        Map<String, Map<String, Object>> spans = readSpans(traceFile);
+
+        assertEquals(spans.size(), 5, spans.toString());
+
+        Map<String, Object> root = spans.get("totalschema");
+        assertFalse(root.containsKey("parentSpanId"));
+
+        assertParent(spans, "ExecutePendingApplyFilesCommand", "totalschema");
+        assertParent(spans, "1.0/0001.create.apply.mydb.sql", "ExecutePendingApplyFilesCommand");
+        assertParent(spans, "execute", "1.0/0001.create.apply.mydb.sql");
+        assertParent(spans, "1.0/0002.insert.apply.mydb.sql", "ExecutePendingApplyFilesCommand");
+
+        Map<String, Object> executeSpan = spans.get("execute");
+        assertEquals(executeSpan.get("traceId"), root.get("traceId"));
+        assertEquals(((String) executeSpan.get("traceId")).length(), 32);
+        assertEquals(((String) executeSpan.get("spanId")).length(), 16);
+        assertEquals(executeSpan.get("status"), Map.of("code", 2));
+        assertEquals(
+                executeSpan.get("attributes"),
+                List.of(
+                        Map.of("key", "db.name", "value", Map.of("stringValue", "my\"db")),
+                        Map.of("key", "rows", "value", Map.of("intValue", "42"))));
+
+        assertEquals(spans.get("1.0/0002.insert.apply.mydb.sql").get("status"), Map.of("code", 1));
+
+        long start = Long.parseLong((String) executeSpan.get("startTimeUnixNano"));
+        long end = Long.parseLong((String) executeSpan.get("endTimeUnixNano"));
+        assertTrue(start <= end);
+        long rootStart = Long.parseLong((String) root.get("startTimeUnixNano"));
+        long rootEnd = Long.parseLong((String) root.get("endTimeUnixNano"));
+        assertTrue(rootStart <= start && end <= rootEnd);
+    }
+
+    @Test
+    public void testSpansOfOtherThreadsAreChildrenOfRoot() throws Exception {
+        Path traceFile = directory.resolve("trace.json");
+
+        OtlpJsonFileTracer tracer = new OtlpJsonFileTracer(traceFile);
+
+        Span command = tracer.startSpan("command");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> tracer.startSpan("worker").end(true)).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        command.end(true);
+        tracer.close();
+
+        Map<String, Map<String, Object>> spans = readSpans(traceFile);
+
+        assertParent(spans, "command", "totalschema");
+        assertParent(spans, "worker", "totalschema");
+    }
+
+    @Test
+    public void testSpansEndedAfterCloseAreIgnored() throws Exception {
+        Path traceFile = directory.resolve("trace.json");
+
+        OtlpJsonFileTracer tracer = new OtlpJsonFileTracer(traceFile);
+        Span span = tracer.startSpan("late");
+
+        tracer.close();
+        span.end(true);
+        tracer.close();
+
+        assertEquals(readSpans(traceFile).keySet(), Set.of("totalschema"));
+    }
+
+    private static void assertParent(
+            Map<String, Map<String, Object>> spans, String child, String parent) {
+        assertEquals(
+                spans.get(child).get("parentSpanId"),
+                spans.get(parent).get("spanId"),
+                child + " -> " + parent);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> readSpans(Path traceFile) throws Exception {
+        Map<String, Object> json = new Yaml().load(Files.readString(traceFile));
+
+        Map<String, Object> resourceSpans =
+                ((List<Map<String, Object>>) json.get("resourceSpans")).get(0);
+        Map<String, Object> scopeSpans =
+                ((List<Map<String, Object>>) resourceSpans.get("scopeSpans")).get(0);
+
+        return ((List<Map<String, Object>>) scopeSpans.get("spans"))
+                .stream()
+                        .collect(
+                                Collectors.toMap(
+                                        span -> (String) span.get("name"), Function.identity()));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jdbc;
+
+import static org.testng.Assert.*;
+
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.ConfigurationBuilder;
+import io.github.totalschema.config.MisconfigurationException;
+import io.github.totalschema.spi.metrics.MetricsCollector;
+import io.github.totalschema.spi.trace.Tracer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.Test;
+
+public class DefaultJdbcDatabaseTest {
+
+    /** Records the connection pool metrics reported by a database. */
+    private static final class PoolMetrics implements MetricsCollector {
+
+        private final List<Boolean> acquisitions = new ArrayList<>();
+        private final List<int[]> samples = new ArrayList<>();
+
+        @Override
+        public synchronized void connectionAcquired(
+                String database, Duration duration, boolean successful) {
+            acquisitions.add(successful);
+        }
+
+        @Override
+        public synchronized void connectionPoolSampled(
+                String database, int active, int idle, int waiting, int maximumPoolSize) {
+            samples.add(new int[] {active, idle, waiting, maximumPoolSize});
+        }
+    }
+
+    @Test
+    public void testConnectionAcquisitionIsReported() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+
+        try (DefaultJdbcDatabase database = newDatabase("acquire", builder(), metrics)) {
+            database.execute("SELECT 1");
+        }
+
+        assertEquals(metrics.acquisitions, List.of(true));
+
+        int[] sample = metrics.samples.get(metrics.samples.size() - 1);
+        assertEquals(sample[0], 1, "active");
+        assertEquals(sample[2], 0, "waiting");
+        assertEquals(sample[3], 1, "maximumPoolSize");
+    }
+
+    @Test
+    public void testPoolSizeIsDerivedFromConcurrency() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+
+        try (DefaultJdbcDatabase database =
+                newDatabase("concurrency", builder().set("concurrency", 2), metrics)) {
+
+            // a second connection is available while the first one is in use
+            database.withConnection(connection -> database.withConnection(inner -> null));
+        }
+
+        int[] sample = metrics.samples.get(metrics.samples.size() - 1);
+        assertEquals(sample[0], 2, "active");
+        assertEquals(sample[3], 2, "maximumPoolSize");
+    }
+
+    @Test
+    public void testExplicitPoolSizeOverridesConcurrency() throws Exception {
+        PoolMetrics metrics = new PoolMetrics();
+
+        try (DefaultJdbcDatabase database =
+                newDatabase(
+                        "explicit",
+                        builder().set("concurrency", 2).set("pool.maximumPoolSize", 3),
+                        metrics)) {
+            database.execute("SELECT 1");
+        }
+
+        int[] sample = metrics.samples.get(metrics.samples.size() - 1);
+        assertEquals(sample[3], 3, "maximumPoolSize");
+    }
+
+    @Test(expectedExceptions = MisconfigurationException.class)
+    public void testInvalidConcurrencyIsRejected() {
+        newDatabase("invalid", builder().set("concurrency", 0), MetricsCollector.NO_OP);
+    }
+
+    private static ConfigurationBuilder builder() {
+        return Configuration.builder();
+    }
+
+    private static DefaultJdbcDatabase newDatabase(
+            String name, ConfigurationBuilder builder, MetricsCollector metricsCollector) {
+
+        Configuration configuration =
+                builder.set("jdbc.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1")
+                        .set("username", "sa")
+                        .set("password", "")
+                        .build();
+
+        return DefaultJdbcDatabase.newInstance(name, configuration, metricsCollector, Tracer.NO_OP);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.jfr;
+
+import static org.testng.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.annotations.Test;
+
+public class ProcessSpawnEventTest {
+
+    private static final String EVENT_NAME = "io.github.totalschema.ProcessSpawn";
+
+    @Test
+    public void testStartRecordsEvent() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<RecordedEvent> events;
+        Process process;
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+
+            process = ProcessSpawnEvent.start(new ProcessBuilder(java, "-version"), "local");
+            process.waitFor();
+
+            recording.stop();
+            events = recordedEvents(recording);
+        }
+
+        assertEquals(events.size(), 1);
+        RecordedEvent event = events.get(0);
+        assertEquals(event.getString("connector"), "local");
+        assertEquals(event.getString("command"), java + " -version");
+        assertEquals(event.getLong("pid"), process.pid());
+        assertTrue(event.getBoolean("successful"));
+    }
+
+    @Test
+    public void testStartRecordsFailure() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME);
+            recording.start();
+
+            ProcessBuilder processBuilder = new ProcessBuilder("totalschema-no-such-executable");
+            expectThrows(IOException.class, () -> ProcessSpawnEvent.start(processBuilder, null));
+
+            recording.stop();
+            events = recordedEvents(recording);
+        }
+
+        assertEquals(events.size(), 1);
+        assertEquals(events.get(0).getLong("pid"), -1L);
+        assertFalse(events.get(0).getBoolean("successful"));
+    }
+
+    @Test
+    public void testStartWithoutRecording() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+        Process process = ProcessSpawnEvent.start(new ProcessBuilder(java, "-version"), null);
+
+        assertEquals(process.waitFor(), 0);
+    }
+
+    private static List<RecordedEvent> recordedEvents(Recording recording) throws IOException {
+        Path file = Files.createTempFile("totalschema-jfr", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
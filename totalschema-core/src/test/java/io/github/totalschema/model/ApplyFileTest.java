@@ -65,4 +65,24 @@ public class ApplyFileTest {
         assertEquals(applyFile.getConnector(), "ssh");
         assertEquals(applyFile.getEnvironment().orElse(null), "PROD");
     }
+
+    @Test
+    public void testIsForEnvironment() {
+        Path changesDir = Paths.get("/changes");
+        ChangeFile.Id devId =
+                new ChangeFile.Id("1.X", "001", "test", "DEV", ChangeType.APPLY, "jdbc", "sql");
+        ChangeFile.Id anyId =
+                new ChangeFile.Id("1.X", "002", "test", null, ChangeType.APPLY, "jdbc", "sql");
+
+        ApplyFile devFile =
+                new ApplyFile(
+                        changesDir, Paths.get("/changes/1.X/001.test.DEV.apply.jdbc.sql"), devId);
+        ApplyFile anyFile =
+                new ApplyFile(changesDir, Paths.get("/changes/1.X/002.test.apply.jdbc.sql"), anyId);
+
+        assertTrue(devFile.isForEnvironment("DEV"));
+        assertTrue(devFile.isForEnvironment("dev"));
+        assertFalse(devFile.isForEnvironment("QA"));
+        assertTrue(anyFile.isForEnvironment("QA"));
+    }
 }
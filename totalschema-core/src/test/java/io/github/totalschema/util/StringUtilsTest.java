@@ -93,4 +93,12 @@ public class StringUtilsTest {
         assertEquals(masked.length(), password.length());
         assertTrue(masked.chars().allMatch(c -> c == '*'));
     }
+
+    @Test
+    public void testToJsonString() {
+        assertEquals(StringUtils.toJsonString("1.0/a.sql"), "\"1.0/a.sql\"");
+        assertEquals(
+                StringUtils.toJsonString("say \"hi\"\\\n\t\u0001"),
+                "\"say \\\"hi\\\"\\\\\\n\\t\\u0001\"");
+    }
 }
@@ -0,0 +1,374 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.extensions.groovy;
+
+import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovySystem;
+import groovy.lang.Script;
+import io.github.totalschema.util.HexUtil;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of compiled Groovy scripts, keyed by a hash of the script content and the Groovy version.
+ *
+ * <p>All scripts are compiled against one shared {@link GroovyClassLoader}. The classes of each
+ * script are defined in a dedicated child loader, so that they can be garbage collected once the
+ * script is evicted from the cache. At most {@code maxSize} scripts are kept, the least recently
+ * used one is evicted first; with a size of {@code 0} every script is compiled on each execution.
+ *
+ * <p>When a directory is given, compiled classes are also written to {@code <directory>/<hash>/},
+ * and read from there instead of compiling the script again in subsequent runs. Each entry contains
+ * a {@value #CHECKSUM_FILE_NAME} file listing the SHA-256 checksum of every class file; entries
+ * without it, with missing or corrupt class files (e.g. left by an interrupted write), or whose
+ * classes cannot be defined are ignored, and the script is compiled from its source again and the
+ * entry replaced.
+ *
+ * <p>The checksums are stored next to the classes, so they do not protect against deliberate
+ * changes: whoever can write to the directory can make this cache define arbitrary classes. The
+ * directory must therefore be writable only by the user running the tool.
+ */
+final class GroovyScriptCache implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(GroovyScriptCache.class);
+
+    private static final String CLASS_NAME_PREFIX = "TotalSchemaScript_";
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String CHECKSUM_FILE_NAME = "checksums.sha256";
+
+    /** Least recently used compiled scripts, keyed by content hash. */
+    private static final class ScriptClasses
+            extends LinkedHashMap<String, Class<? extends Script>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private ScriptClasses(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Class<? extends Script>> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /** Loader of the classes of one compiled script; resolves all other classes via the parent. */
+    private static final class ScriptClassLoader extends ClassLoader {
+
+        private ScriptClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(GroovyClass groovyClass) {
+            byte[] bytes = groovyClass.getBytes();
+            return defineClass(groovyClass.getName(), bytes, 0, bytes.length);
+        }
+    }
+
+    private final CompilerConfiguration compilerConfiguration;
+    private final GroovyClassLoader classLoader;
+    private final Path directory; // nullable — absent when compiled classes are not persisted
+
+    /** Guarded by {@code this}. */
+    private final ScriptClasses scriptClasses;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize maximum number of compiled scripts kept in memory; {@code 0} disables caching
+     * @param directory directory to persist compiled classes in, or {@code null}
+     */
+    GroovyScriptCache(int maxSize, Path directory) {
+        // same parent as a GroovyShell created without an explicit class loader
+        ClassLoader parent = Thread.currentThread().getContextClassLoader();
+        if (parent == null) {
+            parent = GroovyScriptCache.class.getClassLoader();
+        }
+
+        this.compilerConfiguration = new CompilerConfiguration();
+        this.classLoader = new GroovyClassLoader(parent, compilerConfiguration);
+        this.directory = directory;
+        this.scriptClasses = new ScriptClasses(maxSize);
+    }
+
+    /**
+     * Returns the compiled class of a script, compiling it if it is not cached.
+     *
+     * @param script the script source
+     * @return the script class
+     * @throws org.codehaus.groovy.control.CompilationFailedException if the script does not compile
+     */
+    synchronized Class<? extends Script> getScriptClass(String script) {
+        String hash = hash(script);
+
+        Class<? extends Script> scriptClass = scriptClasses.get(hash);
+        if (scriptClass != null) {
+            log.debug("Using cached compiled Groovy script {}", hash);
+            return scriptClass;
+        }
+
+        String className = CLASS_NAME_PREFIX + hash;
+
+        scriptClass = directory != null ? definePersisted(hash, className) : null;
+        if (scriptClass == null) {
+            log.debug("Compiling Groovy script {}", hash);
+            List<GroovyClass> classes = compile(className, script);
+            if (directory != null) {
+                persist(hash, classes);
+            }
+            scriptClass = define(className, classes);
+        }
+
+        scriptClasses.put(hash, scriptClass);
+        return scriptClass;
+    }
+
+    /** Returns the persisted class of a script, or {@code null} if there is no valid entry. */
+    private Class<? extends Script> definePersisted(String hash, String className) {
+        List<GroovyClass> classes = readPersisted(hash);
+        if (classes == null) {
+            return null;
+        }
+
+        try {
+            Class<? extends Script> scriptClass = define(className, classes);
+            log.debug("Using persisted compiled Groovy script {}", hash);
+            return scriptClass;
+        } catch (LinkageError | IllegalStateException e) {
+            log.warn("Ignoring invalid compiled Groovy script in {}", directory.resolve(hash), e);
+            return null;
+        }
+    }
+
+    private List<GroovyClass> compile(String className, String script) {
+        CompilationUnit unit =
+                new CompilationUnit(
+                        compilerConfiguration,
+                        null,
+                        new GroovyClassLoader.InnerLoader(classLoader));
+        unit.addSource(className + ".groovy", script);
+        unit.compile(Phases.CLASS_GENERATION);
+        return unit.getClasses();
+    }
+
+    private Class<? extends Script> define(String className, List<GroovyClass> classes) {
+        ScriptClassLoader scriptLoader = new ScriptClassLoader(classLoader);
+
+        Class<?> mainClass = null;
+        for (GroovyClass groovyClass : classes) {
+            Class<?> definedClass = scriptLoader.define(groovyClass);
+            if (groovyClass.getName().equals(className)) {
+                mainClass = definedClass;
+            }
+        }
+
+        if (mainClass == null || !Script.class.isAssignableFrom(mainClass)) {
+            throw new IllegalStateException("Compiled Groovy script class not found: " + className);
+        }
+        return mainClass.asSubclass(Script.class);
+    }
+
+    /**
+     * Reads the classes listed in the checksum file of an entry, verifying the checksum of each.
+     * Returns {@code null} if the entry does not exist or is not valid.
+     */
+    private List<GroovyClass> readPersisted(String hash) {
+        Path entry = directory.resolve(hash);
+        Path checksumFile = entry.resolve(CHECKSUM_FILE_NAME);
+        if (!Files.isRegularFile(checksumFile)) {
+            if (Files.exists(entry)) {
+                log.warn("Ignoring compiled Groovy script without checksums in {}", entry);
+            }
+            return null;
+        }
+
+        List<GroovyClass> classes = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(checksumFile, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String[] checksumAndFileName = line.split(" ", 2);
+                if (checksumAndFileName.length != 2
+                        || !checksumAndFileName[1].endsWith(CLASS_FILE_EXTENSION)) {
+                    log.warn("Ignoring compiled Groovy script with invalid checksums in {}", entry);
+                    return null;
+                }
+
+                String fileName = checksumAndFileName[1];
+                Path file = entry.resolve(fileName);
+                if (!entry.equals(file.getParent())) {
+                    log.warn("Ignoring compiled Groovy script with invalid checksums in {}", entry);
+                    return null;
+                }
+
+                byte[] bytes = Files.readAllBytes(file);
+                if (!checksumAndFileName[0].equals(checksum(bytes))) {
+                    log.warn("Ignoring corrupt compiled Groovy script in {}", file);
+                    return null;
+                }
+
+                String name =
+                        fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length());
+                classes.add(new GroovyClass(name, bytes));
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable compiled Groovy script in {}", entry, e);
+            return null;
+        }
+
+        if (classes.isEmpty()) {
+            return null;
+        }
+        return classes;
+    }
+
+    /**
+     * Writes the compiled classes and their checksums into a temporary directory first and renames
+     * it, so that concurrent runs never observe a partially written entry.
+     */
+    private void persist(String hash, List<GroovyClass> classes) {
+        Path entry = directory.resolve(hash);
+        Path temporary = directory.resolve(hash + ".tmp-" + UUID.randomUUID());
+        try {
+            Files.createDirectories(temporary);
+            StringBuilder checksums = new StringBuilder();
+            for (GroovyClass groovyClass : classes) {
+                String fileName = groovyClass.getName() + CLASS_FILE_EXTENSION;
+                Files.write(temporary.resolve(fileName), groovyClass.getBytes());
+                checksums
+                        .append(checksum(groovyClass.getBytes()))
+                        .append(' ')
+                        .append(fileName)
+                        .append('\n');
+            }
+            Files.writeString(
+                    temporary.resolve(CHECKSUM_FILE_NAME),
+                    checksums.toString(),
+                    StandardCharsets.UTF_8);
+
+            if (Files.isDirectory(entry)) {
+                if (containsClasses(entry, checksums.toString(), classes)) {
+                    log.debug("Compiled Groovy script {} was persisted concurrently", hash);
+                    return;
+                }
+                deleteRecursively(entry); // an invalid leftover
+            }
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException | UncheckedIOException e) {
+            if (Files.isDirectory(entry)) {
+                log.debug("Compiled Groovy script {} was persisted concurrently", hash, e);
+            } else {
+                log.warn("Failed to persist compiled Groovy script in {}", entry, e);
+            }
+        } finally {
+            try {
+                deleteRecursively(temporary);
+            } catch (IOException | UncheckedIOException e) {
+                log.debug("Failed to remove {}", temporary, e);
+            }
+        }
+    }
+
+    /** Whether an entry contains exactly the given classes, e.g. persisted concurrently. */
+    private static boolean containsClasses(Path entry, String checksums, List<GroovyClass> classes)
+            throws IOException {
+        try {
+            if (!checksums.equals(
+                    Files.readString(entry.resolve(CHECKSUM_FILE_NAME), StandardCharsets.UTF_8))) {
+                return false;
+            }
+            for (GroovyClass groovyClass : classes) {
+                Path file = entry.resolve(groovyClass.getName() + CLASS_FILE_EXTENSION);
+                if (!Arrays.equals(Files.readAllBytes(file), groovyClass.getBytes())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static String hash(String script) {
+        MessageDigest digest = sha256();
+        // classes compiled by another Groovy version are not reused
+        digest.update(GroovySystem.getVersion().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        return HexUtil.encodeToString(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String checksum(byte[] bytes) {
+        return HexUtil.encodeToString(sha256().digest(bytes));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Releases the compiled scripts and their class loader. */
+    @Override
+    public synchronized void close() throws IOException {
+        scriptClasses.clear();
+        classLoader.close();
+    }
+}
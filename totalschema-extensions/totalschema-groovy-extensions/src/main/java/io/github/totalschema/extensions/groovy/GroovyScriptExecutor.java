@@ -19,13 +19,18 @@
 package io.github.totalschema.extensions.groovy;
 
 import groovy.lang.Binding;
-import groovy.lang.GroovyShell;
+import groovy.lang.Script;
 import groovy.sql.Sql;
 import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.MisconfigurationException;
 import io.github.totalschema.engine.api.Context;
 import io.github.totalschema.spi.script.AbstractJdbcScriptExecutor;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.util.Map;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
 /**
  * Executes Groovy scripts against a JDBC database.
@@ -42,14 +47,45 @@ import java.util.Map;
  *
  * <p>No variable substitution is applied — Groovy's own {@code ${...}} GString syntax handles
  * dynamic values at the language level.
+ *
+ * <p>Compiled scripts are cached by content (see {@link GroovyScriptCache}), so a script executed
+ * again — e.g. an {@code APPLY_ALWAYS} script — is not recompiled. The cache is configured in the
+ * connector configuration:
+ *
+ * <ul>
+ *   <li>{@code scriptExecutors.groovy.cache.maxSize} — maximum number of compiled scripts kept in
+ *       memory (default: {@value DefaultValues#CACHE_MAX_SIZE}; {@code 0} disables the cache)
+ *   <li>{@code scriptExecutors.groovy.cache.directory} — directory in which compiled classes are
+ *       persisted between runs (default: none); it must be writable only by the user running the
+ *       tool, as the classes found there are loaded
+ * </ul>
  */
-final class GroovyScriptExecutor extends AbstractJdbcScriptExecutor {
+final class GroovyScriptExecutor extends AbstractJdbcScriptExecutor implements Closeable {
+
+    private static final class DefaultValues {
+        private static final int CACHE_MAX_SIZE = 64;
+    }
+
+    private final GroovyScriptCache scriptCache;
 
     /**
      * @param configuration Configuration for the script executor (injected into Groovy binding)
      */
     GroovyScriptExecutor(Configuration configuration) {
         super("Groovy", configuration);
+
+        Configuration cacheConfiguration =
+                configuration.getPrefixNamespace("scriptExecutors", "groovy", "cache");
+
+        int maxSize = cacheConfiguration.getInt("maxSize").orElse(DefaultValues.CACHE_MAX_SIZE);
+        if (maxSize < 0) {
+            throw MisconfigurationException.forMessage(
+                    "scriptExecutors.groovy.cache.maxSize must not be negative: %s", maxSize);
+        }
+
+        Path directory = cacheConfiguration.getString("directory").map(Path::of).orElse(null);
+
+        this.scriptCache = new GroovyScriptCache(maxSize, directory);
     }
 
     @Override
@@ -68,7 +104,14 @@ final class GroovyScriptExecutor extends AbstractJdbcScriptExecutor {
         // Add Groovy-specific bindings
         try (Sql sql = new Sql(connection)) {
             binding.setProperty("sql", sql);
-            new GroovyShell(null, binding).evaluate(groovyScript);
+
+            Class<? extends Script> scriptClass = scriptCache.getScriptClass(groovyScript);
+            InvokerHelper.createScript(scriptClass, binding).run();
         }
     }
+
+    @Override
+    public void close() throws IOException {
+        scriptCache.close();
+    }
 }
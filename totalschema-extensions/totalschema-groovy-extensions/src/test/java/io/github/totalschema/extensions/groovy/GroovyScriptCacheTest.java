@@ -0,0 +1,205 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.extensions.groovy;
+
+import static org.testng.Assert.*;
+
+import groovy.lang.Script;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class GroovyScriptCacheTest {
+
+    private static final String SCRIPT = "def answer = 6 * 7\nreturn answer";
+
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("groovy-script-cache-test-");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        if (directory != null) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCachedScriptIsReused() throws Exception {
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, null)) {
+            Class<? extends Script> first = cache.getScriptClass(SCRIPT);
+            Class<? extends Script> second = cache.getScriptClass(SCRIPT);
+
+            assertSame(second, first);
+            assertEquals(run(first), 42);
+        }
+    }
+
+    @Test
+    public void testPersistedScriptIsReusedByAnotherCache() throws Exception {
+        Class<? extends Script> compiled;
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            compiled = cache.getScriptClass(SCRIPT);
+        }
+
+        Path entry = getSingleEntry();
+        assertTrue(Files.isRegularFile(entry.resolve("checksums.sha256")));
+        long modified =
+                Files.getLastModifiedTime(entry.resolve(compiled.getName() + ".class")).toMillis();
+
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            Class<? extends Script> loaded = cache.getScriptClass(SCRIPT);
+
+            assertNotSame(loaded, compiled);
+            assertEquals(loaded.getName(), compiled.getName());
+            assertEquals(run(loaded), 42);
+        }
+
+        assertEquals(
+                Files.getLastModifiedTime(entry.resolve(compiled.getName() + ".class")).toMillis(),
+                modified);
+    }
+
+    @Test
+    public void testChangedScriptIsCompiledAgain() throws Exception {
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            Class<? extends Script> original = cache.getScriptClass("return 1");
+            Class<? extends Script> changed = cache.getScriptClass("return 2");
+
+            assertNotEquals(changed.getName(), original.getName());
+            assertEquals(run(original), 1);
+            assertEquals(run(changed), 2);
+        }
+
+        assertEquals(getEntries().size(), 2);
+    }
+
+    @Test
+    public void testCorruptClassFileIsReplaced() throws Exception {
+        String className;
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            className = cache.getScriptClass(SCRIPT).getName();
+        }
+
+        Path classFile = getSingleEntry().resolve(className + ".class");
+        byte[] bytes = Files.readAllBytes(classFile);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(classFile, bytes);
+
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            assertEquals(run(cache.getScriptClass(SCRIPT)), 42);
+        }
+
+        assertNotEquals(Files.readAllBytes(getSingleEntry().resolve(className + ".class")), bytes);
+
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            assertEquals(run(cache.getScriptClass(SCRIPT)), 42);
+        }
+    }
+
+    @Test
+    public void testEntryWithoutChecksumsIsReplaced() throws Exception {
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            cache.getScriptClass(SCRIPT);
+        }
+
+        Path checksumFile = getSingleEntry().resolve("checksums.sha256");
+        Files.delete(checksumFile);
+
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            assertEquals(run(cache.getScriptClass(SCRIPT)), 42);
+        }
+
+        assertTrue(Files.isRegularFile(checksumFile));
+    }
+
+    @Test
+    public void testConcurrentCompilationPersistsOneEntry() throws Exception {
+        int threads = 8;
+        List<GroovyScriptCache> caches = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            caches.add(new GroovyScriptCache(8, directory));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (GroovyScriptCache cache : caches) {
+                Callable<Object> task =
+                        () -> {
+                            start.await();
+                            return run(cache.getScriptClass(SCRIPT));
+                        };
+                results.add(executorService.submit(task));
+            }
+            start.countDown();
+
+            for (Future<Object> result : results) {
+                assertEquals(result.get(), 42);
+            }
+        } finally {
+            executorService.shutdownNow();
+            for (GroovyScriptCache cache : caches) {
+                cache.close();
+            }
+        }
+
+        getSingleEntry();
+        try (GroovyScriptCache cache = new GroovyScriptCache(8, directory)) {
+            assertEquals(run(cache.getScriptClass(SCRIPT)), 42);
+        }
+    }
+
+    private Path getSingleEntry() throws IOException {
+        List<Path> entries = getEntries();
+        assertEquals(entries.size(), 1, "entries: " + entries);
+        return entries.get(0);
+    }
+
+    private List<Path> getEntries() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.collect(Collectors.toList());
+        }
+    }
+
+    private static Object run(Class<? extends Script> scriptClass) throws Exception {
+        return scriptClass.getDeclaredConstructor().newInstance().run();
+    }
+}
@@ -19,13 +19,18 @@
 package io.github.totalschema.extensions.kotlin;
 
 import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.MisconfigurationException;
 import io.github.totalschema.engine.api.Context;
+import io.github.totalschema.jdbc.JdbcDatabase;
 import io.github.totalschema.spi.script.AbstractJdbcScriptExecutor;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import javax.script.Bindings;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,50 +51,130 @@ import org.slf4j.LoggerFactory;
  *       current environment, if present in the context
  * </ul>
  *
+ * <p>One script engine is used for all scripts, and compiled scripts are cached by content (see
+ * {@link KotlinScriptCache}). The bindings are replaced for every script, but top-level
+ * declarations of a script remain visible to later scripts of the same engine. Before the changes
+ * are applied, all pending {@code .kts} files are compiled in parallel ({@link #prepare}). This is
+ * configured in the connector configuration:
+ *
+ * <ul>
+ *   <li>{@code scriptExecutors.kts.cache.maxSize} — maximum number of compiled scripts kept in
+ *       memory (default: {@value DefaultValues#CACHE_MAX_SIZE}; {@code 0} disables the cache and
+ *       the compilation in advance)
+ *   <li>{@code scriptExecutors.kts.warmUp.enabled} — compile pending scripts in advance (default:
+ *       {@value DefaultValues#WARM_UP_ENABLED})
+ *   <li>{@code scriptExecutors.kts.warmUp.threads} — number of threads compiling in advance
+ *       (default: number of processors, at most {@value DefaultValues#WARM_UP_MAX_THREADS})
+ * </ul>
+ *
  * <p>This is the preferred implementation for production use with Kotlin 1.x.
  */
 final class Jsr223ScriptExecutor extends AbstractJdbcScriptExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(Jsr223ScriptExecutor.class);
 
+    private static final class DefaultValues {
+        private static final int CACHE_MAX_SIZE = 64;
+        private static final boolean WARM_UP_ENABLED = true;
+        private static final int WARM_UP_MAX_THREADS = 4;
+    }
+
+    private final KotlinScriptCache scriptCache;
+    private final boolean warmUpEnabled;
+    private final int warmUpThreads;
+
     /**
      * @param configuration Configuration for the script executor
      */
     Jsr223ScriptExecutor(Configuration configuration) {
         super("Kotlin", configuration);
+
+        Configuration executorConfiguration =
+                configuration.getPrefixNamespace("scriptExecutors", "kts");
+
+        int maxSize =
+                executorConfiguration
+                        .getInt("cache", "maxSize")
+                        .orElse(DefaultValues.CACHE_MAX_SIZE);
+        if (maxSize < 0) {
+            throw MisconfigurationException.forMessage(
+                    "scriptExecutors.kts.cache.maxSize must not be negative: %s", maxSize);
+        }
+
+        this.warmUpEnabled =
+                executorConfiguration
+                        .getBoolean("warmUp.enabled")
+                        .orElse(DefaultValues.WARM_UP_ENABLED);
+
+        this.warmUpThreads =
+                executorConfiguration
+                        .getInt("warmUp", "threads")
+                        .orElse(
+                                Math.min(
+                                        Runtime.getRuntime().availableProcessors(),
+                                        DefaultValues.WARM_UP_MAX_THREADS));
+        if (warmUpThreads < 1) {
+            throw MisconfigurationException.forMessage(
+                    "scriptExecutors.kts.warmUp.threads must be positive: %s", warmUpThreads);
+        }
+
+        this.scriptCache = new KotlinScriptCache(maxSize);
     }
 
     @Override
     protected void executeScriptWithConnection(
             String kotlinScript, Connection connection, Context context) {
 
-        log.info("Using JSR-223 (stable) Kotlin 1.x script engine");
+        try {
+            scriptCache.eval(kotlinScript, createBindings(connection, context));
+        } catch (ScriptException ex) {
+            throw new RuntimeException("Error evaluating Kotlin script (JSR-223)", ex);
+        }
+    }
+
+    /**
+     * Compiles the given scripts in advance. The bindings used for the compilation are created with
+     * a connection of the {@link JdbcDatabase}, so that their types match the ones of the
+     * subsequent executions. Failures are logged only; they are reported by the execution.
+     */
+    @Override
+    public void prepare(List<Path> scriptFiles, Context context) throws InterruptedException {
+        if (!warmUpEnabled || scriptFiles.isEmpty()) {
+            return;
+        }
 
-        ScriptEngineManager manager = new ScriptEngineManager();
-        ScriptEngine engine = manager.getEngineByExtension("kts");
+        List<String> scripts = new ArrayList<>(scriptFiles.size());
+        for (Path scriptFile : scriptFiles) {
+            try {
+                scripts.add(Files.readString(scriptFile));
+            } catch (IOException e) {
+                log.warn("Failure reading {}, it is not compiled in advance", scriptFile, e);
+            }
+        }
 
-        if (engine == null) {
-            throw new RuntimeException(
-                    "Kotlin JSR-223 script engine not found. "
-                            + "Ensure kotlin-scripting-jsr223 is in user_libs/");
+        try {
+            context.get(JdbcDatabase.class)
+                    .withConnection(
+                            connection -> {
+                                scriptCache.precompile(
+                                        scripts,
+                                        createBindings(connection, context),
+                                        warmUpThreads);
+                                return null;
+                            });
+        } catch (SQLException | RuntimeException | NoClassDefFoundError e) {
+            log.warn("Failure compiling Kotlin scripts in advance", e);
         }
+    }
 
+    private Map<String, Object> createBindings(Connection connection, Context context) {
         // Create base bindings (configuration, environment)
-        Map<String, Object> bindingsMap = createBaseBindings(context);
+        Map<String, Object> bindings = createBaseBindings(context);
 
         // Add Kotlin-specific bindings
-        KotlinSql sql = new KotlinSql(connection);
-        bindingsMap.put("sql", sql);
-        bindingsMap.put("connection", connection);
-
-        // Create JSR-223 bindings and populate
-        Bindings bindings = engine.createBindings();
-        bindings.putAll(bindingsMap);
+        bindings.put("sql", new KotlinSql(connection));
+        bindings.put("connection", connection);
 
-        try {
-            engine.eval(kotlinScript, bindings);
-        } catch (ScriptException ex) {
-            throw new RuntimeException("Error evaluating Kotlin script (JSR-223)", ex);
-        }
+        return bindings;
     }
 }
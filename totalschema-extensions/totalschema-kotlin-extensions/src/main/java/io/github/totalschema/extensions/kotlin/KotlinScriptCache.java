@@ -0,0 +1,276 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2025-2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.extensions.kotlin;
+
+import io.github.totalschema.engine.internal.script.CompiledScriptCache;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Kotlin JSR-223 script engine with a cache of compiled scripts.
+ *
+ * <p>The engine is created once, on first use, and reused for all scripts. Scripts are compiled
+ * with {@link Compilable#compile(String)} and kept in a {@link CompiledScriptCache}, whose key
+ * covers the names and types of the bindings: the Kotlin engine derives the variables available to
+ * a script, and their types, from the bindings present at compile time. With a size of {@code 0}
+ * every script is evaluated directly, without caching.
+ *
+ * <p>A compiled Kotlin script reads the values of its variables from the bindings of the engine
+ * that compiled it, not from the bindings passed to {@link CompiledScript#eval(Bindings)}. Scripts
+ * are therefore evaluated by setting the bindings of their engine, while holding the lock of that
+ * engine.
+ *
+ * <p>{@link #precompile} compiles a set of scripts in parallel, each thread using an engine of its
+ * own; the compiled scripts keep a reference to their engine.
+ *
+ * <p>The bindings are cleared after every script, but the engines are not reset otherwise: the
+ * Kotlin engine is a REPL, so the top-level declarations of a script stay visible to the scripts
+ * evaluated after it by the same engine. Scripts must not depend on this; which engine compiles a
+ * script depends on the compilation in advance.
+ */
+final class KotlinScriptCache {
+
+    private static final Logger log = LoggerFactory.getLogger(KotlinScriptCache.class);
+
+    private final CompiledScriptCache compiledScripts;
+
+    private ScriptEngine engine;
+
+    /**
+     * @param maxSize maximum number of compiled scripts to keep; {@code 0} disables caching
+     */
+    KotlinScriptCache(int maxSize) {
+        this.compiledScripts = new CompiledScriptCache(maxSize);
+    }
+
+    /**
+     * Evaluates a script with the given bindings, compiling it if it is not cached.
+     *
+     * @param script the script source
+     * @param bindings the variables available to the script
+     * @throws ScriptException if the script does not compile or fails
+     */
+    void eval(String script, Map<String, Object> bindings) throws ScriptException {
+        ScriptEngine mainEngine = getEngine();
+
+        if (!isCaching(mainEngine)) {
+            synchronized (mainEngine) {
+                setBindings(mainEngine, bindings);
+                try {
+                    mainEngine.eval(script);
+                } finally {
+                    clearBindings(mainEngine);
+                }
+            }
+            return;
+        }
+
+        String key = CompiledScriptCache.key(script, bindings);
+
+        CompiledScript compiledScript = compiledScripts.get(key);
+        ScriptEngine scriptEngine =
+                compiledScript != null ? compiledScript.getEngine() : mainEngine;
+
+        synchronized (scriptEngine) {
+            setBindings(scriptEngine, bindings);
+            try {
+                if (compiledScript == null) {
+                    log.debug("Compiling Kotlin script {}", key);
+                    compiledScript = ((Compilable) scriptEngine).compile(script);
+                    compiledScripts.put(key, compiledScript);
+                } else {
+                    log.debug("Using cached compiled Kotlin script {}", key);
+                }
+
+                compiledScript.eval();
+            } finally {
+                clearBindings(scriptEngine);
+            }
+        }
+    }
+
+    /**
+     * Compiles the given scripts in advance, using up to {@code threads} threads. Scripts already
+     * cached are skipped, and at most as many scripts as fit into the cache are compiled. Scripts
+     * that cannot be compiled are logged and skipped; they fail when evaluated.
+     *
+     * @param scripts the script sources, in the order of their evaluation
+     * @param bindings bindings of the same names and types as used for evaluation
+     * @param threads maximum number of threads to compile with
+     * @throws InterruptedException if interrupted while waiting for the compilation
+     */
+    void precompile(List<String> scripts, Map<String, Object> bindings, int threads)
+            throws InterruptedException {
+
+        if (!isCaching(getEngine())) {
+            return;
+        }
+
+        Map<String, String> pending = new LinkedHashMap<>();
+        for (String script : scripts) {
+            String key = CompiledScriptCache.key(script, bindings);
+            if (pending.size() < compiledScripts.getMaxSize() && compiledScripts.get(key) == null) {
+                pending.put(key, script);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        int threadCount = Math.max(1, Math.min(threads, pending.size()));
+
+        // every thread compiles a share of the scripts with an engine of its own
+        List<Map<String, String>> shares = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            shares.add(new LinkedHashMap<>());
+        }
+        int index = 0;
+        for (Map.Entry<String, String> entry : pending.entrySet()) {
+            shares.get(index++ % threadCount).put(entry.getKey(), entry.getValue());
+        }
+
+        log.info("Compiling {} Kotlin scripts using {} threads", pending.size(), threadCount);
+
+        if (threadCount == 1) {
+            precompile(getEngine(), shares.get(0), bindings);
+            return;
+        }
+
+        ExecutorService executorService =
+                Executors.newFixedThreadPool(threadCount, new CompilerThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                Map<String, String> share = shares.get(i);
+                boolean useMainEngine = i == 0;
+                futures.add(
+                        executorService.submit(
+                                () ->
+                                        precompile(
+                                                useMainEngine ? getEngine() : createEngine(),
+                                                share,
+                                                bindings)));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    log.warn("Failure compiling Kotlin scripts in advance", e.getCause());
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void precompile(
+            ScriptEngine scriptEngine, Map<String, String> scripts, Map<String, Object> bindings) {
+
+        for (Map.Entry<String, String> entry : scripts.entrySet()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            synchronized (scriptEngine) {
+                setBindings(scriptEngine, bindings);
+                try {
+                    log.debug("Compiling Kotlin script {}", entry.getKey());
+                    compiledScripts.put(
+                            entry.getKey(), ((Compilable) scriptEngine).compile(entry.getValue()));
+                } catch (ScriptException e) {
+                    log.warn(
+                            "Kotlin script {} could not be compiled in advance: {}",
+                            entry.getKey(),
+                            e.getMessage());
+                } finally {
+                    clearBindings(scriptEngine);
+                }
+            }
+        }
+    }
+
+    private boolean isCaching(ScriptEngine scriptEngine) {
+        return compiledScripts.isEnabled() && scriptEngine instanceof Compilable;
+    }
+
+    private synchronized ScriptEngine getEngine() {
+        if (engine == null) {
+            log.info("Using JSR-223 (stable) Kotlin 1.x script engine");
+            engine = createEngine();
+        }
+        return engine;
+    }
+
+    private static ScriptEngine createEngine() {
+        ScriptEngine scriptEngine = new ScriptEngineManager().getEngineByExtension("kts");
+
+        if (scriptEngine == null) {
+            throw new RuntimeException(
+                    "Kotlin JSR-223 script engine not found. "
+                            + "Ensure kotlin-scripting-jsr223 is in user_libs/");
+        }
+
+        return scriptEngine;
+    }
+
+    private static void setBindings(ScriptEngine scriptEngine, Map<String, Object> bindings) {
+        Bindings engineBindings = scriptEngine.createBindings();
+        engineBindings.putAll(bindings);
+        scriptEngine.setBindings(engineBindings, ScriptContext.ENGINE_SCOPE);
+    }
+
+    /** Releases the values of the last evaluation, e.g. the connection, from the engine. */
+    private static void clearBindings(ScriptEngine scriptEngine) {
+        scriptEngine.setBindings(scriptEngine.createBindings(), ScriptContext.ENGINE_SCOPE);
+    }
+
+    private static final class CompilerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread =
+                    new Thread(
+                            runnable,
+                            "totalschema-kotlin-compiler-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
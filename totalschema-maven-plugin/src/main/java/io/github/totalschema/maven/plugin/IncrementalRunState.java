@@ -0,0 +1,264 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.maven.plugin;
+
+import io.github.totalschema.ProjectConventions;
+import io.github.totalschema.VersionInfo;
+import io.github.totalschema.config.Configuration;
+import io.github.totalschema.config.ConfigurationFactory;
+import io.github.totalschema.config.FileSystemYamlFileConfiguration;
+import io.github.totalschema.util.HexUtil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Remembers the inputs of the successful apply runs of a project, so that a build can skip an apply
+ * whose arguments, configuration file and change scripts are unchanged.
+ *
+ * <p>The fingerprint of a run covers the arguments, the version of the tool, the configuration as
+ * the engine reads it, i.e. {@code totalschema.yml} with the {@code totalschema.*} system property
+ * overrides, and the path and content of every file in the changes directory. The content hashes of
+ * the change files are kept in an index together with their size and modification time, so that
+ * only the files changed since the previous run are read again.
+ */
+final class IncrementalRunState {
+
+    private static final class DefaultValues {
+        private DefaultValues() {
+            throw new AssertionError("static constant class, no instances allowed");
+        }
+
+        private static final String HASH_ALGORITHM = "SHA-256";
+
+        private static final Set<String> INCREMENTAL_COMMANDS =
+                Set.of("apply", "apply-environments");
+
+        private static final String DRY_RUN_OPTION = "--dry-run";
+
+        /**
+         * Files modified this recently are not indexed, since a change made in the same time slice
+         * of the file system would not alter their modification time.
+         */
+        private static final long RACY_INTERVAL_MILLIS = 2000;
+    }
+
+    private static final String RUN_KEY_PREFIX = "run.";
+    private static final String FILE_KEY_PREFIX = "file.";
+
+    private final Path stateFile;
+    private final Properties state;
+
+    private IncrementalRunState(Path stateFile, Properties state) {
+        this.stateFile = stateFile;
+        this.state = state;
+    }
+
+    /**
+     * Tells whether a run with the given arguments may be skipped when its inputs are unchanged,
+     * i.e. whether it applies changes. Other commands either change the state of the environments
+     * outside of the change scripts, e.g. revert, or only display information.
+     *
+     * @param arguments the arguments of the command line tool
+     * @return {@code true} for apply runs which are not dry runs
+     */
+    static boolean isIncremental(String[] arguments) {
+        return arguments.length > 0
+                && DefaultValues.INCREMENTAL_COMMANDS.contains(arguments[0])
+                && Stream.of(arguments).noneMatch(DefaultValues.DRY_RUN_OPTION::equals);
+    }
+
+    static IncrementalRunState load(Path stateFile) throws IOException {
+        Properties state = new Properties();
+        if (Files.exists(stateFile)) {
+            try (InputStream inputStream = Files.newInputStream(stateFile)) {
+                state.load(inputStream);
+            }
+        }
+        return new IncrementalRunState(stateFile, state);
+    }
+
+    /**
+     * Computes the fingerprint of the inputs of a run.
+     *
+     * @param arguments the arguments of the command line tool
+     * @return the fingerprint, or empty if the workspace has no configuration file or changes
+     *     directory to take it from
+     * @throws IOException if a file could not be read
+     */
+    Optional<String> getFingerprint(String[] arguments) throws IOException {
+        Path configurationFile =
+                getWorkspaceDirectory().resolve(ProjectConventions.YML_CONFIG_FILE);
+        if (!Files.isRegularFile(configurationFile)) {
+            return Optional.empty();
+        }
+
+        // the configuration the engine sees: the file with the system property overrides
+        Configuration configuration =
+                ConfigurationFactory.getInstance()
+                        .getRawConfiguration(FileSystemYamlFileConfiguration::create, null);
+
+        Path changesDirectory =
+                Paths.get(
+                                configuration
+                                        .getString("changes", "directory")
+                                        .orElse(ProjectConventions.CHANGE_DIRECTORY_PATH))
+                        .toAbsolutePath();
+        if (!Files.isDirectory(changesDirectory)) {
+            return Optional.empty();
+        }
+
+        MessageDigest digest = newDigest();
+        for (String argument : arguments) {
+            update(digest, argument);
+        }
+        update(digest, VersionInfo.getVersion());
+        for (Map.Entry<String, String> entry :
+                new TreeMap<>(configuration.asMap().orElseGet(Map::of)).entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, entry.getValue());
+        }
+        update(digest, changesDirectory.toString());
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(changesDirectory)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        Set<String> indexedFiles =
+                files.stream().map(file -> FILE_KEY_PREFIX + file).collect(Collectors.toSet());
+        state.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(FILE_KEY_PREFIX))
+                .filter(key -> !indexedFiles.contains(key))
+                .forEach(state::remove);
+
+        for (Path file : files) {
+            update(digest, changesDirectory.relativize(file).toString());
+            update(digest, getIndexedHash(file));
+        }
+
+        return Optional.of(HexUtil.encodeToString(digest.digest()));
+    }
+
+    boolean isUpToDate(String[] arguments, String fingerprint) {
+        return fingerprint.equals(state.getProperty(getRunKey(arguments)));
+    }
+
+    void recordSuccess(String[] arguments, String fingerprint) {
+        state.setProperty(getRunKey(arguments), fingerprint);
+    }
+
+    void forget(String[] arguments) {
+        state.remove(getRunKey(arguments));
+    }
+
+    void forgetAllRuns() {
+        state.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(RUN_KEY_PREFIX))
+                .forEach(state::remove);
+    }
+
+    void save() throws IOException {
+        Path directory = stateFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (OutputStream outputStream = Files.newOutputStream(stateFile)) {
+            state.store(outputStream, "Inputs of the successful runs of the plugin");
+        }
+    }
+
+    /** Returns the content hash of a file, reading it only if it changed since it was indexed. */
+    private String getIndexedHash(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        String stamp = attributes.size() + ":" + attributes.lastModifiedTime().toMillis() + ":";
+
+        String key = FILE_KEY_PREFIX + file;
+        String entry = state.getProperty(key);
+        if (entry != null && entry.startsWith(stamp)) {
+            return entry.substring(stamp.length());
+        }
+
+        String hash = hash(file);
+        if (attributes.lastModifiedTime().toMillis()
+                < System.currentTimeMillis() - DefaultValues.RACY_INTERVAL_MILLIS) {
+            state.setProperty(key, stamp + hash);
+        } else {
+            state.remove(key);
+        }
+        return hash;
+    }
+
+    /** The arguments may contain a password, so only their hash is stored. */
+    private static String getRunKey(String[] arguments) {
+        MessageDigest digest = newDigest();
+        for (String argument : arguments) {
+            update(digest, argument);
+        }
+        return RUN_KEY_PREFIX + HexUtil.encodeToString(digest.digest());
+    }
+
+    private static Path getWorkspaceDirectory() {
+        String workspaceDirectory = System.getProperty("totalschema.workspace.directory");
+        return workspaceDirectory != null
+                ? Paths.get(workspaceDirectory).toAbsolutePath()
+                : Paths.get("").toAbsolutePath();
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexUtil.encodeToString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(DefaultValues.HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
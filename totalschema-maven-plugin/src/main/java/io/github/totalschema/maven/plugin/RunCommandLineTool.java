@@ -19,7 +19,11 @@
 package io.github.totalschema.maven.plugin;
 
 import io.github.totalschema.ProjectConventions;
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -30,6 +34,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 /**
  * A simple Mojo that runs the command line interface class with arguments defined by the user in
  * Maven configuration.
+ *
+ * <p>Apply runs are incremental: a run is skipped if its arguments, {@code totalschema.yml} and
+ * change scripts are unchanged since its last successful run in the project, unless {@code force}
+ * is set. Running any other command, e.g. revert, makes the next apply run again.
  */
 @Mojo(name = "run", defaultPhase = LifecyclePhase.PROCESS_RESOURCES)
 public class RunCommandLineTool extends AbstractMojo {
@@ -37,10 +45,36 @@ public class RunCommandLineTool extends AbstractMojo {
     @Parameter(property = "arguments")
     private String[] arguments;
 
+    /** Runs apply even if its inputs are unchanged since its last successful run. */
+    @Parameter(property = "totalschema.force", defaultValue = "false")
+    private boolean force;
+
+    /** The file remembering the inputs of the successful apply runs. */
+    @Parameter(defaultValue = "${project.build.directory}/totalschema/incremental-state.properties")
+    private File incrementalStateFile;
+
+    private final ToIntFunction<String[]> commandLineTool;
+
+    public RunCommandLineTool() {
+        this(arguments -> MainClassHolder.run(arguments));
+    }
+
+    RunCommandLineTool(ToIntFunction<String[]> commandLineTool) {
+        this.commandLineTool = commandLineTool;
+    }
+
     public void setArguments(String[] arguments) {
         this.arguments = Arrays.copyOf(arguments, arguments.length);
     }
 
+    public void setForce(boolean force) {
+        this.force = force;
+    }
+
+    public void setIncrementalStateFile(File incrementalStateFile) {
+        this.incrementalStateFile = incrementalStateFile;
+    }
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
 
@@ -51,13 +85,37 @@ public class RunCommandLineTool extends AbstractMojo {
                                 + "Please add an <arguments> block in the plugin <configuration> section.");
             }
 
+            IncrementalRunState incrementalRunState = loadIncrementalRunState();
+            Optional<String> fingerprint = Optional.empty();
+
+            if (incrementalRunState != null) {
+                if (IncrementalRunState.isIncremental(arguments)) {
+                    fingerprint = getFingerprint(incrementalRunState);
+
+                    if (!force
+                            && fingerprint.isPresent()
+                            && incrementalRunState.isUpToDate(arguments, fingerprint.get())) {
+                        getLog().info(
+                                        "Skipping execution: arguments, configuration and change "
+                                                + "files are unchanged since the last successful run "
+                                                + "(set totalschema.force=true to run anyway)");
+                        return;
+                    }
+
+                    incrementalRunState.forget(arguments);
+                } else {
+                    incrementalRunState.forgetAllRuns();
+                }
+                saveIncrementalRunState(incrementalRunState);
+            }
+
             getLog().info(
                             String.format(
                                     "Running %s command with arguments: %s ",
                                     ProjectConventions.PROJECT_SYSTEM_NAME,
                                     Arrays.toString(arguments)));
 
-            int returnCode = MainClassHolder.run(arguments);
+            int returnCode = commandLineTool.applyAsInt(arguments);
 
             getLog().info("Command return code is: " + returnCode);
 
@@ -71,6 +129,11 @@ public class RunCommandLineTool extends AbstractMojo {
                         "Command execution failed with return code: " + returnCode);
             }
 
+            if (incrementalRunState != null && fingerprint.isPresent()) {
+                incrementalRunState.recordSuccess(arguments, fingerprint.get());
+                saveIncrementalRunState(incrementalRunState);
+            }
+
         } catch (NoClassDefFoundError e) {
             throw new MojoExecutionException(
                     "Class loading error: totalschema-core is "
@@ -81,4 +144,35 @@ public class RunCommandLineTool extends AbstractMojo {
             throw new MojoExecutionException("Unexpected error executing tool", re);
         }
     }
+
+    private IncrementalRunState loadIncrementalRunState() {
+        if (incrementalStateFile == null) {
+            return null;
+        }
+
+        try {
+            return IncrementalRunState.load(incrementalStateFile.toPath());
+        } catch (IOException | IllegalArgumentException e) {
+            getLog().warn("Ignoring unreadable incremental state: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Optional<String> getFingerprint(IncrementalRunState incrementalRunState) {
+        try {
+            return incrementalRunState.getFingerprint(arguments);
+        } catch (IOException | RuntimeException e) {
+            // the tool reports the actual problem, e.g. an invalid configuration file
+            getLog().warn("Could not fingerprint the inputs of the run: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void saveIncrementalRunState(IncrementalRunState incrementalRunState) {
+        try {
+            incrementalRunState.save();
+        } catch (IOException e) {
+            getLog().warn("Could not save incremental state: " + e.getMessage());
+        }
+    }
 }
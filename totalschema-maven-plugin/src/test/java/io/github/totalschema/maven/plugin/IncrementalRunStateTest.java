@@ -0,0 +1,198 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.maven.plugin;
+
+import static org.testng.Assert.*;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class IncrementalRunStateTest {
+
+    private static final String[] APPLY = {"apply", "-e", "DEV"};
+
+    private Path workspaceDirectory;
+    private Path changeFile;
+    private Path stateFile;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workspaceDirectory = Files.createTempDirectory("totalschema-plugin-");
+        Path changesDirectory = workspaceDirectory.resolve("changes");
+        Files.writeString(
+                workspaceDirectory.resolve("totalschema.yml"),
+                "changes:\n  directory: " + changesDirectory + "\n");
+
+        changeFile = changesDirectory.resolve("0001.create.apply.db.sql");
+        Files.createDirectories(changesDirectory);
+        Files.writeString(changeFile, "create table a(id int);");
+        makeOld(changeFile);
+
+        stateFile = workspaceDirectory.resolve("target/incremental-state.properties");
+
+        System.setProperty("totalschema.workspace.directory", workspaceDirectory.toString());
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        System.clearProperty("totalschema.workspace.directory");
+
+        try (Stream<Path> files = Files.walk(workspaceDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testIsIncremental() {
+        assertTrue(IncrementalRunState.isIncremental(APPLY));
+        assertTrue(IncrementalRunState.isIncremental(new String[] {"apply-environments"}));
+        assertFalse(IncrementalRunState.isIncremental(new String[] {"apply", "--dry-run"}));
+        assertFalse(IncrementalRunState.isIncremental(new String[] {"revert", "-e", "DEV"}));
+        assertFalse(IncrementalRunState.isIncremental(new String[0]));
+    }
+
+    @Test
+    public void testRecordedRunIsUpToDateAfterReload() throws Exception {
+        IncrementalRunState state = IncrementalRunState.load(stateFile);
+        String fingerprint = state.getFingerprint(APPLY).orElseThrow();
+        state.recordSuccess(APPLY, fingerprint);
+        state.save();
+
+        IncrementalRunState reloaded = IncrementalRunState.load(stateFile);
+        assertEquals(reloaded.getFingerprint(APPLY).orElseThrow(), fingerprint);
+        assertTrue(reloaded.isUpToDate(APPLY, fingerprint));
+        assertFalse(reloaded.isUpToDate(new String[] {"apply", "-e", "QA"}, fingerprint));
+
+        reloaded.forgetAllRuns();
+        assertFalse(reloaded.isUpToDate(APPLY, fingerprint));
+    }
+
+    @Test
+    public void testArgumentsAreNotStored() throws Exception {
+        String[] arguments = {"apply", "-e", "DEV", "--password", "s3cr3t"};
+
+        IncrementalRunState state = IncrementalRunState.load(stateFile);
+        state.recordSuccess(arguments, state.getFingerprint(arguments).orElseThrow());
+        state.save();
+
+        assertFalse(Files.readString(stateFile).contains("s3cr3t"));
+    }
+
+    @Test
+    public void testIndexedHashIsReusedForUnchangedFile() throws Exception {
+        IncrementalRunState state = IncrementalRunState.load(stateFile);
+        String fingerprint = state.getFingerprint(APPLY).orElseThrow();
+        state.save();
+
+        // an index entry matching size and modification time is trusted without reading the file
+        Properties properties = load();
+        String key = "file." + changeFile;
+        String entry = properties.getProperty(key);
+        properties.setProperty(key, entry.substring(0, entry.lastIndexOf(':') + 1) + "00");
+        store(properties);
+
+        assertNotEquals(
+                IncrementalRunState.load(stateFile).getFingerprint(APPLY).orElseThrow(),
+                fingerprint);
+    }
+
+    @Test
+    public void testIndexEntryIsRefreshedWhenFileChanges() throws Exception {
+        IncrementalRunState state = IncrementalRunState.load(stateFile);
+        String fingerprint = state.getFingerprint(APPLY).orElseThrow();
+        state.save();
+        String entry = load().getProperty("file." + changeFile);
+
+        Files.writeString(changeFile, "create table b(id int);");
+        makeOld(changeFile);
+        Files.setLastModifiedTime(
+                changeFile,
+                FileTime.fromMillis(
+                        Files.getLastModifiedTime(changeFile).toMillis()
+                                - TimeUnit.MINUTES.toMillis(1)));
+
+        state = IncrementalRunState.load(stateFile);
+        assertNotEquals(state.getFingerprint(APPLY).orElseThrow(), fingerprint);
+        state.save();
+
+        assertNotEquals(load().getProperty("file." + changeFile), entry);
+    }
+
+    @Test
+    public void testRecentlyModifiedFileIsNotIndexed() throws Exception {
+        Files.setLastModifiedTime(changeFile, FileTime.fromMillis(System.currentTimeMillis()));
+
+        IncrementalRunState state = IncrementalRunState.load(stateFile);
+        state.getFingerprint(APPLY).orElseThrow();
+        state.save();
+
+        assertNull(load().getProperty("file." + changeFile));
+    }
+
+    @Test
+    public void testDeletedFileIsRemovedFromIndex() throws Exception {
+        IncrementalRunState state = IncrementalRunState.load(stateFile);
+        state.getFingerprint(APPLY).orElseThrow();
+        state.save();
+        assertNotNull(load().getProperty("file." + changeFile));
+
+        Files.delete(changeFile);
+        state = IncrementalRunState.load(stateFile);
+        state.getFingerprint(APPLY).orElseThrow();
+        state.save();
+
+        assertNull(load().getProperty("file." + changeFile));
+    }
+
+    @Test
+    public void testNoFingerprintWithoutConfigurationFile() throws Exception {
+        Files.delete(workspaceDirectory.resolve("totalschema.yml"));
+
+        assertTrue(IncrementalRunState.load(stateFile).getFingerprint(APPLY).isEmpty());
+    }
+
+    private Properties load() throws Exception {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(stateFile)) {
+            properties.load(inputStream);
+        }
+        return properties;
+    }
+
+    private void store(Properties properties) throws Exception {
+        try (OutputStream outputStream = Files.newOutputStream(stateFile)) {
+            properties.store(outputStream, null);
+        }
+    }
+
+    private static void makeOld(Path file) throws Exception {
+        Files.setLastModifiedTime(
+                file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * totalschema: tool for managing database versioning and schema changes with ease.
+ * Copyright (C) 2026 totalschema development team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.totalschema.maven.plugin;
+
+import static org.testng.Assert.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.MojoFailureException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class RunCommandLineToolTest {
+
+    private static final String[] APPLY = {"apply", "-e", "DEV"};
+
+    private Path workspaceDirectory;
+    private Path changesDirectory;
+
+    private final List<List<String>> runs = new ArrayList<>();
+    private int returnCode;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workspaceDirectory = Files.createTempDirectory("totalschema-plugin-");
+        changesDirectory = workspaceDirectory.resolve("changes");
+        Files.writeString(
+                workspaceDirectory.resolve("totalschema.yml"),
+                "changes:\n  directory: " + changesDirectory + "\n");
+        writeChangeFile("1.0/0001.create.apply.db.sql", "create table a(id int);");
+
+        System.setProperty("totalschema.workspace.directory", workspaceDirectory.toString());
+
+        runs.clear();
+        returnCode = 0;
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        System.clearProperty("totalschema.workspace.directory");
+        System.clearProperty("totalschema.environments.DEV.url");
+        System.clearProperty("totalschema.changes.directory");
+
+        try (Stream<Path> files = Files.walk(workspaceDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testSkipsApplyWithUnchangedInputs() throws Exception {
+        run(APPLY);
+        run(APPLY);
+
+        assertEquals(runs.size(), 1);
+    }
+
+    @Test
+    public void testForceRunsApplyWithUnchangedInputs() throws Exception {
+        run(APPLY);
+        run(true, APPLY);
+
+        assertEquals(runs.size(), 2);
+    }
+
+    @Test
+    public void testRunsApplyAfterChangeFileChanged() throws Exception {
+        run(APPLY);
+
+        writeChangeFile("1.0/0002.alter.apply.db.sql", "alter table a add b int;");
+        run(APPLY);
+        run(APPLY);
+
+        Files.delete(changesDirectory.resolve("1.0/0002.alter.apply.db.sql"));
+        run(APPLY);
+
+        assertEquals(runs.size(), 3);
+    }
+
+    @Test
+    public void testRunsApplyAfterSystemPropertyOverrideChanged() throws Exception {
+        run(APPLY);
+
+        System.setProperty("totalschema.environments.DEV.url", "jdbc:h2:mem:other");
+        run(APPLY);
+        run(APPLY);
+
+        assertEquals(runs.size(), 2);
+    }
+
+    @Test
+    public void testFingerprintsChangesDirectoryOverriddenBySystemProperty() throws Exception {
+        Path otherChangesDirectory = workspaceDirectory.resolve("other-changes");
+        Files.createDirectories(otherChangesDirectory);
+        System.setProperty("totalschema.changes.directory", otherChangesDirectory.toString());
+
+        run(APPLY);
+
+        Files.writeString(otherChangesDirectory.resolve("0001.a.apply.db.sql"), "select 1;");
+        run(APPLY);
+
+        assertEquals(runs.size(), 2);
+    }
+
+    @Test
+    public void testDoesNotSkipDryRun() throws Exception {
+        String[] dryRun = {"apply", "-e", "DEV", "--dry-run"};
+        run(dryRun);
+        run(dryRun);
+
+        assertEquals(runs.size(), 2);
+    }
+
+    @Test
+    public void testOtherCommandMakesNextApplyRun() throws Exception {
+        run(APPLY);
+        run("revert", "-e", "DEV");
+        run(APPLY);
+        run(APPLY);
+
+        assertEquals(runs.size(), 3);
+        assertEquals(runs.get(1), List.of("revert", "-e", "DEV"));
+    }
+
+    @Test
+    public void testFailedApplyIsNotRecorded() throws Exception {
+        run(APPLY);
+
+        writeChangeFile("1.0/0002.alter.apply.db.sql", "invalid");
+        returnCode = 1;
+        expectThrows(MojoFailureException.class, () -> run(APPLY));
+
+        // back to the inputs of the last successful run: the failed run must not be skipped
+        Files.delete(changesDirectory.resolve("1.0/0002.alter.apply.db.sql"));
+        returnCode = 0;
+        run(APPLY);
+        run(APPLY);
+
+        assertEquals(runs.size(), 3);
+    }
+
+    @Test
+    public void testRunsWithoutStateFile() throws Exception {
+        RunCommandLineTool tool = newTool(APPLY);
+        tool.setIncrementalStateFile(null);
+
+        tool.execute();
+        tool.execute();
+
+        assertEquals(runs.size(), 2);
+    }
+
+    private void run(String... arguments) throws Exception {
+        run(false, arguments);
+    }
+
+    private void run(boolean force, String... arguments) throws Exception {
+        RunCommandLineTool tool = newTool(arguments);
+        tool.setForce(force);
+        tool.execute();
+    }
+
+    private RunCommandLineTool newTool(String... arguments) {
+        RunCommandLineTool tool =
+                new RunCommandLineTool(
+                        args -> {
+                            runs.add(Arrays.asList(args));
+                            return returnCode;
+                        });
+        tool.setArguments(arguments);
+        tool.setIncrementalStateFile(
+                new File(workspaceDirectory.toFile(), "target/incremental-state.properties"));
+        return tool;
+    }
+
+    private void writeChangeFile(String relativePath, String content) throws Exception {
+        Path file = changesDirectory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(
+                file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+    }
+}